@@ -0,0 +1,262 @@
+package com.example.chaotopia.Application;
+
+import com.example.chaotopia.Controller.BaseController;
+import com.example.chaotopia.Controller.LoadGameController;
+import com.example.chaotopia.Model.ChaoType;
+import com.example.chaotopia.Model.FruitType;
+import com.example.chaotopia.Model.SpriteCache;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.scene.text.Font;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads the game's assets on a pool of worker threads while the main menu is
+ * showing, so the first time a screen needs an asset it is already in memory.
+ * <br><br>
+ * Each asset is a separate task: the sprite atlas of every Chao type and
+ * fruit type, every sound effect and music track, the fonts, the images of
+ * the Load Game screen, the classes each FXML view refers to, and the
+ * screens {@link BaseController} caches. Every cache the tasks fill also
+ * loads on demand, so a screen opened before preloading finishes still
+ * works; it just waits for whatever it needs. Progress is reported on the
+ * JavaFX application thread through {@link #progressProperty()}.
+ *
+ * @author Rosaline Scully
+ */
+public final class AssetPreloader {
+    /** Folder holding the FXML views. */
+    private static final String VIEW_PATH = "/com/example/chaotopia/View/";
+    /** Every FXML view. */
+    private static final String[] VIEWS = {
+            "MainMenu.fxml", "LoadGame.fxml", "NewGame.fxml", "Gameplay.fxml",
+            "ParentalPasswordCheck.fxml", "ParentalControls.fxml",
+            "TutorialNewGame.fxml", "TutorialChooseChaos.fxml", "TutorialGameplay2.fxml"
+    };
+    /** Every font the views use. */
+    private static final String[] FONTS = {
+            "/com/example/chaotopia/Assets/upheavtt.ttf",
+            "/com/example/chaotopia/Assets/QuerinaHandwritten.ttf"
+    };
+    /** Every single image loaded outside a sprite atlas or stylesheet. */
+    private static final String[] IMAGES = {
+            LoadGameController.EMPTY_SAVE_IMAGE_PATH,
+            LoadGameController.ACTIVE_SAVE_IMAGE_PATH
+    };
+    /** Matches the class imports and controller of an FXML view. */
+    private static final Pattern FXML_CLASS =
+            Pattern.compile("<\\?import\\s+([\\w.]+)\\s*\\?>|fx:controller=\"([\\w.]+)\"");
+    /** The number of worker threads. */
+    private static final int THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /** The fraction of tasks finished, from 0.0 to 1.0. Only changed on the JavaFX thread. */
+    private static final ReadOnlyDoubleWrapper progress = new ReadOnlyDoubleWrapper(0);
+    /** Counts down as tasks finish, or null if preloading has not started. */
+    private static CountDownLatch remaining;
+
+    /**
+     * Constructor for the asset preloader.
+     * Cannot be called due to the class being static.
+     */
+    private AssetPreloader() {}
+
+    /**
+     * Starts preloading every asset in the background. Calling this again
+     * once preloading has started does nothing.
+     */
+    public static synchronized void start() {
+        if (remaining != null) return;
+
+        List<Runnable> tasks = createTasks();
+        remaining = new CountDownLatch(tasks.size());
+        AtomicInteger finished = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "asset-preloader");
+            thread.setDaemon(true); // Never keep the application open
+            thread.setPriority(Thread.NORM_PRIORITY - 1); // Leave the FX thread responsive
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        CountDownLatch latch = remaining;
+        for (Runnable task : tasks) {
+            pool.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    // A missing asset is reported again when a screen asks for it
+                    System.err.println("Error preloading asset: " + e.getMessage());
+                    e.printStackTrace();
+                } finally {
+                    double fraction = (double) finished.incrementAndGet() / tasks.size();
+                    Platform.runLater(() -> progress.set(Math.max(progress.get(), fraction)));
+                    latch.countDown();
+                    if (latch.getCount() == 0) {
+                        System.out.printf("Preloaded %d assets in %d ms.%n",
+                                tasks.size(), (System.nanoTime() - start) / 1_000_000);
+                    }
+                }
+            });
+        }
+        pool.shutdown(); // Threads exit once the queued tasks are done
+    }
+
+    /**
+     * Gets the fraction of preloading that is done, updated on the JavaFX
+     * application thread.
+     *
+     * @return The progress, from 0.0 to 1.0
+     */
+    public static ReadOnlyDoubleProperty progressProperty() {
+        return progress.getReadOnlyProperty();
+    }
+
+    /**
+     * Checks if every asset has been preloaded.
+     *
+     * @return true if preloading has finished, false if it is running or has not started
+     */
+    public static synchronized boolean isDone() {
+        return remaining != null && remaining.getCount() == 0;
+    }
+
+    /**
+     * Waits for preloading to finish, for at most the given time. Returns
+     * straight away if preloading has not started.
+     *
+     * @param timeoutMillis The longest time to wait in milliseconds
+     * @return true if preloading has finished or was never started, false if the wait timed out
+     */
+    public static boolean await(long timeoutMillis) {
+        CountDownLatch latch;
+        synchronized (AssetPreloader.class) {
+            latch = remaining;
+        }
+        if (latch == null) return true;
+        try {
+            return latch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Private methods ---------------------------------------------------------
+
+    /**
+     * Creates one task per asset, largest first so the pool finishes evenly.
+     *
+     * @return The tasks
+     */
+    private static List<Runnable> createTasks() {
+        List<Runnable> tasks = new ArrayList<>();
+        for (ChaoType chaoType : ChaoType.values()) {
+            tasks.add(() -> SpriteCache.preload(chaoType));
+        }
+        for (FruitType fruitType : FruitType.values()) {
+            tasks.add(() -> SpriteCache.getFruitAtlas(fruitType));
+        }
+        tasks.add(() -> SoundBank.preloadMusic(SoundBank.MENU_MUSIC));
+        tasks.add(() -> SoundBank.preloadMusic(SoundBank.GAME_MUSIC));
+        for (SoundBank.Effect effect : SoundBank.Effect.values()) {
+            tasks.add(() -> SoundBank.preload(effect));
+        }
+        for (String view : VIEWS) {
+            String path = VIEW_PATH + view;
+            if (BaseController.CACHED_VIEWS.contains(path)) {
+                // One task, so the classes are loaded before the screen is parsed
+                tasks.add(() -> {
+                    loadViewClasses(path);
+                    preloadView(path);
+                });
+            } else {
+                tasks.add(() -> loadViewClasses(path));
+            }
+        }
+        for (String font : FONTS) {
+            tasks.add(() -> loadFont(font));
+        }
+        for (String image : IMAGES) {
+            tasks.add(() -> SpriteCache.getImage(image));
+        }
+        return tasks;
+    }
+
+    /**
+     * Loads and initializes every class an FXML view imports, and its
+     * controller, so loading the view later does not wait on the class loader.
+     * The view itself is not loaded, since that would run its controller.
+     *
+     * @param path The classpath resource path of the view
+     */
+    private static void loadViewClasses(String path) {
+        String fxml;
+        try (InputStream in = AssetPreloader.class.getResourceAsStream(path)) {
+            if (in == null) {
+                System.err.println("Could not find view resource: " + path);
+                return;
+            }
+            fxml = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Error reading view " + path + ": " + e.getMessage());
+            return;
+        }
+
+        ClassLoader loader = AssetPreloader.class.getClassLoader();
+        Matcher matcher = FXML_CLASS.matcher(fxml);
+        while (matcher.find()) {
+            String className = (matcher.group(1) != null) ? matcher.group(1) : matcher.group(2);
+            try {
+                Class.forName(className, true, loader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                // Package imports such as java.lang.* are not classes; FXMLLoader resolves them itself
+            }
+        }
+    }
+
+    /**
+     * Parses a cached screen so the first switch to it reuses the parsed
+     * screen. Called by the same task that loads the view's classes, once
+     * they are loaded.
+     *
+     * @param path The classpath resource path of the view
+     */
+    private static void preloadView(String path) {
+        try {
+            BaseController.preloadView(path);
+        } catch (IOException e) {
+            System.err.println("Error preloading view " + path + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Registers a font so views can refer to it by family name.
+     *
+     * @param path The classpath resource path of the font
+     */
+    private static void loadFont(String path) {
+        URL resourceUrl = AssetPreloader.class.getResource(path);
+        if (resourceUrl == null) {
+            System.err.println("Could not find font resource: " + path);
+            return;
+        }
+        if (Font.loadFont(resourceUrl.toExternalForm(), 12) == null) {
+            System.err.println("Could not load font: " + path);
+        }
+    }
+}
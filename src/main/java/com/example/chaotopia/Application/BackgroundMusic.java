@@ -1,9 +1,6 @@
 package com.example.chaotopia.Application;
 
-import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
-import javafx.util.Duration;
-import java.net.URL;
 
 /**Background music that plays during all screens except Gameplay.
  * @author Rosaline Scully
@@ -11,56 +8,42 @@ import java.net.URL;
 
 public class BackgroundMusic {
 
-    /** Initialize a media play to hold the music */
+    /** The menu music player, shared through the sound bank */
     private static MediaPlayer menuMusicPlayer;
-    /**A string path to where the background music is*/
-    private static final String MENU_MUSIC_PATH = "/com/example/chaotopia/Assets/Sounds/background.mp3"; // <-- ADJUST PATH AND FILENAME
 
     /**
      * Starts the looping main menu background music if it's not already playing.
+     * The player is kept by the sound bank, so returning to the menu resumes
+     * the same player instead of loading the track again.
      */
     public static void startMenuMusic() {
         // Only start if it's not already playing
-        if (menuMusicPlayer == null || menuMusicPlayer.getStatus() == MediaPlayer.Status.STOPPED || menuMusicPlayer.getStatus() == MediaPlayer.Status.UNKNOWN) {
+        if (menuMusicPlayer == null || menuMusicPlayer.getStatus() != MediaPlayer.Status.PLAYING) {
             try {
-                URL resourceUrl = BackgroundMusic.class.getResource(MENU_MUSIC_PATH);
-                if (resourceUrl != null) {
-                    Media media = new Media(resourceUrl.toExternalForm());
-                    menuMusicPlayer = new MediaPlayer(media);
-                    menuMusicPlayer.setCycleCount(MediaPlayer.INDEFINITE); // Loop indefinitely
-                    menuMusicPlayer.setVolume(0.3); // Adjust volume as needed (0.0 to 1.0)
-
-                    // Add error handling for the player itself
-                    menuMusicPlayer.setOnError(() -> {
-                        System.err.println("Menu Music Player Error: " + menuMusicPlayer.getError());
-                        stopMenuMusic(); // Stop on error
-                    });
-
+                menuMusicPlayer = SoundBank.getMusic(SoundBank.MENU_MUSIC, 0.3); // Adjust volume as needed (0.0 to 1.0)
+                if (menuMusicPlayer != null) {
                     menuMusicPlayer.play();
                     System.out.println("Menu background music started.");
-                } else {
-                    System.err.println("Could not find menu music resource: " + MENU_MUSIC_PATH);
                 }
             } catch (Exception e) {
-                System.err.println("Error creating MediaPlayer for menu music: " + e.getMessage());
+                System.err.println("Error starting menu music: " + e.getMessage());
                 e.printStackTrace();
                 menuMusicPlayer = null; // Ensure player is null on error
             }
         } else {
-            System.out.println("Menu background music already playing or in a non-stopped state.");
+            System.out.println("Menu background music already playing.");
         }
     }
 
     /**
      * Stops the main menu background music if it is currently playing.
+     * The player is stopped rather than disposed so it can be started again.
      */
     public static void stopMenuMusic() {
         if (menuMusicPlayer != null && (menuMusicPlayer.getStatus() == MediaPlayer.Status.PLAYING || menuMusicPlayer.getStatus() == MediaPlayer.Status.PAUSED)) {
             try {
                 menuMusicPlayer.stop();
                 System.out.println("Menu background music stopped.");
-                menuMusicPlayer.dispose();
-                menuMusicPlayer = null;
             } catch (Exception e) {
                 System.err.println("Error stopping menu music player: " + e.getMessage());
             }
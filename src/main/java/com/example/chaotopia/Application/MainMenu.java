@@ -1,13 +1,14 @@
 package com.example.chaotopia.Application;
 
 import com.example.chaotopia.Controller.BaseController;
+import com.example.chaotopia.Model.AtomicFileWriter;
+import com.example.chaotopia.Model.MappedSlotStore;
+import com.example.chaotopia.Model.SaveExecutor;
+import com.example.chaotopia.Model.SlotIndex;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
 
@@ -20,6 +21,7 @@ import java.util.Objects;
 public class MainMenu extends Application {
     /**
      * Starts the JavaFX application, loading the main menu scene and setting up the primary stage.
+     * The game's assets then start preloading in the background.
      *
      * @param primaryStage The primary stage for this application, onto which the application scene can be set.
      * Applications may create other stages, if needed, but they will not be primary stages.
@@ -27,11 +29,6 @@ public class MainMenu extends Application {
      */
     @Override
     public void start(Stage primaryStage) throws Exception {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/chaotopia/View/MainMenu.fxml"));
-        Parent root = loader.load();
-        Scene scene = new Scene(root);
-        BaseController.addCSS(scene);
-
         try {
             Image icon = new Image(Objects.requireNonNull(getClass().getResourceAsStream("/com/example/chaotopia/Assets/Icon/ChaoIcon.png")));
             primaryStage.getIcons().add(icon);
@@ -39,9 +36,22 @@ public class MainMenu extends Application {
             System.out.println("Couldn't load window icon: " + e.getMessage());
         }
 
-        primaryStage.setScene(scene);
         primaryStage.setTitle("Chaotopia");
-        primaryStage.show();
+        BaseController.showScene(primaryStage, BaseController.MAIN_MENU_FXML_PATH);
+        AssetPreloader.start(); // Load the game's assets while the menu is showing
+    }
+
+    /**
+     * Stops the application, waiting for any background saves to be written,
+     * writing the slot index and forcing any saves still waiting on the fsync
+     * policy to disk.
+     */
+    @Override
+    public void stop() {
+        SaveExecutor.flush();
+        SlotIndex.flush();
+        AtomicFileWriter.flush();
+        MappedSlotStore.close();
     }
 
     /**
@@ -0,0 +1,323 @@
+package com.example.chaotopia.Application;
+
+import javafx.scene.media.AudioClip;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared sound service for every screen.
+ * <br><br>
+ * Short sound effects are decoded once into {@link AudioClip}s, which start
+ * with minimal latency and can overlap, so a fast run of button clicks plays
+ * every click straight away instead of queuing stop/seek/play calls on a
+ * single player. Effects that use the same sound file share one clip. Each
+ * effect has a voice limit, and there is a limit across all effects; a play
+ * over either limit is dropped. An AudioClip can only stop all of its voices
+ * at once, so making room by cutting off an older voice would silence every
+ * voice of that clip. AudioClips do not report when a voice ends, so voices
+ * are counted as playing for the effect's length.
+ * <br><br>
+ * Music is too long to decode into memory, so tracks are streamed through a
+ * {@link MediaPlayer} that is created once per track and reused.
+ *
+ * @author Rosaline Scully
+ */
+public final class SoundBank {
+    /** Folder holding every sound. */
+    private static final String SOUNDS_PATH = "/com/example/chaotopia/Assets/Sounds/";
+    /** The music track played on every screen except gameplay. */
+    public static final String MENU_MUSIC = "background.mp3";
+    /** The music track played during gameplay. */
+    public static final String GAME_MUSIC = "gamebackground.mp3";
+    /** The most effect voices that can play at once. */
+    public static final int MAX_VOICES = 8;
+
+    /**
+     * The short sound effects, with how long they play and how many of each
+     * may overlap.
+     */
+    public enum Effect {
+        /** A button being clicked. */
+        CLICK("buttonclick.mp3", 400, 4),
+        /** The Chao eating. */
+        EATING("eating.wav", 3100, 1),
+        /** The Chao being happy. */
+        HAPPY("happy.wav", 700, 2),
+        /** The Chao being bonked. */
+        BONK("crying.wav", 2600, 1),
+        /** The Chao evolving. */
+        EVOLVE("evolve.mp3", 11000, 1),
+        /** Loop for a sleeping Chao. */
+        SLEEPING("sleeping.wav", 2600, 1),
+        /** Loop for an angry Chao. */
+        ANGRY("angry.wav", 3300, 1),
+        /** Loop for a hungry Chao. */
+        CRYING("crying.wav", 2600, 1);
+
+        /** The sound file in the sounds folder. */
+        private final String file;
+        /** How long one play lasts in milliseconds. */
+        private final long lengthMillis;
+        /** How many plays of this effect may overlap. */
+        private final int maxVoices;
+
+        /**
+         * Constructs an effect.
+         *
+         * @param file The sound file in the sounds folder
+         * @param lengthMillis How long one play lasts in milliseconds
+         * @param maxVoices How many plays of this effect may overlap
+         */
+        Effect(String file, long lengthMillis, int maxVoices) {
+            this.file = file;
+            this.lengthMillis = lengthMillis;
+            this.maxVoices = maxVoices;
+        }
+    }
+
+    /** The decoded clip for each sound file, loaded on first use, or null if it cannot be loaded. */
+    private static final Map<String, AudioClip> clips = new HashMap<>();
+    /** Start times of the voices still playing for each effect, oldest first, from System.nanoTime(). */
+    private static final Map<Effect, ArrayDeque<Long>> voices = new EnumMap<>(Effect.class);
+    /** The effects started with {@link #startLoop} and not yet stopped. */
+    private static final Set<Effect> looping = EnumSet.noneOf(Effect.class);
+
+    static {
+        for (Effect effect : Effect.values()) {
+            voices.put(effect, new ArrayDeque<>());
+        }
+    }
+    /** The player for each music track, created on first use. */
+    private static final Map<String, MediaPlayer> music = new HashMap<>();
+
+    /**
+     * Constructor for the sound bank.
+     * Cannot be called due to the class being static.
+     */
+    private SoundBank() {}
+
+    /**
+     * Decodes every sound effect ahead of time, so the first play of each
+     * does not wait for it to load.
+     */
+    public static void preload() {
+        for (Effect effect : Effect.values()) {
+            preload(effect);
+        }
+    }
+
+    /**
+     * Decodes a sound effect ahead of time. The decoding is done without
+     * holding the bank's lock, so effects can be decoded on worker threads
+     * while other effects play.
+     *
+     * @param effect The effect to decode
+     */
+    public static void preload(Effect effect) {
+        synchronized (SoundBank.class) {
+            if (clips.containsKey(effect.file)) return;
+        }
+        AudioClip clip = load(effect);
+        synchronized (SoundBank.class) {
+            clips.putIfAbsent(effect.file, clip);
+        }
+    }
+
+    /**
+     * Plays a sound effect once. The play is dropped if the effect, or all
+     * effects together, are already playing as many voices as allowed.
+     *
+     * @param effect The effect to play
+     */
+    public static synchronized void play(Effect effect) {
+        AudioClip clip = clip(effect);
+        if (clip == null) return;
+
+        long now = System.nanoTime();
+        expireVoices(now);
+        ArrayDeque<Long> playing = voices.get(effect);
+        if (playing.size() >= effect.maxVoices || countVoices() >= MAX_VOICES) return;
+
+        clip.play();
+        playing.addLast(now);
+    }
+
+    /**
+     * Starts a sound effect looping, if it is not looping already.
+     *
+     * @param effect The effect to loop
+     */
+    public static synchronized void startLoop(Effect effect) {
+        AudioClip clip = clip(effect);
+        if (clip == null || looping.contains(effect)) return;
+        // The cycle count is read when play() is called, so one-off plays of a shared clip stay single
+        clip.setCycleCount(AudioClip.INDEFINITE);
+        clip.play();
+        clip.setCycleCount(1);
+        looping.add(effect);
+    }
+
+    /**
+     * Checks if a sound effect is playing.
+     *
+     * @param effect The effect
+     * @return true if the effect is looping or has a voice playing, false otherwise
+     */
+    public static synchronized boolean isPlaying(Effect effect) {
+        expireVoices(System.nanoTime());
+        return looping.contains(effect) || !voices.get(effect).isEmpty();
+    }
+
+    /**
+     * Stops every voice of a sound effect, including a loop. Since an
+     * AudioClip can only stop all its voices at once, this also stops any
+     * other effect that uses the same sound file.
+     *
+     * @param effect The effect to stop
+     */
+    public static synchronized void stop(Effect effect) {
+        AudioClip clip = clips.get(effect.file);
+        if (clip != null) clip.stop();
+        for (Effect shared : Effect.values()) {
+            if (shared.file.equals(effect.file)) {
+                voices.get(shared).clear();
+                looping.remove(shared);
+            }
+        }
+    }
+
+    /**
+     * Stops every sound effect. Music is left playing.
+     */
+    public static synchronized void stopAll() {
+        for (Effect effect : Effect.values()) {
+            stop(effect);
+        }
+    }
+
+    /**
+     * Gets the player for a looping music track, creating it the first time.
+     * The same player is returned every time, so starting a track again does
+     * not reload it.
+     *
+     * @param file The track's file in the sounds folder
+     * @param volume The track's volume, from 0.0 to 1.0
+     * @return The track's player, or null if the track cannot be loaded
+     */
+    public static synchronized MediaPlayer getMusic(String file, double volume) {
+        MediaPlayer player = music(file);
+        if (player != null) player.setVolume(volume);
+        return player;
+    }
+
+    /**
+     * Creates the player for a music track ahead of time, so starting the
+     * track later does not wait for it to load.
+     *
+     * @param file The track's file in the sounds folder
+     */
+    public static synchronized void preloadMusic(String file) {
+        music(file);
+    }
+
+    // Private methods ---------------------------------------------------------
+
+    /**
+     * Gets the player for a music track, creating it the first time.
+     *
+     * @param file The track's file in the sounds folder
+     * @return The track's player, or null if the track cannot be loaded
+     */
+    private static MediaPlayer music(String file) {
+        MediaPlayer player = music.get(file);
+        if (player == null || player.getStatus() == MediaPlayer.Status.HALTED) {
+            try {
+                URL resourceUrl = SoundBank.class.getResource(SOUNDS_PATH + file);
+                if (resourceUrl == null) {
+                    System.err.println("Could not find music resource: " + SOUNDS_PATH + file);
+                    return null;
+                }
+                player = new MediaPlayer(new Media(resourceUrl.toExternalForm()));
+                player.setCycleCount(MediaPlayer.INDEFINITE); // Loop indefinitely
+                MediaPlayer created = player;
+                player.setOnError(() -> System.err.println("Music Player Error: " + created.getError()));
+                music.put(file, player);
+            } catch (Exception e) {
+                System.err.println("Error creating MediaPlayer for " + file + ": " + e.getMessage());
+                e.printStackTrace();
+                return null;
+            }
+        }
+        return player;
+    }
+
+    /**
+     * Gets the decoded clip for an effect's sound file, loading it the first time.
+     *
+     * @param effect The effect
+     * @return The clip, or null if the sound cannot be loaded
+     */
+    private static AudioClip clip(Effect effect) {
+        if (!clips.containsKey(effect.file)) {
+            clips.put(effect.file, load(effect)); // Remember failures too, so they are not retried on every play
+        }
+        return clips.get(effect.file);
+    }
+
+    /**
+     * Decodes the clip for an effect.
+     *
+     * @param effect The effect
+     * @return The clip, or null if the sound cannot be loaded
+     */
+    private static AudioClip load(Effect effect) {
+        AudioClip clip = null;
+        try {
+            URL resourceUrl = SoundBank.class.getResource(SOUNDS_PATH + effect.file);
+            if (resourceUrl != null) {
+                clip = new AudioClip(resourceUrl.toExternalForm());
+            } else {
+                System.err.println("Could not find sound resource: " + SOUNDS_PATH + effect.file);
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading sound " + effect.file + ": " + e.getMessage());
+        }
+        return clip;
+    }
+
+    /**
+     * Forgets voices that have played for longer than their effect lasts.
+     *
+     * @param now The current time from System.nanoTime()
+     */
+    private static void expireVoices(long now) {
+        for (Map.Entry<Effect, ArrayDeque<Long>> entry : voices.entrySet()) {
+            long lengthNanos = entry.getKey().lengthMillis * 1_000_000;
+            ArrayDeque<Long> playing = entry.getValue();
+            while (!playing.isEmpty() && now - playing.peekFirst() >= lengthNanos) {
+                playing.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Counts the voices playing across every effect.
+     *
+     * @return The number of voices
+     */
+    private static int countVoices() {
+        int count = 0;
+        for (ArrayDeque<Long> playing : voices.values()) {
+            count += playing.size();
+        }
+        return count;
+    }
+}
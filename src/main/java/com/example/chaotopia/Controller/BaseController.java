@@ -9,8 +9,13 @@ import javafx.stage.Stage;
 
 import java.awt.event.InputEvent;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.function.Consumer;
 
 import javafx.scene.control.Alert;
@@ -23,12 +28,55 @@ import javax.swing.*;
  * It provides common functionality for scene navigation, including a back button implementation
  * and a method to switch between scenes. This class uses a stack to keep track of the navigation
  * history, allowing users to easily go back to previous scenes.
+ * <br><br>
+ * The most visited screens are parsed once and kept, with their controllers,
+ * in a view cache. {@link #preloadView} parses them ahead of time, off the
+ * JavaFX thread. A controller whose screen is cached is reused, so it can
+ * override {@link #onReuse()} to reset itself before it is shown again and
+ * {@link #onShow()} to refresh itself every time it is shown.
  */
 public class BaseController {
     /**Static stack to track scenes*/
     private static Stack<Scene> sceneStack = new Stack<>();
     /**String path to main menu*/
-    private static final String MAIN_MENU_FXML_PATH = "/com/example/chaotopia/View/MainMenu.fxml";
+    public static final String MAIN_MENU_FXML_PATH = "/com/example/chaotopia/View/MainMenu.fxml";
+    /**String path to the shared stylesheet*/
+    private static final String CSS_PATH = "/com/example/chaotopia/CSS/styles.css";
+    /**The screens that are parsed once and reused*/
+    public static final Set<String> CACHED_VIEWS = Set.of(
+            MAIN_MENU_FXML_PATH,
+            "/com/example/chaotopia/View/LoadGame.fxml",
+            "/com/example/chaotopia/View/Gameplay.fxml",
+            "/com/example/chaotopia/View/ParentalControls.fxml");
+    /**The cached screens by FXML path. A task is created when a screen is first needed and run by whoever created it*/
+    private static final Map<String, FutureTask<View>> viewCache = new HashMap<>();
+    /**The stylesheet's URL, looked up the first time it is needed*/
+    private static String cssUrl;
+
+    /**
+     * A parsed screen: its root node, its controller and, once it has been
+     * shown, its scene.
+     */
+    private static final class View {
+        /**The root node of the screen*/
+        private final Parent root;
+        /**The controller of the screen*/
+        private final Object controller;
+        /**The scene holding the root, created on the JavaFX thread when first shown*/
+        private Scene scene;
+        /**Whether the screen has been shown before*/
+        private boolean shown;
+
+        /**
+         * Constructs a parsed screen.
+         * @param root The root node of the screen
+         * @param controller The controller of the screen
+         */
+        private View(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+    }
 
     /**
      * Navigates directly to the main menu scene, clearing the navigation history.
@@ -41,20 +89,8 @@ public class BaseController {
         sceneStack.clear(); // Clear the entire navigation history
         // Get the current stage
         Stage stage = (Stage)((Node)e.getSource()).getScene().getWindow();
-        // Load the Main Menu FXML
-        FXMLLoader loader = new FXMLLoader(getClass().getResource(MAIN_MENU_FXML_PATH));
-        if (loader.getLocation() == null) {
-            throw new IOException("Cannot find Main Menu FXML at: " + MAIN_MENU_FXML_PATH);
-        }
-        Parent root = loader.load();
-
-        // Create a new scene for the main menu
-        Scene mainMenuScene = new Scene(root);
-        addCSS(mainMenuScene); // Apply CSS
-
-        // Set the stage to the main menu scene
-        stage.setScene(mainMenuScene);
-        stage.show();
+        // Show the cached Main Menu
+        showScene(stage, MAIN_MENU_FXML_PATH);
         System.out.println("Main Menu loaded.");
     }
 
@@ -95,29 +131,192 @@ public class BaseController {
         // Push the current scene to the stack
         sceneStack.push(((Node)e.getSource()).getScene());
 
-        // Load the new scene
-        FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-        Parent root = loader.load();
+        Stage stage = (Stage)((Node)e.getSource()).getScene().getWindow();
+        showScene(stage, fxmlPath, controllerConfigurator);
+    }
+
+    /**
+     * Shows a screen on a stage, reusing it if it is cached. The navigation
+     * stack is left as it is.
+     *
+     * @param stage The stage to show the screen on.
+     * @param fxmlPath The path to the FXML file of the screen.
+     * @throws IOException If the FXML file cannot be loaded.
+     */
+    public static void showScene(Stage stage, String fxmlPath) throws IOException {
+        showScene(stage, fxmlPath, null);
+    }
+
+    /**
+     * Shows a screen on a stage, reusing it if it is cached. A reused
+     * controller is reset with {@link #onReuse()} before it is configured, and
+     * every controller is refreshed with {@link #onShow()} once its screen is
+     * showing.
+     *
+     * @param stage The stage to show the screen on.
+     * @param fxmlPath The path to the FXML file of the screen.
+     * @param controllerConfigurator Configures the controller before the screen is shown, or null.
+     * @throws IOException If the FXML file cannot be loaded.
+     */
+    private static void showScene(Stage stage, String fxmlPath, Consumer<Object> controllerConfigurator) throws IOException {
+        View view = CACHED_VIEWS.contains(fxmlPath) ? getCachedView(fxmlPath) : loadView(fxmlPath);
+        BaseController controller = (view.controller instanceof BaseController) ? (BaseController) view.controller : null;
 
+        if (view.shown && controller != null) {
+            controller.onReuse();
+        }
         // Configure the controller if provided
         if (controllerConfigurator != null) {
-            Object controller = loader.getController();
-            controllerConfigurator.accept(controller);
+            controllerConfigurator.accept(view.controller);
         }
 
-        Stage stage = (Stage)((Node)e.getSource()).getScene().getWindow();
-        Scene scene = new Scene(root);
-        stage.setScene(scene);
+        if (view.scene == null) {
+            view.scene = new Scene(view.root);
+            if (fxmlPath.equals(MAIN_MENU_FXML_PATH)) {
+                addCSS(view.scene); // Apply CSS
+            }
+        }
+        view.shown = true;
+        stage.setScene(view.scene);
         stage.show();
+        if (controller != null) {
+            controller.onShow();
+        }
     }
 
+    /**
+     * Parses a cached screen ahead of time so showing it later is immediate.
+     * Can be called from any thread; the scene itself is created on the JavaFX
+     * thread when the screen is first shown. Does nothing if the screen is not
+     * one of the {@link #CACHED_VIEWS} or is already parsed or being parsed.
+     *
+     * @param fxmlPath The path to the FXML file of the screen.
+     * @throws IOException If the FXML file cannot be loaded.
+     */
+    public static void preloadView(String fxmlPath) throws IOException {
+        if (!CACHED_VIEWS.contains(fxmlPath)) return;
+        FutureTask<View> task;
+        synchronized (BaseController.class) {
+            if (viewCache.containsKey(fxmlPath)) return;
+            task = new FutureTask<>(() -> loadView(fxmlPath));
+            viewCache.put(fxmlPath, task);
+        }
+        task.run();
+        awaitView(fxmlPath, task);
+    }
+
+    /**
+     * Removes a screen from the view cache, so it is parsed again, with a
+     * new controller, the next time it is shown.
+     *
+     * @param fxmlPath The path to the FXML file of the screen.
+     */
+    public static synchronized void evictView(String fxmlPath) {
+        viewCache.remove(fxmlPath);
+    }
+
+    /**
+     * Removes every screen from the view cache.
+     */
+    public static synchronized void clearViewCache() {
+        viewCache.clear();
+    }
+
+    /**
+     * Resets the controller before its cached screen is shown again, and
+     * before it is configured by the screen switching to it. Does nothing by
+     * default.
+     */
+    protected void onReuse() {}
+
+    /**
+     * Refreshes the controller each time its screen is shown by
+     * {@link #switchScene} or {@link #goToMainMenu}, including the first time.
+     * Not called when returning with {@link #goBack}. Does nothing by default.
+     */
+    protected void onShow() {}
+
     /**
      * Adds CSS to the file
      * @param scene The scene to add CSS
      */
     public static void addCSS(Scene scene) {
-        String css = Objects.requireNonNull(BaseController.class.getResource("/com/example/chaotopia/CSS/styles.css")).toExternalForm();
-        scene.getStylesheets().add(css);
+        scene.getStylesheets().add(getCSS());
+    }
+
+    /**
+     * Gets the URL of the shared stylesheet, looking it up the first time.
+     * @return The stylesheet's URL
+     */
+    public static synchronized String getCSS() {
+        if (cssUrl == null) {
+            cssUrl = Objects.requireNonNull(BaseController.class.getResource(CSS_PATH)).toExternalForm();
+        }
+        return cssUrl;
+    }
+
+    /**
+     * Gets a cached screen, parsing it on this thread if it has not been
+     * parsed or waiting for it if another thread is parsing it.
+     *
+     * @param fxmlPath The path to the FXML file of the screen.
+     * @return The screen
+     * @throws IOException If the FXML file cannot be loaded.
+     */
+    private static View getCachedView(String fxmlPath) throws IOException {
+        FutureTask<View> task;
+        boolean created = false;
+        synchronized (BaseController.class) {
+            task = viewCache.get(fxmlPath);
+            if (task == null) {
+                task = new FutureTask<>(() -> loadView(fxmlPath));
+                viewCache.put(fxmlPath, task);
+                created = true;
+            }
+        }
+        if (created) task.run();
+        return awaitView(fxmlPath, task);
+    }
+
+    /**
+     * Waits for a screen to be parsed. If parsing failed, the screen is
+     * removed from the cache so it is tried again next time.
+     *
+     * @param fxmlPath The path to the FXML file of the screen.
+     * @param task The task parsing the screen.
+     * @return The screen
+     * @throws IOException If the FXML file cannot be loaded.
+     */
+    private static View awaitView(String fxmlPath, FutureTask<View> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + fxmlPath, e);
+        } catch (ExecutionException e) {
+            synchronized (BaseController.class) {
+                viewCache.remove(fxmlPath, task);
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("Cannot load " + fxmlPath, cause);
+        }
+    }
+
+    /**
+     * Parses a screen.
+     *
+     * @param fxmlPath The path to the FXML file of the screen.
+     * @return The screen
+     * @throws IOException If the FXML file cannot be found or loaded.
+     */
+    private static View loadView(String fxmlPath) throws IOException {
+        FXMLLoader loader = new FXMLLoader(BaseController.class.getResource(fxmlPath));
+        if (loader.getLocation() == null) {
+            throw new IOException("Cannot find FXML at: " + fxmlPath);
+        }
+        Parent root = loader.load();
+        return new View(root, loader.getController());
     }
 
     /**
@@ -2,12 +2,10 @@ package com.example.chaotopia.Controller;
 
 // Added Model import assuming it contains necessary classes like Chao, State, etc.
 import com.example.chaotopia.Application.BackgroundMusic;
+import com.example.chaotopia.Application.SoundBank;
 import com.example.chaotopia.Components.Popup;
 import com.example.chaotopia.Model.*;
 import com.example.chaotopia.Model.GameFile;
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
@@ -33,7 +31,6 @@ import java.awt.event.InputEvent;
 import java.io.IOException;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 
 import java.io.InputStream;
@@ -45,7 +42,7 @@ import java.util.*;
  * Manages game logic, UI updates, animations, and Chao state.
  * @author Rosaline Scully
  */
-public class GameplayController extends BaseController implements Initializable {
+public class GameplayController extends BaseController implements Initializable, SimulationListener {
 
     // --- FXML Injections from Gameplay.fxml ---
     @FXML private BorderPane mainContainer;
@@ -113,42 +110,38 @@ public class GameplayController extends BaseController implements Initializable
     private Map<String, InventoryItemUI> inventoryUIMap;
     private List<Button> inventoryButtonsOrdered;
     private GameFile game = null;
-
-    // --- Timelines ---
-    private Timeline statDecayTimeline;
-    private Timeline stateMonitorTimeline;
-    private Timeline sleepIncreaseTimeline;
-    private Timeline tempAnimationTimer;    // For temporary states like HAPPY
-    private Timeline messageTimeline;       // For hiding messages
-    private Timeline evolutionTimeline;     // For evolution sequences
-    private Timeline clockTimeline;
-    private Timeline fruitSpawnTimeline;
-    private Timeline giftSpawnTimeline;
-    private Timeline giftDisplayTimeline;
-
-    // --- Media Players ---
+    private SimulationEngine engine;          // Runs decay, state, sleep, spawning and evolution
+    private AutosaveService autosave;         // Saves in the background while playing
+
+    // --- Scheduled Tasks (all driven by the shared PulseScheduler) ---
+    private PulseScheduler.ScheduledTask engineTask;          // Ticks the simulation engine
+    private PulseScheduler.ScheduledTask playtimeTask;        // Tracks the parental playtime limit
+    private PulseScheduler.ScheduledTask tempAnimationTask;   // For temporary states like HAPPY
+    private PulseScheduler.ScheduledTask messageTask;         // For hiding messages
+    private PulseScheduler.ScheduledTask clockTask;
+    private PulseScheduler.ScheduledTask giftDisplayTask;
+
+    // --- Sound ---
     private MediaPlayer backgroundMusicPlayer;
-    private MediaPlayer buttonClickPlayer;
-    private MediaPlayer eatingPlayer;
-    private MediaPlayer happyPlayer;
-    private MediaPlayer angryPlayer;
-    private MediaPlayer cryingPlayer;
-    private MediaPlayer sleepingSoundPlayer;
-    private MediaPlayer bonkSoundPlayer;
-    private MediaPlayer evolutionSoundPlayer;
 
     // --- State Management ---
-    private boolean isSleeping = false;
     private Node gameOverOverlay = null; // Reference to the game over screen
-    private final Random random = new Random(); // Final because initialized once
     private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm a");
     private long lastUserActionTime = 0;
     private static final long SOUND_LOOP_COOLDOWN_MS = 2000;
     private Time time;
 
-    // --- Item Spawning ---
-    private List<String> fruitItemNames;
-    private List<String> giftItemNames;
+    // --- UI Updates (model changes mark a region dirty; each is redrawn once per pulse) ---
+    private enum UiRegion { NAME, SCORE, STATUS, INVENTORY, MESSAGE }
+    private final UiUpdateCoalescer<UiRegion> uiUpdates = new UiUpdateCoalescer<>(UiRegion.class)
+            .register(UiRegion.NAME, this::renderNameLabel)
+            .register(UiRegion.SCORE, this::renderScore)
+            .register(UiRegion.STATUS, this::renderStatusBars)
+            .register(UiRegion.INVENTORY, this::renderInventory)
+            .register(UiRegion.MESSAGE, this::renderMessage);
+    private volatile int pendingScore;     // The score to show on the next flush
+    private String pendingMessage;         // The message to show on the next flush
+    private double pendingMessageSeconds;  // How long to show it for
 
     // --- Initialization ---
     private final IntegerProperty slotIndex = new SimpleIntegerProperty(-1);
@@ -170,7 +163,7 @@ public class GameplayController extends BaseController implements Initializable
      * This triggers the listener attached to the slotIndex property,
      * which then calls {@link #initializeGame(int)} to load the game data.
      *
-     * @param slotIndex The index of the game save slot to load (0, 1, or 2).
+     * @param slotIndex The index of the game save slot to load (any slot ID).
      */
     public void setSlotIndex(int slotIndex) {
         this.slotIndex.set(slotIndex);
@@ -180,19 +173,23 @@ public class GameplayController extends BaseController implements Initializable
      * Initializes the game logic and UI elements based on the selected game slot.
      * Loads game data (Chao, Inventory, Score) from the specified slot using GameFile.
      * Sets up sounds, animations, UI maps, item lists, and starts background music.
-     * Updates the UI with loaded data (stats, name, inventory) and starts all necessary game loop timelines.
+     * Updates the UI with loaded data (stats, name, inventory) and starts all necessary game loop tasks.
      *
      * @param slotIndex The index of the game save slot to initialize from.
      */
     private void initializeGame(int slotIndex) {
         BackgroundMusic.stopMenuMusic();
         try {
-            game = new GameFile(slotIndex);
+            game = GameFileRepository.get(slotIndex); // Reuses the game if it is already loaded
         } catch (IOException e) {
             e.printStackTrace();
         }
 
         if (game.getChao() != null) {
+            long offlineTicks = game.applyOfflineDecay(System.currentTimeMillis()); // Catch up on time spent closed
+            if (offlineTicks > 0) {
+                System.out.println("Applied " + offlineTicks + " ticks of offline decay.");
+            }
             chao = game.getChao();
             loadOrCreateChao(chao);
             System.out.println("\nChao: " + chao.getName());
@@ -216,10 +213,17 @@ public class GameplayController extends BaseController implements Initializable
         }
 
         time = new Time(game);
+        engine = new SimulationEngine(chao, inventory);
+        engine.setListener(this);
+        engine.setScore(score);
+        engine.setJournal(game.getJournal()); // Record every change so a crash loses nothing
+        // Hold the logical state while a temporary visual animation plays
+        engine.setStateHold(() -> tempAnimationTask != null && tempAnimationTask.isActive());
+        autosave = new AutosaveService(game);
+        autosave.setBeforeSave(() -> time.storeTime(game));
         loadSounds();
         inventoryUIMap = new HashMap<>();
         inventoryButtonsOrdered = new ArrayList<>();
-        initializeItemLists();
 
         if (fruitImageView != null) {
             fruitAnimation = new FruitAnimation(fruitImageView, FruitType.RED);
@@ -241,8 +245,7 @@ public class GameplayController extends BaseController implements Initializable
         updateInventoryDisplay();
 
         //Setup Time
-        setupTimelines();
-        startTimelines();
+        startScheduledTasks();
     }
 
 
@@ -290,83 +293,28 @@ public class GameplayController extends BaseController implements Initializable
     }
 
     /**
-     * Loads all sound effects and background music into MediaPlayer objects.
-     * Sets looping properties and initial volume for background music.
+     * Gets the shared background music player and makes sure every sound
+     * effect is decoded before it is first needed.
      */
     private void loadSounds() {
         try {
-            // Background Music (Looping)
-            backgroundMusicPlayer = createMediaPlayer("/com/example/chaotopia/Assets/Sounds/gamebackground.mp3");
-            if (backgroundMusicPlayer != null) {
-                backgroundMusicPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-                backgroundMusicPlayer.setVolume(0.2);
-            }
-
-            // One-Shot Sounds
-            buttonClickPlayer = createMediaPlayer("/com/example/chaotopia/Assets/Sounds/buttonclick.mp3");
-            eatingPlayer = createMediaPlayer("/com/example/chaotopia/Assets/Sounds/eating.wav");
-            happyPlayer = createMediaPlayer("/com/example/chaotopia/Assets/Sounds/happy.wav");
-            bonkSoundPlayer = createMediaPlayer("/com/example/chaotopia/Assets/Sounds/crying.wav"); // Reusing crying sound
-            evolutionSoundPlayer = createMediaPlayer("/com/example/chaotopia/Assets/Sounds/evolve.mp3");
-
-            // Looping sounds
-            sleepingSoundPlayer = createMediaPlayer("/com/example/chaotopia/Assets/Sounds/sleeping.wav");
-            if (sleepingSoundPlayer != null) {
-                sleepingSoundPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-            }
-
-            angryPlayer = createMediaPlayer("/com/example/chaotopia/Assets/Sounds/angry.wav");
-            if (angryPlayer != null) {
-                angryPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-            }
-
-            cryingPlayer = createMediaPlayer("/com/example/chaotopia/Assets/Sounds/crying.wav"); // Separate instance for hungry loop
-            if (cryingPlayer != null) {
-                cryingPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-            }
-
+            backgroundMusicPlayer = SoundBank.getMusic(SoundBank.GAME_MUSIC, 0.2);
+            SoundBank.preload();
         } catch (Exception e) {
             System.err.println("Error loading sounds: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    /**
-     * Helper method to create a MediaPlayer instance from a given resource path string.
-     * Handles potential errors like missing resources.
-     *
-     * @param resourcePath The path to the sound file within the application resources (e.g., "/com/example/.../sound.mp3").
-     * @return A configured MediaPlayer instance, or null if the resource is not found or an error occurs.
-     */
-    private MediaPlayer createMediaPlayer(String resourcePath) {
-        MediaPlayer player = null;
-        try {
-            URL resourceUrl = getClass().getResource(resourcePath);
-            if (resourceUrl != null) {
-                Media media = new Media(resourceUrl.toExternalForm());
-                player = new MediaPlayer(media);
-            } else {
-                System.err.println("Could not find sound resource: " + resourcePath);
-            }
-        } catch (Exception e) {
-            System.err.println("Error creating MediaPlayer for " + resourcePath + ": " + e.getMessage());
-        }
-        return player;
-    }
-
     /**
      * Helper method to play a one-shot sound effect from the beginning.
+     * Overlapping plays are mixed by the sound bank rather than restarting
+     * the effect.
+     *
+     * @param effect The sound effect to play.
      */
-    private void playSoundEffect(MediaPlayer player) {
-        if (player != null) {
-            Platform.runLater(() -> {
-                player.stop();
-                player.seek(Duration.ZERO); // Rewind to start
-                player.play();
-            });
-        } else {
-            System.err.println("Attempted to play a null sound effect.");
-        }
+    private void playSoundEffect(SoundBank.Effect effect) {
+        SoundBank.play(effect);
     }
 
     /**
@@ -390,7 +338,7 @@ public class GameplayController extends BaseController implements Initializable
     private void handleKeyPress(KeyEvent event) {
         // System actions
         if (event.getCode() == KeyCode.S) {
-            playSoundEffect(buttonClickPlayer);
+            playSoundEffect(SoundBank.Effect.CLICK);
             saveGame();
             event.consume();
             return;
@@ -443,18 +391,6 @@ public class GameplayController extends BaseController implements Initializable
         }
     }
 
-    /**
-     * Initializes the lists of item names used for random spawning of fruits and gifts.
-     */
-    private void initializeItemLists() {
-        fruitItemNames = Arrays.asList(
-                "Red Fruit", "Blue Fruit", "Green Fruit", "Hero Fruit", "Dark Fruit"
-        );
-        giftItemNames = Arrays.asList(
-                "Trumpet", "Duck", "T.V."
-        );
-    }
-
     /**
      * Maps inventory item names (Strings) to their corresponding UI elements (Button and Label)
      * stored in the `inventoryUIMap`. This allows easy access to UI components for updates.
@@ -476,28 +412,33 @@ public class GameplayController extends BaseController implements Initializable
     }
 
     /**
-     * Updates the display of all inventory items in the UI.
-     * Sets the count text on labels and enables/disables buttons based on item availability (count > 0).
-     * Ensures UI updates happen on the JavaFX Application Thread.
+     * Marks the inventory display for a redraw on the next pulse.
      */
     private void updateInventoryDisplay() {
         if (inventory == null || inventoryUIMap == null || inventoryUIMap.isEmpty()) {
             System.err.println("Cannot update inventory display: Inventory or UI Map not initialized.");
             return;
         }
+        uiUpdates.markDirty(UiRegion.INVENTORY);
+    }
 
-        Platform.runLater(() -> { // Ensure UI updates on FX thread
-            inventoryUIMap.forEach((itemName, itemUI) -> {
-                // Add null check for itemUI itself
-                if (itemUI == null || itemUI.button() == null || itemUI.countLabel() == null) {
-                    System.err.println("Warning: UI elements missing or null for item: " + itemName);
-                    return; // Skip if UI components are missing
-                }
+    /**
+     * Updates the display of all inventory items in the UI.
+     * Sets the count text on labels and enables/disables buttons based on item availability (count > 0).
+     * Runs on the FX thread once per pulse.
+     */
+    private void renderInventory() {
+        if (inventory == null || inventoryUIMap == null) return;
+        inventoryUIMap.forEach((itemName, itemUI) -> {
+            // Add null check for itemUI itself
+            if (itemUI == null || itemUI.button() == null || itemUI.countLabel() == null) {
+                System.err.println("Warning: UI elements missing or null for item: " + itemName);
+                return; // Skip if UI components are missing
+            }
 
-                int count = inventory.getItemCount(itemName);
-                itemUI.countLabel().setText(String.valueOf(count));
-                itemUI.button().setDisable(count <= 0); // Disable if count is 0 or less
-            });
+            int count = inventory.getItemCount(itemName);
+            itemUI.countLabel().setText(String.valueOf(count));
+            itemUI.button().setDisable(count <= 0); // Disable if count is 0 or less
         });
     }
 
@@ -509,7 +450,6 @@ public class GameplayController extends BaseController implements Initializable
     private void loadOrCreateChao(Chao chao) {
         // Create the Chao instance
         this.chao = chao;
-        this.isSleeping = false; // Reset state flag
 
         // --- Initialize or Update Animation ---
         if (chaoImageView != null) {
@@ -526,98 +466,61 @@ public class GameplayController extends BaseController implements Initializable
     }
 
     /**
-     * Sets up the periodic timelines for game events like stat decay, state monitoring,
-     * clock updates, and item spawning.
+     * Schedules the periodic game loop tasks on the shared pulse scheduler:
+     * one fixed step of the simulation engine (which handles stat decay, state,
+     * sleep, item spawning and evolution), the playtime limit check with autosave
+     * and the clock.
      */
-    private void setupTimelines() {
-        // Stat Decay (e.g., every 2 seconds)
-        statDecayTimeline = new Timeline(
-                new KeyFrame(Duration.seconds(2), e -> decreaseStats())
-        );
-        statDecayTimeline.setCycleCount(Timeline.INDEFINITE);
-
-        // Frequent State Monitor (e.g., every 250ms)
-        stateMonitorTimeline = new Timeline(
-                new KeyFrame(Duration.millis(250), e -> {
-                    monitorChaoState();
-                    time.stepTime();
-                    updateClock();
-
-                    if (!time.canPlay() && stateMonitorTimeline.getStatus() == Animation.Status.RUNNING) {
-                        // --- Stop the timer FIRST ---
-                        stateMonitorTimeline.stop();
-
-                        // --- Schedule the dialog display ---
-                        Platform.runLater(() -> {
-                            try {
-                                game.save();
-                                System.out.println("Game saved.");
-                            } catch (IOException exp) {
-                                System.err.println("Error saving game on timeout:");
-                                exp.printStackTrace();
-                                // Optionally show an error message to the user here too
+    private void startScheduledTasks() {
+        // Simulation Engine (one fixed step every 250ms)
+        engineTask = PulseScheduler.every(Duration.millis(SimulationEngine.STEP_MILLIS), engine::tick);
+
+        // Playtime Limit and Autosave (every 250ms)
+        playtimeTask = PulseScheduler.every(Duration.millis(250), () -> {
+            time.stepTime();
+
+            // Autosave, or compact the journal into a new snapshot once it grows large
+            autosave.tick(250);
+
+            if (!time.canPlay() && playtimeTask.isActive()) {
+                // --- Stop the game loop FIRST ---
+                playtimeTask.cancel();
+                engineTask.cancel();
+
+                // --- Schedule the dialog display ---
+                Platform.runLater(() -> {
+                    SaveExecutor.submit(game);
+                    System.out.println("Game saved.");
+
+                    String title = "Playtime Limit Reached";
+                    String content = "Your allowed playtime for this session has ended. Game saved.";
+                    Popup dialog = new Popup(title, content);
+
+                    dialog.addButton("Okay", () -> {
+                        System.out.println("Okay button clicked.");
+                        time.storeTime(game);
+                        shutdown();
+                        Node sourceNode = mainContainer;
+                        try{
+                            if (sourceNode != null && sourceNode.getScene() != null && sourceNode.getScene().getWindow() != null) {
+                                ActionEvent dummyEvent = new ActionEvent(sourceNode, sourceNode);
+                                goToMainMenu(dummyEvent);
                             }
+                        }catch(Exception ex){
+                            ex.printStackTrace();
+                        }
 
-                            String title = "Playtime Limit Reached";
-                            String content = "Your allowed playtime for this session has ended. Game saved.";
-                            Popup dialog = new Popup(title, content);
-
-                            dialog.addButton("Okay", () -> {
-                                System.out.println("Okay button clicked.");
-                                time.storeTime(game);
-                                shutdown();
-                                Node sourceNode = mainContainer;
-                                try{
-                                    if (sourceNode != null && sourceNode.getScene() != null && sourceNode.getScene().getWindow() != null) {
-                                        ActionEvent dummyEvent = new ActionEvent(sourceNode, sourceNode);
-                                        goToMainMenu(dummyEvent);
-                                    }
-                                }catch(Exception ex){
-                                    ex.printStackTrace();
-                                }
-
-                            }, "btn-submit");
-
-                            enableAllInteractions(false);
-                            dialog.showAndWait();
-                        });
-                    }
+                    }, "btn-submit");
 
-                })
-        );
-
-        stateMonitorTimeline.setCycleCount(Timeline.INDEFINITE);
-
-        // Clock Update Timeline (every second)
-        clockTimeline = new Timeline(
-                new KeyFrame(Duration.ZERO, e -> updateClock()), // Update immediately once
-                new KeyFrame(Duration.seconds(1)) // Then repeat every second
-        );
-        clockTimeline.setCycleCount(Timeline.INDEFINITE);
-
-        // Fruit Spawning Timeline (every 5 seconds)
-        fruitSpawnTimeline = new Timeline(
-                new KeyFrame(Duration.seconds(5), e -> spawnRandomItem(fruitItemNames, "fruit"))
-        );
-        fruitSpawnTimeline.setCycleCount(Timeline.INDEFINITE);
-
-        // Gift Spawning Timeline (every 10 seconds)
-        giftSpawnTimeline = new Timeline(
-                new KeyFrame(Duration.seconds(10), e -> spawnRandomItem(giftItemNames, "gift"))
-        );
-        giftSpawnTimeline.setCycleCount(Timeline.INDEFINITE);
-    }
+                    enableAllInteractions(false);
+                    dialog.showAndWait();
+                });
+            }
+        });
 
-    /**
-     * Starts all the main game loop timelines (stat decay, state monitor, clock, spawners).
-     * Note: Sleep increase timeline is started separately when the Chao sleeps.
-     */
-    private void startTimelines() {
-        if (statDecayTimeline != null) statDecayTimeline.play();
-        if (stateMonitorTimeline != null) stateMonitorTimeline.play();
-        if (clockTimeline != null) clockTimeline.play();
-        if (fruitSpawnTimeline != null) fruitSpawnTimeline.play();
-        if (giftSpawnTimeline != null) giftSpawnTimeline.play();
+        // Clock Update (immediately, then every second)
+        updateClock();
+        clockTask = PulseScheduler.every(Duration.seconds(1), this::updateClock);
     }
 
     /**
@@ -630,25 +533,13 @@ public class GameplayController extends BaseController implements Initializable
     }
 
     /**
-     * Spawns a random item from the specified item pool (fruits or gifts).
-     * Adds the item to the inventory, updates the UI display, and shows a notification message.
-     * Does nothing if the Chao is dead.
+     * Shows a newly spawned item in the inventory along with a notification message.
      *
-     * @param itemPool The list of item names to choose from (e.g., `fruitItemNames`).
-     * @param itemCategory A string descriptor for the item type ("fruit" or "gift"), used for logging.
+     * @param itemName The name of the item the engine added to the inventory.
      */
-    private void spawnRandomItem(List<String> itemPool, String itemCategory) {
-        if (chao == null || chao.getState() == State.DEAD) {
-            return; // Don't spawn items if game isn't active
-        }
-        if (itemPool == null || itemPool.isEmpty()) {
-            System.err.println("Cannot spawn item: " + itemCategory + " pool is empty.");
-            return;
-        }
-        String itemName = itemPool.get(random.nextInt(itemPool.size()));
-        inventory.addItem(itemName, 1);
+    @Override
+    public void onItemSpawned(String itemName) {
         updateInventoryDisplay();
-        // Display message
         displayMessage("Received a " + itemName + "!", 2.0);
     }
 
@@ -660,22 +551,12 @@ public class GameplayController extends BaseController implements Initializable
             return; // Cannot update if view or chao is missing
         }
 
-        String sitFrameName = AnimationState.SIT.getResourceName() + "1.png";
-        String imagePath = String.format("/com/example/chaotopia/sprites/%s/%s",
-                chao.getType().getResourceName(),
-                sitFrameName);
-
-        try { // Use try-with-resources for InputStream later if needed, but getResource is simpler
-            URL resourceUrl = getClass().getResource(imagePath);
-            if (resourceUrl != null) {
-                Image sitImage = new Image(resourceUrl.toExternalForm());
-                Platform.runLater(() -> profileChaoImageView.setImage(sitImage)); // Update on FX thread
-            } else {
-                System.err.println("Could not load profile image resource: " + imagePath);
-                Platform.runLater(() -> profileChaoImageView.setImage(null)); // Clear image on error
-            }
+        try {
+            SpriteAtlas atlas = SpriteCache.getAtlas(chao.getType());
+            Platform.runLater(() -> atlas.applyTo(profileChaoImageView, "SIT1")); // Update on FX thread
         } catch (Exception e) {
-            System.err.println("Error loading profile image at path: " + imagePath);
+            System.err.println("Error loading profile image at path: " +
+                    SpriteCache.getFramePath(chao.getType(), AnimationState.SIT, 1));
             e.printStackTrace();
             Platform.runLater(() -> profileChaoImageView.setImage(null));
         }
@@ -690,26 +571,18 @@ public class GameplayController extends BaseController implements Initializable
      */
     @FXML
     public void playChao() {
-        playSoundEffect(buttonClickPlayer);
+        playSoundEffect(SoundBank.Effect.CLICK);
         if (isInteractionAllowed("PLAY")) {
             lastUserActionTime = System.currentTimeMillis();
-            String commandResult = Commands.play(chao);
+            String commandResult = engine.play();
 
             if (commandResult == null) {
                 stopAllLoops();
-                Commands.play(chao);
-                updateStatusBars();
-                score.updateScore(10);
+                engine.awardScore(10);
                 updateScoreUI(score.getScore());
 
-                playSoundEffect(happyPlayer);
-                showHappyAnimation();
-
-                // Special handling if we're angry
-                if (chao.getState() == State.ANGRY && chao.getStatus().getHappiness() >= 50) {
-                    chao.setState(State.NORMAL);
-                    syncChaoAnimationToState(State.NORMAL, true);
-                }
+                playSoundEffect(SoundBank.Effect.HAPPY);
+                showHappyAnimation(); // The engine moves an ANGRY Chao back to NORMAL once happy enough
             }else {
                 displayMessage(commandResult, 1.5);
             }
@@ -725,27 +598,13 @@ public class GameplayController extends BaseController implements Initializable
      */
     @FXML
     public void sleepChao() {
-        playSoundEffect(buttonClickPlayer);
+        playSoundEffect(SoundBank.Effect.CLICK);
         if (isInteractionAllowed("SLEEP")) {
             stopAllLoops();
-            Commands.sleep(chao);
-            if (chao.getState() == State.SLEEPING) {
-                // Start sleeping sound loop
-                if (sleepingSoundPlayer != null && sleepingSoundPlayer.getStatus() != MediaPlayer.Status.PLAYING) {
-                    sleepingSoundPlayer.seek(Duration.ZERO);
-                    sleepingSoundPlayer.play();
-                }
-                // Stop other state loops
-                if (angryPlayer != null) angryPlayer.stop();
-                if (cryingPlayer != null) cryingPlayer.stop();
-
+            if (engine.sleep()) { // Sounds, animation and disabled buttons follow from onFellAsleep
                 updateStatusBars();
-                score.updateScore(7);
+                engine.awardScore(7);
                 updateScoreUI(score.getScore());
-                isSleeping = true;
-                syncChaoAnimationToState(State.SLEEPING, true); // Force update
-                startSleepIncrease();
-                enableAllInteractions(false); // Disable buttons during sleep
             }
         } else {
             handleInteractionDenied("SLEEP");
@@ -758,16 +617,15 @@ public class GameplayController extends BaseController implements Initializable
      */
     @FXML
     public void exerciseChao() {
-        playSoundEffect(buttonClickPlayer);
+        playSoundEffect(SoundBank.Effect.CLICK);
         if (isInteractionAllowed("EXERCISE")) {
             lastUserActionTime = System.currentTimeMillis();
             stopAllLoops();
-            Commands.exercise(chao);
-            updateStatusBars();
-            score.updateScore(10);
+            engine.exercise();
+            engine.awardScore(10);
             updateScoreUI(score.getScore());
 
-            playSoundEffect(happyPlayer);
+            playSoundEffect(SoundBank.Effect.HAPPY);
             showHappyAnimation();
         } else {
             handleInteractionDenied("EXERCISE");
@@ -781,19 +639,18 @@ public class GameplayController extends BaseController implements Initializable
      */
     @FXML
     public void vetChao() {
-        playSoundEffect(buttonClickPlayer);
+        playSoundEffect(SoundBank.Effect.CLICK);
         if (isInteractionAllowed("VET")) {
-            String commandResult = Commands.vet(chao);
+            String commandResult = engine.vet();
             if (commandResult != null) { // Vet returns message if already healthy
                 displayMessage(commandResult, 2.0);
                 return; // Don't proceed if message shown
             }
 
             stopAllLoops();
-            playSoundEffect(happyPlayer);
+            playSoundEffect(SoundBank.Effect.HAPPY);
 
-            updateStatusBars();
-            score.updateScore(-20); // Cost for vet visit
+            engine.awardScore(-20); // Cost for vet visit
             updateScoreUI(score.getScore());
             showHappyAnimation(); // Happy after being healed
             lastUserActionTime = System.currentTimeMillis();
@@ -810,11 +667,10 @@ public class GameplayController extends BaseController implements Initializable
      */
     @FXML
     public void petChao() {
-        playSoundEffect(buttonClickPlayer);
+        playSoundEffect(SoundBank.Effect.CLICK);
         if (isInteractionAllowed("PET")) {
             int previousAlignment = chao.getAlignment();
-            Commands.pet(chao);
-            updateStatusBars(); // Update stats display
+            engine.pet();
 
             // Check for Hero evolution only if it's a basic type and not already evolved
             if (previousAlignment < 7 && chao.getAlignment() >= 7 && chao.getType() != ChaoType.HERO) {
@@ -823,8 +679,8 @@ public class GameplayController extends BaseController implements Initializable
             } else {
                 lastUserActionTime = System.currentTimeMillis();
                 stopAllLoops();
-                playSoundEffect(happyPlayer);
-                score.updateScore(3);
+                playSoundEffect(SoundBank.Effect.HAPPY);
+                engine.awardScore(3);
                 updateScoreUI(score.getScore());
                 showHappyAnimation();
             }
@@ -840,12 +696,11 @@ public class GameplayController extends BaseController implements Initializable
      */
     @FXML
     public void bonkChao() {
-        playSoundEffect(buttonClickPlayer);
+        playSoundEffect(SoundBank.Effect.CLICK);
         if (isInteractionAllowed("BONK")) {
             int previousAlignment = chao.getAlignment();
-            Commands.bonk(chao); // Apply model changes
-            updateStatusBars(); // Update UI
-            score.updateScore(-3);
+            engine.bonk(); // Apply model changes
+            engine.awardScore(-3);
             updateScoreUI(score.getScore());
 
             // Check for Dark evolution only if basic type and not already evolved
@@ -855,7 +710,7 @@ public class GameplayController extends BaseController implements Initializable
             } else {
                 lastUserActionTime = System.currentTimeMillis();
                 stopAllLoops();
-                playSoundEffect(bonkSoundPlayer);
+                playSoundEffect(SoundBank.Effect.BONK);
                 showTemporaryStateAnimation(AnimationState.HUNGRY, 2);
             }
         } else {
@@ -866,22 +721,22 @@ public class GameplayController extends BaseController implements Initializable
     // --- Item/Fruit Actions ---
 
     /** FXML action method linked to the Trumpet button. Calls {@link #giftItem}. */
-    @FXML public void giftTrumpet() { playSoundEffect(buttonClickPlayer); giftItem("Trumpet"); }
+    @FXML public void giftTrumpet() { playSoundEffect(SoundBank.Effect.CLICK); giftItem("Trumpet"); }
     /** FXML action method linked to the Duck button. Calls {@link #giftItem}. */
-    @FXML public void giftDuck() { playSoundEffect(buttonClickPlayer); giftItem("Duck"); }
+    @FXML public void giftDuck() { playSoundEffect(SoundBank.Effect.CLICK); giftItem("Duck"); }
     /** FXML action method linked to the TV button. Calls {@link #giftItem}. */
-    @FXML public void giftTV() { playSoundEffect(buttonClickPlayer); giftItem("T.V."); }
+    @FXML public void giftTV() { playSoundEffect(SoundBank.Effect.CLICK); giftItem("T.V."); }
 
     /** FXML action method linked to the Red Fruit button. Calls {@link #feedFruit}. */
-    @FXML public void feedRedFruit() { playSoundEffect(buttonClickPlayer); feedFruit("Red Fruit", FruitType.RED, false); }
+    @FXML public void feedRedFruit() { playSoundEffect(SoundBank.Effect.CLICK); feedFruit("Red Fruit", FruitType.RED); }
     /** FXML action method linked to the Blue Fruit button. Calls {@link #feedFruit}. */
-    @FXML public void feedBlueFruit() { playSoundEffect(buttonClickPlayer); feedFruit("Blue Fruit", FruitType.BLUE, false); }
+    @FXML public void feedBlueFruit() { playSoundEffect(SoundBank.Effect.CLICK); feedFruit("Blue Fruit", FruitType.BLUE); }
     /** FXML action method linked to the Green Fruit button. Calls {@link #feedFruit}. */
-    @FXML public void feedGreenFruit() { playSoundEffect(buttonClickPlayer); feedFruit("Green Fruit", FruitType.GREEN, false); }
+    @FXML public void feedGreenFruit() { playSoundEffect(SoundBank.Effect.CLICK); feedFruit("Green Fruit", FruitType.GREEN); }
     /** FXML action method linked to the Hero Fruit button. Calls {@link #feedFruit}. */
-    @FXML public void feedHeroFruit() { playSoundEffect(buttonClickPlayer); feedFruit("Hero Fruit", FruitType.HERO, true); }
+    @FXML public void feedHeroFruit() { playSoundEffect(SoundBank.Effect.CLICK); feedFruit("Hero Fruit", FruitType.HERO); }
     /** FXML action method linked to the Dark Fruit button. Calls {@link #feedFruit}. */
-    @FXML public void feedDarkFruit() { playSoundEffect(buttonClickPlayer); feedFruit("Dark Fruit", FruitType.DARK, true); }
+    @FXML public void feedDarkFruit() { playSoundEffect(SoundBank.Effect.CLICK); feedFruit("Dark Fruit", FruitType.DARK); }
 
     /**
      * Handles the action of giving a non-fruit item (gift) to the Chao.
@@ -902,12 +757,10 @@ public class GameplayController extends BaseController implements Initializable
         // Apply logic
         stopAllLoops();
         lastUserActionTime = System.currentTimeMillis();
-        playSoundEffect(happyPlayer);
-        Commands.give(chao, new Item(itemName)); // Apply effect to model
-        inventory.removeItem(itemName);          // Update model
+        playSoundEffect(SoundBank.Effect.HAPPY);
+        engine.give(itemName);                   // Apply effect and use up the item
         updateInventoryDisplay();                // Update UI
-        updateStatusBars();                      // Update UI
-        score.updateScore(10);                   // Update model
+        engine.awardScore(10);                   // Update model
         updateScoreUI(score.getScore());         // Update UI
         showHappyAnimation();                    // Show visual reaction
         displayMessage(chao.getName() + " liked the " + itemName + "!", 1.5); // Show text feedback
@@ -936,27 +789,22 @@ public class GameplayController extends BaseController implements Initializable
 
             // Stop conflicting animations/displays
             if (fruitAnimation != null) fruitAnimation.stopAnimation();
-            if (giftDisplayTimeline != null) giftDisplayTimeline.stop();
+            if (giftDisplayTask != null) giftDisplayTask.cancel();
             fruitImageView.setVisible(false); // Hide current content immediately
 
             // Display Item & Set Hide Timer
             Platform.runLater(() -> {
+                fruitImageView.setViewport(null); // Fruit frames leave an atlas viewport behind
                 fruitImageView.setImage(itemImage);
                 fruitImageView.setVisible(true);
 
-                giftDisplayTimeline = new Timeline(
-                        new KeyFrame(Duration.seconds(durationSeconds), e -> {
-                            // Check if this timer is still valid and image matches
-                            if (giftDisplayTimeline != null && giftDisplayTimeline.getStatus() != Timeline.Status.STOPPED) {
-                                if (fruitImageView != null && fruitImageView.getImage() == itemImage) {
-                                    fruitImageView.setVisible(false);
-                                    fruitImageView.setImage(null);
-                                }
-                            }
-                        })
-                );
-                giftDisplayTimeline.setCycleCount(1);
-                giftDisplayTimeline.play();
+                giftDisplayTask = PulseScheduler.after(Duration.seconds(durationSeconds), () -> {
+                    // Only hide if the item is still the one on display
+                    if (fruitImageView != null && fruitImageView.getImage() == itemImage) {
+                        fruitImageView.setVisible(false);
+                        fruitImageView.setImage(null);
+                    }
+                });
             });
 
         } catch (Exception e) {
@@ -967,55 +815,47 @@ public class GameplayController extends BaseController implements Initializable
 
     /**
      * Handles the action of feeding a fruit item to the Chao.
-     * Checks inventory, triggers animation/sound, applies effects via Commands,
+     * Checks inventory, triggers animation/sound, applies effects via the engine,
      * updates UI, score, checks for alignment-based evolution.
      *
      * @param fruitName The name of the fruit item being fed.
      * @param fruitType The corresponding FruitType enum for animation purposes.
-     * @param isSpecial Indicates if the fruit uses the special feeding logic.
      */
-    private void feedFruit(String fruitName, FruitType fruitType, boolean isSpecial) {
+    private void feedFruit(String fruitName, FruitType fruitType) {
         if (!isInteractionAllowed("FEED")) { handleInteractionDenied("FEED"); return; }
         if (inventory.getItemCount(fruitName) <= 0) { displayMessage("No " + fruitName + " available!", 1.5); return; }
         if (fruitAnimation == null) { System.err.println("Cannot feed fruit: FruitAnimation not initialized."); return; }
 
         // Stop any active gift display
-        if (giftDisplayTimeline != null && giftDisplayTimeline.getStatus() == Timeline.Status.RUNNING) {
-            giftDisplayTimeline.stop();
+        if (giftDisplayTask != null && giftDisplayTask.isActive()) {
+            giftDisplayTask.cancel();
             fruitImageView.setVisible(false);
         }
 
         // Play sound & start animation
         stopAllLoops();
-        playSoundEffect(eatingPlayer);
+        playSoundEffect(SoundBank.Effect.EATING);
         fruitAnimation.changeFruitType(fruitType);
 
         // Apply logic
-        Item fruit = new Item(fruitName);
         int previousAlignment = chao.getAlignment();
         ChaoType previousType = chao.getType();
         boolean evolutionTriggered = false;
 
-        if (isSpecial) {
-            Commands.feedSpecialFruit(chao, fruit); // Apply stats FIRST
-            // Check evolution condition AFTER stats are applied
-            if (fruitName.equals("Hero Fruit") && previousAlignment < 7 && chao.getAlignment() >= 7 && previousType != ChaoType.HERO) {
-                triggerEvolution(true); evolutionTriggered = true;
-            } else if (fruitName.equals("Dark Fruit") && previousAlignment > -7 && chao.getAlignment() <= -7 && previousType != ChaoType.DARK) {
-                triggerEvolution(false); evolutionTriggered = true;
-            }
-        } else {
-            Commands.feed(chao, fruit);
+        engine.feed(fruitName); // Apply stats FIRST and use up the fruit
+        // Check evolution condition AFTER stats are applied
+        if (fruitName.equals("Hero Fruit") && previousAlignment < 7 && chao.getAlignment() >= 7 && previousType != ChaoType.HERO) {
+            triggerEvolution(true); evolutionTriggered = true;
+        } else if (fruitName.equals("Dark Fruit") && previousAlignment > -7 && chao.getAlignment() <= -7 && previousType != ChaoType.DARK) {
+            triggerEvolution(false); evolutionTriggered = true;
         }
 
-        // Update inventory & UI
-        inventory.removeItem(fruitName);
+        // Update inventory UI
         updateInventoryDisplay();
-        updateStatusBars(); // Update stats display
 
         if (!evolutionTriggered) {
             lastUserActionTime = System.currentTimeMillis();
-            score.updateScore(5);
+            engine.awardScore(5);
             updateScoreUI(score.getScore());
             showTemporaryStateAnimation(AnimationState.HAPPY,3);
         }
@@ -1025,143 +865,151 @@ public class GameplayController extends BaseController implements Initializable
     // --- Evolution Logic ---
 
     /**
-     * Initiates and manages the Chao evolution sequence.
-     * Disables interactions, plays sound/animation, updates Chao model,
-     * displays messages, and handles post-evolution state transition.
+     * Initiates the Chao evolution sequence.
+     * The engine times the evolution itself; this disables interactions,
+     * plays the sound and awards the score. The rest of the sequence is shown
+     * from {@link #onEvolved} and {@link #onEvolutionFinished}.
      *
      * @param isHeroEvolution True if triggering Hero evolution, false for Dark evolution.
      */
     private void triggerEvolution(boolean isHeroEvolution) {
         // Re-check conditions right before starting
-        if (chao == null || chao.getState() == State.EVOLVING) return;
-        ChaoType currentType = chao.getType();
-        int currentAlignment = chao.getAlignment();
-        boolean canEvolve = (isHeroEvolution && currentType != ChaoType.HERO && currentAlignment >= 7) ||
-                (!isHeroEvolution && currentType != ChaoType.DARK && currentAlignment <= -7);
-        if (!canEvolve) return; // Exit if conditions somehow changed
+        if (chao == null || !engine.beginEvolution(isHeroEvolution)) return;
 
         // --- Setup Evolution State ---
         lastUserActionTime = System.currentTimeMillis();
-        chao.setState(State.EVOLVING);
-        isSleeping = false; // Can't sleep while evolving
         stopAllLoops();
-        playSoundEffect(evolutionSoundPlayer); // Play evolution SFX
+        playSoundEffect(SoundBank.Effect.EVOLVE); // Play evolution SFX
         enableAllInteractions(false); // Disable UI interactions
 
         // Update score
         int evolutionScore = isHeroEvolution ? 50 : 25;
-        score.updateScore(evolutionScore);
+        engine.awardScore(evolutionScore);
         updateScoreUI(score.getScore());
+    }
 
-        // Start visual animation
-        if (chaoAnimation != null) chaoAnimation.changeAnimation(AnimationState.EVOLVING);
-
-        // --- Timeline for Evolution Process ---
-        if (evolutionTimeline != null) evolutionTimeline.stop(); // Stop previous if any
-
-        double evolutionVisualDuration = 4.0; // Duration of the evolving visual effect
-        double postEvolutionPoseDuration = 2.0; // Duration to show the final pose
-
-        evolutionTimeline = new Timeline(
-                new KeyFrame(Duration.seconds(evolutionVisualDuration), e -> {
-                    // -- Visuals Complete: Apply Model Change --
-                    if (chao == null || chao.getState() != State.EVOLVING) return; // Check if still evolving
-
-                    chao.evolve(); // Actual change in the model
-                    displayMessage(chao.getName() + " evolved to " + chao.getType() + "!", 4.0);
-                    syncChaoAnimationToType(chao.getType()); // Update animation base type
-                    updateProfileChaoImage(); // Update profile picture
-
-                    // Show the final pose animation
-                    AnimationState finalPose = isHeroEvolution ? AnimationState.HAPPY : AnimationState.ANGRY;
-                    if (chaoAnimation != null) chaoAnimation.changeAnimation(finalPose);
-
-                    // -- Schedule Return to Normal State --
-                    Timeline returnTimeline = new Timeline(
-                            new KeyFrame(Duration.seconds(postEvolutionPoseDuration), e2 -> {
-                                if (chao == null) return;
-                                // Revert state if still in post-evolution pose
-                                if (chao.getState() == State.EVOLVING) {
-                                    chao.setState(State.NORMAL);
-                                    syncChaoAnimationToState(State.NORMAL, true);
-                                }
-                                enableAllInteractions(true); // Re-enable UI
-                            })
-                    );
-                    returnTimeline.play();
-                })
-        );
-        evolutionTimeline.play();
+    /**
+     * Shows the result of an evolution once the evolving animation is complete.
+     *
+     * @param newType The Chao's type after evolving.
+     * @param heroEvolution True for a Hero evolution, false for a Dark evolution.
+     */
+    @Override
+    public void onEvolved(ChaoType newType, boolean heroEvolution) {
+        displayMessage(chao.getName() + " evolved to " + newType + "!", 4.0);
+        syncChaoAnimationToType(newType); // Update animation base type
+        updateProfileChaoImage(); // Update profile picture
+
+        // Show the final pose animation
+        AnimationState finalPose = heroEvolution ? AnimationState.HAPPY : AnimationState.ANGRY;
+        if (chaoAnimation != null) chaoAnimation.changeAnimation(finalPose);
+    }
+
+    /**
+     * Re-enables interactions once the post-evolution pose is over.
+     */
+    @Override
+    public void onEvolutionFinished() {
+        enableAllInteractions(true); // Re-enable UI
     }
 
 
     // --- UI Update Methods ---
 
     /**
-     * Updates the Chao's name label in the UI. Runs on FX thread.
+     * Marks the Chao's name label for a redraw on the next pulse.
      */
     private void updateNameLabel() {
         if (nameLabel != null && chao != null) {
-            Platform.runLater(() -> nameLabel.setText(chao.getName()));
+            uiUpdates.markDirty(UiRegion.NAME);
         }
     }
 
     /**
-     * Updates the score label in the UI. Runs on FX thread.
+     * Updates the Chao's name label in the UI. Runs on FX thread.
+     */
+    private void renderNameLabel() {
+        if (nameLabel != null && chao != null) nameLabel.setText(chao.getName());
+    }
+
+    /**
+     * Marks the score label for a redraw on the next pulse. Only the latest
+     * score is shown if it changes several times in one frame.
      * @param newScore The score value to display.
      */
     private void updateScoreUI(int newScore) {
         if (scoreLabel != null) {
-            Platform.runLater(() -> scoreLabel.setText("Score: " + newScore));
+            pendingScore = newScore;
+            uiUpdates.markDirty(UiRegion.SCORE);
         }
     }
 
     /**
-     * Updates all status progress bars and numeric labels based on current Chao stats.
-     * Runs on FX thread and handles death check.
+     * Updates the score label in the UI. Runs on FX thread.
+     */
+    private void renderScore() {
+        if (scoreLabel != null) scoreLabel.setText("Score: " + pendingScore);
+    }
+
+    /**
+     * Marks the status bars for a redraw on the next pulse.
      */
     public void updateStatusBars() {
         if (chao == null || healthBar == null || fullnessBar == null || happinessBar == null || sleepBar == null ||
                 healthLabel == null || fullnessLabel == null || happinessLabel == null || sleepLabel == null ) {
             return; // Exit if required components are missing
         }
+        uiUpdates.markDirty(UiRegion.STATUS);
+    }
 
-        final Status status = chao.getStatus(); // Get status once
+    /**
+     * Updates all status progress bars and numeric labels based on current Chao stats.
+     * Runs on FX thread once per pulse and handles death check.
+     */
+    private void renderStatusBars() {
+        if (chao == null) return;
+        Status status = chao.getStatus();
+        int health = status.isDead() ? 0 : status.getHealth();
+        int fullness = status.getFullness();
+        int happiness = status.getHappiness();
+        int sleep = status.getSleep();
+
+        // Update Bars
+        healthBar.setProgress(health / 100.0);
+        fullnessBar.setProgress(fullness / 100.0);
+        happinessBar.setProgress(happiness / 100.0);
+        sleepBar.setProgress(sleep / 100.0);
+
+        // Update Labels
+        healthLabel.setText(String.valueOf(health));
+        fullnessLabel.setText(String.valueOf(fullness));
+        happinessLabel.setText(String.valueOf(happiness));
+        sleepLabel.setText(String.valueOf(sleep));
+
+        // Apply low status styling
+        checkAndApplyLowStatus(healthBar, health, 25);
+        checkAndApplyLowStatus(fullnessBar, fullness, 25);
+        checkAndApplyLowStatus(happinessBar, happiness, 25);
+        checkAndApplyLowStatus(sleepBar, sleep, 25);
+
+        // Check for death *after* UI updates
+        if (engine != null) engine.checkDeath();
+    }
 
-        Platform.runLater(() -> {
-            int health = status.isDead() ? 0 : status.getHealth();
-            int fullness = status.getFullness();
-            int happiness = status.getHappiness();
-            int sleep = status.getSleep();
-
-            // Update Bars
-            healthBar.setProgress(health / 100.0);
-            fullnessBar.setProgress(fullness / 100.0);
-            happinessBar.setProgress(happiness / 100.0);
-            sleepBar.setProgress(sleep / 100.0);
-
-            // Update Labels
-            healthLabel.setText(String.valueOf(health));
-            fullnessLabel.setText(String.valueOf(fullness));
-            happinessLabel.setText(String.valueOf(happiness));
-            sleepLabel.setText(String.valueOf(sleep));
-
-            // Apply low status styling
-            checkAndApplyLowStatus(healthBar, health, 25);
-            checkAndApplyLowStatus(fullnessBar, fullness, 25);
-            checkAndApplyLowStatus(happinessBar, happiness, 25);
-            checkAndApplyLowStatus(sleepBar, sleep, 25);
-
-            // Check for death *after* UI updates
-            if (status.isDead() && chao.getState() != State.DEAD) {
-                handleDeath();
-            }
-        });
+    /**
+     * Refreshes the status bars whenever the engine changes the Chao's stats.
+     *
+     * @param status The Chao's current stats.
+     */
+    @Override
+    public void onStatsChanged(Status status) {
+        updateStatusBars();
     }
 
     /**
      * Applies/removes a CSS style class (`low-status-bar`) to a ProgressBar
-     * based on whether the value is below a threshold. Runs on FX thread.
+     * based on whether the value is below a threshold. Called from the status
+     * bar redraw, so it is already on the FX thread.
      *
      * @param bar The ProgressBar UI element.
      * @param value The current integer value of the status.
@@ -1171,31 +1019,26 @@ public class GameplayController extends BaseController implements Initializable
         final String lowStatusStyleClass = "low-status-bar";
         if (bar == null) return;
 
-        Platform.runLater(() -> { // Ensure style changes on FX thread
-            boolean isLow = (value <= threshold);
-            // Use StyleClass methods which handle duplicates
-            if (isLow) {
-                if (!bar.getStyleClass().contains(lowStatusStyleClass)) {
-                    bar.getStyleClass().add(lowStatusStyleClass);
-                }
-            } else {
-                bar.getStyleClass().remove(lowStatusStyleClass);
+        boolean isLow = (value <= threshold);
+        // Use StyleClass methods which handle duplicates
+        if (isLow) {
+            if (!bar.getStyleClass().contains(lowStatusStyleClass)) {
+                bar.getStyleClass().add(lowStatusStyleClass);
             }
-        });
+        } else {
+            bar.getStyleClass().remove(lowStatusStyleClass);
+        }
     }
 
     /**
-     * Handles the Chao's death: sets state, stops game loops/sounds,
+     * Handles the Chao's death once the engine reports it: stops game loops/sounds,
      * updates animation, shows game over screen, disables interactions.
      */
-    private void handleDeath() {
-        if (chao == null || chao.getState() == State.DEAD) return; // Prevent multiple calls
-
+    @Override
+    public void onDeath() {
         System.out.println(chao.getName() + " has died.");
-        chao.setState(State.DEAD);
-        isSleeping = false;
 
-        stopTimelines(); // Stop game loop timers
+        stopScheduledTasks(); // Stop game loop timers
         stopAllSounds(); // Stop all sounds
 
         if (chaoAnimation != null) {
@@ -1206,8 +1049,9 @@ public class GameplayController extends BaseController implements Initializable
     }
 
     /**
-     * Displays a message temporarily in the messageLabel UI element.
-     * Runs on the FX Application thread.
+     * Displays a message temporarily in the messageLabel UI element on the
+     * next pulse. If several messages arrive in one frame, only the latest
+     * is shown.
      *
      * @param message The text message to display.
      * @param durationSeconds How long the message should remain visible.
@@ -1217,23 +1061,36 @@ public class GameplayController extends BaseController implements Initializable
             System.out.println("UI Message (Label not found): " + message);
             return;
         }
+        synchronized (uiUpdates) { // Keep the text and duration together if called off the FX thread
+            pendingMessage = message;
+            pendingMessageSeconds = durationSeconds;
+        }
+        uiUpdates.markDirty(UiRegion.MESSAGE);
+    }
 
-        Platform.runLater(() -> {
-            messageLabel.setText(message);
-            messageLabel.setVisible(true);
+    /**
+     * Shows the latest message and restarts the timer that hides it.
+     * Runs on the FX Application thread.
+     */
+    private void renderMessage() {
+        String message;
+        double durationSeconds;
+        synchronized (uiUpdates) {
+            message = pendingMessage;
+            durationSeconds = pendingMessageSeconds;
+        }
+        if (messageLabel == null || message == null) return;
+        messageLabel.setText(message);
+        messageLabel.setVisible(true);
 
-            // Stop previous message timer if running
-            if (messageTimeline != null) {
-                messageTimeline.stop();
-            }
+        // Stop previous message timer if running
+        if (messageTask != null) {
+            messageTask.cancel();
+        }
 
-            // Start new timer to hide the message
-            messageTimeline = new Timeline(
-                    new KeyFrame(Duration.seconds(durationSeconds), e -> {
-                        if (messageLabel != null) messageLabel.setVisible(false);
-                    })
-            );
-            messageTimeline.play();
+        // Start new timer to hide the message
+        messageTask = PulseScheduler.after(Duration.seconds(durationSeconds), () -> {
+            if (messageLabel != null) messageLabel.setVisible(false);
         });
     }
 
@@ -1258,33 +1115,29 @@ public class GameplayController extends BaseController implements Initializable
      */
     public boolean showTemporaryStateAnimation(AnimationState tempAnimState, double duration) {
         // Don't show temp anims during critical states or if animation system not ready
-        if (chao == null || chaoAnimation == null || chao.getState() == State.DEAD || chao.getState() == State.EVOLVING || isSleeping) {
+        if (chao == null || chaoAnimation == null || chao.getState() == State.DEAD || chao.getState() == State.EVOLVING || engine.isSleeping()) {
             return false;
         }
 
         // Stop previous temp timer if running
-        if (tempAnimationTimer != null) {
-            tempAnimationTimer.stop();
+        if (tempAnimationTask != null) {
+            tempAnimationTask.cancel();
         }
 
-        // Store previous state *before* showing temp anim? No, rely on monitorChaoState to fix.
+        // Store previous state *before* showing temp anim? No, rely on the engine to fix.
         // Change visuals immediately
         chaoAnimation.changeAnimation(tempAnimState);
 
         // Start timer to revert visuals
-        tempAnimationTimer = new Timeline(
-                new KeyFrame(Duration.seconds(duration), e -> {
-                    // When timer ends, sync animation back to the *actual* current logical state
-                    if (chao != null && chao.getState() != State.DEAD && chao.getState() != State.EVOLVING) {
-                        // Don't revert if Chao fell asleep/etc during the temp anim
-                        if (chao.getState() != State.SLEEPING) {
-                            syncChaoAnimationToState(chao.getState(), true); // Revert visuals
-                        }
-                    }
-                })
-        );
-        tempAnimationTimer.setCycleCount(1);
-        tempAnimationTimer.play();
+        tempAnimationTask = PulseScheduler.after(Duration.seconds(duration), () -> {
+            // When timer ends, sync animation back to the *actual* current logical state
+            if (chao != null && chao.getState() != State.DEAD && chao.getState() != State.EVOLVING) {
+                // Don't revert if Chao fell asleep/etc during the temp anim
+                if (chao.getState() != State.SLEEPING) {
+                    syncChaoAnimationToState(chao.getState(), true); // Revert visuals
+                }
+            }
+        });
         return true;
     }
 
@@ -1315,138 +1168,69 @@ public class GameplayController extends BaseController implements Initializable
     }
 
     /**
-     * Starts the timeline to gradually increase the sleep stat while the Chao is sleeping.
-     * Handles waking the Chao up when sleep is full or interrupted.
+     * Keeps the looping sounds in sync with the Chao's logical state after every engine step.
+     *
+     * @param state The Chao's logical state at the end of the step.
      */
-    public void startSleepIncrease() {
-        if (chao == null) return; // Safety check
-        if (sleepIncreaseTimeline != null) sleepIncreaseTimeline.stop();
-        System.out.println(chao.getName() + " is increasing sleep...");
-
-        sleepIncreaseTimeline = new Timeline(
-                new KeyFrame(Duration.millis(500), e -> {
-                    if (chao != null && isSleeping && chao.getStatus().getSleep() < 100) {
-                        chao.getStatus().adjustSleep(4);
-                        updateStatusBars(); // Update UI
-                    } else {
-                        // Stop condition (sleep full or no longer 'isSleeping')
-                        if (sleepIncreaseTimeline != null) {
-                            sleepIncreaseTimeline.stop();
-                        }
-                        // Trigger wake up logic if applicable
-                        if (chao != null && isSleeping) { // Check if we *were* sleeping when timeline ended
-                            handleWakeUp(chao.getStatus().getSleep() < 100); // Pass true if wake up was forced/interrupted
-                        }
-                    }
-                })
-        );
-        sleepIncreaseTimeline.setCycleCount(Timeline.INDEFINITE);
-        sleepIncreaseTimeline.play();
+    @Override
+    public void onTick(State state) {
+        updateSoundLoops(state);
     }
 
     /**
-     * Handles the logic for when a Chao wakes up. Stops sounds/timelines,
-     * updates state via monitor, enables UI.
-     * @param forced True if waking up was not due to reaching 100 sleep.
+     * Syncs the visual animation when the engine changes the Chao's logical state.
+     *
+     * @param oldState The state before the change.
+     * @param newState The state after the change.
      */
-    private void handleWakeUp(boolean forced) {
-        if (chao == null || !isSleeping) return; // Already awake or no chao
-
-        System.out.println(chao.getName() + " waking up (forced=" + forced + ")");
-        isSleeping = false; // Update internal flag FIRST
-        if (sleepingSoundPlayer != null) sleepingSoundPlayer.stop(); // Stop sound loop
-        if (sleepIncreaseTimeline != null) sleepIncreaseTimeline.stop(); // Ensure timeline is stopped
-
-        if (!forced) {
-            displayMessage(chao.getName() + " woke up!", 4.0);
-        }
-
-        // Re-evaluate state *after* setting isSleeping=false
-        monitorChaoState();
-        // Only enable interactions if the new state allows it
-        if (chao.getState() != State.DEAD && chao.getState() != State.EVOLVING) {
-            enableAllInteractions(true);
+    @Override
+    public void onStateChanged(State oldState, State newState) {
+        System.out.println("State change: " + oldState + " -> " + newState);
+        if (newState == State.EVOLVING) {
+            if (chaoAnimation != null) chaoAnimation.changeAnimation(AnimationState.EVOLVING);
+        } else if (newState != State.DEAD) { // Death is shown by onDeath
+            syncChaoAnimationToState(newState, true);
         }
     }
 
     /**
-     * Periodically checks Chao stats, determines the correct logical state,
-     * updates the state, syncs the visual animation, and manages looping sounds.
+     * Handles the Chao falling asleep: starts the sleeping sound loop and
+     * disables interactions until it wakes up.
+     *
+     * @param exhausted True if the Chao collapsed from exhaustion.
      */
-    private void monitorChaoState() {
-        // Exit checks
-        if (chao == null || chao.getState() == State.DEAD || chao.getState() == State.EVOLVING) {
-            stopAllLoops(); return; // Stop loops and exit
-        }
-
-        // Don't change logical state during temp visual animations (unless ANGRY)
-        boolean tempVisualRunning = tempAnimationTimer != null && tempAnimationTimer.getStatus() == Timeline.Status.RUNNING;
-        if (tempVisualRunning && chao.getState() != State.ANGRY) {
-            updateSoundLoops(chao.getState()); // Keep sounds synced to logical state
-            return;
-        }
-
-        State currentState = chao.getState();
-        Status status = chao.getStatus();
-        State determinedState = currentState;
-
-        // --- State Determination Logic ---
-        // Check SLEEPING state first (based on isSleeping flag)
-        if (isSleeping) {
-            determinedState = State.SLEEPING;
-        }
-        // Check if just woke up (isSleeping is false, but currentState was SLEEPING)
-        else if (currentState == State.SLEEPING) {
-            if (status.getHappiness() <= 0) determinedState = State.ANGRY;
-            else if (status.getFullness() <= 0) determinedState = State.HUNGRY;
-            else determinedState = State.NORMAL;
-        }
-        // Check if should fall asleep (and not already SLEEPING)
-        else if (status.getSleep() <= 0 && currentState != State.SLEEPING) {
-            // Apply exhaustion effects and set up sleep state
+    @Override
+    public void onFellAsleep(boolean exhausted) {
+        if (exhausted) {
             System.out.println(chao.getName() + " fell asleep from exhaustion!");
             displayMessage(chao.getName() + " fell asleep from exhaustion!", 4.0);
-            status.adjustHealth(-15);
-            updateStatusBars(); // Show health drop
-
-            determinedState = State.SLEEPING;
-            chao.setState(State.SLEEPING); // Set state NOW
-            isSleeping = true;
-            syncChaoAnimationToState(State.SLEEPING, true);
-            enableAllInteractions(false);
-            startSleepIncrease(); // Start gaining sleep
-            stopAllLoops(); // Stop angry/crying loops
-            updateSoundLoops(State.SLEEPING); // Start sleeping loop
-            return; // Exit monitor early after setting up sleep
-        }
-        // Check for ANGRY state (if not sleeping/evolving/dead)
-        else if (status.getHappiness() <= 0 || (currentState == State.ANGRY && status.getHappiness() < 50)) {
-            determinedState = State.ANGRY;
-        }
-        // Check for HUNGRY state (if not sleeping/evolving/dead/angry)
-        else if (status.getFullness() <= 0 && currentState != State.ANGRY) { // Don't override ANGRY with HUNGRY
-            determinedState = State.HUNGRY;
-        }
-        // Check for returning to NORMAL from ANGRY/HUNGRY
-        else if (currentState == State.ANGRY && status.getHappiness() >= 50) {
-            determinedState = State.NORMAL;
-        } else if (currentState == State.HUNGRY && status.getFullness() > 0) {
-            determinedState = State.NORMAL;
-        }
-        // Otherwise, if no other state applies, remain NORMAL (or current state if not previously handled)
-        else if (currentState == State.NORMAL || determinedState == currentState) { // handles default case or no change needed
-            determinedState = State.NORMAL;
+        } else {
+            System.out.println(chao.getName() + " is increasing sleep...");
         }
+        enableAllInteractions(false); // Disable buttons during sleep
+        stopAllLoops(); // Stop angry/crying loops
+        SoundBank.startLoop(SoundBank.Effect.SLEEPING);
+    }
 
+    /**
+     * Handles the logic for when a Chao wakes up. Stops the sleeping sound
+     * and enables UI if the new state allows it.
+     *
+     * @param forced True if waking up was not due to reaching 100 sleep.
+     */
+    @Override
+    public void onWokeUp(boolean forced) {
+        System.out.println(chao.getName() + " waking up (forced=" + forced + ")");
+        SoundBank.stop(SoundBank.Effect.SLEEPING); // Stop sound loop
 
-        // --- Apply State Change and Sync Visuals/Sounds ---
-        if (determinedState != currentState) {
-            System.out.println("Monitor State change: " + currentState + " -> " + determinedState);
-            chao.setState(determinedState);
-            syncChaoAnimationToState(determinedState, true);
+        if (!forced) {
+            displayMessage(chao.getName() + " woke up!", 4.0);
         }
 
-        updateSoundLoops(determinedState); // Ensure sounds match final state
+        // Only enable interactions if the new state allows it
+        if (chao.getState() != State.DEAD && chao.getState() != State.EVOLVING) {
+            enableAllInteractions(true);
+        }
     }
 
     /** Helper method to start/stop looping sounds based on the given state, respecting cooldown. */
@@ -1454,14 +1238,14 @@ public class GameplayController extends BaseController implements Initializable
         long currentTime = System.currentTimeMillis();
 
         // --- Stop incorrect loops first (always safe) ---
-        if (state != State.ANGRY && angryPlayer != null && angryPlayer.getStatus() == MediaPlayer.Status.PLAYING) {
-            angryPlayer.stop();
+        if (state != State.ANGRY && SoundBank.isPlaying(SoundBank.Effect.ANGRY)) {
+            SoundBank.stop(SoundBank.Effect.ANGRY);
         }
-        if (state != State.HUNGRY && cryingPlayer != null && cryingPlayer.getStatus() == MediaPlayer.Status.PLAYING) {
-            cryingPlayer.stop();
+        if (state != State.HUNGRY && SoundBank.isPlaying(SoundBank.Effect.CRYING)) {
+            SoundBank.stop(SoundBank.Effect.CRYING);
         }
-        if (state != State.SLEEPING && sleepingSoundPlayer != null && sleepingSoundPlayer.getStatus() == MediaPlayer.Status.PLAYING) {
-            sleepingSoundPlayer.stop();
+        if (state != State.SLEEPING && SoundBank.isPlaying(SoundBank.Effect.SLEEPING)) {
+            SoundBank.stop(SoundBank.Effect.SLEEPING);
         }
 
         // --- Check Cooldown before STARTING a loop ---
@@ -1471,12 +1255,12 @@ public class GameplayController extends BaseController implements Initializable
 
         // --- Start the correct loop if not already playing AND not in cooldown ---
         try {
-            if (state == State.ANGRY && angryPlayer != null && angryPlayer.getStatus() != MediaPlayer.Status.PLAYING) {
-                angryPlayer.seek(Duration.ZERO); angryPlayer.play();
-            } else if (state == State.HUNGRY && cryingPlayer != null && cryingPlayer.getStatus() != MediaPlayer.Status.PLAYING) {
-                cryingPlayer.seek(Duration.ZERO); cryingPlayer.play();
-            } else if (state == State.SLEEPING && sleepingSoundPlayer != null && sleepingSoundPlayer.getStatus() != MediaPlayer.Status.PLAYING) {
-                sleepingSoundPlayer.seek(Duration.ZERO); sleepingSoundPlayer.play();
+            if (state == State.ANGRY) {
+                SoundBank.startLoop(SoundBank.Effect.ANGRY);
+            } else if (state == State.HUNGRY) {
+                SoundBank.startLoop(SoundBank.Effect.CRYING);
+            } else if (state == State.SLEEPING) {
+                SoundBank.startLoop(SoundBank.Effect.SLEEPING);
             }
         } catch (Exception e) {
             System.err.println("Error trying to start sound loop for state " + state + ": " + e.getMessage());
@@ -1485,35 +1269,9 @@ public class GameplayController extends BaseController implements Initializable
 
     /** Helper method to explicitly stop all state-based looping sounds. */
     private void stopAllLoops() {
-        if (angryPlayer != null) {angryPlayer.stop();
-        }
-        if (cryingPlayer != null) { cryingPlayer.stop();
-        }
-        if (sleepingSoundPlayer != null) {sleepingSoundPlayer.stop();
-        }
-    }
-
-    /**
-     * Applies natural stat decay over time, updates UI, and re-evaluates Chao state.
-     * Called by the statDecayTimeline.
-     */
-    private void decreaseStats() {
-        if (chao == null || chao.getState() == State.DEAD) {
-            return;
-        }
-
-        Status status = chao.getStatus();
-        int prevHealth = status.getHealth();
-
-        Commands.applyNaturalDecay(chao); // Apply model change
-        updateStatusBars(); // Update UI
-
-        monitorChaoState(); // Re-evaluate state immediately
-
-        // Check for death caused by decay AFTER potentially changing state
-        if (prevHealth > 0 && chao.getStatus().isDead()) { // Re-check status
-            handleDeath();
-        }
+        SoundBank.stop(SoundBank.Effect.ANGRY);
+        SoundBank.stop(SoundBank.Effect.CRYING);
+        SoundBank.stop(SoundBank.Effect.SLEEPING);
     }
 
     // --- Game Over Logic ---
@@ -1595,16 +1353,10 @@ public class GameplayController extends BaseController implements Initializable
     /** FXML action method linked to the Save button. Placeholder. */
     @FXML
     public void saveGame() {
-        playSoundEffect(buttonClickPlayer);
-        try {
-            time.storeTime(game);
-            game.save();
-            System.out.println("Game saved successfully!");
-            displayMessage("Game Saved!", 2.0);
-        } catch (IOException exp) {
-            System.err.println("Failed to save game: " + exp.getMessage());
-        }
-        System.out.println("Attempting to save game...");
+        playSoundEffect(SoundBank.Effect.CLICK);
+        time.storeTime(game);
+        SaveExecutor.submit(game);
+        System.out.println("Game saved successfully!");
         displayMessage("Game Saved!", 2.0);
     }
 
@@ -1615,86 +1367,104 @@ public class GameplayController extends BaseController implements Initializable
     @FXML
     public void goToMenu(ActionEvent event) {
         System.out.println("Returning to Main Menu... (Implement Navigation)");
-        try {
-            game.save();
-            String title = "Back to Main Menu";
-            String content = "Are you sure you want to go back to the main menu? Your progress will be saved.";
-            Popup dialog = new Popup(title, content);
-
-            dialog.addButton("Stay", () -> {
-            }, "btn-submit");
-
-            dialog.addButton("Leave", () -> {
-                shutdown();
-                try {
-                    goToMainMenu(event);
-                } catch (IOException e) {
-                    String failedMainMenuContent = "Failed to go back to the main menu.";
-                    Popup failDialog = new Popup(title, failedMainMenuContent);
-                    failDialog.addButton("Okay", () -> {
-
-                    }, "btn-red");
-                    throw new RuntimeException(e);
-                }
+        SaveExecutor.submit(game);
+        String title = "Back to Main Menu";
+        String content = "Are you sure you want to go back to the main menu? Your progress will be saved.";
+        Popup dialog = new Popup(title, content);
 
-            }, "btn-cancel");
+        dialog.addButton("Stay", () -> {
+        }, "btn-submit");
 
-            dialog.showAndWait();
-        } catch (IOException exp) {
-            System.err.println("Failed to save game: " + exp.getMessage());
-            String title = "Failed to Save Game";
-            String content = "Your game failed to save.";
-            Popup dialog = new Popup(title, content);
+        dialog.addButton("Leave", () -> {
+            shutdown();
+            try {
+                goToMainMenu(event);
+            } catch (IOException e) {
+                String failedMainMenuContent = "Failed to go back to the main menu.";
+                Popup failDialog = new Popup(title, failedMainMenuContent);
+                failDialog.addButton("Okay", () -> {
+
+                }, "btn-red");
+                throw new RuntimeException(e);
+            }
 
-            dialog.addButton("Okay", () -> {
+        }, "btn-cancel");
 
-            }, "btn-submit");
-        }
+        dialog.showAndWait();
     }
 
     /**
-     * Stops all running timelines, sounds, and animations. Saves the game. Called before closing stage or navigating away.
+     * Stops all scheduled tasks, sounds, and animations. Saves the game. Called before closing stage or navigating away.
      */
     public void shutdown() {
         System.out.println("Gameplay Controller Shutting Down...");
         game.setNumSessions(game.getNumSessions() + 1);
         saveGame();
         Commands.resetCooldowns();
-        stopTimelines();
+        stopScheduledTasks();
+        if (engine != null) engine.close();
+        game.closeJournal();
+        stopAllSounds();
+        if (chaoAnimation != null) chaoAnimation.stopAnimation();
+        if (fruitAnimation != null) fruitAnimation.stopAnimation();
+    }
+
+    /**
+     * Resets the cached gameplay screen before another game is loaded into
+     * it. Stops anything the previous game left running, removes the game
+     * over screen and clears the slot so setting it again loads the game.
+     */
+    @Override
+    protected void onReuse() {
+        stopScheduledTasks();
+        uiUpdates.cancel(); // Nothing from the previous game is drawn over the next one
+        if (engine != null) engine.close(); // The next game gets its own engine
         stopAllSounds();
         if (chaoAnimation != null) chaoAnimation.stopAnimation();
         if (fruitAnimation != null) fruitAnimation.stopAnimation();
+        chaoAnimation = null; // Recreated for the next Chao's type and state
+
+        if (gameOverOverlay != null && centerStackPane != null) {
+            centerStackPane.getChildren().remove(gameOverOverlay);
+        }
+        gameOverOverlay = null;
+        if (messageLabel != null) messageLabel.setVisible(false);
+        if (fruitImageView != null) fruitImageView.setVisible(false);
+        // Enabled directly rather than later on the FX thread, so the new game can disable them again
+        for (Node node : Arrays.asList(playButton, sleepButton, exerciseButton, vetButton,
+                petButton, bonkButton, inventoryButtonContainer)) {
+            if (node != null) node.setDisable(false);
+        }
+
+        lastUserActionTime = 0;
+        if (game != null) game.closeJournal();
+        game = null;
+        slotIndex.set(-1);
     }
 
     /**
-     * Stops all currently running MediaPlayer instances.
+     * Stops the background music and every sound effect.
      */
     private void stopAllSounds() {
         System.out.println("Stopping all sounds...");
-        MediaPlayer[] players = {
-                bonkSoundPlayer, backgroundMusicPlayer, buttonClickPlayer, eatingPlayer,
-                happyPlayer, angryPlayer, cryingPlayer, sleepingSoundPlayer, evolutionSoundPlayer
-        };
-        for (MediaPlayer player : players) {
-            if (player != null) {
-                player.stop();
-            }
+        if (backgroundMusicPlayer != null) {
+            backgroundMusicPlayer.stop();
         }
+        SoundBank.stopAll();
     }
 
     /**
-     * Stops all timelines related to game progression and temporary effects.
+     * Cancels all scheduled tasks related to game progression and temporary effects.
      */
-    private void stopTimelines() {
-        System.out.println("Stopping timelines...");
-        Timeline[] timelines = {
-                statDecayTimeline, stateMonitorTimeline, sleepIncreaseTimeline, tempAnimationTimer,
-                messageTimeline, evolutionTimeline, giftDisplayTimeline, clockTimeline,
-                fruitSpawnTimeline, giftSpawnTimeline
+    private void stopScheduledTasks() {
+        System.out.println("Stopping scheduled tasks...");
+        PulseScheduler.ScheduledTask[] tasks = {
+                engineTask, playtimeTask, tempAnimationTask,
+                messageTask, giftDisplayTask, clockTask
         };
-        for (Timeline tl : timelines) {
-            if (tl != null) {
-                tl.stop();
+        for (PulseScheduler.ScheduledTask task : tasks) {
+            if (task != null) {
+                task.cancel();
             }
         }
     }
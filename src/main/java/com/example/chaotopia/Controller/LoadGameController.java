@@ -1,15 +1,19 @@
 package com.example.chaotopia.Controller;
 
-import com.example.chaotopia.Model.Chao;
-import com.example.chaotopia.Model.GameFile;
 import com.example.chaotopia.Components.Popup;
 import com.example.chaotopia.Model.ParentalLimitations;
+import com.example.chaotopia.Model.SlotIndex;
+import com.example.chaotopia.Model.SpriteCache;
 import javafx.event.ActionEvent;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.layout.VBox;
 
 import static com.example.chaotopia.Model.GameFile.deleteFile;
 
@@ -17,30 +21,51 @@ import static com.example.chaotopia.Model.GameFile.deleteFile;
  * Controller for the Load Game screen, handling save slot selection and deletion.
  * This class manages the UI for loading existing game saves or starting a new game,
  * including displaying save slot statuses and handling user interactions.
+ * <br><br>
+ * There can be any number of saves, so they are shown a page at a time, most
+ * recently played first, with a new game slot at the start of the first page.
+ * Only the visible page is read from the {@link SlotIndex}, so opening the
+ * screen takes the same time however many saves there are.
  */
 public class LoadGameController extends BaseController {
+    @FXML private VBox slot1Box, slot2Box, slot3Box;
     @FXML private ImageView slot1Image, slot2Image, slot3Image;
     @FXML private Button slot1Button, slot2Button, slot3Button;
+    @FXML private Button deleteSlot1Button, deleteSlot2Button, deleteSlot3Button;
+    @FXML private Label slot1Name, slot2Name, slot3Name;
+    @FXML private Button previousPageButton, nextPageButton;
+    @FXML private Label pageLabel;
 
-    /** An array tracking the status of each save slot (index 0-2). `true` means a save exists, `false` means it's empty. */
-    private boolean[] saveSlots = new boolean[3];
-    /** Constant representing the boolean state of an empty save slot. */
-    private static final boolean EMPTY_SLOT = false;
-    /** Constant representing the boolean state of a save slot with existing data. */
-    private static final boolean EXISTING_SLOT = true;
+    /** The number of slots shown on a page. */
+    private static final int PAGE_SIZE = 3;
+    /** The label shown under the new game slot. */
+    private static final String NEW_GAME_LABEL = "New Game";
 
-    /** The Image object loaded from resources, representing an empty save slot button graphic. */
-    private final Image emptySaveImage = new Image(getClass().getResource("/com/example/chaotopia/Assets/PlayGameScreen/empty-save-button.png").toExternalForm());
-    /** The Image object loaded from resources, representing an active/existing save slot button graphic. */
-    private final Image activeSaveImage = new Image(getClass().getResource("/com/example/chaotopia/Assets/PlayGameScreen/existing-save-button.png").toExternalForm());
+    /** The page being shown, starting at 0. */
+    private int page = 0;
+    /** The entries shown on the current page, in order. A null entry is the new game slot. */
+    private final List<SlotIndex.Entry> pageEntries = new ArrayList<>();
+
+    /** Resource path of the empty save slot button graphic. */
+    public static final String EMPTY_SAVE_IMAGE_PATH = "/com/example/chaotopia/Assets/PlayGameScreen/empty-save-button.png";
+    /** Resource path of the active/existing save slot button graphic. */
+    public static final String ACTIVE_SAVE_IMAGE_PATH = "/com/example/chaotopia/Assets/PlayGameScreen/existing-save-button.png";
+
+    /** The image representing an empty save slot button, shared with every other visit to this screen. */
+    private final Image emptySaveImage = SpriteCache.getImage(EMPTY_SAVE_IMAGE_PATH);
+    /** The image representing an active/existing save slot button, shared with every other visit to this screen. */
+    private final Image activeSaveImage = SpriteCache.getImage(ACTIVE_SAVE_IMAGE_PATH);
 
     /**
-     * Initializes the controller, checking save slot statuses and updating the UI accordingly.
+     * Shows the first page of save slots and applies parental limitations
+     * each time the screen is shown, since the screen is cached and the saves
+     * or limitations may have changed since it was last visible.
      */
-    @FXML
-    public void initialize() {
-        checkSaveSlots(); // Check save slot status using GameFile
-        updateUI(); // Set correct button images based on save slot data
+    @Override
+    protected void onShow() {
+        page = 0;
+        showPage(); // Set correct button images based on the slot index
+        checkParentalLimitations();
     }
 
     /**
@@ -81,7 +106,7 @@ public class LoadGameController extends BaseController {
      */
     @FXML
     private void deleteSlot1() {
-        deleteSlot(0, slot1Image);
+        deleteSlot(0);
     }
 
     /**
@@ -89,7 +114,7 @@ public class LoadGameController extends BaseController {
      */
     @FXML
     private void deleteSlot2() {
-        deleteSlot(1, slot2Image);
+        deleteSlot(1);
     }
 
     /**
@@ -97,29 +122,53 @@ public class LoadGameController extends BaseController {
      */
     @FXML
     private void deleteSlot3() {
-        deleteSlot(2, slot3Image);
+        deleteSlot(2);
+    }
+
+    /**
+     * Shows the previous page of save slots.
+     */
+    @FXML
+    private void previousPage() {
+        page--;
+        showPage();
     }
 
     /**
-     * Handles the navigation based on the slot's empty/existing status.
+     * Shows the next page of save slots.
+     */
+    @FXML
+    private void nextPage() {
+        page++;
+        showPage();
+    }
+
+    /**
+     * Handles the navigation based on whether the clicked position holds the
+     * new game slot or an existing save.
      *
-     * @param e         The ActionEvent triggering the click.
-     * @param slotIndex The index of the clicked slot.
+     * @param e        The ActionEvent triggering the click.
+     * @param position The position of the clicked slot on the page.
      * @throws IOException If an I/O error occurs during scene switching.
      */
-    private void handleSlotClick(ActionEvent e, int slotIndex) throws IOException {
-        if (saveSlots[slotIndex] == EMPTY_SLOT) {
+    private void handleSlotClick(ActionEvent e, int position) throws IOException {
+        if (position >= pageEntries.size()) return;
+
+        SlotIndex.Entry entry = pageEntries.get(position);
+        if (entry == null) {
+            int slotId = SlotIndex.nextFreeSlotId();
             switchScene(e, "/com/example/chaotopia/View/NewGame.fxml", controller -> {
                 if (controller instanceof NewGameController) {
-                    System.out.println("This is the slot index new game" + slotIndex);
-                    ((NewGameController) controller).setSlotIndex(slotIndex);
+                    System.out.println("This is the slot index new game" + slotId);
+                    ((NewGameController) controller).setSlotIndex(slotId);
                 }
             });
         } else {
+            int slotId = entry.getSlotId();
             switchScene(e, "/com/example/chaotopia/View/Gameplay.fxml", controller -> {
                 if (controller instanceof GameplayController) {
-                    System.out.println("This is the slot index load game" + slotIndex);
-                    ((GameplayController) controller).setSlotIndex(slotIndex);
+                    System.out.println("This is the slot index load game" + slotId);
+                    ((GameplayController) controller).setSlotIndex(slotId);
                 }
             });
         }
@@ -128,76 +177,90 @@ public class LoadGameController extends BaseController {
     /**
      * Displays a confirmation dialog for deleting a save slot.
      *
-     * @param slotNumber The slot number to delete.
-     * @param slotImage  The ImageView corresponding to the slot.
+     * @param position The position of the slot on the page.
      */
-    @FXML
-    private void deleteSlot(int slotNumber, ImageView slotImage) {
+    private void deleteSlot(int position) {
+        if (position >= pageEntries.size() || pageEntries.get(position) == null) return;
+
         String title = "Delete Game";
         String content = "Are you sure you want to delete this game? This cannot be undone!";
         Popup dialog = new Popup(title, content);
 
         dialog.addButton("No", () -> {}, "btn-submit");
-        dialog.addButton("Yes", () -> {updateDeletion(slotNumber, slotImage);}, "btn-cancel");
+        dialog.addButton("Yes", () -> {updateDeletion(pageEntries.get(position));}, "btn-cancel");
 
         dialog.showAndWait();
     }
 
     /**
-     * Updates the UI and file system after deleting a save slot.
+     * Updates the file system and the page after deleting a save slot.
      *
-     * @param slotIndex The index of the deleted slot.
-     * @param slotImage The ImageView to update.
+     * @param entry The index entry of the deleted slot.
      */
-    private void updateDeletion(int slotIndex, ImageView slotImage) {
-        if (saveSlots[slotIndex] == EXISTING_SLOT) {
-            try {
-                // Delete the save file
-                deleteFile(slotIndex);
-                // Update UI and state
-                saveSlots[slotIndex] = EMPTY_SLOT;
-                slotImage.setImage(emptySaveImage);
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+    private void updateDeletion(SlotIndex.Entry entry) {
+        try {
+            // Delete the save file
+            deleteFile(entry.getSlotId());
+            // Later saves move up to fill the gap
+            showPage();
+        } catch (IOException e) {
+            e.printStackTrace();
         }
     }
 
     /**
-     * Checks the status of each save slot, determining if they are empty or contain save data.
+     * Shows the current page of save slots, clamping it to the pages that
+     * exist. The first position of the first page is the new game slot, and
+     * positions past the last save are hidden.
      */
-    private void checkSaveSlots() {
-        for (int i = 0; i < saveSlots.length; i++) {
-            try {
-                // Use GameFile's method to check if slot is empty
-                saveSlots[i] = !GameFile.isEmptySlot(i);
-            } catch (IOException e) {
-                System.err.println("Error checking save slot " + i + ": " + e.getMessage());
-                saveSlots[i] = false;
-            }
-        }
-    }
+    private void showPage() {
+        int positions = SlotIndex.getActiveCount() + 1; // Every save plus the new game slot
+        int pageCount = (positions + PAGE_SIZE - 1) / PAGE_SIZE;
+        page = Math.max(0, Math.min(page, pageCount - 1));
 
-    /**
-     * Updates the UI to reflect the current save slot statuses and parental limitations.
-     */
-    private void updateUI() {
+        int first = page * PAGE_SIZE;
+        pageEntries.clear();
+        if (first == 0) pageEntries.add(null);
+        pageEntries.addAll(SlotIndex.getRange(Math.max(0, first - 1), PAGE_SIZE - pageEntries.size()));
+
+        VBox[] boxes = {slot1Box, slot2Box, slot3Box};
         ImageView[] images = {slot1Image, slot2Image, slot3Image};
+        Label[] names = {slot1Name, slot2Name, slot3Name};
+        Button[] deleteButtons = {deleteSlot1Button, deleteSlot2Button, deleteSlot3Button};
 
-        for (int i = 0; i < saveSlots.length; i++) {
-            if (saveSlots[i]) {
-                images[i].setImage(activeSaveImage);
-            } else {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            boolean shown = i < pageEntries.size();
+            boxes[i].setVisible(shown);
+            if (!shown) continue;
+
+            SlotIndex.Entry entry = pageEntries.get(i);
+            if (entry == null) {
                 images[i].setImage(emptySaveImage);
+                names[i].setText(NEW_GAME_LABEL);
+            } else {
+                images[i].setImage(activeSaveImage);
+                names[i].setText(entry.getName());
             }
+            deleteButtons[i].setDisable(entry == null);
         }
 
+        pageLabel.setText("Page " + (page + 1) + " / " + pageCount);
+        previousPageButton.setDisable(page == 0);
+        nextPageButton.setDisable(page >= pageCount - 1);
+    }
+
+    /**
+     * Disables the save slots and tells the player if parental limitations
+     * do not allow play right now.
+     */
+    private void checkParentalLimitations() {
         ParentalLimitations.loadParentalLimitations();
         java.time.LocalTime currentTime = java.time.LocalTime.now();
-        if (!ParentalLimitations.isPlayAllowed(currentTime) && ParentalLimitations.isEnabled()) {
-            slot1Button.setDisable(true);
-            slot2Button.setDisable(true);
-            slot3Button.setDisable(true);
+        boolean blocked = !ParentalLimitations.isPlayAllowed(currentTime) && ParentalLimitations.isEnabled();
+        slot1Button.setDisable(blocked);
+        slot2Button.setDisable(blocked);
+        slot3Button.setDisable(blocked);
+        if (blocked) {
 
             String title = "Play Not Allowed";
             String content = "You are not allowed to play during this time!\n" +
@@ -213,4 +276,4 @@ public class LoadGameController extends BaseController {
             dialog.showAndWait();
         }
     }
-}
\ No newline at end of file
+}
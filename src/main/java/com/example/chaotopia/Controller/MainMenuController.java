@@ -1,9 +1,11 @@
 package com.example.chaotopia.Controller;
 
+import com.example.chaotopia.Application.AssetPreloader;
 import com.example.chaotopia.Application.BackgroundMusic;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.control.ProgressBar;
 
 import java.io.IOException;
 
@@ -14,10 +16,24 @@ import java.io.IOException;
  */
 public class MainMenuController extends BaseController {
 
+    /** Shows how much of the game's assets have been preloaded. Hidden once they all have. */
+    @FXML private ProgressBar loadingBar;
+
     /**
-     * Initializes the controller, starting the background menu music.
+     * Initializes the controller, showing the asset preloading progress.
      */
     public void initialize() {
+        if (loadingBar != null) {
+            loadingBar.progressProperty().bind(AssetPreloader.progressProperty());
+            loadingBar.visibleProperty().bind(AssetPreloader.progressProperty().lessThan(1.0));
+        }
+    }
+
+    /**
+     * Starts the background menu music each time the menu is shown.
+     */
+    @Override
+    protected void onShow() {
         BackgroundMusic.startMenuMusic();
     }
 
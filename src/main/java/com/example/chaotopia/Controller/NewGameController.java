@@ -15,7 +15,7 @@ import java.util.concurrent.atomic.AtomicReference;
 public class NewGameController extends BaseController {
     /** Constant representing the boolean state of a save slot with existing data. */
     private static final boolean EXISTING_SLOT = true;
-    /** The index (0, 1, or 2) of the save slot selected on the previous screen (LoadGameController) where this new game will be saved. */
+    /** The ID of the save slot selected on the previous screen (LoadGameController) where this new game will be saved. */
     private int slotIndex;
     /** An instance of the {@link Inventory} class, initialized to hold the default starting items for the new game. */
     Inventory inventory = new Inventory();
@@ -77,6 +77,7 @@ public class NewGameController extends BaseController {
         GameFile game = new GameFile(slotIndex, chao, inventory, new Score(0), 0L, 0, 0L);
         try {
             game.save();
+            GameFileRepository.put(game); // The gameplay screen picks up this game rather than reading it back
             System.out.println("Game saved successfully!");
         } catch (IOException exp) {
             System.err.println("Failed to save game: " + exp.getMessage());
@@ -2,10 +2,13 @@ package com.example.chaotopia.Controller;
 
 import com.example.chaotopia.Components.Popup;
 import com.example.chaotopia.Model.GameFile;
+import com.example.chaotopia.Model.GameFileRepository;
 import com.example.chaotopia.Model.ParentalControls;
 import com.example.chaotopia.Model.ParentalLimitations;
 import com.example.chaotopia.Model.ParentalStatistics;
+import com.example.chaotopia.Model.SlotIndex;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
@@ -13,10 +16,13 @@ import javafx.scene.control.TextField;
 import java.io.IOException;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 
 /**
  * Controller for the Parental Controls screen, handling parental settings and game statistics.
  * This class allows parents to set play time limitations, view playtime statistics, and revive pets.
+ * The revive buttons list the most recently played saves by their Chao's name, in the same order
+ * as the first page of the Load Game screen.
  */
 public class ParentalControlsController extends BaseController{
 
@@ -32,31 +38,68 @@ public class ParentalControlsController extends BaseController{
     @FXML
     private TextField endTimeField;
 
-    /**Initialize Game files*/
-    private GameFile[] gameFiles = new GameFile[3];
+    @FXML
+    private Button reviveButton1;
+
+    @FXML
+    private Button reviveButton2;
+
+    @FXML
+    private Button reviveButton3;
+
+    /**The saves the revive buttons act on, most recently played first*/
+    private List<SlotIndex.Entry> reviveEntries = List.of();
 
     /**
-     * Initializes the controller, loading parental limitations and setting up the UI.
+     * Loads parental limitations and statistics and sets up the UI each time
+     * the screen is shown, since the screen is cached and they may have
+     * changed since it was last visible.
      */
-    public void initialize() {
+    @Override
+    protected void onShow() {
+        startTimeField.clear();
+        endTimeField.clear();
+
         //load limitations file
         ParentalLimitations.loadParentalLimitations();
 
         //set the checkbox to be enabled/disabled
         playRangeCheckBox.setSelected(ParentalLimitations.isEnabled());
 
-        //initialize array of GameFiles
-        for (int slotID = 0; slotID < 3; slotID++) {
-            try{
-                gameFiles[slotID] = new GameFile(slotID);
-            } catch (Exception e) {
-                System.err.println(e.getMessage());
-            }
+        //label the revive buttons with the saves they act on
+        Button[] reviveButtons = {reviveButton1, reviveButton2, reviveButton3};
+        reviveEntries = SlotIndex.getRange(0, reviveButtons.length);
+        for (int i = 0; i < reviveButtons.length; i++) {
+            if (reviveButtons[i] == null) continue;
+            boolean hasSave = i < reviveEntries.size();
+            String name = hasSave ? reviveEntries.get(i).getName() : null;
+            reviveButtons[i].setText(!hasSave ? "No Save"
+                    : (name != null && !name.isEmpty()) ? "Revive " + name : "Revive Save " + (i + 1));
+            reviveButtons[i].setDisable(!hasSave);
         }
 
         updatePlaytimeStatsLabel();
     }
 
+    /**
+     * Gets the game file behind a revive button from the game file repository,
+     * which only reads it from disk if it is not already loaded.
+     *
+     * @param position The revive button's position, starting at 0.
+     * @return The game file, or null if the button has no save or it cannot be loaded.
+     */
+    private GameFile getGameFile(int position) {
+        if (position >= reviveEntries.size()) return null;
+        int slotID = reviveEntries.get(position).getSlotId();
+        if (SlotIndex.isEmptySlot(slotID)) return null;
+        try {
+            return GameFileRepository.get(slotID);
+        } catch (Exception e) {
+            System.err.println(e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Saves the playable time range entered by the user.
      */
@@ -130,7 +173,7 @@ public class ParentalControlsController extends BaseController{
         Popup dialog = new Popup(title, content);
 
         dialog.addButton("Yes", () -> {
-            ParentalStatistics.resetStatistics(gameFiles);
+            ParentalStatistics.resetStatistics();
             updatePlaytimeStatsLabel();
         }, "btn-submit");
 
@@ -142,24 +185,24 @@ public class ParentalControlsController extends BaseController{
     }
 
     /**
-     * Revives the pet in slot 1 if it is dead.
+     * Revives the pet in the most recently played save if it is dead.
      */
     public void reviveSlot1() {
-        handleRevive(gameFiles[0]);
+        handleRevive(getGameFile(0));
     }
 
     /**
-     * Revives the pet in slot 2 if it is dead.
+     * Revives the pet in the second most recently played save if it is dead.
      */
     public void reviveSlot2() {
-        handleRevive(gameFiles[1]);
+        handleRevive(getGameFile(1));
     }
 
     /**
-     * Revives the pet in slot 3 if it is dead.
+     * Revives the pet in the third most recently played save if it is dead.
      */
     public void reviveSlot3() {
-        handleRevive(gameFiles[2]);
+        handleRevive(getGameFile(2));
     }
 
     /**
@@ -232,7 +275,7 @@ public class ParentalControlsController extends BaseController{
      */
     private void updatePlaytimeStatsLabel() {
         //initialize parental statistics
-        ParentalStatistics.loadParentalStatistics(gameFiles);
+        ParentalStatistics.loadParentalStatistics();
 
         //format the total and average playtime
         long totalPlayTimeHrs = (ParentalStatistics.getTotalPlaytime() / 3600);
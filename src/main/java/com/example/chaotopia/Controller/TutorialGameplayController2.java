@@ -1,8 +1,7 @@
 package com.example.chaotopia.Controller;
 
+import com.example.chaotopia.Application.SoundBank;
 import com.example.chaotopia.Model.*;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
@@ -27,7 +26,6 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
-import java.io.InputStream;
 import java.net.URL;
 import java.util.*;
 
@@ -104,16 +102,29 @@ public class TutorialGameplayController2 extends BaseController implements Initi
     private Map<String, InventoryItemUI> inventoryUIMap;
     private List<Button> inventoryButtonsOrdered;
 
-    // --- Timelines ---
-    private Timeline statDecayTimeline;
-    private Timeline stateMonitorTimeline;
-    private Timeline sleepIncreaseTimeline;
-    private Timeline tempAnimationTimer;    // For temporary states like HAPPY
-    private Timeline messageTimeline;       // For hiding messages
-    private Timeline evolutionTimeline;     // For evolution sequences
+    // --- Scheduled Tasks ---
+    private PulseScheduler.ScheduledTask statDecayTask;
+    private PulseScheduler.ScheduledTask sleepIncreaseTask;
+    private PulseScheduler.ScheduledTask tempAnimationTask;   // For temporary states like HAPPY
+    private PulseScheduler.ScheduledTask messageTask;         // For hiding messages
+    private PulseScheduler.ScheduledTask evolutionTask;       // For evolution sequences
 
     // --- State Management ---
     private boolean isSleeping = false;
+    private boolean stateCheckPending = false; // A state check is queued on the FX thread
+
+    // --- UI Updates (model changes mark a region dirty; each is redrawn once per pulse) ---
+    private enum UiRegion { STATUS, INVENTORY, MESSAGE }
+    private final UiUpdateCoalescer<UiRegion> uiUpdates = new UiUpdateCoalescer<>(UiRegion.class)
+            .register(UiRegion.STATUS, this::renderStatusBars)
+            .register(UiRegion.INVENTORY, this::renderInventory)
+            .register(UiRegion.MESSAGE, this::renderMessage);
+    private String pendingMessage;          // The message to show on the next flush
+    private double pendingMessageSeconds;   // How long to show it for
+    // Checks the state when a stat that decides it crosses a threshold, instead of polling
+    private final Status.ThresholdListener stateThresholdListener = (stat, oldValue, newValue) -> {
+        if (ChaoStateMachine.affectsState(stat)) requestStateCheck();
+    };
     private State previousState = State.NORMAL;
     private Node gameOverOverlay = null; // Reference to the game over screen
     private Random random = new Random(); //for random starting type. remove once choose chao
@@ -176,8 +187,7 @@ public class TutorialGameplayController2 extends BaseController implements Initi
         updateScoreUI(score.getScore());
         updateNameLabel();
         updateStatusBars();
-        setupTimelines();
-        startTimelines();
+        startScheduledTasks();
         updateProfileChaoImage();
         updateInventoryDisplay();
 
@@ -317,23 +327,26 @@ public class TutorialGameplayController2 extends BaseController implements Initi
             return;
         }
 
-        Platform.runLater(() -> { // Ensure UI updates on FX thread
-            inventoryUIMap.forEach((itemName, itemUI) -> {
-                if (itemUI.button() == null || itemUI.countLabel() == null) {
-                    System.err.println("Warning: UI elements missing for item: " + itemName);
-                    return; // Skip if button or label injection failed
-                }
+        uiUpdates.markDirty(UiRegion.INVENTORY); // Redrawn once on the next pulse
+    }
 
-                int count = inventory.getItemCount(itemName);
+    private void renderInventory() {
+        if (inventory == null || inventoryUIMap == null) return;
+        inventoryUIMap.forEach((itemName, itemUI) -> {
+            if (itemUI.button() == null || itemUI.countLabel() == null) {
+                System.err.println("Warning: UI elements missing for item: " + itemName);
+                return; // Skip if button or label injection failed
+            }
 
-                // Update count label text
-                itemUI.countLabel().setText(String.valueOf(count));
+            int count = inventory.getItemCount(itemName);
 
-                // Enable/disable button based on count & handle hover effect
-                boolean available = count > 0;
-                itemUI.button().setDisable(!available);
+            // Update count label text
+            itemUI.countLabel().setText(String.valueOf(count));
+
+            // Enable/disable button based on count & handle hover effect
+            boolean available = count > 0;
+            itemUI.button().setDisable(!available);
 
-            });
         });
     }
     //random chao picker
@@ -349,7 +362,9 @@ public class TutorialGameplayController2 extends BaseController implements Initi
         System.out.println("Creating default Chao...");
         Status initialStatus = new Status(100, 100, 100, 100);
         ChaoType startingType = getRandomBasicChaoType();
+        if (this.chao != null) this.chao.getStatus().removeThresholdListener(stateThresholdListener);
         this.chao = new Chao(0, "Bubbles", ChaoType.RED, State.NORMAL, initialStatus);
+        initialStatus.addThresholdListener(stateThresholdListener);
         this.isSleeping = false;
 
         // Initialize or update main Chao Animation
@@ -378,22 +393,10 @@ public class TutorialGameplayController2 extends BaseController implements Initi
         inventory.addItem("T.V.", 0);
     }
 
-    private void setupTimelines() {
+    private void startScheduledTasks() {
         // Stat Decay (e.g., every 10 seconds)
-//        statDecayTimeline = new Timeline(
-//                new KeyFrame(Duration.seconds(2), e -> decreaseStats())
-//        );
-//        statDecayTimeline.setCycleCount(Timeline.INDEFINITE);
-
-        // Frequent State Monitor (e.g., every 250ms)
-        stateMonitorTimeline = new Timeline(
-                new KeyFrame(Duration.millis(250), e -> monitorChaoState())
-        );
-        stateMonitorTimeline.setCycleCount(Timeline.INDEFINITE);
-    }
-
-    private void startTimelines() {
-        if (stateMonitorTimeline != null) stateMonitorTimeline.play();
+//        statDecayTask = PulseScheduler.every(Duration.seconds(2), this::decreaseStats);
+        // State is checked by stateThresholdListener when a stat crosses a threshold, not on a timer
     }
 
     private void updateProfileChaoImage() {
@@ -403,21 +406,12 @@ public class TutorialGameplayController2 extends BaseController implements Initi
 
         // Load the SIT1.png for the current Chao type
         // Uses the AnimationState.SIT resource name logic
-        String sitFrameName = AnimationState.SIT.getResourceName() + "1.png";
-        String imagePath = String.format("/com/example/chaotopia/sprites/%s/%s",
-                chao.getType().getResourceName(),
-                sitFrameName);
-
-        try (InputStream stream = getClass().getResourceAsStream(imagePath)) {
-            if (stream != null) {
-                Image sitImage = new Image(stream);
-                Platform.runLater(() -> profileChaoImageView.setImage(sitImage)); // Update on FX thread
-            } else {
-                System.err.println("Could not load profile image: " + imagePath);
-                Platform.runLater(() -> profileChaoImageView.setImage(null)); // Clear image on error
-            }
+        try {
+            SpriteAtlas atlas = SpriteCache.getAtlas(chao.getType());
+            Platform.runLater(() -> atlas.applyTo(profileChaoImageView, "SIT1")); // Update on FX thread
         } catch (Exception e) {
-            System.err.println("Error loading profile image at path: " + imagePath);
+            System.err.println("Error loading profile image at path: " +
+                    SpriteCache.getFramePath(chao.getType(), AnimationState.SIT, 1));
             e.printStackTrace();
             Platform.runLater(() -> profileChaoImageView.setImage(null));
         }
@@ -427,6 +421,7 @@ public class TutorialGameplayController2 extends BaseController implements Initi
 
     @FXML
     public void playChao() {
+        SoundBank.play(SoundBank.Effect.CLICK);
         if (isInteractionAllowed("PLAY")) {
             Commands.play(chao);
             updateStatusBars();
@@ -449,6 +444,7 @@ public class TutorialGameplayController2 extends BaseController implements Initi
 
     @FXML
     public void sleepChao() {
+        SoundBank.play(SoundBank.Effect.CLICK);
         if (isInteractionAllowed("SLEEP")) {
             Commands.sleep(chao);
             if (chao.getState() == State.SLEEPING) {
@@ -465,6 +461,7 @@ public class TutorialGameplayController2 extends BaseController implements Initi
 
     @FXML
     public void exerciseChao() {
+        SoundBank.play(SoundBank.Effect.CLICK);
         if (isInteractionAllowed("EXERCISE")) {
             Commands.exercise(chao);
             updateStatusBars();
@@ -476,6 +473,7 @@ public class TutorialGameplayController2 extends BaseController implements Initi
 
     @FXML
     public void vetChao() {
+        SoundBank.play(SoundBank.Effect.CLICK);
         if (isInteractionAllowed("VET")) {
             String commandResult = Commands.vet(chao);
             if (commandResult != null) { // Vet returns message if already healthy
@@ -492,6 +490,7 @@ public class TutorialGameplayController2 extends BaseController implements Initi
 
     @FXML
     public void petChao() {
+        SoundBank.play(SoundBank.Effect.CLICK);
         if (isInteractionAllowed("PET")) {
             int previousAlignment = chao.getAlignment();
             Commands.pet(chao);
@@ -510,9 +509,11 @@ public class TutorialGameplayController2 extends BaseController implements Initi
 
     @FXML
     public void bonkChao() {
+        SoundBank.play(SoundBank.Effect.CLICK);
         if (isInteractionAllowed("BONK")) {
             int previousAlignment = chao.getAlignment();
             Commands.bonk(chao);
+            SoundBank.play(SoundBank.Effect.BONK);
             updateStatusBars();
             score.updateScore(-3);
             updateScoreUI(score.getScore());
@@ -528,15 +529,15 @@ public class TutorialGameplayController2 extends BaseController implements Initi
 
     // --- Item/Fruit Actions ---
 
-    @FXML public void giftTrumpet() { giftItem("Trumpet"); tutorialStep++; if(tutorialStep == 9) {handlingTutorialSteps(tutorialStep);}}
-    @FXML public void giftDuck() { giftItem("Duck"); tutorialStep++; if(tutorialStep == 9) {handlingTutorialSteps(tutorialStep);}}
-    @FXML public void giftTV() { giftItem("T.V."); tutorialStep++; if(tutorialStep == 9) {handlingTutorialSteps(tutorialStep);}} // Ensure item name matches inventory key
+    @FXML public void giftTrumpet() { SoundBank.play(SoundBank.Effect.CLICK); giftItem("Trumpet"); tutorialStep++; if(tutorialStep == 9) {handlingTutorialSteps(tutorialStep);}}
+    @FXML public void giftDuck() { SoundBank.play(SoundBank.Effect.CLICK); giftItem("Duck"); tutorialStep++; if(tutorialStep == 9) {handlingTutorialSteps(tutorialStep);}}
+    @FXML public void giftTV() { SoundBank.play(SoundBank.Effect.CLICK); giftItem("T.V."); tutorialStep++; if(tutorialStep == 9) {handlingTutorialSteps(tutorialStep);}} // Ensure item name matches inventory key
 
-    @FXML public void feedRedFruit() { feedFruit("Red Fruit", FruitType.RED, false); tutorialStep++; handlingTutorialSteps(tutorialStep); }
-    @FXML public void feedBlueFruit() { feedFruit("Blue Fruit", FruitType.BLUE, false); }
-    @FXML public void feedGreenFruit() { feedFruit("Green Fruit", FruitType.GREEN, false); } // Assuming GREEN exists
-    @FXML public void feedHeroFruit() { feedFruit("Hero Fruit", FruitType.HERO, true); }
-    @FXML public void feedDarkFruit() { feedFruit("Dark Fruit", FruitType.DARK, true); }
+    @FXML public void feedRedFruit() { SoundBank.play(SoundBank.Effect.CLICK); feedFruit("Red Fruit", FruitType.RED, false); tutorialStep++; handlingTutorialSteps(tutorialStep); }
+    @FXML public void feedBlueFruit() { SoundBank.play(SoundBank.Effect.CLICK); feedFruit("Blue Fruit", FruitType.BLUE, false); }
+    @FXML public void feedGreenFruit() { SoundBank.play(SoundBank.Effect.CLICK); feedFruit("Green Fruit", FruitType.GREEN, false); } // Assuming GREEN exists
+    @FXML public void feedHeroFruit() { SoundBank.play(SoundBank.Effect.CLICK); feedFruit("Hero Fruit", FruitType.HERO, true); }
+    @FXML public void feedDarkFruit() { SoundBank.play(SoundBank.Effect.CLICK); feedFruit("Dark Fruit", FruitType.DARK, true); }
 
     private void giftItem(String itemName) {
         if (!isInteractionAllowed("GIFT")) {
@@ -544,7 +545,6 @@ public class TutorialGameplayController2 extends BaseController implements Initi
         }
         if (inventory.getItemCount(itemName) <= 0) {
             displayMessage("No " + itemName + " available!", 1.5);
-            // TODO: Play sound effect
             return;
         }
 
@@ -574,6 +574,7 @@ public class TutorialGameplayController2 extends BaseController implements Initi
         }
 
         fruitAnimation.changeFruitType(fruitType);
+        SoundBank.play(SoundBank.Effect.EATING);
 
         Item fruit = new Item(fruitName);
         int previousAlignment = chao.getAlignment();
@@ -631,34 +632,30 @@ public class TutorialGameplayController2 extends BaseController implements Initi
         updateScoreUI(score.getScore());
         enableAllInteractions(false);
 
+        SoundBank.play(SoundBank.Effect.EVOLVE);
         if (chaoAnimation != null) chaoAnimation.changeAnimation(evolutionAnimation);
 
-        if (evolutionTimeline != null) evolutionTimeline.stop();
-
-        evolutionTimeline = new Timeline(
-                new KeyFrame(Duration.seconds(evolutionDelay), e -> { // Use declared variable
-                    chao.evolve();
-                    displayMessage(chao.getName() + " evolved to " + chao.getType() + "!",4);
-                    syncChaoAnimationToType(chao.getType());
-                    updateProfileChaoImage();
-
-                    if (chaoAnimation != null) chaoAnimation.changeAnimation(finalStateAnimation);
-
-                    Timeline returnTimeline = new Timeline(
-                            new KeyFrame(Duration.seconds(finalAnimationDelay), e2 -> { // Use declared variable
-                                monitorChaoState();
-                                State expectedPostEvoState = StateUtility.fromAnimationState(finalStateAnimation);
-                                if (chao.getState() == State.EVOLVING || chao.getState() == expectedPostEvoState) {
-                                    chao.setState(State.NORMAL);
-                                    syncChaoAnimationToState(State.NORMAL, true);
-                                }
-                                enableAllInteractions(true);
-                            })
-                    );
-                    returnTimeline.play();
-                })
-        );
-        evolutionTimeline.play();
+        if (evolutionTask != null) evolutionTask.cancel();
+
+        evolutionTask = PulseScheduler.after(Duration.seconds(evolutionDelay), () -> { // Use declared variable
+            chao.evolve();
+            displayMessage(chao.getName() + " evolved to " + chao.getType() + "!",4);
+            syncChaoAnimationToType(chao.getType());
+            updateProfileChaoImage();
+
+            if (chaoAnimation != null) chaoAnimation.changeAnimation(finalStateAnimation);
+
+            // Kept as the evolution task, so stopping the tasks also stops the return
+            evolutionTask = PulseScheduler.after(Duration.seconds(finalAnimationDelay), () -> { // Use declared variable
+                monitorChaoState();
+                State expectedPostEvoState = StateUtility.fromAnimationState(finalStateAnimation);
+                if (chao.getState() == State.EVOLVING || chao.getState() == expectedPostEvoState) {
+                    chao.setState(State.NORMAL);
+                    syncChaoAnimationToState(State.NORMAL, true);
+                }
+                enableAllInteractions(true);
+            });
+        });
     }
 
 
@@ -796,42 +793,41 @@ public class TutorialGameplayController2 extends BaseController implements Initi
             return;
         }
 
-        final String lowStatusStyleClass = "low-status-bar";
-
-        Platform.runLater(() -> { // Ensure UI updates on FX thread
-            Status status = chao.getStatus();
-            int health = status.isDead() ? 0 : status.getHealth();
-            int fullness = status.getFullness();
-            int happiness = status.getHappiness();
-            int sleep = status.getSleep();
-
-            // Update ProgressBars (0.0 to 1.0)
-            healthBar.setProgress(health / 100.0);
+        uiUpdates.markDirty(UiRegion.STATUS); // Redrawn once on the next pulse
+    }
 
-            fullnessBar.setProgress(fullness / 100.0);
-            happinessBar.setProgress(happiness / 100.0);
-            sleepBar.setProgress(sleep / 100.0);
+    private void renderStatusBars() {
+        if (chao == null) return;
+        Status status = chao.getStatus();
+        int health = status.isDead() ? 0 : status.getHealth();
+        int fullness = status.getFullness();
+        int happiness = status.getHappiness();
+        int sleep = status.getSleep();
 
-            // *** UPDATE LABELS ***
-            healthLabel.setText(String.valueOf(health));
+        // Update ProgressBars (0.0 to 1.0)
+        healthBar.setProgress(health / 100.0);
 
-            fullnessLabel.setText(String.valueOf(fullness));
-            happinessLabel.setText(String.valueOf(happiness));
-            sleepLabel.setText(String.valueOf(sleep));
+        fullnessBar.setProgress(fullness / 100.0);
+        happinessBar.setProgress(happiness / 100.0);
+        sleepBar.setProgress(sleep / 100.0);
 
+        // *** UPDATE LABELS ***
+        healthLabel.setText(String.valueOf(health));
 
-            checkAndApplyLowStatus(healthBar, health, 25);
-            checkAndApplyLowStatus(fullnessBar, fullness, 25);
-            checkAndApplyLowStatus(happinessBar, happiness, 25);
-            checkAndApplyLowStatus(sleepBar, sleep, 25);
+        fullnessLabel.setText(String.valueOf(fullness));
+        happinessLabel.setText(String.valueOf(happiness));
+        sleepLabel.setText(String.valueOf(sleep));
 
-            // Check for death after updating bars
-            if (status.isDead() && chao.getState() != State.DEAD) {
-                handleDeath();
-            }
 
-        });
+        checkAndApplyLowStatus(healthBar, health, 25);
+        checkAndApplyLowStatus(fullnessBar, fullness, 25);
+        checkAndApplyLowStatus(happinessBar, happiness, 25);
+        checkAndApplyLowStatus(sleepBar, sleep, 25);
 
+        // Check for death after updating bars
+        if (status.isDead() && chao.getState() != State.DEAD) {
+            handleDeath();
+        }
     }
 
     private void checkAndApplyLowStatus(ProgressBar bar, int value, int threshold) {
@@ -849,7 +845,7 @@ public class TutorialGameplayController2 extends BaseController implements Initi
     }
     private void handleDeath() {
         chao.setState(State.DEAD);
-        stopTimelines();
+        stopScheduledTasks();
 
         if (chaoAnimation != null) {
             chaoAnimation.changeState(State.DEAD);
@@ -864,17 +860,28 @@ public class TutorialGameplayController2 extends BaseController implements Initi
         }
         System.out.println("Displaying Message: " + message); // Console log
 
-        Platform.runLater(() -> {
-            messageLabel.setText(message);
-            messageLabel.setVisible(true);
+        // Only the latest message in a frame is shown
+        synchronized (uiUpdates) {
+            pendingMessage = message;
+            pendingMessageSeconds = durationSeconds;
+        }
+        uiUpdates.markDirty(UiRegion.MESSAGE);
+    }
+
+    private void renderMessage() {
+        String message;
+        double durationSeconds;
+        synchronized (uiUpdates) {
+            message = pendingMessage;
+            durationSeconds = pendingMessageSeconds;
+        }
+        if (messageLabel == null || message == null) return;
+        messageLabel.setText(message);
+        messageLabel.setVisible(true);
 
-            if (messageTimeline != null) messageTimeline.stop();
+        if (messageTask != null) messageTask.cancel();
 
-            messageTimeline = new Timeline(
-                    new KeyFrame(Duration.seconds(durationSeconds), e -> messageLabel.setVisible(false))
-            );
-            messageTimeline.play();
-        });
+        messageTask = PulseScheduler.after(Duration.seconds(durationSeconds), () -> messageLabel.setVisible(false));
     }
 
     // --- Animation and State Management ---
@@ -885,19 +892,16 @@ public class TutorialGameplayController2 extends BaseController implements Initi
 
         // Show the happy animation temporarily
         boolean shown = showTemporaryStateAnimation(AnimationState.HAPPY, 1.5);
+        if (shown) SoundBank.play(SoundBank.Effect.HAPPY);
 
         // If we were angry before, make sure we return to angry after
         if (shown && preHappyState == State.ANGRY) {
-            Timeline returnToAngry = new Timeline(
-                    new KeyFrame(Duration.seconds(1.6), e -> {
-                        if (chao.getStatus().getHappiness() < 50) {
-                            chao.setState(State.ANGRY);
-                            syncChaoAnimationToState(State.ANGRY, true);
-                        }
-                    }) // Missing parenthesis added here
-            );
-
-            returnToAngry.play();
+            PulseScheduler.after(Duration.seconds(1.6), () -> {
+                if (chao.getStatus().getHappiness() < 50) {
+                    chao.setState(State.ANGRY);
+                    syncChaoAnimationToState(State.ANGRY, true);
+                }
+            });
         }
         return shown;
     }
@@ -909,7 +913,7 @@ public class TutorialGameplayController2 extends BaseController implements Initi
             return false;
         }
 
-        if (tempAnimationTimer == null || tempAnimationTimer.getStatus() != Timeline.Status.RUNNING) {
+        if (tempAnimationTask == null || !tempAnimationTask.isActive()) {
             // Only update previousState if we are transitioning *from* a stable state
             if (chao.getState() != State.HAPPY && chao.getState() != State.HUNGRY && chao.getState() != State.ANGRY) { // Add other temp states if necessary
                 this.previousState = chao.getState();
@@ -919,7 +923,7 @@ public class TutorialGameplayController2 extends BaseController implements Initi
             }
 
         } else {
-            tempAnimationTimer.stop();
+            tempAnimationTask.cancel();
             // Keep the originally stored previousState
         }
 
@@ -929,17 +933,13 @@ public class TutorialGameplayController2 extends BaseController implements Initi
             chaoAnimation.changeAnimation(tempAnimState);
         }
 
-        tempAnimationTimer = new Timeline(
-                new KeyFrame(Duration.seconds(duration), e -> {
-                    if (chao != null && chao.getState() == tempState) {
-                        monitorChaoState();
-                    } else {
-                        System.out.println("Temp timer finished, but state was already different: " + (chao != null ? chao.getState() : "null chao")); // Debug log
-                    }
-                })
-        );
-        tempAnimationTimer.setCycleCount(1);
-        tempAnimationTimer.play();
+        tempAnimationTask = PulseScheduler.after(Duration.seconds(duration), () -> {
+            if (chao != null && chao.getState() == tempState) {
+                monitorChaoState();
+            } else {
+                System.out.println("Temp timer finished, but state was already different: " + (chao != null ? chao.getState() : "null chao")); // Debug log
+            }
+        });
         return true;
     }
 
@@ -961,39 +961,48 @@ public class TutorialGameplayController2 extends BaseController implements Initi
     }
 
     public void startSleepIncrease() {
-        if (sleepIncreaseTimeline != null) sleepIncreaseTimeline.stop();
+        if (sleepIncreaseTask != null) sleepIncreaseTask.cancel();
         System.out.println(chao.getName() + " is increasing sleep..."); // Debug log
 
-        sleepIncreaseTimeline = new Timeline(
-                new KeyFrame(Duration.millis(500), e -> {
-                    if (chao != null && isSleeping && chao.getStatus().getSleep() < 100) {
-                        chao.getStatus().adjustSleep(2);
-                        updateStatusBars();
-                    } else {
-                        // Stop condition
-                        if (sleepIncreaseTimeline != null) {
-                            sleepIncreaseTimeline.stop();
-                        }
-
-                        // *** WAKE UP LOGIC FIX ***
-                        if (chao != null && isSleeping && chao.getStatus().getSleep() >= 100) {
-                            displayMessage(chao.getName() + " woke up!",4);
-                            isSleeping = false; // *** SET isSleeping TO FALSE ***
-                            // Determine new state *after* waking up
-                            monitorChaoState(); // This should set state to NORMAL/HUNGRY etc.
-                            //enableAllInteractions(true); // *** ENABLE INTERACTIONS ***
-                            tutorialStep++;
-                            handlingTutorialSteps(tutorialStep);
-                            System.out.println("Interactions enabled after waking up."); // Debug log
-                        } else if (!isSleeping) {
-                            System.out.println("Sleep increase stopped because isSleeping is false."); // Debug log
-                            enableAllInteractions(true); // Ensure enabled if stopped externally
-                        }
-                    }
-                })
-        );
-        sleepIncreaseTimeline.setCycleCount(Timeline.INDEFINITE);
-        sleepIncreaseTimeline.play();
+        sleepIncreaseTask = PulseScheduler.every(Duration.millis(500), () -> {
+            if (chao != null && isSleeping && chao.getStatus().getSleep() < 100) {
+                chao.getStatus().adjustSleep(2);
+                updateStatusBars();
+            } else {
+                // Stop condition
+                if (sleepIncreaseTask != null) {
+                    sleepIncreaseTask.cancel();
+                }
+
+                // *** WAKE UP LOGIC FIX ***
+                if (chao != null && isSleeping && chao.getStatus().getSleep() >= 100) {
+                    displayMessage(chao.getName() + " woke up!",4);
+                    isSleeping = false; // *** SET isSleeping TO FALSE ***
+                    // Determine new state *after* waking up
+                    monitorChaoState(); // This should set state to NORMAL/HUNGRY etc.
+                    //enableAllInteractions(true); // *** ENABLE INTERACTIONS ***
+                    tutorialStep++;
+                    handlingTutorialSteps(tutorialStep);
+                    System.out.println("Interactions enabled after waking up."); // Debug log
+                } else if (!isSleeping) {
+                    System.out.println("Sleep increase stopped because isSleeping is false."); // Debug log
+                    enableAllInteractions(true); // Ensure enabled if stopped externally
+                }
+            }
+        });
+    }
+
+    /**
+     * Queues a state check on the FX thread. Several threshold crossings
+     * from one stat change are checked once.
+     */
+    private void requestStateCheck() {
+        if (stateCheckPending) return;
+        stateCheckPending = true;
+        Platform.runLater(() -> {
+            stateCheckPending = false;
+            monitorChaoState();
+        });
     }
 
     private void monitorChaoState() {
@@ -1002,43 +1011,27 @@ public class TutorialGameplayController2 extends BaseController implements Initi
         Status status = chao.getStatus();
         State currentState = chao.getState();
 
-        boolean isTempStateRunning = (tempAnimationTimer != null &&
-                tempAnimationTimer.getStatus() == Timeline.Status.RUNNING);
+        boolean isTempStateRunning = (tempAnimationTask != null && tempAnimationTask.isActive());
 
         // Allow monitoring if we're angry, even during temp animations
         if (isTempStateRunning && chao.getState() != State.ANGRY &&
                 (currentState == State.HAPPY || currentState == State.HUNGRY)) {
-            return; // Exit the monitor early
+            return; // Exit the monitor early; checked again when the temp animation ends
         }
 
         // --- If not in a temporary animation, determine correct state ---
-        State determinedState = currentState; // Start with current
-
-        if (isSleeping) {
-            determinedState = State.SLEEPING;
-            // Wake up handled by sleepIncreaseTimeline
-        } else if (currentState == State.SLEEPING) {
-            // Just woke up logic...
-            if (status.getHappiness() <= 0) determinedState = State.ANGRY;
-            else if (status.getFullness() <= 0) determinedState = State.HUNGRY;
-            else determinedState = State.NORMAL;
-        } else if (status.getSleep() <= 0) {
+        State determinedState = ChaoStateMachine.resolve(currentState, isSleeping, status);
+
+        if (!isSleeping && ChaoStateMachine.isCollapse(currentState, determinedState)) {
             displayMessage(chao.getName() + " fell asleep from exhaustion!",4);
-            status.adjustHealth(-15);
-            determinedState = State.SLEEPING;
             chao.setState(State.SLEEPING);    // Set logical state immediately
             isSleeping = true;
+            status.adjustHealth(-15);
             syncChaoAnimationToState(State.SLEEPING, true);
             enableAllInteractions(false);
             startSleepIncrease();
             updateStatusBars();
             return; // Exit early
-        } else if (status.getHappiness() <= 0 || (currentState == State.ANGRY && status.getHappiness() < 50)) {
-            determinedState = State.ANGRY;
-        } else if (status.getFullness() <= 0) {
-            determinedState = State.HUNGRY;
-        } else {
-            determinedState = State.NORMAL;
         }
 
         if (determinedState != currentState) {
@@ -1159,10 +1152,9 @@ public class TutorialGameplayController2 extends BaseController implements Initi
         isSleeping = false;
         previousState = State.NORMAL;
 
-        // Restart timelines and enable interactions
-        stopTimelines(); // Ensure old ones are stopped
-        setupTimelines();
-        startTimelines();
+        // Restart scheduled tasks and enable interactions
+        stopScheduledTasks(); // Ensure old ones are stopped
+        startScheduledTasks();
         enableAllInteractions(true);
 
         // Ensure Chao animation is correct
@@ -1195,20 +1187,25 @@ public class TutorialGameplayController2 extends BaseController implements Initi
     }
 
     public void shutdown() {
-        stopTimelines();
+        stopScheduledTasks();
+        uiUpdates.cancel();
+        SoundBank.stopAll();
         if (chaoAnimation != null) {
             chaoAnimation.stopAnimation();
         }
         if (fruitAnimation != null) fruitAnimation.stopAnimation();
     }
 
-    private void stopTimelines() {
-        if (statDecayTimeline != null) statDecayTimeline.stop();
-        if (stateMonitorTimeline != null) stateMonitorTimeline.stop();
-        if (sleepIncreaseTimeline != null) sleepIncreaseTimeline.stop();
-        if (tempAnimationTimer != null) tempAnimationTimer.stop();
-        if (messageTimeline != null) messageTimeline.stop();
-        if (evolutionTimeline != null) evolutionTimeline.stop();
+    private void stopScheduledTasks() {
+        PulseScheduler.ScheduledTask[] tasks = {
+                statDecayTask, sleepIncreaseTask, tempAnimationTask,
+                messageTask, evolutionTask
+        };
+        for (PulseScheduler.ScheduledTask task : tasks) {
+            if (task != null) {
+                task.cancel();
+            }
+        }
     }
 
     // --- Interaction Checks and Helpers ---
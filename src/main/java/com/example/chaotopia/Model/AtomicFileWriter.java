@@ -0,0 +1,257 @@
+package com.example.chaotopia.Model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Static utility class that replaces files without ever leaving a partly
+ * written one behind.
+ * <br><br>
+ * A file is written to a temporary file next to it, forced to disk unless
+ * the {@link FsyncPolicy} is NEVER, and then moved over the target in one
+ * step. The file it replaces is kept as a backup (the target's name plus
+ * {@value #BACKUP_SUFFIX}), so a reader that finds the target missing or
+ * damaged can fall back to the last good copy. Since every file is stored
+ * before it is moved, the target and its backup are each whole after a
+ * power cut, whichever of the moves reached the disk.
+ * <br><br>
+ * Under {@link FsyncPolicy#GROUPED} only storing the moves themselves, by
+ * forcing the directory, and forcing files patched in place are grouped.
+ * A group is forced once {@value #GROUP_SIZE} writes have built up, or
+ * {@value #GROUP_MILLIS} milliseconds after its first write.
+ *
+ * @author Rosaline Scully
+ */
+public final class AtomicFileWriter {
+    /** Suffix of the temporary file a new version is written to. */
+    public static final String TEMP_SUFFIX = ".tmp";
+    /** Suffix of the backup holding the previous version. */
+    public static final String BACKUP_SUFFIX = ".bak";
+    /** Number of unforced writes that makes a {@link FsyncPolicy#GROUPED} group force. */
+    public static final int GROUP_SIZE = 8;
+    /** Age in milliseconds of the oldest unforced write that makes a group force. */
+    public static final long GROUP_MILLIS = 5000;
+
+    /** The current fsync policy. */
+    private static FsyncPolicy policy = FsyncPolicy.GROUPED;
+    /** Files patched in place since the last group was forced, in the order written. */
+    private static final Set<Path> pendingFiles = new LinkedHashSet<>();
+    /** Directories with files moved into them since the last group was forced. */
+    private static final Set<Path> pendingDirectories = new LinkedHashSet<>();
+    /** The number of writes in the current group. */
+    private static int pendingCount;
+    /** Whether a timed force of the current group is scheduled. */
+    private static boolean flushScheduled;
+    /** Background thread that forces a group once it is old enough, started on first use. */
+    private static ScheduledExecutorService flusher;
+
+    /**
+     * Constructor for the atomic file writer utility.
+     * Cannot be called due to the class being static.
+     */
+    private AtomicFileWriter() {}
+
+    /**
+     * Sets when written files are forced to disk. Switching away from
+     * {@link FsyncPolicy#GROUPED} forces any group still pending.
+     *
+     * @param newPolicy The new fsync policy
+     */
+    public static synchronized void setFsyncPolicy(FsyncPolicy newPolicy) {
+        if (newPolicy == null) throw new IllegalArgumentException("Fsync policy cannot be null");
+        policy = newPolicy;
+        if (policy != FsyncPolicy.GROUPED) flush();
+    }
+
+    /**
+     * Gets when written files are forced to disk.
+     *
+     * @return The current fsync policy
+     */
+    public static synchronized FsyncPolicy getFsyncPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets the backup file that holds the previous version of a file.
+     *
+     * @param target The file
+     * @return The file's backup
+     */
+    public static Path backupPath(Path target) {
+        return target.resolveSibling(target.getFileName() + BACKUP_SUFFIX);
+    }
+
+    /**
+     * Replaces a file's contents in one step, keeping the old file as a backup.
+     *
+     * @param target The file to write
+     * @param data The new contents
+     * @throws IOException If the file cannot be written; the old file is then left in place
+     */
+    public static synchronized void write(Path target, byte[] data) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        Files.createDirectories(target.toAbsolutePath().getParent());
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            // The new file must be stored before it replaces the old one
+            if (policy != FsyncPolicy.NEVER) channel.force(false);
+        }
+
+        // Keep the last good copy, then move the new one into place
+        if (Files.exists(target)) move(target, backupPath(target));
+        move(temp, target);
+
+        if (policy == FsyncPolicy.ALWAYS) {
+            forceDirectory(target.toAbsolutePath().getParent());
+        } else if (policy == FsyncPolicy.GROUPED) {
+            pendingDirectories.add(target.toAbsolutePath().getParent());
+            addPending();
+        }
+    }
+
+    /**
+     * Overwrites part of a file in place, for updating fixed-size fields
+     * without rewriting the whole file. The patch should be small enough to
+     * sit in one disk sector, which disks write in one piece; the backup of
+     * the file is left as it was.
+     *
+     * @param target The file to patch
+     * @param offset The position of the first byte to overwrite
+     * @param data The new bytes
+     * @throws IOException If the file cannot be written
+     */
+    public static synchronized void patch(Path target, long offset, byte[] data) throws IOException {
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+            if (policy == FsyncPolicy.ALWAYS) channel.force(false);
+        }
+        if (policy == FsyncPolicy.GROUPED) {
+            pendingFiles.add(target);
+            addPending();
+        }
+    }
+
+    /**
+     * Forces every write since the last group to disk: first the files
+     * patched in place, then the directories the new files were moved into.
+     * Runs on its own once a group is old enough, and is called when the
+     * game closes so the last group is not left to the operating system.
+     */
+    public static synchronized void flush() {
+        for (Path path : pendingFiles) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.force(false);
+            } catch (IOException e) {
+                // A file deleted since it was written has nothing left to force
+                if (Files.exists(path)) {
+                    System.err.println("Error forcing save to disk: " + path);
+                    e.printStackTrace();
+                }
+            }
+        }
+        for (Path directory : pendingDirectories) {
+            forceDirectory(directory);
+        }
+        pendingFiles.clear();
+        pendingDirectories.clear();
+        pendingCount = 0;
+    }
+
+    /**
+     * Deletes a file along with its backup and any temporary file left by a crash.
+     *
+     * @param target The file to delete
+     * @throws IOException If a file cannot be deleted
+     */
+    public static synchronized void delete(Path target) throws IOException {
+        pendingFiles.remove(target);
+        Files.deleteIfExists(target);
+        Files.deleteIfExists(backupPath(target));
+        Files.deleteIfExists(target.resolveSibling(target.getFileName() + TEMP_SUFFIX));
+    }
+
+    // Private methods ---------------------------------------------------------
+
+    /**
+     * Counts a write towards the current group, forcing the group to disk
+     * once it is large enough. The first write of a group schedules a force
+     * for when the group is old enough, so a lone save is not left unforced.
+     */
+    private static void addPending() {
+        pendingCount++;
+        if (pendingCount >= GROUP_SIZE) {
+            flush();
+            return;
+        }
+        if (flushScheduled) return;
+        flushScheduled = true;
+        if (flusher == null) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "fsync-group");
+                thread.setDaemon(true); // flush() forces what is left when the game closes
+                return thread;
+            });
+        }
+        flusher.schedule(AtomicFileWriter::flushScheduledGroup, GROUP_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Forces the group on the background thread once it is old enough. A
+     * group forced early by its size leaves the next group to be forced
+     * here, at most {@value #GROUP_MILLIS} milliseconds after it started.
+     */
+    private static synchronized void flushScheduledGroup() {
+        flushScheduled = false;
+        flush();
+    }
+
+    /**
+     * Moves a file over another in one step where the file system allows it.
+     *
+     * @param source The file to move
+     * @param target The file to replace
+     * @throws IOException If the file cannot be moved
+     */
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Forces a directory to disk so the moves into it are stored. Not every
+     * platform allows a directory to be opened, in which case the moves are
+     * left to the operating system.
+     *
+     * @param directory The directory
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened on this platform
+        }
+    }
+}
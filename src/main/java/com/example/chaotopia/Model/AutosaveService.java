@@ -0,0 +1,221 @@
+package com.example.chaotopia.Model;
+
+/**
+ * Saves a game in the background every so often while it is being played.
+ * <br><br>
+ * The service is driven by the game loop, which calls {@link #tick} with the
+ * time that has passed. Once the autosave interval has elapsed, or the
+ * game's journal has grown large enough to need a new snapshot, the game is
+ * handed to the {@link SaveExecutor}, so the save never blocks the calling
+ * thread. Games with no unsaved changes are skipped.
+ * <br><br>
+ * The interval adapts to how long saves take. When an autosave takes longer
+ * than {@link #SLOW_SAVE_MILLIS}, or the previous autosave has still not been
+ * written when the next is due, the interval doubles up to
+ * {@link #MAX_INTERVAL_MILLIS}. Once saves are fast again it halves back
+ * down to the configured interval. Each finished autosave adjusts the
+ * interval once, so a slow save is not counted again by later autosaves
+ * that had nothing to write.
+ *
+ * @author Rosaline Scully
+ */
+public class AutosaveService {
+    /** The default time between autosaves in milliseconds. */
+    public static final long DEFAULT_INTERVAL_MILLIS = 10_000;
+    /** The longest the interval can back off to in milliseconds. */
+    public static final long MAX_INTERVAL_MILLIS = 120_000;
+    /** A save taking longer than this many milliseconds counts as slow. */
+    public static final long SLOW_SAVE_MILLIS = 200;
+
+    /** The game to save. */
+    private final GameFile game;
+    /** The configured time between autosaves in milliseconds. */
+    private long baseInterval;
+    /** The current time between autosaves in milliseconds, after backing off. */
+    private long interval;
+    /** Time since the last autosave in milliseconds. */
+    private long sinceLastSave;
+    /** Work to run just before each autosave, such as storing the playtime. */
+    private Runnable beforeSave;
+    /** Whether autosaves are being made. */
+    private boolean enabled = true;
+    /** The number of autosaves submitted. */
+    private long saveCount;
+    /** The number of autosaves skipped because nothing had changed. */
+    private long skippedClean;
+    /** Whether an autosave has been submitted that has not yet adjusted the interval. */
+    private boolean unmeasured;
+
+    /**
+     * Constructs an autosave service with the default interval.
+     *
+     * @param game The game to save
+     */
+    public AutosaveService(GameFile game) {
+        this(game, DEFAULT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Constructs an autosave service.
+     *
+     * @param game The game to save
+     * @param intervalMillis The time between autosaves in milliseconds
+     */
+    public AutosaveService(GameFile game, long intervalMillis) {
+        if (game == null) throw new IllegalArgumentException("Game cannot be null");
+        this.game = game;
+        setInterval(intervalMillis);
+    }
+
+    /**
+     * Advances the service by a step of the game loop, autosaving if one is due.
+     *
+     * @param elapsedMillis The time since the last tick in milliseconds
+     * @return true if a save was submitted, false otherwise
+     */
+    public boolean tick(long elapsedMillis) {
+        if (!enabled) return false;
+        sinceLastSave += elapsedMillis;
+        if (sinceLastSave < interval && !game.getJournal().needsSnapshot()) return false;
+        return autosave();
+    }
+
+    /**
+     * Autosaves straight away, unless the last save is still being written
+     * or nothing has changed. Restarts the interval either way.
+     *
+     * @return true if a save was submitted, false otherwise
+     */
+    public boolean autosave() {
+        sinceLastSave = 0;
+
+        if (SaveExecutor.isQueued(game.getSlotId())) {
+            // The last autosave hasn't been written yet, so saves are slow
+            backOff();
+            return false;
+        }
+        adapt();
+
+        if (beforeSave != null) beforeSave.run();
+        if (!game.isDirty()) {
+            skippedClean++;
+            return false;
+        }
+        SaveExecutor.submit(game);
+        saveCount++;
+        unmeasured = true;
+        return true;
+    }
+
+    // Getters and setters -----------------------------------------------------
+
+    /**
+     * Sets the time between autosaves, resetting any back off.
+     *
+     * @param intervalMillis The time between autosaves in milliseconds
+     */
+    public void setInterval(long intervalMillis) {
+        if (intervalMillis <= 0) throw new IllegalArgumentException("Autosave interval must be positive");
+        baseInterval = intervalMillis;
+        interval = intervalMillis;
+    }
+
+    /**
+     * Gets the current time between autosaves, after backing off.
+     *
+     * @return The interval in milliseconds
+     */
+    public long getInterval() {
+        return interval;
+    }
+
+    /**
+     * Sets work to run just before each autosave, such as storing the playtime.
+     *
+     * @param beforeSave The work to run, or null for none
+     */
+    public void setBeforeSave(Runnable beforeSave) {
+        this.beforeSave = beforeSave;
+    }
+
+    /**
+     * Turns autosaving on or off.
+     *
+     * @param enabled true to autosave, false to stop
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        sinceLastSave = 0;
+    }
+
+    /**
+     * Checks if autosaves are being made.
+     *
+     * @return true if autosaving, false otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the number of autosaves submitted.
+     *
+     * @return The number of autosaves
+     */
+    public long getSaveCount() {
+        return saveCount;
+    }
+
+    /**
+     * Gets the number of autosaves skipped because nothing had changed.
+     *
+     * @return The number of skipped autosaves
+     */
+    public long getSkippedCleanCount() {
+        return skippedClean;
+    }
+
+    /**
+     * Gets how long the last finished save of the game took to write.
+     *
+     * @return The latency in milliseconds, or 0 if the game has not been saved in the background
+     */
+    public double getLastSaveLatencyMillis() {
+        return SaveExecutor.getLastLatencyMillis(game.getSlotId());
+    }
+
+    /**
+     * Gets the total number of bytes written by finished saves.
+     *
+     * @return The number of bytes written
+     */
+    public long getBytesWritten() {
+        return SaveExecutor.getBytesWritten();
+    }
+
+    // Private methods ---------------------------------------------------------
+
+    /**
+     * Adjusts the interval to the latency of the last autosave, once it has
+     * been written. Does nothing if no autosave has finished since the last
+     * adjustment.
+     */
+    private void adapt() {
+        if (!unmeasured) return;
+        unmeasured = false;
+        // The slot had no save queued, so its last finished save is the one submitted
+        double latency = SaveExecutor.getLastLatencyMillis(game.getSlotId());
+        if (latency > SLOW_SAVE_MILLIS) {
+            backOff();
+        } else if (latency < SLOW_SAVE_MILLIS / 4.0) {
+            interval = Math.max(baseInterval, interval / 2);
+        }
+    }
+
+    /**
+     * Doubles the interval, up to the maximum.
+     */
+    private void backOff() {
+        interval = Math.min(Math.max(MAX_INTERVAL_MILLIS, baseInterval), interval * 2);
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.chaotopia.Model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes saves in a compact, versioned binary layout.
+ * <br><br>
+ * Every save starts with a fixed-size header so that each fixed field sits at
+ * a known offset, followed by a variable-length tail holding the Chao's name
+ * and the inventory. All values are big-endian. A save whose name and
+ * inventory have not changed can be updated by overwriting just the header.
+ * The header ends with a CRC32 of the bytes before it, so a header overwrite
+ * cut short is reported as a damaged save, and the loader falls back to the
+ * backup, rather than loading a mix of old and new values. Version 1 saves,
+ * which have no checksum, can still be read.
+ * <pre>
+ *  0  int    magic "CHSV"
+ *  4  short  version
+ *  6  byte   flags (active, has Chao, has inventory, has score)
+ *  7  byte   reserved
+ *  8  int    slot ID
+ * 12  long   playtime
+ * 20  int    number of sessions
+ * 24  long   average playtime
+ * 32  long   last saved
+ * 40  int    score
+ * 44  byte   Chao type ordinal
+ * 45  byte   Chao state ordinal
+ * 46  byte   happiness, health, fullness, sleep (4 bytes)
+ * 50  int    alignment
+ * 54  short  reserved
+ * 56  int    CRC32 of bytes 0 to 55 (from version 2)
+ * 60  UTF    Chao name, then int item count, then (UTF name, int count) per item
+ * </pre>
+ *
+ * @author Rosaline Scully
+ */
+final class BinarySaveCodec implements SaveCodec {
+    /** The first four bytes of every binary save. */
+    static final int MAGIC = 0x43485356; // "CHSV"
+    /** The layout version written by this codec. */
+    static final int VERSION = 2;
+    /** The size of the fixed header in bytes. */
+    static final int HEADER_SIZE = 60;
+    /** The offset of the header's checksum, which covers every byte before it. */
+    static final int CHECKSUM_OFFSET = 56;
+
+    /** Flag set when the slot holds a game. */
+    static final int FLAG_ACTIVE = 1;
+    /** Flag set when a Chao was saved. */
+    static final int FLAG_CHAO = 1 << 1;
+    /** Flag set when an inventory was saved. */
+    static final int FLAG_INVENTORY = 1 << 2;
+    /** Flag set when a score was saved. */
+    static final int FLAG_SCORE = 1 << 3;
+
+    @Override
+    public byte[] encode(SaveData data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out, data);
+        writeTail(out, data);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public byte[] encodeHeader(SaveData data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out, data);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public boolean canPatchHeader(byte[] start) {
+        // A compressed save or an older layout does not start with this header
+        if (start.length < HEADER_SIZE) return false;
+        ByteBuffer buffer = ByteBuffer.wrap(start);
+        return buffer.getInt(0) == MAGIC && buffer.getShort(4) == VERSION;
+    }
+
+    @Override
+    public SaveData decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        int version = readHeader(bytes, in);
+        int flags = in.readUnsignedByte();
+        in.readByte();
+        SaveData data = new SaveData();
+
+        data.active = (flags & FLAG_ACTIVE) != 0;
+        data.slotId = in.readInt();
+        data.playtime = in.readLong();
+        data.numSessions = in.readInt();
+        data.averagePlaytime = in.readLong();
+        data.lastSaved = in.readLong();
+        int score = in.readInt();
+
+        ChaoType type = readEnum(ChaoType.values(), in.readUnsignedByte());
+        State state = readEnum(State.values(), in.readUnsignedByte());
+        Status status = new Status(in.readByte(), in.readByte(), in.readByte(), in.readByte());
+        int alignment = in.readInt();
+        in.readShort();
+        if (version >= 2) in.readInt(); // Checked by readHeader
+
+        String name = in.readUTF();
+        Map<String, Integer> items = readItems(in);
+
+        if ((flags & FLAG_CHAO) != 0) data.chao = new Chao(alignment, name, type, state, status);
+        if ((flags & FLAG_INVENTORY) != 0) data.inventory = new Inventory(items);
+        if ((flags & FLAG_SCORE) != 0) data.score = new Score(score);
+        return data;
+    }
+
+    @Override
+    public boolean isActive(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        readHeader(bytes, in);
+        return (in.readUnsignedByte() & FLAG_ACTIVE) != 0;
+    }
+
+    /**
+     * Writes the variable-length tail of a save: the Chao's name and the
+     * inventory. Shared with {@link MappedSlotStore}, which keeps tails in
+     * its overflow region.
+     *
+     * @param out The stream to write to
+     * @param data The save data
+     * @throws IOException If the tail cannot be written
+     */
+    static void writeTail(DataOutputStream out, SaveData data) throws IOException {
+        Chao chao = data.chao;
+        out.writeUTF(chao != null && chao.getName() != null ? chao.getName() : "");
+        Map<String, Integer> items = (data.inventory != null) ? data.inventory.getItems() : Map.of();
+        out.writeInt(items.size());
+        for (Map.Entry<String, Integer> item : items.entrySet()) {
+            out.writeUTF(item.getKey());
+            out.writeInt(item.getValue());
+        }
+    }
+
+    /**
+     * Reads the inventory part of a save's tail, which follows the Chao's name.
+     *
+     * @param in The stream positioned at the item count
+     * @return The item counts by name
+     * @throws IOException If the items cannot be read
+     */
+    static Map<String, Integer> readItems(DataInputStream in) throws IOException {
+        int itemCount = in.readInt();
+        if (itemCount < 0) throw new IOException("Corrupted save: negative item count");
+        Map<String, Integer> items = new HashMap<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.put(in.readUTF(), in.readInt());
+        }
+        return items;
+    }
+
+    /**
+     * Writes the fixed-size header of a save, ending with its checksum.
+     *
+     * @param stream The stream to write to
+     * @param data The save data
+     * @throws IOException If the header cannot be written
+     */
+    private static void writeHeader(DataOutputStream stream, SaveData data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE);
+        DataOutputStream out = new DataOutputStream(bytes);
+        Chao chao = data.chao;
+        int flags = (data.active ? FLAG_ACTIVE : 0)
+                | (chao != null ? FLAG_CHAO : 0)
+                | (data.inventory != null ? FLAG_INVENTORY : 0)
+                | (data.score != null ? FLAG_SCORE : 0);
+
+        // Fixed header
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(flags);
+        out.writeByte(0);
+        out.writeInt(data.slotId);
+        out.writeLong(data.playtime);
+        out.writeInt(data.numSessions);
+        out.writeLong(data.averagePlaytime);
+        out.writeLong(data.lastSaved);
+        out.writeInt(data.score != null ? data.score.getScore() : 0);
+        if (chao != null) {
+            Status status = chao.getStatus();
+            out.writeByte(chao.getType().ordinal());
+            out.writeByte(chao.getState().ordinal());
+            out.writeByte(status.getHappiness());
+            out.writeByte(status.getHealth());
+            out.writeByte(status.getFullness());
+            out.writeByte(status.getSleep());
+            out.writeInt(chao.getAlignment());
+        } else {
+            out.write(new byte[10]);
+        }
+        out.writeShort(0);
+        out.flush();
+
+        byte[] header = bytes.toByteArray();
+        stream.write(header);
+        stream.writeInt(checksum(header, CHECKSUM_OFFSET));
+    }
+
+    /**
+     * Reads and checks the magic number and version, and checks the header
+     * against its checksum, leaving the stream at the flags byte.
+     *
+     * @param bytes The whole save
+     * @param in The stream positioned at the start of the save
+     * @return The save's layout version
+     * @throws IOException If the bytes are not a binary save this codec can read, or the header is damaged
+     */
+    private static int readHeader(byte[] bytes, DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a binary save file");
+        }
+        int version = in.readUnsignedShort();
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unsupported save version " + version);
+        }
+        if (version >= 2) {
+            if (bytes.length < HEADER_SIZE) {
+                throw new IOException("Corrupted save: header is truncated");
+            }
+            if (checksum(bytes, CHECKSUM_OFFSET) != ByteBuffer.wrap(bytes).getInt(CHECKSUM_OFFSET)) {
+                throw new IOException("Corrupted save: header checksum does not match");
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Computes the CRC32 of the start of a save.
+     *
+     * @param bytes The save
+     * @param length The number of bytes to cover
+     * @return The checksum
+     */
+    private static int checksum(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Looks up an enum constant by a stored ordinal.
+     *
+     * @param values The enum's constants
+     * @param ordinal The stored ordinal
+     * @return The matching constant
+     * @throws IOException If the ordinal is out of range
+     */
+    static <E extends Enum<E>> E readEnum(E[] values, int ordinal) throws IOException {
+        if (ordinal >= values.length) {
+            throw new IOException("Corrupted save: unknown " + values[0].getDeclaringClass().getSimpleName());
+        }
+        return values[ordinal];
+    }
+}
@@ -16,6 +16,8 @@ public class Chao {
     private State state;
     /**Status of the Chao*/
     private Status status;
+    /**Whether the alignment, type or state has changed since the Chao was last saved*/
+    private boolean dirty;
 
     /**
      * Constructor that initializes a Chao with specified attributes.
@@ -50,6 +52,7 @@ public class Chao {
      * @param alignment the amount to adjust the alignment by
      */
     public void adjustAlignment(int alignment) {
+        if (alignment != 0) dirty = true;
         this.alignment = this.alignment + alignment;
     }
 
@@ -68,6 +71,7 @@ public class Chao {
      * @param type the new ChaoType
      */
     public void setType(ChaoType type) {
+        if (type != this.type) dirty = true;
         this.type = type;
     }
 
@@ -95,6 +99,7 @@ public class Chao {
      * @param state the new State
      */
     public void setState(State state) {
+        if (state != this.state) dirty = true;
         this.state = state;
     }
 
@@ -121,4 +126,21 @@ public class Chao {
         }
     }
 
+    /**
+     * Checks if the Chao or its status has changed since it was last saved.
+     *
+     * @return true if there are unsaved changes, false otherwise
+     */
+    public boolean isDirty() {
+        return dirty || status.isDirty();
+    }
+
+    /**
+     * Marks the Chao and its status as saved.
+     */
+    public void markClean() {
+        dirty = false;
+        status.markClean();
+    }
+
 }
\ No newline at end of file
@@ -1,9 +1,5 @@
 package com.example.chaotopia.Model;
 
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.util.Duration;
 
@@ -34,15 +30,15 @@ public class ChaoAnimation {
     /** The type of animation being performed */
     private AnimationState animationState;
 
-    /** The Timeline that controls the animation sequence */
-    private Timeline timeline;
+    /** The pulse task that advances the animation, or null while stopped */
+    private PulseScheduler.ScheduledTask frameTask;
 
     /** The animation speed in seconds per frame */
     private double frameSpeed = 0.2;
 
     /**
      * Constructs a new ChaoAnimation instance.
-     * Initializes the animation timeline but does not start it automatically.
+     * The animation is not started automatically.
      *
      * @param characterView The ImageView component that will display the animated character
      * @param chaoType The type of Chao being animated
@@ -54,49 +50,28 @@ public class ChaoAnimation {
         this.animationState = animationState;
         this.totalFrames = animationState.getFrameCount();
 
-        // Initialize the timeline with the appropriate frame update logic
-        initializeTimeline();
+        // Pack every frame of this type into its atlas up front
+        SpriteCache.preload(chaoType);
 
         //Apply scaling for Hero and Dark Chao
         applyChaoTypeScaling();
     }
 
-    /**
-     * Initializes the animation timeline.
-     */
-    private void initializeTimeline() {
-        this.timeline = new Timeline(new KeyFrame(Duration.seconds(frameSpeed), event -> updateFrame()));
-        timeline.setCycleCount(Animation.INDEFINITE);
-    }
-
     /**
      * Updates the frame displayed in the ImageView.
-     * This method is called by the timeline at regular intervals.
+     * This method is called by the pulse scheduler at regular intervals.
      */
     private void updateFrame() {
         try {
-            // Generate the path to the current frame's image using a folder structure
-            // Format: /sprites/CHAOTYPE/ANIMATIONSTATE1.png
-            String imagePath = String.format("/com/example/chaotopia/sprites/%s/%s%d.png",
-                    chaoType.getResourceName(),
-                    animationState.getResourceName(),
-                    currentFrame);
-
-            // Load the image
-            Image frameImage = new Image(getClass().getResourceAsStream(imagePath));
-
-            // Update the image view
-            characterView.setImage(frameImage);
+            // Frames live in the Chao type's atlas; only the viewport moves
+            SpriteCache.showFrame(characterView, chaoType, animationState, currentFrame);
 
             // Move to the next frame
             currentFrame = (currentFrame % totalFrames) + 1;
         } catch (Exception e) {
             System.err.println("Error loading animation frame: " + e.getMessage());
             System.err.println("Attempted path: " +
-                    "/com/example/chaotopia/sprites/" +
-                    chaoType.getResourceName() + "/" +
-                    animationState.getResourceName() +
-                    currentFrame + ".png");
+                    SpriteCache.getFramePath(chaoType, animationState, currentFrame));
             e.printStackTrace();
         }
     }
@@ -107,7 +82,9 @@ public class ChaoAnimation {
      * If the animation is already running, calling this method has no effect.
      */
     public void startAnimation() {
-        timeline.play();
+        if (frameTask == null || !frameTask.isActive()) {
+            frameTask = PulseScheduler.every(Duration.seconds(frameSpeed), this::updateFrame);
+        }
     }
 
     /**
@@ -116,7 +93,10 @@ public class ChaoAnimation {
      * If the animation is already stopped, calling this method has no effect.
      */
     public void stopAnimation() {
-        timeline.stop();
+        if (frameTask != null) {
+            frameTask.cancel();
+            frameTask = null;
+        }
     }
 
     /**
@@ -128,7 +108,7 @@ public class ChaoAnimation {
      */
     public void changeAnimation(AnimationState animationState) {
         // Stop the current animation
-        timeline.stop();
+        stopAnimation();
 
         // Update the animation parameters
         this.animationState = animationState;
@@ -139,7 +119,7 @@ public class ChaoAnimation {
         applyChaoTypeScaling();
 
         // Restart the animation
-        timeline.play();
+        startAnimation();
     }
 
     /**
@@ -162,17 +142,18 @@ public class ChaoAnimation {
      */
     public void changeChaoType(ChaoType chaoType) {
         // Stop the current animation
-        timeline.stop();
+        stopAnimation();
 
-        // Update the Chao type
+        // Update the Chao type and pack its atlas before the first tick
         this.chaoType = chaoType;
         this.currentFrame = 1;
+        SpriteCache.preload(chaoType);
 
         //Apply scaling to Hero and Dark Chao
         applyChaoTypeScaling();
 
         // Restart the animation
-        timeline.play();
+        startAnimation();
     }
 
     /**
@@ -183,14 +164,13 @@ public class ChaoAnimation {
     public void setAnimationSpeed(double frameSpeed) {
         this.frameSpeed = frameSpeed;
 
-        // Recreate the timeline with the new speed
-        boolean wasPlaying = timeline.getStatus() == Animation.Status.RUNNING;
-        timeline.stop();
-        initializeTimeline();
+        // Reschedule the frame task with the new speed
+        boolean wasPlaying = frameTask != null && frameTask.isActive();
+        stopAnimation();
 
         // Resume the animation if it was playing
         if (wasPlaying) {
-            timeline.play();
+            startAnimation();
         }
     }
 
@@ -0,0 +1,143 @@
+package com.example.chaotopia.Model;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Static utility class holding the rules that derive a Chao's {@link State}
+ * from its {@link Status}.
+ * <br><br>
+ * The rules are a transition table: for each state, an ordered list of
+ * conditions on the stats and the state each leads to, where the first
+ * condition that holds wins. Every condition compares a stat with the empty
+ * (0) or half (50) threshold, so the result can only change when a
+ * {@link Status.ThresholdListener} reports a crossing or the state itself
+ * changes. DEAD and EVOLVING have no transitions; they are entered and left
+ * by the game loop.
+ * <br><br>
+ * A transition to SLEEPING from any state but SLEEPING means the Chao has
+ * collapsed from exhaustion; the caller applies the health penalty and puts
+ * the Chao to sleep.
+ *
+ * @author Rosaline Scully
+ */
+public final class ChaoStateMachine {
+    /** Sleep has run out, so the Chao collapses. */
+    private static final Predicate<Status> EXHAUSTED = status -> status.getSleep() <= 0;
+    /** Happiness has run out. */
+    private static final Predicate<Status> MISERABLE = status -> status.getHappiness() <= 0;
+    /** Fullness has run out. */
+    private static final Predicate<Status> STARVING = status -> status.getFullness() <= 0;
+    /** Always holds; the last transition of a state. */
+    private static final Predicate<Status> OTHERWISE = status -> true;
+
+    /**
+     * One row of the transition table.
+     *
+     * @param when The condition on the stats
+     * @param to The state the condition leads to
+     */
+    private record Transition(Predicate<Status> when, State to) {}
+
+    /** The transitions out of each state while the Chao is awake, in order. */
+    private static final Map<State, List<Transition>> TRANSITIONS = new EnumMap<>(State.class);
+
+    static {
+        List<Transition> calm = List.of(
+                new Transition(EXHAUSTED, State.SLEEPING),
+                new Transition(MISERABLE, State.ANGRY),
+                new Transition(STARVING, State.HUNGRY),
+                new Transition(OTHERWISE, State.NORMAL));
+        TRANSITIONS.put(State.NORMAL, calm);
+        TRANSITIONS.put(State.SIT, calm);
+        TRANSITIONS.put(State.HAPPY, calm);
+
+        // An angry Chao stays angry until it is at least half happy
+        TRANSITIONS.put(State.ANGRY, List.of(
+                new Transition(EXHAUSTED, State.SLEEPING),
+                new Transition(status -> status.getHappiness() < 50, State.ANGRY),
+                new Transition(OTHERWISE, State.NORMAL)));
+        TRANSITIONS.put(State.HUNGRY, List.of(
+                new Transition(EXHAUSTED, State.SLEEPING),
+                new Transition(MISERABLE, State.ANGRY),
+                new Transition(STARVING, State.HUNGRY),
+                new Transition(OTHERWISE, State.NORMAL)));
+
+        // Just woken up; sleep is full so exhaustion cannot apply
+        TRANSITIONS.put(State.SLEEPING, List.of(
+                new Transition(MISERABLE, State.ANGRY),
+                new Transition(STARVING, State.HUNGRY),
+                new Transition(OTHERWISE, State.NORMAL)));
+    }
+
+    /**
+     * Constructor for the state machine.
+     * Cannot be called due to the class being static.
+     */
+    private ChaoStateMachine() {}
+
+    /**
+     * Takes one transition from a state.
+     *
+     * @param current The Chao's current state
+     * @param sleeping Whether the Chao is asleep, which keeps it SLEEPING
+     * @param status The Chao's stats
+     * @return The state to move to, which is the current state if nothing changes
+     */
+    public static State next(State current, boolean sleeping, Status status) {
+        if (current == State.DEAD || current == State.EVOLVING) return current;
+        if (sleeping) return State.SLEEPING;
+
+        List<Transition> transitions = TRANSITIONS.get(current);
+        if (transitions == null) return current;
+        for (Transition transition : transitions) {
+            if (transition.when().test(status)) return transition.to();
+        }
+        return current;
+    }
+
+    /**
+     * Follows transitions from a state until it settles, for callers that
+     * want the final state at once rather than one step at a time. Stops at
+     * a collapse into SLEEPING, which the caller must handle.
+     *
+     * @param current The Chao's current state
+     * @param sleeping Whether the Chao is asleep, which keeps it SLEEPING
+     * @param status The Chao's stats
+     * @return The settled state
+     */
+    public static State resolve(State current, boolean sleeping, Status status) {
+        State state = current;
+        // Every path settles within a few steps; the bound guards against a cycle
+        for (int i = 0; i < State.values().length; i++) {
+            State next = next(state, sleeping, status);
+            if (next == state || next == State.SLEEPING) return next;
+            state = next;
+        }
+        return state;
+    }
+
+    /**
+     * Checks if a transition is a collapse from exhaustion.
+     *
+     * @param from The state before the transition
+     * @param to The state after the transition
+     * @return true if the Chao collapsed into sleep, false otherwise
+     */
+    public static boolean isCollapse(State from, State to) {
+        return to == State.SLEEPING && from != State.SLEEPING;
+    }
+
+    /**
+     * Checks if a stat can affect the state. Health only decides death,
+     * which the game loop checks itself.
+     *
+     * @param stat The stat
+     * @return true if crossing one of the stat's thresholds can change the state
+     */
+    public static boolean affectsState(Status.Stat stat) {
+        return stat != Status.Stat.HEALTH;
+    }
+}
@@ -0,0 +1,581 @@
+package com.example.chaotopia.Model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A population of Chao stored as parallel primitive arrays.
+ * <br><br>
+ * Where a {@link Chao} keeps its stats in a {@link Status} object, the world
+ * keeps one array per stat (happiness, health, fullness, sleep) plus arrays
+ * for type, state and alignment, all indexed by the Chao's slot in the world.
+ * Stats are bounded 0-100, so they are stored as bytes, and a batch
+ * {@link #tick} walks each array front to back applying the same rules as
+ * {@link Commands#applyNaturalDecay(Chao)}. This keeps millions of Chao
+ * cache friendly on a single node.
+ * <br><br>
+ * Decay of one Chao never touches another, so {@link #tickParallel} splits
+ * the population into chunks of {@link #PARALLEL_CHUNK_SIZE} and decays them
+ * on a {@link ForkJoinPool}. Each chunk gathers its own results, which are
+ * merged in index order afterwards, so both tick modes give identical results.
+ *
+ * @author Rosaline Scully
+ */
+public class ChaoWorld {
+    /** The capacity of a world created without one. */
+    private static final int DEFAULT_CAPACITY = 16;
+    /** The maximum value for any stat. */
+    private static final int MAX_STAT = 100;
+    /** The number of Chao a parallel tick decays per task before it stops splitting. */
+    public static final int PARALLEL_CHUNK_SIZE = 16384;
+    /** The alignment at or beyond which a Chao can evolve. */
+    private static final int EVOLVE_ALIGNMENT = 7;
+    /** The ordinal of the Hero type. */
+    private static final byte HERO = (byte) ChaoType.HERO.ordinal();
+    /** The ordinal of the Dark type. */
+    private static final byte DARK_TYPE = (byte) ChaoType.DARK.ordinal();
+
+    /** Every Chao type, indexed by ordinal. */
+    private static final ChaoType[] TYPES = ChaoType.values();
+    /** Every state, indexed by ordinal. */
+    private static final State[] STATES = State.values();
+    /** The ordinal of the sleeping state. */
+    private static final byte SLEEPING = (byte) State.SLEEPING.ordinal();
+    /** The ordinal of the dead state. */
+    private static final byte DEAD = (byte) State.DEAD.ordinal();
+
+    /** Happiness lost per tick, by type ordinal, when fed. */
+    private static final int[] HAPPINESS_DECAY = new int[TYPES.length];
+    /** Happiness lost per tick, by type ordinal, when starving. */
+    private static final int[] HAPPINESS_DECAY_STARVING = new int[TYPES.length];
+    /** Health lost per tick, by type ordinal, when starving. */
+    private static final int[] HEALTH_DECAY_STARVING = new int[TYPES.length];
+    /** Fullness lost per tick, by type ordinal. */
+    private static final int[] FULLNESS_DECAY = new int[TYPES.length];
+    /** Sleep lost per tick, by type ordinal. */
+    private static final int[] SLEEP_DECAY = new int[TYPES.length];
+
+    static {
+        // Take every amount from Commands so both paths share one set of rules
+        for (ChaoType type : TYPES) {
+            int t = type.ordinal();
+            HAPPINESS_DECAY[t] = Commands.happinessDecay(type, false);
+            HAPPINESS_DECAY_STARVING[t] = Commands.happinessDecay(type, true);
+            HEALTH_DECAY_STARVING[t] = Commands.healthDecay(type, true);
+            FULLNESS_DECAY[t] = Commands.fullnessDecay(type);
+            SLEEP_DECAY[t] = Commands.sleepDecay(type);
+        }
+    }
+
+    /** The number of Chao in the world. */
+    private int size = 0;
+    /** The name of each Chao. */
+    private String[] names;
+    /** The type ordinal of each Chao. */
+    private byte[] types;
+    /** The state ordinal of each Chao. */
+    private byte[] states;
+    /** The alignment of each Chao. */
+    private int[] alignment;
+    /** The happiness of each Chao. */
+    private byte[] happiness;
+    /** The health of each Chao. */
+    private byte[] health;
+    /** The fullness of each Chao. */
+    private byte[] fullness;
+    /** The sleep of each Chao. */
+    private byte[] sleep;
+
+    /**
+     * The outcome of one batch tick. Every array holds Chao indices in
+     * ascending order.
+     */
+    public static final class TickResult {
+        /** The Chao that died during the tick. */
+        private final int[] deaths;
+        /** The Chao whose state changed during the tick. */
+        private final int[] stateChanges;
+        /** The living Chao that {@link Chao#evolve()} would change the type of. */
+        private final int[] evolutionCandidates;
+
+        /**
+         * Constructs a tick result.
+         *
+         * @param deaths The Chao that died during the tick
+         * @param stateChanges The Chao whose state changed during the tick
+         * @param evolutionCandidates The living Chao that can evolve
+         */
+        TickResult(int[] deaths, int[] stateChanges, int[] evolutionCandidates) {
+            this.deaths = deaths;
+            this.stateChanges = stateChanges;
+            this.evolutionCandidates = evolutionCandidates;
+        }
+
+        /**
+         * Gets the Chao that died during the tick.
+         *
+         * @return The indices, in ascending order
+         */
+        public int[] getDeaths() {
+            return deaths;
+        }
+
+        /**
+         * Gets the Chao whose state changed during the tick. Their new state
+         * can be read with {@link ChaoWorld#getState(int)}. Decay on its own
+         * only ever changes a state to DEAD.
+         *
+         * @return The indices, in ascending order
+         */
+        public int[] getStateChanges() {
+            return stateChanges;
+        }
+
+        /**
+         * Gets the living Chao whose alignment lets them evolve into a type
+         * they are not already, following the rules of {@link Chao#evolve()}.
+         *
+         * @return The indices, in ascending order
+         */
+        public int[] getEvolutionCandidates() {
+            return evolutionCandidates;
+        }
+    }
+
+    /**
+     * A growable list of Chao indices gathered by one chunk of a tick.
+     */
+    private static final class IndexList {
+        /** The indices. */
+        private int[] data = new int[8];
+        /** The number of indices held. */
+        private int size = 0;
+
+        /**
+         * Adds an index to the end of the list.
+         *
+         * @param index The index to add
+         */
+        void add(int index) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = index;
+        }
+
+        /**
+         * Adds every index of another list to the end of this one.
+         *
+         * @param other The list to append
+         */
+        void addAll(IndexList other) {
+            if (size + other.size > data.length) data = Arrays.copyOf(data, Math.max(size + other.size, size * 2));
+            System.arraycopy(other.data, 0, data, size, other.size);
+            size += other.size;
+        }
+
+        /**
+         * Copies the list into an array.
+         *
+         * @return The indices
+         */
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+
+    /**
+     * The results gathered by one chunk of a tick.
+     */
+    private static final class ChunkResult {
+        /** The Chao that died. */
+        final IndexList deaths = new IndexList();
+        /** The Chao whose state changed. */
+        final IndexList stateChanges = new IndexList();
+        /** The living Chao that can evolve. */
+        final IndexList evolutionCandidates = new IndexList();
+
+        /**
+         * Appends the results of the chunk that follows this one.
+         *
+         * @param next The results of the following chunk
+         * @return This chunk's results
+         */
+        ChunkResult append(ChunkResult next) {
+            deaths.addAll(next.deaths);
+            stateChanges.addAll(next.stateChanges);
+            evolutionCandidates.addAll(next.evolutionCandidates);
+            return this;
+        }
+
+        /**
+         * Converts the gathered results into a tick result.
+         *
+         * @return The tick result
+         */
+        TickResult toTickResult() {
+            return new TickResult(deaths.toArray(), stateChanges.toArray(), evolutionCandidates.toArray());
+        }
+    }
+
+    /**
+     * Fork-join task that decays a range of the world, splitting it in half
+     * until it is no larger than {@link #PARALLEL_CHUNK_SIZE}.
+     */
+    private final class DecayTask extends RecursiveTask<ChunkResult> {
+        /** Version for serialization, which RecursiveTask inherits but the task never uses. */
+        private static final long serialVersionUID = 1L;
+
+        /** The first index of the range. */
+        private final int from;
+        /** The index after the last index of the range. */
+        private final int to;
+
+        /**
+         * Constructs a task for a range of the world.
+         *
+         * @param from The first index of the range
+         * @param to The index after the last index of the range
+         */
+        DecayTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            if (to - from <= PARALLEL_CHUNK_SIZE) {
+                ChunkResult result = new ChunkResult();
+                decayRange(from, to, result);
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            DecayTask left = new DecayTask(from, mid);
+            left.fork();
+            ChunkResult right = new DecayTask(mid, to).compute();
+            return left.join().append(right);
+        }
+    }
+
+    /**
+     * Constructs an empty world.
+     */
+    public ChaoWorld() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty world with room for a number of Chao
+     * before its arrays need to grow.
+     *
+     * @param capacity The initial capacity
+     */
+    public ChaoWorld(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative for ChaoWorld");
+        }
+        names = new String[capacity];
+        types = new byte[capacity];
+        states = new byte[capacity];
+        alignment = new int[capacity];
+        happiness = new byte[capacity];
+        health = new byte[capacity];
+        fullness = new byte[capacity];
+        sleep = new byte[capacity];
+    }
+
+    /**
+     * Adds a copy of a Chao to the world. Later changes to the Chao
+     * are not reflected in the world.
+     *
+     * @param chao The Chao to add
+     * @return The index of the Chao in the world
+     */
+    public int add(Chao chao) {
+        Status status = chao.getStatus();
+        return add(chao.getName(), chao.getType(), chao.getState(), chao.getAlignment(),
+                status.getHappiness(), status.getHealth(), status.getFullness(), status.getSleep());
+    }
+
+    /**
+     * Adds a Chao to the world. Stats are constrained between 0 and 100.
+     *
+     * @param name The name of the Chao
+     * @param type The type of the Chao
+     * @param state The state of the Chao
+     * @param alignment The alignment of the Chao
+     * @param happiness The happiness of the Chao
+     * @param health The health of the Chao
+     * @param fullness The fullness of the Chao
+     * @param sleep The sleep of the Chao
+     * @return The index of the Chao in the world
+     */
+    public int add(String name, ChaoType type, State state, int alignment,
+                   int happiness, int health, int fullness, int sleep) {
+        if (size == types.length) {
+            grow();
+        }
+        int i = size++;
+        this.names[i] = name;
+        this.types[i] = (byte) type.ordinal();
+        this.states[i] = (byte) state.ordinal();
+        this.alignment[i] = alignment;
+        this.happiness[i] = (byte) clamp(happiness);
+        this.health[i] = (byte) clamp(health);
+        this.fullness[i] = (byte) clamp(fullness);
+        this.sleep[i] = (byte) clamp(sleep);
+        return i;
+    }
+
+    /**
+     * Applies one tick of natural decay to every Chao in the world,
+     * following the same rules as {@link Commands#applyNaturalDecay(Chao)}.
+     * Chao whose health reaches 0 are set to DEAD.
+     *
+     * @return The outcome of the tick
+     */
+    public TickResult tick() {
+        ChunkResult result = new ChunkResult();
+        decayRange(0, size, result);
+        return result.toTickResult();
+    }
+
+    /**
+     * Applies one tick of natural decay like {@link #tick()}, splitting the
+     * world across the common fork-join pool.
+     *
+     * @return The outcome of the tick
+     */
+    public TickResult tickParallel() {
+        return tickParallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Applies one tick of natural decay like {@link #tick()}, splitting the
+     * world across a fork-join pool. The world must not be changed by other
+     * threads while the tick runs.
+     *
+     * @param pool The pool to decay the world on
+     * @return The outcome of the tick
+     */
+    public TickResult tickParallel(ForkJoinPool pool) {
+        if (size <= PARALLEL_CHUNK_SIZE) {
+            return tick(); // Not worth splitting
+        }
+        return pool.invoke(new DecayTask(0, size)).toTickResult();
+    }
+
+    /**
+     * Evolves a Chao following the rules of {@link Chao#evolve()}.
+     *
+     * @param index The index of the Chao
+     */
+    public void evolve(int index) {
+        checkIndex(index);
+        if (alignment[index] >= EVOLVE_ALIGNMENT) {
+            types[index] = HERO;
+        } else if (alignment[index] <= -EVOLVE_ALIGNMENT) {
+            types[index] = DARK_TYPE;
+        }
+    }
+
+    /**
+     * Applies one tick of natural decay to a range of the world.
+     *
+     * @param from The first index of the range
+     * @param to The index after the last index of the range
+     * @param result The results to add deaths, state changes and evolution candidates to
+     */
+    private void decayRange(int from, int to, ChunkResult result) {
+        for (int i = from; i < to; i++) {
+            int currentHealth = health[i];
+            if (currentHealth <= 0) continue; // Dead Chao don't decay
+
+            int t = types[i];
+            int currentSleep = sleep[i];
+            if (states[i] == SLEEPING) {
+                currentSleep = Math.min(MAX_STAT, currentSleep + Commands.DECAY_SLEEP_RECOVERY);
+            }
+
+            int currentFullness = fullness[i];
+            int happinessDecrease;
+            if (currentFullness == 0) {
+                happinessDecrease = HAPPINESS_DECAY_STARVING[t];
+                currentHealth = Math.max(0, currentHealth - HEALTH_DECAY_STARVING[t]);
+                health[i] = (byte) currentHealth;
+            } else {
+                happinessDecrease = HAPPINESS_DECAY[t];
+            }
+            happiness[i] = (byte) Math.max(0, happiness[i] - happinessDecrease);
+            fullness[i] = (byte) Math.max(0, currentFullness - FULLNESS_DECAY[t]);
+            sleep[i] = (byte) Math.max(0, currentSleep - SLEEP_DECAY[t]);
+
+            if (currentHealth == 0) {
+                if (states[i] != DEAD) {
+                    states[i] = DEAD;
+                    result.stateChanges.add(i);
+                }
+                result.deaths.add(i);
+            } else if ((alignment[i] >= EVOLVE_ALIGNMENT && t != HERO) ||
+                    (alignment[i] <= -EVOLVE_ALIGNMENT && t != DARK_TYPE)) {
+                result.evolutionCandidates.add(i);
+            }
+        }
+    }
+
+    /**
+     * Creates a Chao holding a copy of one member of the world.
+     *
+     * @param index The index of the Chao
+     * @return A new Chao with the same name, type, state, alignment and stats
+     */
+    public Chao toChao(int index) {
+        checkIndex(index);
+        return new Chao(alignment[index], names[index], getType(index), getState(index),
+                new Status(happiness[index], health[index], fullness[index], sleep[index]));
+    }
+
+    /**
+     * Gets the number of Chao in the world.
+     *
+     * @return The number of Chao
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the name of a Chao.
+     *
+     * @param index The index of the Chao
+     * @return The name
+     */
+    public String getName(int index) {
+        checkIndex(index);
+        return names[index];
+    }
+
+    /**
+     * Gets the type of a Chao.
+     *
+     * @param index The index of the Chao
+     * @return The type
+     */
+    public ChaoType getType(int index) {
+        checkIndex(index);
+        return TYPES[types[index]];
+    }
+
+    /**
+     * Gets the state of a Chao.
+     *
+     * @param index The index of the Chao
+     * @return The state
+     */
+    public State getState(int index) {
+        checkIndex(index);
+        return STATES[states[index]];
+    }
+
+    /**
+     * Sets the state of a Chao.
+     *
+     * @param index The index of the Chao
+     * @param state The new state
+     */
+    public void setState(int index, State state) {
+        checkIndex(index);
+        states[index] = (byte) state.ordinal();
+    }
+
+    /**
+     * Gets the alignment of a Chao.
+     *
+     * @param index The index of the Chao
+     * @return The alignment
+     */
+    public int getAlignment(int index) {
+        checkIndex(index);
+        return alignment[index];
+    }
+
+    /**
+     * Gets the happiness of a Chao.
+     *
+     * @param index The index of the Chao
+     * @return The happiness
+     */
+    public int getHappiness(int index) {
+        checkIndex(index);
+        return happiness[index];
+    }
+
+    /**
+     * Gets the health of a Chao.
+     *
+     * @param index The index of the Chao
+     * @return The health
+     */
+    public int getHealth(int index) {
+        checkIndex(index);
+        return health[index];
+    }
+
+    /**
+     * Gets the fullness of a Chao.
+     *
+     * @param index The index of the Chao
+     * @return The fullness
+     */
+    public int getFullness(int index) {
+        checkIndex(index);
+        return fullness[index];
+    }
+
+    /**
+     * Gets the sleep of a Chao.
+     *
+     * @param index The index of the Chao
+     * @return The sleep
+     */
+    public int getSleep(int index) {
+        checkIndex(index);
+        return sleep[index];
+    }
+
+    /**
+     * Doubles the capacity of every array.
+     */
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, types.length * 2);
+        names = Arrays.copyOf(names, capacity);
+        types = Arrays.copyOf(types, capacity);
+        states = Arrays.copyOf(states, capacity);
+        alignment = Arrays.copyOf(alignment, capacity);
+        happiness = Arrays.copyOf(happiness, capacity);
+        health = Arrays.copyOf(health, capacity);
+        fullness = Arrays.copyOf(fullness, capacity);
+        sleep = Arrays.copyOf(sleep, capacity);
+    }
+
+    /**
+     * Checks that an index refers to a Chao in the world.
+     *
+     * @param index The index to check
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Chao index " + index + " out of bounds for world of size " + size);
+        }
+    }
+
+    /**
+     * Constrains a stat between 0 and 100.
+     *
+     * @param value The value to constrain
+     * @return The constrained value
+     */
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(MAX_STAT, value));
+    }
+}
@@ -0,0 +1,430 @@
+package com.example.chaotopia.Model;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal of everything that happens to a save slot
+ * between two saves.
+ * <br><br>
+ * A {@link GameFile} save is a full snapshot. After it, every command, every
+ * tick that changes the Chao, every inventory change and every score change
+ * is appended here as a small fixed-layout record. Loading a slot reads the
+ * snapshot and then {@link #replay replays} the journal on top of it, so a
+ * crash only loses the record being written.
+ * <br><br>
+ * Each record is framed by its length before it and a CRC32 of its contents
+ * after it. A crash can leave a record cut short, or a tail of zeros or
+ * garbage where the file system had reserved space; replay stops at the
+ * first frame whose length or checksum is wrong, or whose contents do not
+ * decode to a valid record, and cuts the file off there. Saving a new snapshot
+ * {@link #truncate truncates} the journal. A snapshot saved in the background
+ * instead notes the journal's {@link #position} when it is taken and then
+ * {@link #discardThrough discards} only the records before it, since more may
+ * have been appended while it was being written.
+ * <br><br>
+ * Records are appended on the game thread while a background save may be
+ * discarding older ones, so every method that touches the file is synchronized.
+ * <br><br>
+ * Every record holds absolute values (the Chao's full stats, an item's new
+ * count, the new score) rather than changes, so replaying a journal over a
+ * snapshot that already contains some of it gives the same result.
+ *
+ * @author Rosaline Scully
+ */
+public class CommandJournal implements Closeable {
+    /** The journal size in bytes past which a new snapshot should be saved. */
+    public static final long SNAPSHOT_THRESHOLD = 64 * 1024;
+    /** The largest record contents in bytes. Real records are far smaller. */
+    private static final int MAX_RECORD_LENGTH = 1024;
+    /** The bytes framing each record: a 2 byte length and a 4 byte checksum. */
+    private static final int FRAME_OVERHEAD = 6;
+
+    /**
+     * The kinds of record in a journal. Stored by ordinal, so new kinds
+     * must only ever be added at the end.
+     */
+    public enum RecordType {
+        /** A tick changed the Chao. Holds a Chao snapshot. */
+        TICK,
+        /** The Chao was told to sleep. Holds a Chao snapshot. */
+        SLEEP,
+        /** The Chao was fed. Holds a Chao snapshot. */
+        FEED,
+        /** The Chao was given a gift. Holds a Chao snapshot. */
+        GIVE,
+        /** The Chao went to the vet. Holds a Chao snapshot. */
+        VET,
+        /** The Chao was played with. Holds a Chao snapshot. */
+        PLAY,
+        /** The Chao exercised. Holds a Chao snapshot. */
+        EXERCISE,
+        /** The Chao was pet. Holds a Chao snapshot. */
+        PET,
+        /** The Chao was bonked. Holds a Chao snapshot. */
+        BONK,
+        /** The Chao started or finished evolving. Holds a Chao snapshot. */
+        EVOLVE,
+        /** An item count changed. Holds the item name and its new count. */
+        ITEM,
+        /** The score changed. Holds the new score. */
+        SCORE;
+
+        /** Every record type, indexed by ordinal. */
+        private static final RecordType[] VALUES = values();
+
+        /**
+         * Checks if records of this type hold a Chao snapshot.
+         *
+         * @return true for Chao records, false otherwise
+         */
+        boolean holdsChao() {
+            return this != ITEM && this != SCORE;
+        }
+    }
+
+    /** The file the journal is appended to. */
+    private final Path path;
+    /** The open stream to the journal, or null until the first record. */
+    private DataOutputStream out;
+    /** The size of the journal in bytes. */
+    private long size;
+    /** The size of the journal when the stream was opened. */
+    private long sizeAtOpen;
+    /** The number of bytes ever cut from the front of the journal. */
+    private long discarded;
+    /** The contents of the record being written, framed once it is finished. */
+    private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(64);
+    /** Writes into {@link #recordBytes}. */
+    private final DataOutputStream record = new DataOutputStream(recordBytes);
+    /** Checksums each record's contents. */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Constructs a journal for a file. The file is created on the first record.
+     *
+     * @param path The journal file
+     */
+    public CommandJournal(Path path) {
+        this.path = path;
+        long existing = 0;
+        try {
+            if (Files.exists(path)) existing = Files.size(path);
+        } catch (IOException e) {
+            System.err.println("Error reading journal size: " + path);
+        }
+        this.size = existing;
+    }
+
+    /**
+     * Gets the journal file for a save slot.
+     *
+     * @param slotId The save slot
+     * @return The slot's journal file
+     */
+    public static Path pathFor(int slotId) {
+        return Paths.get(GameFile.SAVES_DIR + "slot_" + slotId + ".journal");
+    }
+
+    // Writing -----------------------------------------------------------------
+
+    /**
+     * Appends a record of the Chao's type, state, alignment and stats.
+     *
+     * @param type What caused the record, which must be a Chao record type
+     * @param chao The Chao to record
+     */
+    public synchronized void recordChao(RecordType type, Chao chao) {
+        if (!type.holdsChao()) {
+            throw new IllegalArgumentException(type + " records do not hold a Chao");
+        }
+        Status status = chao.getStatus();
+        try {
+            recordBytes.reset();
+            record.writeByte(type.ordinal());
+            record.writeByte(chao.getType().ordinal());
+            record.writeByte(chao.getState().ordinal());
+            record.writeInt(chao.getAlignment());
+            record.writeByte(status.getHappiness());
+            record.writeByte(status.getHealth());
+            record.writeByte(status.getFullness());
+            record.writeByte(status.getSleep());
+            commit();
+        } catch (IOException e) {
+            System.err.println("Error writing to journal: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Appends a record of an item's new count.
+     *
+     * @param itemName The name of the item
+     * @param count The number of the item now held
+     */
+    public synchronized void recordItem(String itemName, int count) {
+        try {
+            recordBytes.reset();
+            record.writeByte(RecordType.ITEM.ordinal());
+            record.writeUTF(itemName);
+            record.writeInt(count);
+            commit();
+        } catch (IOException e) {
+            System.err.println("Error writing to journal: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Appends a record of the new score.
+     *
+     * @param score The score
+     */
+    public synchronized void recordScore(int score) {
+        try {
+            recordBytes.reset();
+            record.writeByte(RecordType.SCORE.ordinal());
+            record.writeInt(score);
+            commit();
+        } catch (IOException e) {
+            System.err.println("Error writing to journal: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Gets the size of the journal.
+     *
+     * @return The size in bytes
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Checks if the journal has grown enough that a new snapshot should be saved.
+     *
+     * @return true if a snapshot is due, false otherwise
+     */
+    public synchronized boolean needsSnapshot() {
+        return size >= SNAPSHOT_THRESHOLD;
+    }
+
+    /**
+     * Empties the journal. Called once a snapshot holding everything in it
+     * has been saved.
+     *
+     * @throws IOException If the journal cannot be emptied
+     */
+    public synchronized void truncate() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+        discarded += size;
+        size = 0;
+    }
+
+    /**
+     * Gets the position of the end of the journal, counting every byte ever
+     * written to it. Unlike {@link #size}, a position stays meaningful after
+     * earlier records have been discarded.
+     *
+     * @return The position after the last record
+     */
+    public synchronized long position() {
+        return discarded + size;
+    }
+
+    /**
+     * Discards every record before a position, keeping anything appended
+     * after it. Called once a snapshot taken at that position has been saved.
+     *
+     * @param position The position the snapshot was taken at
+     * @throws IOException If the journal cannot be rewritten
+     */
+    public synchronized void discardThrough(long position) throws IOException {
+        long drop = position - discarded;
+        if (drop <= 0) return;
+        if (drop >= size) {
+            truncate();
+            return;
+        }
+
+        close();
+        byte[] journal = Files.readAllBytes(path);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, Arrays.copyOfRange(journal, (int) drop, journal.length));
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        discarded += drop;
+        size = journal.length - drop;
+    }
+
+    /**
+     * Closes the journal file. The next record reopens it.
+     *
+     * @throws IOException If the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    // Reading -----------------------------------------------------------------
+
+    /**
+     * Replays a journal on top of a snapshot. A record cut short by a crash,
+     * a bad checksum or a record that does not decode ends the replay, and
+     * everything from there on is cut off the file, so later records are
+     * appended after the last whole one.
+     *
+     * @param path The journal file
+     * @param chao The snapshot's Chao, or null to skip Chao records
+     * @param inventory The snapshot's inventory, or null to skip item records
+     * @param score The snapshot's score, or null to skip score records
+     * @return The number of records replayed
+     * @throws IOException If the journal exists but cannot be read
+     */
+    public static int replay(Path path, Chao chao, Inventory inventory, Score score) throws IOException {
+        if (!Files.exists(path)) return 0;
+
+        byte[] journal = Files.readAllBytes(path);
+        CRC32 crc = new CRC32();
+        int replayed = 0;
+        int offset = 0;
+        while (journal.length - offset >= FRAME_OVERHEAD) {
+            int length = ((journal[offset] & 0xFF) << 8) | (journal[offset + 1] & 0xFF);
+            // A zero length is what a zero-filled tail decodes to
+            if (length == 0 || length > MAX_RECORD_LENGTH
+                    || length > journal.length - offset - FRAME_OVERHEAD) break;
+
+            int start = offset + 2;
+            crc.reset();
+            crc.update(journal, start, length);
+            int end = start + length;
+            int stored = ((journal[end] & 0xFF) << 24) | ((journal[end + 1] & 0xFF) << 16)
+                    | ((journal[end + 2] & 0xFF) << 8) | (journal[end + 3] & 0xFF);
+            if ((int) crc.getValue() != stored) break;
+
+            if (!apply(journal, start, length, chao, inventory, score)) break;
+            replayed++;
+            offset = end + 4;
+        }
+
+        if (offset < journal.length) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(offset);
+            }
+        }
+        return replayed;
+    }
+
+    // Private methods ---------------------------------------------------------
+
+    /**
+     * Opens the journal for appending if it is not already open.
+     *
+     * @return The open stream
+     * @throws IOException If the file cannot be opened
+     */
+    private DataOutputStream open() throws IOException {
+        if (out == null) {
+            Files.createDirectories(path.getParent());
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path.toFile(), true)));
+            sizeAtOpen = size;
+        }
+        return out;
+    }
+
+    /**
+     * Frames the record in {@link #recordBytes} and hands it to the
+     * operating system.
+     *
+     * @throws IOException If the record cannot be written
+     */
+    private void commit() throws IOException {
+        int length = recordBytes.size();
+        if (length > MAX_RECORD_LENGTH) {
+            throw new IOException("Journal record too long: " + length + " bytes");
+        }
+        crc.reset();
+        crc.update(recordBytes.toByteArray(), 0, length);
+
+        DataOutputStream stream = open();
+        stream.writeShort(length);
+        recordBytes.writeTo(stream);
+        stream.writeInt((int) crc.getValue());
+        stream.flush();
+        size = sizeAtOpen + stream.size();
+    }
+
+    /**
+     * Decodes one record's contents and applies it. Nothing is applied
+     * unless the whole record is valid.
+     *
+     * @param journal The journal's bytes
+     * @param start The offset of the record's contents
+     * @param length The length of the record's contents
+     * @param chao The Chao to update, or null to skip Chao records
+     * @param inventory The inventory to update, or null to skip item records
+     * @param score The score to update, or null to skip score records
+     * @return true if the record was valid, false otherwise
+     */
+    private static boolean apply(byte[] journal, int start, int length,
+                                 Chao chao, Inventory inventory, Score score) {
+        ByteArrayInputStream bytes = new ByteArrayInputStream(journal, start, length);
+        try (DataInputStream in = new DataInputStream(bytes)) {
+            int code = in.readUnsignedByte();
+            if (code >= RecordType.VALUES.length) return false;
+
+            RecordType type = RecordType.VALUES[code];
+            if (type == RecordType.ITEM) {
+                String itemName = in.readUTF();
+                int count = in.readInt();
+                if (bytes.available() != 0 || count < 0) return false;
+                if (inventory != null) inventory.setItemCount(itemName, count);
+            } else if (type == RecordType.SCORE) {
+                int newScore = in.readInt();
+                if (bytes.available() != 0) return false;
+                if (score != null) score.setScore(newScore);
+            } else {
+                int typeCode = in.readUnsignedByte();
+                int stateCode = in.readUnsignedByte();
+                int alignment = in.readInt();
+                int happiness = in.readUnsignedByte();
+                int health = in.readUnsignedByte();
+                int fullness = in.readUnsignedByte();
+                int sleep = in.readUnsignedByte();
+                if (bytes.available() != 0 || typeCode >= ChaoType.values().length
+                        || stateCode >= State.values().length
+                        || happiness > 100 || health > 100 || fullness > 100 || sleep > 100) {
+                    return false;
+                }
+                if (chao != null) {
+                    chao.setType(ChaoType.values()[typeCode]);
+                    chao.setState(State.values()[stateCode]);
+                    chao.adjustAlignment(alignment - chao.getAlignment());
+                    chao.getStatus().setStats(happiness, health, fullness, sleep);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false; // The contents end before the record does
+        }
+    }
+}
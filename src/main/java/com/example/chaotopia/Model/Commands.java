@@ -1,7 +1,5 @@
 package com.example.chaotopia.Model;
 
-import com.example.chaotopia.Controller.GameplayController;
-import javafx.scene.Scene;
 
 /**
  * Static entity or utility class for player-issued commands.
@@ -35,10 +33,21 @@ public final class Commands {
     /** The evolutionary effect of bonking a Chao. */
     private static final int BONK_VAL = -1;
 
+    /** The sleep recovered each decay tick while sleeping. */
+    static final int DECAY_SLEEP_RECOVERY = 10;
+    /** The amount each stat decays by per tick before type modifiers. */
+    static final int DECAY_BASE = 2;
+    /** The health lost each decay tick while starving. */
+    static final int DECAY_STARVING_HEALTH = 5;
+    /** The extra health a Green Chao loses each decay tick while starving. */
+    static final int DECAY_STARVING_HEALTH_GREEN = 2;
+
+    /** The clock cooldowns are measured with. */
+    private static GameClock clock = GameClock.SYSTEM;
     /** The start of the cooldown for the vet command. */
-    private static long vetCooldown = System.nanoTime() - MINUTE;
+    private static long vetCooldown = clock.nanoTime() - MINUTE;
     /** The start of the cooldown for the play command. */
-    private static long playCooldown = System.nanoTime() - MINUTE;
+    private static long playCooldown = clock.nanoTime() - MINUTE;
 
     /** Enumerator identifying the cooldown type. */
     private enum CooldownType {
@@ -176,46 +185,89 @@ public final class Commands {
     public static void applyNaturalDecay(Chao chao) {
         if (chao.getStatus().isDead()) return;
         if (chao.getState() == State.SLEEPING) {
-            chao.getStatus().adjustSleep(10);
+            chao.getStatus().adjustSleep(DECAY_SLEEP_RECOVERY);
         }
 
         Status status = chao.getStatus();
-        int happinessDecrease = 2;
-        int fullnessDecrease = 2;
-        int sleepDecrease = 2;
-        int healthDecrease = 0;
-
-        // Apply type-specific modifications
         ChaoType type = chao.getType();
+        boolean starving = status.getFullness() == 0;
+
+        // Update the stats
+        status.updateStats(-happinessDecay(type, starving), -healthDecay(type, starving),
+                -fullnessDecay(type), -sleepDecay(type));
+    }
+
+    /**
+     * Gets the happiness lost per decay tick.
+     * Dark Chao lose happiness faster, Hero Chao slower, and starving doubles it.
+     * @param type the type of the Chao
+     * @param starving whether the Chao's fullness is 0
+     * @return the happiness decrease
+     */
+    static int happinessDecay(ChaoType type, boolean starving) {
+        int decrease = DECAY_BASE;
         if (type == ChaoType.DARK) {
-            happinessDecrease = (int)(happinessDecrease * 1.5);
-        } else if (type == ChaoType.BLUE) {
-            sleepDecrease = (int)(sleepDecrease * 1.5);
-        } else if (type == ChaoType.RED) {
-            fullnessDecrease = (int)(fullnessDecrease * 1.5);
-        } else if (type == ChaoType.HERO){
-            happinessDecrease = (int)(happinessDecrease * 0.5);
+            decrease = (int)(decrease * 1.5);
+        } else if (type == ChaoType.HERO) {
+            decrease = (int)(decrease * 0.5);
         }
+        return starving ? decrease * 2 : decrease;
+    }
 
-        // Handle hunger effects
-        if (status.getFullness() == 0) {
-            happinessDecrease *= 2;
-            healthDecrease += 5;
-            if (chao.getType() == ChaoType.GREEN) {
-                healthDecrease += 2;
-            }
-        }
+    /**
+     * Gets the health lost per decay tick. Health only decays while starving,
+     * and Green Chao suffer more from it.
+     * @param type the type of the Chao
+     * @param starving whether the Chao's fullness is 0
+     * @return the health decrease
+     */
+    static int healthDecay(ChaoType type, boolean starving) {
+        if (!starving) return 0;
+        return (type == ChaoType.GREEN) ? DECAY_STARVING_HEALTH + DECAY_STARVING_HEALTH_GREEN : DECAY_STARVING_HEALTH;
+    }
 
-        // Update the stats
-        status.updateStats(-happinessDecrease, -healthDecrease, -fullnessDecrease, -sleepDecrease);
+    /**
+     * Gets the fullness lost per decay tick. Red Chao get hungry faster.
+     * @param type the type of the Chao
+     * @return the fullness decrease
+     */
+    static int fullnessDecay(ChaoType type) {
+        return (type == ChaoType.RED) ? (int)(DECAY_BASE * 1.5) : DECAY_BASE;
+    }
+
+    /**
+     * Gets the sleep lost per decay tick. Blue Chao tire faster.
+     * @param type the type of the Chao
+     * @return the sleep decrease
+     */
+    static int sleepDecay(ChaoType type) {
+        return (type == ChaoType.BLUE) ? (int)(DECAY_BASE * 1.5) : DECAY_BASE;
     }
 
     /**
      * Method that resets the cooldowns on stats.
      */
     public static void resetCooldowns() {
-        vetCooldown = System.nanoTime() - MINUTE;
-        playCooldown = System.nanoTime() - MINUTE;
+        vetCooldown = clock.nanoTime() - MINUTE;
+        playCooldown = clock.nanoTime() - MINUTE;
+    }
+
+    /**
+     * Method that sets the clock cooldowns are measured with, then resets
+     * the cooldowns against it. The clock is shared by every Chao.
+     * @param newClock the clock to use, or null for the system clock
+     */
+    public static void setClock(GameClock newClock) {
+        clock = (newClock != null) ? newClock : GameClock.SYSTEM;
+        resetCooldowns();
+    }
+
+    /**
+     * Method that gets the clock cooldowns are measured with.
+     * @return the clock
+     */
+    public static GameClock getClock() {
+        return clock;
     }
 
     /**
@@ -248,7 +300,7 @@ public final class Commands {
      */
     private static String cooldownActive(long cooldown, CooldownType type) {
         /* Check the cooldown. */
-        long currentTime = System.nanoTime();
+        long currentTime = clock.nanoTime();
         if (currentTime - cooldown >= MINUTE) {
             if (type == CooldownType.VET) vetCooldown = currentTime;
             else if (type == CooldownType.PLAY) playCooldown = currentTime;
@@ -1,10 +1,5 @@
 package com.example.chaotopia.Model;
 
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.application.Platform;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.util.Duration;
 
@@ -19,14 +14,14 @@ public class FruitAnimation {
     private final int totalFrames = 6;
     /** The current fruit type */
     private FruitType fruitType;
-    /** A timeline for the animation */
-    private Timeline timeline;
+    /** The pulse task running the animation, or null while stopped */
+    private PulseScheduler.ScheduledTask frameTask;
     /** Speed of the fruit animation per frame */
     private double frameSpeed = 0.5;
 
     /**
      * Constructs a new FruitAnimation instance.
-     * Initializes the animation timeline but does not start it automatically.
+     * The animation is not started automatically.
      *
      * @param fruitView The ImageView component that will display the animated fruit
      * @param fruitType The type of Fruit being animated
@@ -37,40 +32,35 @@ public class FruitAnimation {
         }
         this.fruitView = fruitView;
         this.fruitType = fruitType;
-        initializeTimeline();
     }
 
     /**
-     * Initializes the animation timeline and adds the onFinished handler.
+     * Schedules the animation from its first frame and adds the onFinished handler.
      */
-    private void initializeTimeline() {
-        // Reset frame count for initialization/re-initialization
+    private void playFromStart() {
+        stopAnimation();
+        // Reset frame count for each run
         this.currentFrame = 1;
 
-        this.timeline = new Timeline(new KeyFrame(Duration.seconds(frameSpeed), event -> updateFrame()));
-        timeline.setCycleCount(totalFrames); // Run exactly 6 times (for frames 1-6)
-
-
-        timeline.setOnFinished(event -> {
-            Platform.runLater(() -> {
-                if (fruitView != null) {
-                    fruitView.setVisible(false);
-                    fruitView.setImage(null);
-                }
-                this.currentFrame = 1;
-            });
-        });
-
+        // Run exactly 6 times (for frames 1-6)
+        this.frameTask = PulseScheduler.repeat(Duration.seconds(frameSpeed), totalFrames, this::updateFrame)
+                .setOnFinished(() -> {
+                    if (fruitView != null) {
+                        fruitView.setVisible(false);
+                        fruitView.setImage(null);
+                    }
+                    this.currentFrame = 1;
+                });
     }
 
     /**
      * Updates the frame displayed in the ImageView.
-     * This method is called by the timeline at regular intervals.
+     * This method is called by the pulse scheduler at regular intervals.
      */
     private void updateFrame() {
         // Check if fruitView is still valid (might be nullified if disposed elsewhere)
         if (fruitView == null) {
-            if(timeline != null) timeline.stop(); // Stop if view is gone
+            stopAnimation(); // Stop if view is gone
             return;
         }
         try {
@@ -78,39 +68,32 @@ public class FruitAnimation {
             if (currentFrame == 6) {
                 fruitView.setImage(null);
             } else {
-                String imagePath = String.format("/com/example/chaotopia/fruits/%s/frame%d.png",
-                        fruitType.getResourceName(),
-                        currentFrame);
-                Image frameImage = new Image(getClass().getResourceAsStream(imagePath));
-                fruitView.setImage(frameImage);
+                // Frames live in the fruit type's atlas; only the viewport moves
+                SpriteCache.showFruitFrame(fruitView, fruitType, currentFrame);
             }
             currentFrame++; // Increment frame *after* using it
-        } catch (NullPointerException npe) {
+        } catch (IllegalArgumentException | NullPointerException e) {
             System.err.println("Error loading fruit animation frame: Resource not found. Check path and image existence.");
             System.err.println("Attempted path: " +
-                    "/com/example/chaotopia/fruits/" +
-                    (fruitType != null ? fruitType.getResourceName() : "null") + "/frame" +
-                    (currentFrame) + ".png"); // Use currentFrame before increment
-            if(timeline != null) timeline.stop(); // Stop animation on error
+                    (fruitType != null ? SpriteCache.getFruitFramePath(fruitType, currentFrame) : "null")); // Use currentFrame before increment
+            stopAnimation(); // Stop animation on error
         } catch (Exception e) {
             System.err.println("Error loading fruit animation frame: " + e.getMessage());
             e.printStackTrace();
-            if(timeline != null) timeline.stop(); // Stop animation on error
+            stopAnimation(); // Stop animation on error
         }
     }
 
     /**
      * Starts the animation from the beginning.
      * The animation will play once through all frames.
-     * If the animation is already running, it might restart or behave unexpectedly depending on FX version,
-     * it's safer to ensure it's stopped first if needed, but changeFruitType handles this.
+     * If the animation is already running, it is restarted from frame 1.
      */
     public void startAnimation() {
-        if (timeline != null && fruitView != null) {
+        if (fruitView != null) {
             // Ensure starting from frame 1 and view is visible
-            currentFrame = 1;
             fruitView.setVisible(true);
-            timeline.playFromStart(); // Use playFromStart to ensure it begins at frame 1
+            playFromStart();
         }
     }
 
@@ -119,8 +102,9 @@ public class FruitAnimation {
      * The current frame might remain displayed. Consider hiding manually if needed.
      */
     public void stopAnimation() {
-        if (timeline != null) {
-            timeline.stop();
+        if (frameTask != null) {
+            frameTask.cancel();
+            frameTask = null;
         }
     }
 
@@ -131,14 +115,15 @@ public class FruitAnimation {
      * @param newFruitType The new Fruit type
      */
     public void changeFruitType(FruitType newFruitType) {
-        if (timeline == null || fruitView == null) return; // Safety check
+        if (fruitView == null) return; // Safety check
 
-        timeline.stop(); // Stop any current animation
+        stopAnimation(); // Stop any current animation
 
         this.fruitType = newFruitType;
         this.currentFrame = 1; // Reset frame count
+        SpriteCache.getFruitAtlas(newFruitType); // Pack the atlas before the first frame
 
         fruitView.setVisible(true);
-        timeline.playFromStart();
+        playFromStart();
     }
 }
\ No newline at end of file
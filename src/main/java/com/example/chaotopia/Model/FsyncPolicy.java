@@ -0,0 +1,24 @@
+package com.example.chaotopia.Model;
+
+/**
+ * When saves written by {@link AtomicFileWriter} are forced to disk.
+ * <br><br>
+ * Forcing a file waits until the disk has really stored it, so it survives
+ * a power cut or an operating system crash, but it is by far the slowest part
+ * of a save. Saves that are not forced still survive the game itself crashing.
+ *
+ * @author Rosaline Scully
+ */
+public enum FsyncPolicy {
+    /** Every save is forced to disk before it replaces the old file. */
+    ALWAYS,
+    /**
+     * Each save is forced to disk before it replaces the old file, but
+     * storing the replacement itself is done in groups, once enough saves
+     * have built up or a few seconds after the first. A crash can roll back
+     * at most the saves in the current group, each to its last good copy.
+     */
+    GROUPED,
+    /** Saves are left for the operating system to write when it chooses. */
+    NEVER
+}
@@ -0,0 +1,43 @@
+package com.example.chaotopia.Model;
+
+import java.time.LocalTime;
+
+/**
+ * Source of time for the game rules.
+ * <br><br>
+ * Command cooldowns ({@link Commands}) and session playtime ({@link Time})
+ * read the time through a clock instead of calling the system directly, so a
+ * {@link SimulatedClock} can be swapped in to make a run reproducible.
+ * {@link #SYSTEM} is the clock used by default.
+ *
+ * @author Rosaline Scully
+ */
+public interface GameClock {
+    /** The clock backed by the system timer and local time of day. */
+    GameClock SYSTEM = new GameClock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public LocalTime localTime() {
+            return LocalTime.now();
+        }
+    };
+
+    /**
+     * Gets the value of a monotonic timer, like {@link System#nanoTime()}.
+     * Only differences between two readings are meaningful.
+     *
+     * @return The current timer value in nanoseconds
+     */
+    long nanoTime();
+
+    /**
+     * Gets the current time of day, used for parental play limits.
+     *
+     * @return The current local time
+     */
+    LocalTime localTime();
+}
@@ -1,15 +1,11 @@
 package com.example.chaotopia.Model;
 
-import org.json.JSONObject;
 import org.json.JSONException;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Represents a game save file with all associated data including Chao, inventory,
@@ -19,8 +15,10 @@ public class GameFile {
     /** Directory for save files */
     public static final String SAVES_DIR = "src/main/resources/com/example/chaotopia/Saves/";
 
-    /** Maximum number of save slots available */
-    private static final int MAX_SLOTS = 2;
+    /** Format new games are saved in and existing slots are migrated to */
+    private static SaveFormat defaultFormat = SaveFormat.JSON;
+    /** Compression applied to save files when they are written */
+    private static SaveCompression compression = SaveCompression.NONE;
 
     /**The ID of the save slot.*/
     private int slotId;
@@ -36,43 +34,172 @@ public class GameFile {
     private int numSessions;
     /**Average playtime per session in milliseconds.*/
     private long averagePlaytime;
+    /**Wall clock time of the last save in epoch milliseconds, or 0 if unknown.*/
+    private long lastSaved;
+    /**Journal of changes since the last save, opened on first use.*/
+    private CommandJournal journal;
+    /**The format this slot is saved in.*/
+    private SaveFormat format = defaultFormat;
+    /**Whether the playtime or session count has changed since the last save.*/
+    private boolean dirty;
+    /**Whether the next save must rewrite the whole file, e.g. for a new or migrated slot.*/
+    private volatile boolean fullSaveNeeded = true;
 
     // Static methods ----------------------------------------------------------
 
     /**
      * Deletes the save file for the specified slot.
      *
-     * @param slotId The slot number to delete (1-MAX_SLOTS)
+     * @param slotId The slot number to delete
      * @throws IOException If there's an error deleting the file
      */
     public static void deleteFile(int slotId) throws IOException {
-        Path path = Paths.get(SAVES_DIR + "slot_" + slotId + ".json");
-        if (Files.exists(path)) {
-            Files.delete(path);
+        SaveExecutor.cancel(slotId);
+        // Closes the cached game's journal, which must not be written to once deleted
+        GameFileRepository.invalidate(slotId);
+        for (SaveFormat format : SaveFormat.values()) {
+            if (format.isFilePerSlot()) AtomicFileWriter.delete(format.pathFor(slotId));
         }
+        MappedSlotStore.delete(slotId);
+        Files.deleteIfExists(CommandJournal.pathFor(slotId));
+        SlotIndex.remove(slotId);
     }
 
     /**
      * Checks if a slot is empty or contains no valid save data.
      *
-     * @param slotId The slot number to check (1-MAX_SLOTS)
+     * @param slotId The slot number to check
      * @return true if the slot is empty or contains invalid data, false otherwise
      * @throws IOException If there's an error reading the file
      */
     public static boolean isEmptySlot(int slotId) throws IOException {
-        Path path = Paths.get(SAVES_DIR + "slot_" + slotId + ".json");
+        SaveExecutor.awaitSlot(slotId);
+        SaveFormat format = findSave(slotId);
 
-        // If file doesn't exist, slot is empty
-        if (!Files.exists(path)) {
+        // If no file exists, slot is empty
+        if (format == null) {
             return true;
         }
+        if (format == SaveFormat.MAPPED) {
+            try {
+                return !MappedSlotStore.isActive(slotId);
+            } catch (IOException e) {
+                return true; // A damaged record has no backup, so treat it as empty
+            }
+        }
+
+        // If the save can't be decoded, fall back to the last good copy
+        Path path = format.pathFor(slotId);
+        for (Path candidate : new Path[] {path, AtomicFileWriter.backupPath(path)}) {
+            if (!Files.exists(candidate)) continue;
+            byte[] content = Files.readAllBytes(candidate);
+            try {
+                return !format.getCodec().isActive(SaveCompression.decompress(content));
+            } catch (JSONException | IOException e) {
+                // Corrupted, so try the backup
+            }
+        }
+        return true; // If every copy is corrupted, treat it as empty
+    }
+
+    /**
+     * Sets the format new games are saved in and existing slots are migrated to.
+     *
+     * @param format The default save format
+     */
+    public static void setDefaultFormat(SaveFormat format) {
+        if (format == null) throw new IllegalArgumentException("Save format cannot be null");
+        defaultFormat = format;
+    }
+
+    /**
+     * Gets the format new games are saved in and existing slots are migrated to.
+     *
+     * @return The default save format
+     */
+    public static SaveFormat getDefaultFormat() {
+        return defaultFormat;
+    }
 
-        // If file exists but can't be read as JSON, treat as empty
+    /**
+     * Sets the compression applied to save files when they are written.
+     * Saves are read whatever compression they were written with, so
+     * existing saves are converted by their next full save.
+     *
+     * @param newCompression The save compression
+     */
+    public static void setCompression(SaveCompression newCompression) {
+        if (newCompression == null) throw new IllegalArgumentException("Save compression cannot be null");
+        compression = newCompression;
+    }
+
+    /**
+     * Gets the compression applied to save files when they are written.
+     *
+     * @return The save compression
+     */
+    public static SaveCompression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Finds the format a slot is currently saved in. Mapped and then binary
+     * saves are preferred, since a slot is only saved twice if a migration
+     * was cut short after the newer save was written. A slot whose save is
+     * missing but whose backup survived counts as saved in the backup's format.
+     *
+     * @param slotId The save slot
+     * @return The format of the slot's save, or null if it has none
+     */
+    static SaveFormat findSave(int slotId) {
+        if (MappedSlotStore.contains(slotId)) return SaveFormat.MAPPED;
+        for (SaveFormat format : new SaveFormat[] {SaveFormat.BINARY, SaveFormat.JSON}) {
+            Path path = format.pathFor(slotId);
+            if (Files.exists(path) || Files.exists(AtomicFileWriter.backupPath(path))) return format;
+        }
+        return null;
+    }
+
+    /**
+     * Reads a slot's save file as it is on disk, without waiting for a
+     * background save or replaying the journal. Used to build the slot index.
+     *
+     * @param slotId The save slot
+     * @return The slot's save data
+     * @throws IOException If the slot has no save or it cannot be read
+     * @throws JSONException If a JSON save is corrupted and has no readable backup
+     */
+    static SaveData readSummary(int slotId) throws IOException, JSONException {
+        SaveFormat found = findSave(slotId);
+        if (found == null) {
+            throw new IOException("Save file not found for slot " + slotId);
+        }
+        return readSave(found, slotId);
+    }
+
+    /**
+     * Reads a slot's save, falling back to the last good copy if the save is
+     * missing or damaged.
+     *
+     * @param format The format the slot is saved in
+     * @param slotId The save slot
+     * @return The slot's save data
+     * @throws IOException If neither copy can be read or decoded
+     * @throws JSONException If a JSON save is corrupted and has no readable backup
+     */
+    private static SaveData readSave(SaveFormat format, int slotId) throws IOException, JSONException {
+        if (format == SaveFormat.MAPPED) return MappedSlotStore.read(slotId);
+        Path path = format.pathFor(slotId);
+        Path backup = AtomicFileWriter.backupPath(path);
         try {
-            String content = Files.readString(path);
-            return !new JSONObject(content).optBoolean("ActiveSlot", false);
-        } catch (JSONException e) {
-            return true; // If corrupted, treat it as empty
+            SaveData data = format.getCodec().decode(SaveCompression.decompress(Files.readAllBytes(path)));
+            data.fullWrite = false;
+            return data;
+        } catch (IOException | JSONException e) {
+            if (!Files.exists(backup)) throw e;
+            System.err.println("Save for slot " + slotId + " is damaged, loading the backup instead");
+            // The damaged save must be rewritten
+            return format.getCodec().decode(SaveCompression.decompress(Files.readAllBytes(backup)));
         }
     }
 
@@ -81,14 +208,14 @@ public class GameFile {
     /**
      * Constructs a GameFile by loading data from the specified save slot.
      *
-     * @param slotId The save slot to load (1-MAX_SLOTS)
+     * @param slotId The save slot to load, 0 or more
      * @throws IOException If the save file cannot be read
      * @throws JSONException If the save data is corrupted
      * @throws IllegalArgumentException If slotId is invalid
      */
     public GameFile(int slotId) throws IOException, JSONException {
-        if (slotId < 0 || slotId > MAX_SLOTS) {
-            throw new IllegalArgumentException("Slot ID must be between 0 and " + MAX_SLOTS);
+        if (slotId < 0) {
+            throw new IllegalArgumentException("Slot ID cannot be negative");
         }
         this.slotId = slotId;
         this.load();
@@ -97,7 +224,7 @@ public class GameFile {
     /**
      * Constructs a new GameFile with the specified data, typically for a new game or updating an existing one.
      *
-     * @param slotId The save slot (1-MAX_SLOTS)
+     * @param slotId The save slot, 0 or more
      * @param chao The Chao object (can be null)
      * @param inventory The Inventory object (can be null)
      * @param score The Score object (can be null)
@@ -119,54 +246,105 @@ public class GameFile {
     // Public instance methods -------------------------------------------------
 
     /**
-     * Saves the current game state to the assigned slot.
+     * Saves the current game state to the assigned slot as a snapshot,
+     * then empties the slot's journal since the snapshot now holds it.
+     * The save replaces the old file in one step and keeps it as a backup,
+     * so a crash part way through never leaves a damaged save.
      *
      * @throws IOException If there's an error writing the file
      */
     public void save() throws IOException {
-        JSONObject json = new JSONObject();
+        // Let any background save of this slot land first so it can't overwrite this one
+        SaveExecutor.awaitSlot(slotId);
+        if (!isDirty()) return;
+        write(snapshot(), format, getJournal().position());
+    }
 
-        // Game metadata
-        json.put("ActiveSlot", true)
-                .put("SlotId", slotId)
-                .put("playtime", playtime)
-                .put("numSessions", numSessions)
-                .put("averagePlaytime", averagePlaytime);
+    /**
+     * Checks if anything in this slot has changed since it was last saved.
+     *
+     * @return true if there are unsaved changes, false otherwise
+     */
+    public boolean isDirty() {
+        return fullSaveNeeded || dirty
+                || (chao != null && chao.isDirty())
+                || (inventory != null && inventory.isDirty())
+                || (score != null && score.isDirty());
+    }
 
-        // Chao Information
-        if (chao != null) {
-            json.put("chao", new JSONObject()
-                    .put("name", chao.getName())
-                    .put("type", chao.getType().toString())
-                    .put("status", new JSONObject()
-                            .put("happiness", chao.getStatus().getHappiness())
-                            .put("health", chao.getStatus().getHealth())
-                            .put("fullness", chao.getStatus().getFullness())
-                            .put("sleep", chao.getStatus().getSleep()))
-                    .put("state", chao.getState().toString())
-                    .put("alignment", chao.getAlignment()));
+    /**
+     * Gets the journal recording changes to this slot since the last save.
+     *
+     * @return The slot's journal
+     */
+    public CommandJournal getJournal() {
+        if (journal == null) {
+            journal = new CommandJournal(CommandJournal.pathFor(slotId));
         }
+        return journal;
+    }
 
-        // Inventory Information
-        if (inventory != null) {
-            json.put("inventory", new JSONObject(inventory.getItems()));
+    /**
+     * Closes the journal file, e.g. when gameplay ends or the slot is
+     * deleted. Nothing is lost, since the next recorded change opens it again.
+     */
+    public void closeJournal() {
+        CommandJournal open = journal;
+        if (open == null) return;
+        try {
+            open.close();
+        } catch (IOException e) {
+            System.err.println("Error closing journal for slot " + slotId + ": " + e.getMessage());
+            e.printStackTrace();
         }
+    }
 
-        // Score
-        if (score != null) {
-            json.put("score", score.getScore());
-        }
+    /**
+     * Applies the natural decay the Chao would have suffered since the game
+     * was last saved. Only whole decay ticks are applied; the remainder is
+     * carried over so calling this again later does not lose or repeat time.
+     *
+     * @param now The current wall clock time in epoch milliseconds
+     * @return The number of decay ticks applied
+     */
+    public long applyOfflineDecay(long now) {
+        if (chao == null || lastSaved <= 0) return 0;
+        long ticks = OfflineDecay.ticksFor(now - lastSaved);
+        lastSaved += ticks * SimulationEngine.DECAY_INTERVAL;
+        return OfflineDecay.apply(chao, ticks);
+    }
 
-        // Ensure directory exists
-        Files.createDirectories(Paths.get(SAVES_DIR));
+    // Getters and setters -----------------------------------------------------
 
-        // Write to file
-        try (FileWriter writer = new FileWriter(SAVES_DIR + "slot_" + slotId + ".json")) {
-            writer.write(json.toString(4));
-        }
+    /**
+     * Gets the format this slot is saved in.
+     *
+     * @return The save format.
+     */
+    public SaveFormat getSaveFormat() {
+        return format;
     }
 
-    // Getters and setters -----------------------------------------------------
+    /**
+     * Sets the format this slot is saved in. The next save writes the new
+     * format and removes the old file.
+     *
+     * @param newFormat The new save format.
+     */
+    public void setSaveFormat(SaveFormat newFormat) {
+        if (newFormat == null) throw new IllegalArgumentException("Save format cannot be null");
+        if (newFormat != format) fullSaveNeeded = true;
+        format = newFormat;
+    }
+
+    /**
+     * Gets the wall clock time the game was last saved.
+     *
+     * @return The time in epoch milliseconds, or 0 if unknown.
+     */
+    public long getLastSaved() {
+        return lastSaved;
+    }
 
     /**
      * Gets the total playtime in milliseconds.
@@ -183,6 +361,7 @@ public class GameFile {
      * @param newPlaytime The new total playtime.
      */
     public void setPlaytime(long newPlaytime) {
+        if (newPlaytime != playtime) dirty = true;
         playtime = newPlaytime;
     }
 
@@ -201,6 +380,7 @@ public class GameFile {
      * @param newNumSessions The new number of play sessions.
      */
     public void setNumSessions(int newNumSessions) {
+        if (newNumSessions != numSessions) dirty = true;
         numSessions = newNumSessions;
     }
 
@@ -231,8 +411,150 @@ public class GameFile {
         return this.score;
     }
 
+    // Package-private methods -------------------------------------------------
+
+    /**
+     * Takes a copy of everything to be saved in this slot, so it can be
+     * written while the game carries on changing the originals, and marks
+     * the slot as saved. Unless the slot needs rewriting, only the sections
+     * that changed are marked for writing.
+     *
+     * @return The slot's save data
+     */
+    SaveData snapshot() {
+        lastSaved = System.currentTimeMillis();
+        SaveData data = new SaveData();
+        data.slotId = slotId;
+        data.fullWrite = fullSaveNeeded || (inventory != null && inventory.isDirty());
+        fullSaveNeeded = false;
+        dirty = false;
+        if (chao != null) chao.markClean();
+        if (inventory != null) inventory.markClean();
+        if (score != null) score.markClean();
+
+        if (chao != null) {
+            Status status = chao.getStatus();
+            data.chao = new Chao(chao.getAlignment(), chao.getName(), chao.getType(), chao.getState(),
+                    new Status(status.getHappiness(), status.getHealth(), status.getFullness(), status.getSleep()));
+        }
+        data.inventory = (inventory != null) ? new Inventory(inventory.getItems()) : null;
+        data.score = (score != null) ? new Score(score.getScore()) : null;
+        data.playtime = playtime;
+        data.numSessions = numSessions;
+        data.averagePlaytime = averagePlaytime;
+        data.lastSaved = lastSaved;
+        return data;
+    }
+
+    /**
+     * Writes a snapshot of this slot, then discards the journal records the
+     * snapshot holds. Safe to call off the game thread.
+     *
+     * @param data The snapshot to write
+     * @param saveFormat The format to write it in
+     * @param journalPosition The journal's position when the snapshot was taken
+     * @return The number of bytes written
+     * @throws IOException If there's an error writing the file
+     */
+    int write(SaveData data, SaveFormat saveFormat, long journalPosition) throws IOException {
+        Path path = saveFormat.pathFor(slotId);
+        SaveCompression fileCompression = compression;
+        int written;
+        try {
+            byte[] header = (data.fullWrite || !saveFormat.isFilePerSlot() || fileCompression != SaveCompression.NONE)
+                    ? null : saveFormat.getCodec().encodeHeader(data);
+            if (saveFormat == SaveFormat.MAPPED) {
+                // Rewrites the slot's record in place, and its name and inventory if they changed
+                written = MappedSlotStore.write(data);
+                if (data.fullWrite) deleteOtherFormats(saveFormat);
+            } else if (header != null && Files.exists(path)
+                    && saveFormat.getCodec().canPatchHeader(readStart(path, header.length))) {
+                // Only fixed-size fields changed, so overwrite them in place
+                written = header.length;
+                AtomicFileWriter.patch(path, 0, header);
+            } else {
+                // Replace the file in one step, then drop the slot's save in any other format
+                byte[] encoded = fileCompression.compress(saveFormat.getCodec().encode(data));
+                written = encoded.length;
+                AtomicFileWriter.write(path, encoded);
+                deleteOtherFormats(saveFormat);
+            }
+        } catch (IOException | RuntimeException e) {
+            // The changes in this snapshot were marked saved, so rewrite everything next time
+            fullSaveNeeded = true;
+            throw e;
+        }
+
+        getJournal().discardThrough(journalPosition);
+        SlotIndex.update(data);
+        GameFileRepository.saved(this);
+        return written;
+    }
+
+    /**
+     * Gets the ID of the save slot.
+     *
+     * @return The slot ID
+     */
+    int getSlotId() {
+        return slotId;
+    }
+
     // Private methods ---------------------------------------------------------
 
+    /**
+     * Describes this slot as it is now, for the slot index. Shares the live
+     * Chao and score rather than copying them, so it must be used at once.
+     *
+     * @param active Whether the slot holds a game
+     * @return The slot's current data
+     */
+    private SaveData summary(boolean active) {
+        SaveData data = new SaveData();
+        data.slotId = slotId;
+        data.active = active;
+        data.chao = chao;
+        data.inventory = inventory;
+        data.score = score;
+        data.playtime = playtime;
+        data.numSessions = numSessions;
+        data.averagePlaytime = averagePlaytime;
+        data.lastSaved = lastSaved;
+        return data;
+    }
+
+    /**
+     * Reads only the first bytes of a save file, to check whether a header
+     * can be patched into it.
+     *
+     * @param path The save file
+     * @param length The number of bytes to read
+     * @return The bytes read, fewer than asked for if the file is shorter
+     * @throws IOException If the file cannot be read
+     */
+    private static byte[] readStart(Path path, int length) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return in.readNBytes(length);
+        }
+    }
+
+    /**
+     * Deletes this slot's save in every format but the one just written.
+     *
+     * @param saveFormat The format just written
+     * @throws IOException If a save cannot be deleted
+     */
+    private void deleteOtherFormats(SaveFormat saveFormat) throws IOException {
+        for (SaveFormat other : SaveFormat.values()) {
+            if (other == saveFormat) continue;
+            if (other.isFilePerSlot()) {
+                AtomicFileWriter.delete(other.pathFor(slotId));
+            } else {
+                MappedSlotStore.delete(slotId);
+            }
+        }
+    }
+
     /**
      * Loads game data from the assigned slot's save file.
      *
@@ -240,51 +562,38 @@ public class GameFile {
      * @throws JSONException If the data is corrupted
      */
     private void load() throws IOException, JSONException {
-        Path path = Paths.get(SAVES_DIR + "slot_" + slotId + ".json");
-        if (!Files.exists(path)) {
+        SaveExecutor.awaitSlot(slotId);
+        SaveFormat found = findSave(slotId);
+        if (found == null) {
             throw new IOException("Save file not found for slot " + slotId);
         }
 
-        String content = new String(Files.readAllBytes(path));
-        JSONObject json = new JSONObject(content);
-
-        // Load game stats
-        this.playtime = json.getLong("playtime");
-        this.numSessions = json.getInt("numSessions");
-        this.averagePlaytime = json.getLong("averagePlaytime");
-
-        // Load chao
-        if (json.has("chao")) {
-            JSONObject chaoJson = json.getJSONObject("chao");
-
-            // Load basic properties
-            String name = chaoJson.getString("name");
-            ChaoType type = ChaoType.valueOf(chaoJson.getString("type"));
-            State state = State.valueOf(chaoJson.getString("state"));
-            int alignment = chaoJson.getInt("alignment");
-            JSONObject statusJson = chaoJson.getJSONObject("status");
-            Status status = new Status(
-                    statusJson.getInt("happiness"),
-                    statusJson.getInt("health"),
-                    statusJson.getInt("fullness"),
-                    statusJson.getInt("sleep")
-            );
-            this.chao = new Chao(alignment, name, type, state, status);
+        SaveData data = readSave(found, slotId);
+        this.playtime = data.playtime;
+        this.numSessions = data.numSessions;
+        this.averagePlaytime = data.averagePlaytime;
+        this.lastSaved = data.lastSaved;
+        this.chao = data.chao;
+        this.inventory = data.inventory;
+        this.score = data.score;
+
+        // Slots in another format are migrated to the default by their next save
+        this.format = defaultFormat;
+        this.fullSaveNeeded = data.fullWrite || found != defaultFormat;
+        if (found != defaultFormat) {
+            System.out.println("Slot " + slotId + " will be migrated from " + found + " to " + defaultFormat);
         }
 
-        // Load inventory
-        if (json.has("inventory")) {
-            JSONObject inventoryJson = json.getJSONObject("inventory");
-            Map<String, Integer> items = new HashMap<>();
-            for (String key : inventoryJson.keySet()) {
-                items.put(key, inventoryJson.getInt(key));
-            }
-            this.inventory = new Inventory(items);
+        // Replay changes made since the snapshot was saved
+        int replayed = CommandJournal.replay(CommandJournal.pathFor(slotId), chao, inventory, score);
+        if (replayed > 0) {
+            System.out.println("Replayed " + replayed + " journal records for slot " + slotId);
+            // The journal was last written when the game closed, after the snapshot
+            long lastWritten = Files.getLastModifiedTime(CommandJournal.pathFor(slotId)).toMillis();
+            if (lastSaved > 0) lastSaved = Math.max(lastSaved, lastWritten);
         }
 
-        // Load score
-        if (json.has("score")) {
-            this.score = new Score(json.getInt("score"));
-        }
+        // Keep the slot's summary in step with what was loaded, including the replayed changes
+        SlotIndex.update(summary(data.active));
     }
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.example.chaotopia.Model;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Static utility class that keeps loaded {@link GameFile}s in memory, so
+ * moving between screens hands back the same game instead of reading and
+ * parsing its save again.
+ * <br><br>
+ * Each cached game remembers the modification time and size its save file
+ * had when it was cached. When the cached game is saved, whether through
+ * {@link GameFile#save()} or the {@link SaveExecutor}, that record is updated,
+ * since the cached game is what was written. A save written by any other
+ * {@code GameFile} for the slot, or a save file changed outside the game, no
+ * longer matches and the slot is read again on its next use. Deleting a slot
+ * drops it from the cache. A game dropped from the cache has its journal
+ * closed, so no stream is left open on a file that is about to be replaced
+ * or deleted.
+ *
+ * @author Rosaline Scully
+ */
+public final class GameFileRepository {
+    /** The cached games by slot ID. */
+    private static final Map<Integer, Cached> games = new HashMap<>();
+
+    /** The number of lookups answered from the cache. */
+    private static long hits;
+    /** The number of lookups that read the save from disk. */
+    private static long misses;
+
+    /**
+     * A cached game and the state of its save file when it was cached.
+     */
+    private static final class Cached {
+        /** The cached game. */
+        private final GameFile game;
+        /** The save file's last modified time in milliseconds, or -1 if it had none. */
+        private long modified;
+        /** The save file's size in bytes, or -1 if it had none. */
+        private long size;
+
+        /**
+         * Constructs a cache entry.
+         *
+         * @param game The cached game
+         * @param stamp The save file's modified time and size
+         */
+        private Cached(GameFile game, long[] stamp) {
+            this.game = game;
+            this.modified = stamp[0];
+            this.size = stamp[1];
+        }
+
+        /**
+         * Checks if the save file is as it was when the game was cached.
+         *
+         * @param stamp The save file's current modified time and size
+         * @return true if the file is unchanged, false otherwise
+         */
+        private boolean matches(long[] stamp) {
+            return modified == stamp[0] && size == stamp[1];
+        }
+    }
+
+    /**
+     * Constructor for the game file repository utility.
+     * Cannot be called due to the class being static.
+     */
+    private GameFileRepository() {}
+
+    /**
+     * Gets the game in a slot, reading it from disk only if it is not cached
+     * or its save has changed since it was.
+     *
+     * @param slotId The save slot
+     * @return The slot's game
+     * @throws IOException If the save file cannot be read
+     * @throws JSONException If the save data is corrupted
+     */
+    public static GameFile get(int slotId) throws IOException, JSONException {
+        // Outside the lock, since a finishing save updates the cache
+        SaveExecutor.awaitSlot(slotId);
+        synchronized (GameFileRepository.class) {
+            Cached cached = games.get(slotId);
+            if (cached != null && cached.matches(stamp(slotId))) {
+                hits++;
+                return cached.game;
+            }
+            misses++;
+        }
+
+        // Stamp the file before reading it, so a change during the read is caught next time
+        long[] stamp = stamp(slotId);
+        GameFile game = new GameFile(slotId);
+        synchronized (GameFileRepository.class) {
+            Cached replaced = games.put(slotId, new Cached(game, stamp));
+            if (replaced != null && replaced.game != game) replaced.game.closeJournal();
+        }
+        return game;
+    }
+
+    /**
+     * Caches a game that was just created and saved, such as a new game, so
+     * the next screen does not read it back.
+     *
+     * @param game The game to cache
+     */
+    public static synchronized void put(GameFile game) {
+        games.put(game.getSlotId(), new Cached(game, stamp(game.getSlotId())));
+    }
+
+    /**
+     * Drops a slot from the cache, so its next use reads it from disk.
+     *
+     * @param slotId The save slot
+     */
+    public static synchronized void invalidate(int slotId) {
+        Cached removed = games.remove(slotId);
+        if (removed != null) removed.game.closeJournal();
+    }
+
+    /**
+     * Drops every slot from the cache.
+     */
+    public static synchronized void clear() {
+        for (Cached cached : games.values()) {
+            cached.game.closeJournal();
+        }
+        games.clear();
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return The number of hits
+     */
+    public static synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that read the save from disk.
+     *
+     * @return The number of misses
+     */
+    public static synchronized long getMissCount() {
+        return misses;
+    }
+
+    // Package-private methods -------------------------------------------------
+
+    /**
+     * Records that a game's save was written. If the game is the one cached
+     * for its slot, the cache now matches the file; otherwise the cached game
+     * is out of date and is dropped.
+     *
+     * @param game The game that was saved
+     */
+    static synchronized void saved(GameFile game) {
+        Cached cached = games.get(game.getSlotId());
+        if (cached == null) return;
+        if (cached.game == game) {
+            long[] stamp = stamp(game.getSlotId());
+            cached.modified = stamp[0];
+            cached.size = stamp[1];
+        } else {
+            games.remove(game.getSlotId());
+        }
+    }
+
+    // Private methods ---------------------------------------------------------
+
+    /**
+     * Gets the modified time and size of a slot's save file. Mapped slots
+     * share one file, so a save to any of them changes the stamp of all.
+     *
+     * @param slotId The save slot
+     * @return The modified time in milliseconds and the size in bytes, or -1
+     *         for both if the slot has no save file
+     */
+    private static long[] stamp(int slotId) {
+        SaveFormat format = GameFile.findSave(slotId);
+        if (format != null) {
+            Path path = format.pathFor(slotId);
+            try {
+                return new long[] {Files.getLastModifiedTime(path).toMillis(), Files.size(path)};
+            } catch (IOException e) {
+                // Only the backup is left, which never matches a cached game
+            }
+        }
+        return new long[] {-1, -1};
+    }
+}
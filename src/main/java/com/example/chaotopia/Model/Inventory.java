@@ -16,6 +16,11 @@ public class Inventory {
      */
     private Map<String, Integer> itemQuantities;
 
+    /**
+     * Whether any item has changed since the inventory was last saved.
+     */
+    private boolean dirty;
+
     /**
      * Constructs a new Inventory object with an empty item list.
      */
@@ -33,6 +38,7 @@ public class Inventory {
      */
     public void addItem(String itemName, int itemQuantity) {
         // updating the item number in the map
+        dirty = true;
         if (itemQuantities.containsKey(itemName)) { // if the item is already in the map, add the item quantity to the existing quantity
             itemQuantities.put(itemName, itemQuantities.get(itemName) + itemQuantity);
         } else { // if the item doesn't exist in the map, set the initial quantity
@@ -52,6 +58,7 @@ public class Inventory {
         // check if the item exists in the inventory
         if (itemQuantities.containsKey(itemName)) {
             int currentQuantity = itemQuantities.get(itemName);
+            dirty = true;
 
             // if there is only 1 item in the inventory, remove it completely
             if (currentQuantity == 1) {
@@ -107,10 +114,26 @@ public class Inventory {
         this.itemQuantities = new HashMap<>(items);
     }
 
+    /**
+     * Sets the quantity of an item, removing it if the quantity is 0 or less.
+     *
+     * @param itemName The name of the item.
+     * @param itemQuantity The new quantity of the item.
+     */
+    public void setItemCount(String itemName, int itemQuantity) {
+        if (Math.max(itemQuantity, 0) != getItemCount(itemName)) dirty = true;
+        if (itemQuantity > 0) {
+            itemQuantities.put(itemName, itemQuantity);
+        } else {
+            itemQuantities.remove(itemName);
+        }
+    }
+
     /**
      * Clears all items from the inventory, resetting it to an empty state.
      */
     public void clearInventory() {
+        if (!itemQuantities.isEmpty()) dirty = true;
         itemQuantities.clear();
     }
 
@@ -120,4 +143,20 @@ public class Inventory {
     public boolean isEmpty() {
         return itemQuantities.isEmpty();
     }
+
+    /**
+     * Checks if any item has changed since the inventory was last saved.
+     *
+     * @return true if there are unsaved changes, false otherwise
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks the inventory as saved.
+     */
+    public void markClean() {
+        dirty = false;
+    }
 }
\ No newline at end of file
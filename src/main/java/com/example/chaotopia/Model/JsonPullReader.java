@@ -0,0 +1,337 @@
+package com.example.chaotopia.Model;
+
+import org.json.JSONException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pull-based reader over the UTF-8 bytes of a JSON document.
+ * <br><br>
+ * Values are read one at a time straight from the bytes, in document order,
+ * without first building a String of the whole document or a tree of
+ * objects. A caller that only needs the first few members can stop reading
+ * as soon as it has them, and unwanted values are skipped without being
+ * decoded. Malformed input is reported with a {@link JSONException}, like the
+ * org.json parser.
+ *
+ * @author Rosaline Scully
+ */
+final class JsonPullReader {
+    /** The document being read. */
+    private final byte[] bytes;
+    /** The position of the next unread byte. */
+    private int pos;
+    /**
+     * Whether the current object has had a member read, so the next one
+     * must be preceded by a comma.
+     */
+    private boolean afterMember;
+
+    /**
+     * Constructs a reader over a JSON document.
+     *
+     * @param bytes The document as UTF-8 bytes
+     */
+    JsonPullReader(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Reads the start of an object.
+     *
+     * @throws JSONException If the next value is not an object
+     */
+    void beginObject() throws JSONException {
+        expect('{');
+        afterMember = false;
+    }
+
+    /**
+     * Reads the end of the current object.
+     *
+     * @throws JSONException If the object has members left or is not closed
+     */
+    void endObject() throws JSONException {
+        expect('}');
+        afterMember = true;
+    }
+
+    /**
+     * Checks if the current object has another member, reading the comma
+     * before it if there is one.
+     *
+     * @return true if a member follows, false at the end of the object
+     * @throws JSONException If the document ends or a comma is missing
+     */
+    boolean hasNext() throws JSONException {
+        int c = peekByte();
+        if (c == '}') return false;
+        if (afterMember) {
+            expect(',');
+            afterMember = false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the name of the next member and the colon after it.
+     *
+     * @return The member's name
+     * @throws JSONException If the next token is not a member name
+     */
+    String nextName() throws JSONException {
+        String name = readString();
+        expect(':');
+        return name;
+    }
+
+    /**
+     * Reads a string value.
+     *
+     * @return The string, or null for a JSON null
+     * @throws JSONException If the next value is not a string or null
+     */
+    String nextString() throws JSONException {
+        if (peekByte() == 'n') {
+            readLiteral("null");
+            afterMember = true;
+            return null;
+        }
+        String value = readString();
+        afterMember = true;
+        return value;
+    }
+
+    /**
+     * Reads a boolean value.
+     *
+     * @return The boolean
+     * @throws JSONException If the next value is not a boolean
+     */
+    boolean nextBoolean() throws JSONException {
+        boolean value;
+        if (peekByte() == 't') {
+            readLiteral("true");
+            value = true;
+        } else {
+            readLiteral("false");
+            value = false;
+        }
+        afterMember = true;
+        return value;
+    }
+
+    /**
+     * Reads a number as a long. Numbers with a fraction or exponent are
+     * truncated, as org.json's getLong does.
+     *
+     * @return The number
+     * @throws JSONException If the next value is not a number
+     */
+    long nextLong() throws JSONException {
+        skipWhitespace();
+        int start = pos;
+        boolean negative = false;
+        if (pos < bytes.length && bytes[pos] == '-') {
+            negative = true;
+            pos++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (pos < bytes.length && bytes[pos] >= '0' && bytes[pos] <= '9') {
+            value = value * 10 + (bytes[pos] - '0');
+            pos++;
+            digits++;
+        }
+        if (digits == 0) throw error("Expected a number");
+
+        if (pos < bytes.length && (bytes[pos] == '.' || bytes[pos] == 'e' || bytes[pos] == 'E')) {
+            // Rare in saves, so leave the fraction to the JDK
+            while (pos < bytes.length && "+-.eE0123456789".indexOf(bytes[pos]) >= 0) pos++;
+            String number = new String(bytes, start, pos - start, StandardCharsets.US_ASCII);
+            afterMember = true;
+            try {
+                return (long) Double.parseDouble(number);
+            } catch (NumberFormatException e) {
+                throw error("Malformed number " + number);
+            }
+        }
+        if (digits > 18) throw error("Number out of range");
+        afterMember = true;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Reads a number as an int.
+     *
+     * @return The number
+     * @throws JSONException If the next value is not a number that fits in an int
+     */
+    int nextInt() throws JSONException {
+        long value = nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) throw error("Number out of range");
+        return (int) value;
+    }
+
+    /**
+     * Skips the next value, including everything nested in it, without
+     * decoding it.
+     *
+     * @throws JSONException If the value is malformed
+     */
+    void skipValue() throws JSONException {
+        int c = peekByte();
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = peekByte();
+                if (c == '"') {
+                    skipString();
+                    continue;
+                }
+                pos++;
+                if (c == '{' || c == '[') depth++;
+                else if (c == '}' || c == ']') depth--;
+            } while (depth > 0);
+        } else if (c == '"') {
+            skipString();
+        } else if (c == 't') {
+            readLiteral("true");
+        } else if (c == 'f') {
+            readLiteral("false");
+        } else if (c == 'n') {
+            readLiteral("null");
+        } else {
+            nextLong();
+        }
+        afterMember = true;
+    }
+
+    // Private methods ---------------------------------------------------------
+
+    /**
+     * Reads a quoted string, decoding escapes.
+     *
+     * @return The string
+     * @throws JSONException If the next token is not a well-formed string
+     */
+    private String readString() throws JSONException {
+        expect('"');
+        int start = pos;
+        // Most strings have no escapes, so decode the bytes in one go
+        while (pos < bytes.length && bytes[pos] != '"' && bytes[pos] != '\\') pos++;
+        if (pos >= bytes.length) throw error("Unterminated string");
+        if (bytes[pos] == '"') {
+            return new String(bytes, start, pos++ - start, StandardCharsets.UTF_8);
+        }
+
+        StringBuilder builder = new StringBuilder(new String(bytes, start, pos - start, StandardCharsets.UTF_8));
+        while (true) {
+            if (pos >= bytes.length) throw error("Unterminated string");
+            byte b = bytes[pos];
+            if (b == '"') {
+                pos++;
+                return builder.toString();
+            }
+            if (b != '\\') {
+                int runStart = pos;
+                while (pos < bytes.length && bytes[pos] != '"' && bytes[pos] != '\\') pos++;
+                builder.append(new String(bytes, runStart, pos - runStart, StandardCharsets.UTF_8));
+                continue;
+            }
+            if (++pos >= bytes.length) throw error("Unterminated string");
+            char escaped = (char) bytes[pos++];
+            switch (escaped) {
+                case '"': case '\\': case '/': builder.append(escaped); break;
+                case 'b': builder.append('\b'); break;
+                case 'f': builder.append('\f'); break;
+                case 'n': builder.append('\n'); break;
+                case 'r': builder.append('\r'); break;
+                case 't': builder.append('\t'); break;
+                case 'u':
+                    if (pos + 4 > bytes.length) throw error("Malformed unicode escape");
+                    try {
+                        builder.append((char) Integer.parseInt(
+                                new String(bytes, pos, 4, StandardCharsets.US_ASCII), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Malformed unicode escape");
+                    }
+                    pos += 4;
+                    break;
+                default: throw error("Illegal escape \\" + escaped);
+            }
+        }
+    }
+
+    /**
+     * Skips a quoted string without decoding it.
+     *
+     * @throws JSONException If the string is not terminated
+     */
+    private void skipString() throws JSONException {
+        expect('"');
+        while (pos < bytes.length && bytes[pos] != '"') {
+            pos += (bytes[pos] == '\\') ? 2 : 1;
+        }
+        if (pos >= bytes.length) throw error("Unterminated string");
+        pos++;
+    }
+
+    /**
+     * Reads a literal such as true, false or null.
+     *
+     * @param literal The expected literal
+     * @throws JSONException If the next token is not the literal
+     */
+    private void readLiteral(String literal) throws JSONException {
+        skipWhitespace();
+        for (int i = 0; i < literal.length(); i++) {
+            if (pos >= bytes.length || bytes[pos] != literal.charAt(i)) throw error("Expected " + literal);
+            pos++;
+        }
+    }
+
+    /**
+     * Reads a single structural character.
+     *
+     * @param c The expected character
+     * @throws JSONException If the next token is something else
+     */
+    private void expect(char c) throws JSONException {
+        if (peekByte() != c) throw error("Expected '" + c + "'");
+        pos++;
+    }
+
+    /**
+     * Skips whitespace and gets the next byte without reading it.
+     *
+     * @return The next byte
+     * @throws JSONException If the document has ended
+     */
+    private int peekByte() throws JSONException {
+        skipWhitespace();
+        if (pos >= bytes.length) throw error("Unexpected end of JSON");
+        return bytes[pos];
+    }
+
+    /**
+     * Skips spaces, tabs and line breaks.
+     */
+    private void skipWhitespace() {
+        while (pos < bytes.length) {
+            byte b = bytes[pos];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') return;
+            pos++;
+        }
+    }
+
+    /**
+     * Creates an exception for malformed input at the current position.
+     *
+     * @param message What was wrong
+     * @return The exception
+     */
+    private JSONException error(String message) {
+        return new JSONException(message + " at byte " + pos);
+    }
+}
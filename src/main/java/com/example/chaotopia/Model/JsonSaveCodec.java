@@ -0,0 +1,245 @@
+package com.example.chaotopia.Model;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes saves as pretty-printed JSON.
+ * Corrupted saves are reported with a {@link JSONException}.
+ * <br><br>
+ * Saves are read with a {@link JsonPullReader}, which fills the save data
+ * straight from the file's bytes. Saves are written in a fixed member order
+ * with the slot metadata first, so checking whether a slot is active reads
+ * only the first member of the file.
+ *
+ * @author Rosaline Scully
+ */
+final class JsonSaveCodec implements SaveCodec {
+    /** The indent of each nesting level. */
+    private static final String INDENT = "    ";
+
+    @Override
+    public byte[] encode(SaveData data) {
+        StringBuilder json = new StringBuilder(512);
+        json.append('{');
+
+        // Game metadata, with ActiveSlot first for isActive
+        member(json, 1, "ActiveSlot").append(data.active).append(',');
+        member(json, 1, "SlotId").append(data.slotId).append(',');
+        member(json, 1, "playtime").append(data.playtime).append(',');
+        member(json, 1, "numSessions").append(data.numSessions).append(',');
+        member(json, 1, "averagePlaytime").append(data.averagePlaytime).append(',');
+        member(json, 1, "lastSaved").append(data.lastSaved);
+
+        // Score
+        if (data.score != null) {
+            json.append(',');
+            member(json, 1, "score").append(data.score.getScore());
+        }
+
+        // Chao Information
+        Chao chao = data.chao;
+        if (chao != null) {
+            Status status = chao.getStatus();
+            json.append(',');
+            member(json, 1, "chao").append('{');
+            member(json, 2, "name").append(JSONObject.quote(chao.getName())).append(',');
+            member(json, 2, "type").append(JSONObject.quote(chao.getType().toString())).append(',');
+            member(json, 2, "state").append(JSONObject.quote(chao.getState().toString())).append(',');
+            member(json, 2, "alignment").append(chao.getAlignment()).append(',');
+            member(json, 2, "status").append('{');
+            member(json, 3, "happiness").append(status.getHappiness()).append(',');
+            member(json, 3, "health").append(status.getHealth()).append(',');
+            member(json, 3, "fullness").append(status.getFullness()).append(',');
+            member(json, 3, "sleep").append(status.getSleep());
+            newline(json, 2).append('}');
+            newline(json, 1).append('}');
+        }
+
+        // Inventory Information
+        if (data.inventory != null) {
+            json.append(',');
+            member(json, 1, "inventory").append('{');
+            boolean first = true;
+            for (Map.Entry<String, Integer> item : data.inventory.getItems().entrySet()) {
+                if (!first) json.append(',');
+                member(json, 2, item.getKey()).append(item.getValue());
+                first = false;
+            }
+            if (!first) newline(json, 1);
+            json.append('}');
+        }
+
+        newline(json, 0).append('}');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public SaveData decode(byte[] bytes) throws JSONException {
+        JsonPullReader reader = new JsonPullReader(bytes);
+        SaveData data = new SaveData();
+        data.active = false;
+        boolean hasPlaytime = false, hasSessions = false, hasAverage = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                // Load game stats
+                case "ActiveSlot": data.active = reader.nextBoolean(); break;
+                case "SlotId": data.slotId = reader.nextInt(); break;
+                case "playtime": data.playtime = reader.nextLong(); hasPlaytime = true; break;
+                case "numSessions": data.numSessions = reader.nextInt(); hasSessions = true; break;
+                case "averagePlaytime": data.averagePlaytime = reader.nextLong(); hasAverage = true; break;
+                case "lastSaved": data.lastSaved = reader.nextLong(); break; // Older saves have no timestamp
+                case "score": data.score = new Score(reader.nextInt()); break;
+                case "chao": data.chao = readChao(reader); break;
+                case "inventory": data.inventory = readInventory(reader); break;
+                default: reader.skipValue(); break;
+            }
+        }
+        reader.endObject();
+
+        if (!hasPlaytime || !hasSessions || !hasAverage) {
+            throw new JSONException("Save is missing playtime statistics");
+        }
+        return data;
+    }
+
+    @Override
+    public boolean isActive(byte[] bytes) throws JSONException {
+        JsonPullReader reader = new JsonPullReader(bytes);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            // Written first, so this usually stops after one member
+            if (reader.nextName().equals("ActiveSlot")) return reader.nextBoolean();
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    /**
+     * Reads a Chao object.
+     *
+     * @param reader The reader positioned at the object
+     * @return The Chao
+     * @throws JSONException If the object is malformed or missing a field
+     */
+    private static Chao readChao(JsonPullReader reader) throws JSONException {
+        String name = null;
+        ChaoType type = null;
+        State state = null;
+        Integer alignment = null;
+        Status status = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name": name = reader.nextString(); break;
+                case "type": type = readEnum(reader, ChaoType.class); break;
+                case "state": state = readEnum(reader, State.class); break;
+                case "alignment": alignment = reader.nextInt(); break;
+                case "status": status = readStatus(reader); break;
+                default: reader.skipValue(); break;
+            }
+        }
+        reader.endObject();
+
+        if (name == null || type == null || state == null || alignment == null || status == null) {
+            throw new JSONException("Save has an incomplete Chao");
+        }
+        return new Chao(alignment, name, type, state, status);
+    }
+
+    /**
+     * Reads a Chao's status object.
+     *
+     * @param reader The reader positioned at the object
+     * @return The status
+     * @throws JSONException If the object is malformed or missing a stat
+     */
+    private static Status readStatus(JsonPullReader reader) throws JSONException {
+        int[] stats = {-1, -1, -1, -1};
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "happiness": stats[0] = reader.nextInt(); break;
+                case "health": stats[1] = reader.nextInt(); break;
+                case "fullness": stats[2] = reader.nextInt(); break;
+                case "sleep": stats[3] = reader.nextInt(); break;
+                default: reader.skipValue(); break;
+            }
+        }
+        reader.endObject();
+
+        for (int stat : stats) {
+            if (stat < 0) throw new JSONException("Save has an incomplete Chao status");
+        }
+        return new Status(stats[0], stats[1], stats[2], stats[3]);
+    }
+
+    /**
+     * Reads an inventory object of item names to counts.
+     *
+     * @param reader The reader positioned at the object
+     * @return The inventory
+     * @throws JSONException If the object is malformed
+     */
+    private static Inventory readInventory(JsonPullReader reader) throws JSONException {
+        Map<String, Integer> items = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String itemName = reader.nextName();
+            items.put(itemName, reader.nextInt());
+        }
+        reader.endObject();
+        return new Inventory(items);
+    }
+
+    /**
+     * Reads an enum constant stored by name.
+     *
+     * @param reader The reader positioned at the string
+     * @param type The enum class
+     * @return The constant
+     * @throws JSONException If the name is not one of the enum's constants
+     */
+    private static <E extends Enum<E>> E readEnum(JsonPullReader reader, Class<E> type) throws JSONException {
+        String name = reader.nextString();
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new JSONException("Unknown " + type.getSimpleName() + " " + name);
+        }
+    }
+
+    /**
+     * Starts a new line at a nesting level and writes a member name.
+     *
+     * @param json The JSON being written
+     * @param depth The nesting level
+     * @param name The member name
+     * @return The JSON, ready for the value
+     */
+    private static StringBuilder member(StringBuilder json, int depth, String name) {
+        return newline(json, depth).append(JSONObject.quote(name)).append(": ");
+    }
+
+    /**
+     * Starts a new line indented to a nesting level.
+     *
+     * @param json The JSON being written
+     * @param depth The nesting level
+     * @return The JSON
+     */
+    private static StringBuilder newline(StringBuilder json, int depth) {
+        json.append('\n');
+        for (int i = 0; i < depth; i++) {
+            json.append(INDENT);
+        }
+        return json;
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.chaotopia.Model;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Static utility class for a small, fast LZ77 compressor used by
+ * {@link SaveCompression#LZ}.
+ * <br><br>
+ * The output is a series of sequences. Each starts with a token byte whose
+ * high four bits are a literal length and low four bits a match length minus
+ * {@value #MIN_MATCH}; a nibble of 15 is extended by following bytes, each
+ * added until one is less than 255. Then come the literal length's extension,
+ * the literal bytes, a two-byte little-endian offset back to the match and
+ * the match length's extension. The last sequence holds
+ * only literals. Matches are found with a single hash table probe per byte,
+ * trading some ratio for speed; save files repeat their keys often enough
+ * that this finds most of them.
+ *
+ * @author Rosaline Scully
+ */
+final class LzCompressor {
+    /** The shortest match worth encoding. */
+    private static final int MIN_MATCH = 4;
+    /** The furthest back a match can start. */
+    private static final int MAX_OFFSET = 65535;
+    /** The number of bits in a hash table index. */
+    private static final int HASH_BITS = 12;
+
+    /**
+     * Constructor for the LZ compressor utility.
+     * Cannot be called due to the class being static.
+     */
+    private LzCompressor() {}
+
+    /**
+     * Compresses bytes.
+     *
+     * @param data The bytes to compress
+     * @return The compressed bytes
+     */
+    static byte[] compress(byte[] data) {
+        // Worst case: every byte a literal plus length bytes
+        byte[] out = new byte[data.length + data.length / 255 + 16];
+        int[] table = new int[1 << HASH_BITS];
+        Arrays.fill(table, -1);
+
+        int outPos = 0;
+        int anchor = 0; // Start of the pending literals
+        int pos = 0;
+        int limit = data.length - MIN_MATCH;
+        while (pos <= limit) {
+            int hash = hash(data, pos);
+            int candidate = table[hash];
+            table[hash] = pos;
+            if (candidate < 0 || pos - candidate > MAX_OFFSET || !matches(data, candidate, pos)) {
+                pos++;
+                continue;
+            }
+
+            int matchLength = MIN_MATCH;
+            while (pos + matchLength < data.length && data[candidate + matchLength] == data[pos + matchLength]) {
+                matchLength++;
+            }
+
+            outPos = writeSequence(out, outPos, data, anchor, pos - anchor, matchLength);
+            out[outPos++] = (byte) (pos - candidate);
+            out[outPos++] = (byte) ((pos - candidate) >>> 8);
+            outPos = writeLength(out, outPos, matchLength - MIN_MATCH);
+            pos += matchLength;
+            anchor = pos;
+        }
+
+        // Whatever is left goes out as literals
+        outPos = writeSequence(out, outPos, data, anchor, data.length - anchor, 0);
+        return Arrays.copyOf(out, outPos);
+    }
+
+    /**
+     * Decompresses bytes.
+     *
+     * @param compressed The compressed bytes
+     * @param length The length of the original bytes
+     * @return The original bytes
+     * @throws IOException If the compressed bytes are damaged
+     */
+    static byte[] decompress(byte[] compressed, int length) throws IOException {
+        byte[] out = new byte[length];
+        int outPos = 0;
+        int pos = 0;
+        try {
+            while (pos < compressed.length) {
+                int token = compressed[pos++] & 0xFF;
+
+                int literalLength = token >>> 4;
+                if (literalLength == 15) {
+                    int extra;
+                    do {
+                        extra = compressed[pos++] & 0xFF;
+                        literalLength += extra;
+                    } while (extra == 255);
+                }
+                System.arraycopy(compressed, pos, out, outPos, literalLength);
+                pos += literalLength;
+                outPos += literalLength;
+                if (pos >= compressed.length) break; // The last sequence has no match
+
+                int matchLength = token & 0x0F;
+                int offset = (compressed[pos++] & 0xFF) | ((compressed[pos++] & 0xFF) << 8);
+                if (matchLength == 15) {
+                    int extra;
+                    do {
+                        extra = compressed[pos++] & 0xFF;
+                        matchLength += extra;
+                    } while (extra == 255);
+                }
+                matchLength += MIN_MATCH;
+                if (offset == 0 || offset > outPos) throw new IOException("Corrupted save: bad match offset");
+
+                // Matches may overlap what they copy, so copy a byte at a time
+                int from = outPos - offset;
+                for (int i = 0; i < matchLength; i++) {
+                    out[outPos++] = out[from + i];
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Corrupted save: compressed data is damaged");
+        }
+        if (outPos != length) throw new IOException("Corrupted save: compressed data is truncated");
+        return out;
+    }
+
+    /**
+     * Writes the start of a sequence: its token and literals. The caller
+     * then writes the match offset and the rest of the match length.
+     *
+     * @param out The output buffer
+     * @param outPos The position to write at
+     * @param data The input bytes
+     * @param literalStart The position of the first literal
+     * @param literalLength The number of literals
+     * @param matchLength The match length, or 0 for the final sequence
+     * @return The position after what was written
+     */
+    private static int writeSequence(byte[] out, int outPos, byte[] data, int literalStart,
+                                     int literalLength, int matchLength) {
+        int matchCode = (matchLength == 0) ? 0 : matchLength - MIN_MATCH;
+        out[outPos++] = (byte) ((Math.min(literalLength, 15) << 4) | Math.min(matchCode, 15));
+        outPos = writeLength(out, outPos, literalLength);
+        System.arraycopy(data, literalStart, out, outPos, literalLength);
+        outPos += literalLength;
+        return outPos;
+    }
+
+    /**
+     * Writes the extension bytes of a length whose nibble was 15.
+     *
+     * @param out The output buffer
+     * @param outPos The position to write at
+     * @param length The full length
+     * @return The position after what was written
+     */
+    private static int writeLength(byte[] out, int outPos, int length) {
+        if (length < 15) return outPos;
+        int remaining = length - 15;
+        while (remaining >= 255) {
+            out[outPos++] = (byte) 255;
+            remaining -= 255;
+        }
+        out[outPos++] = (byte) remaining;
+        return outPos;
+    }
+
+    /**
+     * Hashes the four bytes at a position.
+     *
+     * @param data The input bytes
+     * @param pos The position
+     * @return The hash table index
+     */
+    private static int hash(byte[] data, int pos) {
+        int value = (data[pos] & 0xFF) | (data[pos + 1] & 0xFF) << 8
+                | (data[pos + 2] & 0xFF) << 16 | (data[pos + 3] & 0xFF) << 24;
+        return (value * -1640531535) >>> (32 - HASH_BITS);
+    }
+
+    /**
+     * Checks if the four bytes at two positions are the same.
+     *
+     * @param data The input bytes
+     * @param a The first position
+     * @param b The second position
+     * @return true if they match, false otherwise
+     */
+    private static boolean matches(byte[] data, int a, int b) {
+        return data[a] == data[b] && data[a + 1] == data[b + 1]
+                && data[a + 2] == data[b + 2] && data[a + 3] == data[b + 3];
+    }
+}
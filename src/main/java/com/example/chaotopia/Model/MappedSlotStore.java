@@ -0,0 +1,623 @@
+package com.example.chaotopia.Model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Static utility class that keeps every {@link SaveFormat#MAPPED} save slot in
+ * one memory-mapped store file, for servers with many slots.
+ * <br><br>
+ * The start of the store is a table of fixed-size records, one per slot ID,
+ * holding the numeric state: stats, alignment, type, state, score, playtime
+ * and sessions. The table is mapped into memory, so saving a slot is an
+ * in-place write to the mapping rather than opening, writing and closing a
+ * file. The Chao's name and the inventory vary in length, so they are
+ * appended to an overflow region after the table and the record points at
+ * them; a save whose name and inventory have not changed only rewrites its
+ * record. The mapping is forced to disk according to the
+ * {@link AtomicFileWriter#getFsyncPolicy() fsync policy}, by the same group
+ * size and age as other saves.
+ * <br><br>
+ * Replaced overflow entries are left behind as garbage. When the garbage
+ * outgrows the live data, or a slot ID does not fit in the table, the store
+ * is rewritten compactly to a temporary file and moved into place.
+ * <pre>
+ * Store header (64 bytes)
+ *  0  int    magic "CHMS"
+ *  4  short  version
+ *  6  short  record size
+ *  8  int    record capacity
+ * 12  long   end of the overflow region
+ *
+ * Record (64 bytes, at 64 + slot ID * 64)
+ *  0  byte   flags (in use, active, has Chao, has inventory, has score)
+ *  1  byte   Chao type ordinal
+ *  2  byte   Chao state ordinal
+ *  4  byte   happiness, health, fullness, sleep (4 bytes)
+ *  8  int    alignment
+ * 12  int    score
+ * 16  long   playtime
+ * 24  int    number of sessions
+ * 28  int    overflow length
+ * 32  long   average playtime
+ * 40  long   last saved
+ * 48  long   overflow offset
+ * 60  int    CRC32 of bytes 0-59
+ * </pre>
+ *
+ * @author Rosaline Scully
+ */
+public final class MappedSlotStore {
+    /** The store file shared by every mapped slot. */
+    public static final String STORE_FILE = GameFile.SAVES_DIR + "slots.store";
+
+    /** The first four bytes of the store. */
+    static final int MAGIC = 0x43484D53; // "CHMS"
+    /** The layout version written by this class. */
+    static final int VERSION = 1;
+    /** The size of the store header in bytes. */
+    static final int HEADER_SIZE = 64;
+    /** The size of a slot record in bytes. */
+    static final int RECORD_SIZE = 64;
+    /** The number of records in a new store. */
+    static final int INITIAL_CAPACITY = 256;
+    /** Overflow garbage in bytes below which the store is never compacted. */
+    static final long COMPACT_THRESHOLD = 64 * 1024;
+
+    /** Flag set when the record holds a slot. */
+    private static final int FLAG_IN_USE = 1;
+    /** Flag set when the slot holds a game. */
+    private static final int FLAG_ACTIVE = 1 << 1;
+    /** Flag set when a Chao was saved. */
+    private static final int FLAG_CHAO = 1 << 2;
+    /** Flag set when an inventory was saved. */
+    private static final int FLAG_INVENTORY = 1 << 3;
+    /** Flag set when a score was saved. */
+    private static final int FLAG_SCORE = 1 << 4;
+    /** The offset of the checksum in a record. */
+    private static final int CHECKSUM_OFFSET = 60;
+
+    /** The open store file, or null until first used. */
+    private static FileChannel channel;
+    /** The mapping of the header and record table. */
+    private static MappedByteBuffer table;
+    /** The number of records in the table. */
+    private static int capacity;
+    /** The end of the overflow region. */
+    private static long overflowEnd;
+    /** The bytes of the overflow region still pointed at by a record. */
+    private static long liveOverflow;
+    /** The number of writes since the store was last forced. */
+    private static int unforced;
+    /** Time of the oldest unforced write, from System.nanoTime(). */
+    private static long unforcedSince;
+
+    /**
+     * A slot's record and overflow entry, copied out while compacting.
+     */
+    private static final class LiveSlot {
+        /** The ID of the save slot. */
+        private final int slotId;
+        /** The slot's record. */
+        private final byte[] record;
+        /** The slot's overflow entry. */
+        private final byte[] overflow;
+
+        /**
+         * Constructs a copy of a live slot.
+         *
+         * @param slotId The ID of the save slot
+         * @param record The slot's record
+         * @param overflow The slot's overflow entry
+         */
+        private LiveSlot(int slotId, byte[] record, byte[] overflow) {
+            this.slotId = slotId;
+            this.record = record;
+            this.overflow = overflow;
+        }
+    }
+
+    /**
+     * Constructor for the mapped slot store utility.
+     * Cannot be called due to the class being static.
+     */
+    private MappedSlotStore() {}
+
+    /**
+     * Forces every write to the store to disk. Called when the game closes
+     * so the last writes are not left to the operating system.
+     */
+    public static synchronized void flush() {
+        if (channel == null || unforced == 0) return;
+        try {
+            channel.force(false);
+            table.force();
+            unforced = 0;
+        } catch (IOException e) {
+            System.err.println("Error forcing slot store to disk: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Forces and closes the store. The next use reopens it.
+     */
+    public static synchronized void close() {
+        if (channel == null) return;
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing slot store: " + e.getMessage());
+        }
+        channel = null;
+        table = null;
+    }
+
+    // Package-private methods -------------------------------------------------
+
+    /**
+     * Checks if the store holds a slot, without creating the store.
+     *
+     * @param slotId The save slot
+     * @return true if the slot has a record, false otherwise
+     */
+    static synchronized boolean contains(int slotId) {
+        try {
+            if (!openExisting() || slotId >= capacity) return false;
+        } catch (IOException e) {
+            System.err.println("Error opening slot store: " + e.getMessage());
+            return false;
+        }
+        return (table.get(recordOffset(slotId)) & FLAG_IN_USE) != 0;
+    }
+
+    /**
+     * Gets the IDs of every slot in the store.
+     *
+     * @return The slot IDs in order
+     */
+    static synchronized List<Integer> getSlotIds() {
+        List<Integer> slotIds = new ArrayList<>();
+        try {
+            if (!openExisting()) return slotIds;
+        } catch (IOException e) {
+            System.err.println("Error opening slot store: " + e.getMessage());
+            return slotIds;
+        }
+        for (int slotId = 0; slotId < capacity; slotId++) {
+            if ((table.get(recordOffset(slotId)) & FLAG_IN_USE) != 0) slotIds.add(slotId);
+        }
+        return slotIds;
+    }
+
+    /**
+     * Reads only whether a slot holds a game.
+     *
+     * @param slotId The save slot
+     * @return true if the slot holds a game, false otherwise
+     * @throws IOException If the slot is not in the store or its record is damaged
+     */
+    static synchronized boolean isActive(int slotId) throws IOException {
+        return (readFlags(slotId) & FLAG_ACTIVE) != 0;
+    }
+
+    /**
+     * Reads a slot's save data.
+     *
+     * @param slotId The save slot
+     * @return The slot's save data
+     * @throws IOException If the slot is not in the store or is damaged
+     */
+    static synchronized SaveData read(int slotId) throws IOException {
+        int flags = readFlags(slotId);
+        int record = recordOffset(slotId);
+        SaveData data = new SaveData();
+        data.slotId = slotId;
+        data.active = (flags & FLAG_ACTIVE) != 0;
+
+        ChaoType type = BinarySaveCodec.readEnum(ChaoType.values(), table.get(record + 1) & 0xFF);
+        State state = BinarySaveCodec.readEnum(State.values(), table.get(record + 2) & 0xFF);
+        Status status = new Status(table.get(record + 4), table.get(record + 5),
+                table.get(record + 6), table.get(record + 7));
+        int alignment = table.getInt(record + 8);
+        int score = table.getInt(record + 12);
+        data.playtime = table.getLong(record + 16);
+        data.numSessions = table.getInt(record + 24);
+        data.averagePlaytime = table.getLong(record + 32);
+        data.lastSaved = table.getLong(record + 40);
+
+        // The name and inventory live in the overflow region
+        DataInputStream tail = new DataInputStream(new ByteArrayInputStream(readOverflow(record)));
+        String name = tail.readUTF();
+        Inventory inventory = new Inventory(BinarySaveCodec.readItems(tail));
+
+        if ((flags & FLAG_CHAO) != 0) data.chao = new Chao(alignment, name, type, state, status);
+        if ((flags & FLAG_INVENTORY) != 0) data.inventory = inventory;
+        if ((flags & FLAG_SCORE) != 0) data.score = new Score(score);
+        data.fullWrite = false;
+        return data;
+    }
+
+    /**
+     * Writes a slot's save data into the store. Unless the data needs a full
+     * write, the slot's existing name and inventory are kept and only its
+     * record is rewritten.
+     *
+     * @param data The save data
+     * @return The number of bytes written
+     * @throws IOException If the store cannot be written
+     */
+    static synchronized int write(SaveData data) throws IOException {
+        open();
+        if (data.slotId >= capacity) compact(Math.max(capacity * 2, data.slotId + 1));
+
+        int record = recordOffset(data.slotId);
+        boolean inUse = (table.get(record) & FLAG_IN_USE) != 0 && checksumMatches(record);
+        long offset = inUse ? table.getLong(record + 48) : 0;
+        int length = inUse ? table.getInt(record + 28) : 0;
+        int written = RECORD_SIZE;
+
+        if (data.fullWrite || !inUse) {
+            // Append the new tail before pointing the record at it
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            BinarySaveCodec.writeTail(out, data);
+            out.flush();
+            byte[] tail = bytes.toByteArray();
+
+            writeFully(ByteBuffer.wrap(tail), overflowEnd);
+            if (inUse) liveOverflow -= length;
+            offset = overflowEnd;
+            length = tail.length;
+            overflowEnd += length;
+            liveOverflow += length;
+            table.putLong(12, overflowEnd);
+            written += tail.length;
+        }
+
+        writeRecord(record, data, offset, length);
+        afterWrite();
+
+        long garbage = overflowEnd - overflowStart() - liveOverflow;
+        if (garbage > Math.max(COMPACT_THRESHOLD, liveOverflow)) {
+            try {
+                compact(capacity);
+            } catch (IOException e) {
+                // The save itself is stored, so compact again on a later one
+                System.err.println("Error compacting slot store: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Removes a slot from the store, without creating the store.
+     *
+     * @param slotId The save slot
+     * @throws IOException If the store cannot be written
+     */
+    static synchronized void delete(int slotId) throws IOException {
+        if (!openExisting() || slotId >= capacity) return;
+        int record = recordOffset(slotId);
+        if ((table.get(record) & FLAG_IN_USE) == 0) return;
+
+        liveOverflow -= table.getInt(record + 28);
+        for (int i = 0; i < RECORD_SIZE; i++) {
+            table.put(record + i, (byte) 0);
+        }
+        afterWrite();
+    }
+
+    // Private methods ---------------------------------------------------------
+
+    /**
+     * Opens the store if it exists and is not already open.
+     *
+     * @return true if the store is open, false if there is no store
+     * @throws IOException If the store exists but cannot be opened
+     */
+    private static boolean openExisting() throws IOException {
+        if (channel == null && Files.exists(Paths.get(STORE_FILE))) open();
+        return channel != null;
+    }
+
+    /**
+     * Opens the store, creating an empty one if there is none.
+     *
+     * @throws IOException If the store cannot be opened or is not a slot store
+     */
+    private static void open() throws IOException {
+        if (channel != null) return;
+        Path path = Paths.get(STORE_FILE);
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            createStore(path, INITIAL_CAPACITY, new ArrayList<>());
+        }
+
+        FileChannel opened = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            opened.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a slot store: " + path);
+            }
+            if (header.getShort(4) != VERSION || header.getShort(6) != RECORD_SIZE) {
+                throw new IOException("Unsupported slot store version " + header.getShort(4));
+            }
+            capacity = header.getInt(8);
+            overflowEnd = header.getLong(12);
+            table = opened.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        } catch (IOException | RuntimeException e) {
+            opened.close();
+            throw e;
+        }
+        channel = opened;
+
+        // Trust the file's length over a header the last crash may not have stored
+        overflowEnd = Math.max(overflowStart(), Math.min(overflowEnd, channel.size()));
+        liveOverflow = 0;
+        for (int slotId = 0; slotId < capacity; slotId++) {
+            int record = recordOffset(slotId);
+            if ((table.get(record) & FLAG_IN_USE) != 0) liveOverflow += table.getInt(record + 28);
+        }
+    }
+
+    /**
+     * Writes a new store holding the given records and their overflow entries.
+     *
+     * @param path The file to write
+     * @param newCapacity The number of records in the table
+     * @param slots The slots to copy into the new store
+     * @throws IOException If the file cannot be written
+     */
+    private static void createStore(Path path, int newCapacity, List<LiveSlot> slots) throws IOException {
+        long start = HEADER_SIZE + (long) newCapacity * RECORD_SIZE;
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long end = start;
+            for (LiveSlot slot : slots) {
+                // Point the record at the entry's new place
+                ByteBuffer.wrap(slot.record).putLong(48, end);
+                ByteBuffer.wrap(slot.record).putInt(CHECKSUM_OFFSET, checksum(slot.record));
+                write(out, ByteBuffer.wrap(slot.record), HEADER_SIZE + (long) slot.slotId * RECORD_SIZE);
+                write(out, ByteBuffer.wrap(slot.overflow), end);
+                end += slot.overflow.length;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putShort((short) VERSION).putShort((short) RECORD_SIZE)
+                    .putInt(newCapacity).putLong(end);
+            header.clear();
+            write(out, header, 0);
+            // Make sure the record table exists in full, even with no overflow
+            if (out.size() < start) write(out, ByteBuffer.allocate(1), start - 1);
+            if (AtomicFileWriter.getFsyncPolicy() != FsyncPolicy.NEVER) out.force(true);
+        }
+    }
+
+    /**
+     * Rewrites the store with only live overflow entries, growing the record
+     * table if needed, then moves the new store into place.
+     *
+     * @param newCapacity The number of records in the new table
+     * @throws IOException If the store cannot be rewritten; the old store is then left in place
+     */
+    private static void compact(int newCapacity) throws IOException {
+        List<LiveSlot> slots = new ArrayList<>();
+        for (int slotId = 0; slotId < capacity; slotId++) {
+            int record = recordOffset(slotId);
+            if ((table.get(record) & FLAG_IN_USE) == 0 || !checksumMatches(record)) continue;
+
+            byte[] copy = new byte[RECORD_SIZE];
+            table.get(record, copy);
+            slots.add(new LiveSlot(slotId, copy, readOverflow(record)));
+        }
+
+        Path path = Paths.get(STORE_FILE);
+        Path temp = path.resolveSibling(path.getFileName() + AtomicFileWriter.TEMP_SUFFIX);
+        createStore(temp, newCapacity, slots);
+        close();
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    /**
+     * Writes a slot's record into the table, checksum last.
+     *
+     * @param record The offset of the record in the table
+     * @param data The save data
+     * @param offset The offset of the slot's overflow entry
+     * @param length The length of the slot's overflow entry
+     */
+    private static void writeRecord(int record, SaveData data, long offset, int length) {
+        Chao chao = data.chao;
+        int flags = FLAG_IN_USE
+                | (data.active ? FLAG_ACTIVE : 0)
+                | (chao != null ? FLAG_CHAO : 0)
+                | (data.inventory != null ? FLAG_INVENTORY : 0)
+                | (data.score != null ? FLAG_SCORE : 0);
+
+        table.put(record, (byte) flags);
+        if (chao != null) {
+            Status status = chao.getStatus();
+            table.put(record + 1, (byte) chao.getType().ordinal());
+            table.put(record + 2, (byte) chao.getState().ordinal());
+            table.put(record + 4, (byte) status.getHappiness());
+            table.put(record + 5, (byte) status.getHealth());
+            table.put(record + 6, (byte) status.getFullness());
+            table.put(record + 7, (byte) status.getSleep());
+            table.putInt(record + 8, chao.getAlignment());
+        } else {
+            for (int i = 1; i < 12; i++) {
+                table.put(record + i, (byte) 0);
+            }
+        }
+        table.putInt(record + 12, data.score != null ? data.score.getScore() : 0);
+        table.putLong(record + 16, data.playtime);
+        table.putInt(record + 24, data.numSessions);
+        table.putInt(record + 28, length);
+        table.putLong(record + 32, data.averagePlaytime);
+        table.putLong(record + 40, data.lastSaved);
+        table.putLong(record + 48, offset);
+        table.putInt(record + 56, 0);
+
+        byte[] bytes = new byte[RECORD_SIZE];
+        table.get(record, bytes);
+        table.putInt(record + CHECKSUM_OFFSET, checksum(bytes));
+    }
+
+    /**
+     * Reads a slot's flags, checking that the slot is in the store and its
+     * record is whole.
+     *
+     * @param slotId The save slot
+     * @return The record's flags
+     * @throws IOException If the slot is not in the store or its record is damaged
+     */
+    private static int readFlags(int slotId) throws IOException {
+        if (!openExisting() || slotId >= capacity) {
+            throw new IOException("Save not found in slot store for slot " + slotId);
+        }
+        int record = recordOffset(slotId);
+        int flags = table.get(record) & 0xFF;
+        if ((flags & FLAG_IN_USE) == 0) {
+            throw new IOException("Save not found in slot store for slot " + slotId);
+        }
+        if (!checksumMatches(record)) {
+            throw new IOException("Corrupted save: slot store record " + slotId + " is damaged");
+        }
+        return flags;
+    }
+
+    /**
+     * Reads the overflow entry a record points at.
+     *
+     * @param record The offset of the record in the table
+     * @return The entry's bytes
+     * @throws IOException If the entry lies outside the overflow region or cannot be read
+     */
+    private static byte[] readOverflow(int record) throws IOException {
+        long offset = table.getLong(record + 48);
+        int length = table.getInt(record + 28);
+        if (length < 0 || offset < overflowStart() || offset + length > overflowEnd) {
+            throw new IOException("Corrupted save: slot store overflow entry out of range");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Corrupted save: slot store is truncated");
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Counts a write towards the next force, forcing the store once the
+     * fsync policy calls for it.
+     *
+     * @throws IOException If the store cannot be forced
+     */
+    private static void afterWrite() throws IOException {
+        FsyncPolicy policy = AtomicFileWriter.getFsyncPolicy();
+        if (unforced == 0) unforcedSince = System.nanoTime();
+        unforced++;
+        if (policy == FsyncPolicy.ALWAYS
+                || (policy == FsyncPolicy.GROUPED && (unforced >= AtomicFileWriter.GROUP_SIZE
+                        || System.nanoTime() - unforcedSince >= AtomicFileWriter.GROUP_MILLIS * 1_000_000))) {
+            // The overflow entries must be stored before the records that point at them
+            channel.force(false);
+            table.force();
+            unforced = 0;
+        }
+    }
+
+    /**
+     * Checks a record against its checksum.
+     *
+     * @param record The offset of the record in the table
+     * @return true if the record is whole, false otherwise
+     */
+    private static boolean checksumMatches(int record) {
+        byte[] bytes = new byte[RECORD_SIZE];
+        table.get(record, bytes);
+        return checksum(bytes) == table.getInt(record + CHECKSUM_OFFSET);
+    }
+
+    /**
+     * Computes the checksum of a record, which covers every byte before it.
+     *
+     * @param record The record's bytes
+     * @return The checksum
+     */
+    private static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, CHECKSUM_OFFSET);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Writes a whole buffer to the open store at a position.
+     *
+     * @param buffer The bytes to write
+     * @param position The position in the store
+     * @throws IOException If the bytes cannot be written
+     */
+    private static void writeFully(ByteBuffer buffer, long position) throws IOException {
+        write(channel, buffer, position);
+    }
+
+    /**
+     * Writes a whole buffer to a file at a position.
+     *
+     * @param out The file
+     * @param buffer The bytes to write
+     * @param position The position in the file
+     * @throws IOException If the bytes cannot be written
+     */
+    private static void write(FileChannel out, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Gets the offset of a slot's record in the table.
+     *
+     * @param slotId The save slot
+     * @return The record's offset
+     */
+    private static int recordOffset(int slotId) {
+        return HEADER_SIZE + slotId * RECORD_SIZE;
+    }
+
+    /**
+     * Gets the offset of the start of the overflow region.
+     *
+     * @return The first byte after the record table
+     */
+    private static long overflowStart() {
+        return HEADER_SIZE + (long) capacity * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.chaotopia.Model;
+
+/**
+ * Static utility class that applies many ticks of natural decay at once.
+ * <br><br>
+ * {@link #apply} gives exactly the stats that calling
+ * {@link Commands#applyNaturalDecay(Chao)} once per tick would give, but
+ * computes them in constant time. Between thresholds every stat changes by a
+ * fixed amount per tick, so the result only depends on two crossing points:
+ * the tick fullness first reaches 0 (after which the Chao starves) and the
+ * tick health reaches 0 (after which decay stops). Like natural decay, the
+ * Chao's state is left unchanged; callers decide what a death means.
+ *
+ * @author Rosaline Scully
+ */
+public final class OfflineDecay {
+    /** The maximum value for any stat. */
+    private static final int MAX_STAT = 100;
+
+    /**
+     * Constructor for the offline decay utility.
+     * Cannot be called due to the class being static.
+     */
+    private OfflineDecay() {}
+
+    /**
+     * Gets the number of whole decay ticks that fit in a span of time.
+     *
+     * @param elapsedMillis The elapsed time in milliseconds
+     * @return The number of ticks, or 0 if no time has elapsed
+     */
+    public static long ticksFor(long elapsedMillis) {
+        return (elapsedMillis <= 0) ? 0 : elapsedMillis / SimulationEngine.DECAY_INTERVAL;
+    }
+
+    /**
+     * Applies a number of natural decay ticks to a Chao.
+     *
+     * @param chao The Chao to decay
+     * @param ticks The number of ticks to apply
+     * @return The number of ticks that changed the Chao, which is fewer than
+     *         requested if the Chao died along the way
+     */
+    public static long apply(Chao chao, long ticks) {
+        Status status = chao.getStatus();
+        if (ticks <= 0 || status.isDead()) return 0;
+
+        ChaoType type = chao.getType();
+        int happiness = status.getHappiness();
+        int health = status.getHealth();
+        int fullness = status.getFullness();
+        int sleep = status.getSleep();
+
+        int fullnessDecrease = Commands.fullnessDecay(type);
+        int healthDecrease = Commands.healthDecay(type, true);
+
+        // Ticks until fullness is 0 at the start of a tick, i.e. the first starving tick
+        long fedTicks = ceilDiv(fullness, fullnessDecrease);
+        // Decay stops after the tick that takes health to 0
+        long lastTick = (healthDecrease > 0) ? fedTicks + ceilDiv(health, healthDecrease) : Long.MAX_VALUE;
+        long applied = Math.min(ticks, lastTick);
+
+        long fed = Math.min(applied, fedTicks);
+        long starving = applied - fed;
+
+        happiness = floorAtZero(happiness - fed * Commands.happinessDecay(type, false)
+                - starving * Commands.happinessDecay(type, true));
+        health = floorAtZero(health - starving * healthDecrease);
+        fullness = floorAtZero(fullness - applied * fullnessDecrease);
+
+        int sleepDecrease = Commands.sleepDecay(type);
+        if (chao.getState() == State.SLEEPING) {
+            // Each tick recovers sleep (capped at 100) before it decays, so sleep
+            // climbs by the difference until it settles just below the cap
+            int gain = Commands.DECAY_SLEEP_RECOVERY - sleepDecrease;
+            sleep = (int) Math.min(MAX_STAT - sleepDecrease, sleep + Math.min(applied, MAX_STAT) * gain);
+        } else {
+            sleep = floorAtZero(sleep - applied * sleepDecrease);
+        }
+
+        status.setStats(happiness, health, fullness, sleep);
+        return applied;
+    }
+
+    /**
+     * Divides two non-negative numbers, rounding up.
+     *
+     * @param value The dividend
+     * @param divisor The divisor, greater than 0
+     * @return The rounded up quotient
+     */
+    private static long ceilDiv(long value, long divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
+    /**
+     * Constrains a decayed stat to be no less than 0.
+     *
+     * @param value The decayed value
+     * @return The value, or 0 if it is negative
+     */
+    private static int floorAtZero(long value) {
+        return (int) Math.max(0, value);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.chaotopia.Model;
 
+import org.json.JSONException;
+
 import java.io.IOException;
 
 /**
@@ -25,6 +27,23 @@ public final class ParentalStatistics {
      */
     private ParentalStatistics() {}
 
+    /**
+     * Method that loads the playtime statistics from the slot index,
+     * without reading any save files.
+     */
+    public static void loadParentalStatistics() {
+        /* Initialize field variables. */
+        totalPlaytime = 0L;
+        numSessions = 0;
+        /* Sum playtime and number of sessions across every active slot. */
+        for (SlotIndex.Entry entry : SlotIndex.getEntries()) {
+            if (entry.isActive()) {
+                totalPlaytime += entry.getPlaytime();
+                numSessions += entry.getNumSessions();
+            }
+        }
+    }
+
     /**
      * Method that loads the playtime statistics from the game files.
      *
@@ -64,6 +83,32 @@ public final class ParentalStatistics {
         return (long)(totalPlaytime / numSessions);
     }
 
+    /**
+     * Method that resets the playtime statistics of every slot in the
+     * slot index.
+     * <p>
+     * Sets the total playtime and number of sessions of each active slot to
+     * zero and saves it. A slot that cannot be read or saved is skipped.
+     */
+    public static void resetStatistics() {
+        /* Reset playtime statistics. */
+        totalPlaytime = 0L;
+        numSessions = 0;
+        /* Reset the save data of every active slot, through the repository so open games see it. */
+        for (SlotIndex.Entry entry : SlotIndex.getEntries()) {
+            if (!entry.isActive()) continue;
+            try {
+                GameFile game = GameFileRepository.get(entry.getSlotId());
+                game.setPlaytime(0L);
+                game.setNumSessions(0);
+                game.save();
+            } catch (IOException | JSONException e) {
+                System.err.println("Error resetting statistics for slot " + entry.getSlotId() + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
     /**
      * Method that resets all the playtime statistics.
      * <p>
@@ -0,0 +1,215 @@
+package com.example.chaotopia.Model;
+
+import javafx.animation.AnimationTimer;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single animation clock that runs all periodic game work off the JavaFX pulse.
+ * <br><br>
+ * Instead of every animation and game loop owning its own Timeline, work is
+ * registered here with {@link #every}, {@link #after} or {@link #repeat} and
+ * multiplexed off one {@link AnimationTimer}. Each registration returns a
+ * {@link ScheduledTask} that can be cancelled. The timer only listens for
+ * pulses while at least one task is active.
+ * <br><br>
+ * Like Timelines, the scheduler must only be used from the JavaFX
+ * Application Thread.
+ *
+ * @author Rosaline Scully
+ */
+public final class PulseScheduler {
+    /** Cycle count for tasks that run until cancelled. */
+    public static final int INDEFINITE = -1;
+
+    /** The registered tasks, in registration order. */
+    private static final List<ScheduledTask> tasks = new ArrayList<>();
+    /** The pulse listener driving every task, created on first use. */
+    private static AnimationTimer timer;
+    /** Whether the pulse listener is currently started. */
+    private static boolean running = false;
+
+    /**
+     * A unit of periodic work registered with the scheduler.
+     */
+    public static final class ScheduledTask {
+        /** The time between runs in nanoseconds. */
+        private final long periodNanos;
+        /** The work to run each period. */
+        private final Runnable action;
+        /** Runs remaining, or {@link #INDEFINITE}. */
+        private int cyclesRemaining;
+        /** The pulse time at or after which the task next runs. */
+        private long nextRun;
+        /** Whether the task still has runs left and has not been cancelled. */
+        private boolean active = true;
+        /** Optional work to run after the final cycle. */
+        private Runnable onFinished;
+
+        /**
+         * Constructs a task.
+         *
+         * @param periodNanos The time between runs in nanoseconds
+         * @param cycles The number of runs, or {@link #INDEFINITE}
+         * @param action The work to run each period
+         * @param startTime The time the first period starts
+         */
+        private ScheduledTask(long periodNanos, int cycles, Runnable action, long startTime) {
+            this.periodNanos = periodNanos;
+            this.cyclesRemaining = cycles;
+            this.action = action;
+            this.nextRun = startTime + periodNanos;
+        }
+
+        /**
+         * Cancels the task. Its onFinished handler is not run.
+         * Cancelling an inactive task has no effect.
+         */
+        public void cancel() {
+            active = false;
+        }
+
+        /**
+         * Checks if the task still has runs left and has not been cancelled.
+         *
+         * @return true if the task is scheduled to run again, false otherwise
+         */
+        public boolean isActive() {
+            return active;
+        }
+
+        /**
+         * Sets work to run once the final cycle of the task has run.
+         *
+         * @param onFinished The work to run, or null for none
+         * @return This task
+         */
+        public ScheduledTask setOnFinished(Runnable onFinished) {
+            this.onFinished = onFinished;
+            return this;
+        }
+
+        /**
+         * Runs the task if its period has elapsed.
+         *
+         * @param now The current pulse time in nanoseconds
+         */
+        private void pulse(long now) {
+            if (!active || now < nextRun) return;
+
+            // Skip missed periods rather than running them back to back
+            nextRun = (now - nextRun >= periodNanos) ? now + periodNanos : nextRun + periodNanos;
+            if (cyclesRemaining > 0) cyclesRemaining--;
+            try {
+                action.run();
+            } catch (Exception e) {
+                System.err.println("Error in scheduled task: " + e.getMessage());
+                e.printStackTrace();
+            }
+
+            if (active && cyclesRemaining == 0) {
+                active = false;
+                if (onFinished != null) onFinished.run();
+            }
+        }
+    }
+
+    /**
+     * Constructor for the pulse scheduler.
+     * Cannot be called due to the class being static.
+     */
+    private PulseScheduler() {}
+
+    /**
+     * Runs an action every period until the returned task is cancelled.
+     *
+     * @param period The time between runs
+     * @param action The work to run
+     * @return The scheduled task
+     */
+    public static ScheduledTask every(Duration period, Runnable action) {
+        return repeat(period, INDEFINITE, action);
+    }
+
+    /**
+     * Runs an action once after a delay.
+     *
+     * @param delay The time before the action runs
+     * @param action The work to run
+     * @return The scheduled task
+     */
+    public static ScheduledTask after(Duration delay, Runnable action) {
+        return repeat(delay, 1, action);
+    }
+
+    /**
+     * Runs an action a fixed number of times, once per period.
+     *
+     * @param period The time between runs
+     * @param cycles The number of runs, or {@link #INDEFINITE}
+     * @param action The work to run
+     * @return The scheduled task
+     */
+    public static ScheduledTask repeat(Duration period, int cycles, Runnable action) {
+        if (cycles == 0 || cycles < INDEFINITE) {
+            throw new IllegalArgumentException("Cycle count must be positive or INDEFINITE");
+        }
+        long periodNanos = Math.max(0L, (long) (period.toMillis() * 1_000_000L));
+        ScheduledTask task = new ScheduledTask(periodNanos, cycles, action, System.nanoTime());
+        tasks.add(task);
+        ensureRunning();
+        return task;
+    }
+
+    /**
+     * Gets the number of tasks that are still active.
+     *
+     * @return The number of active tasks
+     */
+    public static int getActiveTaskCount() {
+        int count = 0;
+        for (ScheduledTask task : tasks) {
+            if (task.isActive()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Starts listening for pulses if not already listening.
+     */
+    private static void ensureRunning() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    pulse(now);
+                }
+            };
+        }
+        if (!running) {
+            timer.start();
+            running = true;
+        }
+    }
+
+    /**
+     * Runs every due task, then drops finished tasks and stops listening
+     * for pulses once none remain.
+     *
+     * @param now The current pulse time in nanoseconds
+     */
+    private static void pulse(long now) {
+        // Tasks registered during this pass first run on the next pulse
+        int count = tasks.size();
+        for (int i = 0; i < count; i++) {
+            tasks.get(i).pulse(now);
+        }
+        tasks.removeIf(task -> !task.isActive());
+        if (tasks.isEmpty()) {
+            timer.stop();
+            running = false;
+        }
+    }
+}
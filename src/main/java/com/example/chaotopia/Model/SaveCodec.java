@@ -0,0 +1,62 @@
+package com.example.chaotopia.Model;
+
+import java.io.IOException;
+
+/**
+ * Converts the contents of a save slot to and from the bytes stored on disk.
+ *
+ * @author Rosaline Scully
+ */
+interface SaveCodec {
+
+    /**
+     * Converts save data to bytes.
+     *
+     * @param data The save data
+     * @return The encoded save
+     * @throws IOException If the data cannot be encoded
+     */
+    byte[] encode(SaveData data) throws IOException;
+
+    /**
+     * Converts bytes back to save data.
+     *
+     * @param bytes The encoded save
+     * @return The save data
+     * @throws IOException If the bytes are not a valid save
+     */
+    SaveData decode(byte[] bytes) throws IOException;
+
+    /**
+     * Reads only whether an encoded save holds a game, without decoding the rest.
+     *
+     * @param bytes The encoded save
+     * @return true if the slot holds a game, false otherwise
+     * @throws IOException If the bytes are not a valid save
+     */
+    boolean isActive(byte[] bytes) throws IOException;
+
+    /**
+     * Converts only the fixed-size start of a save to bytes, so a save whose
+     * other sections have not changed can be updated by overwriting it in place.
+     *
+     * @param data The save data
+     * @return The encoded header, or null if this format has no fixed layout
+     * @throws IOException If the data cannot be encoded
+     */
+    default byte[] encodeHeader(SaveData data) throws IOException {
+        return null;
+    }
+
+    /**
+     * Checks if a stored save can be updated by overwriting its start with a
+     * header from {@link #encodeHeader}, which needs the save to be stored
+     * as is in the same layout.
+     *
+     * @param start The first bytes of the stored save, as many as the new header holds
+     * @return true if the header can be overwritten in place, false otherwise
+     */
+    default boolean canPatchHeader(byte[] start) {
+        return false;
+    }
+}
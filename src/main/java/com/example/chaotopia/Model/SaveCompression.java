@@ -0,0 +1,177 @@
+package com.example.chaotopia.Model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The ways a save file can be compressed on disk.
+ * <br><br>
+ * A compressed save starts with the bytes "CHZ", the compression's ID and the
+ * uncompressed length, followed by the compressed save. Reading a save sniffs
+ * for that header, so a save is read the same whatever compression it was
+ * written with, and saves written before compression existed (which start
+ * with '{' or "CHSV") are read unchanged. Only per-slot save files are
+ * compressed; mapped saves keep their fixed-size records.
+ *
+ * @author Rosaline Scully
+ */
+public enum SaveCompression {
+    /** Stored as is. Binary saves can then be updated by patching their header. */
+    NONE(0) {
+        @Override
+        byte[] compressBody(byte[] data) {
+            return data;
+        }
+
+        @Override
+        byte[] decompressBody(byte[] body, int length) {
+            return body;
+        }
+    },
+    /** The zlib deflate algorithm: the smallest files, at some cost in speed. */
+    DEFLATE(1) {
+        @Override
+        byte[] compressBody(byte[] data) {
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                deflater.setInput(data);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+                byte[] buffer = new byte[4096];
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        byte[] decompressBody(byte[] body, int length) throws IOException {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(body);
+                byte[] data = new byte[length];
+                int read = 0;
+                while (read < length && !inflater.finished()) {
+                    int n = inflater.inflate(data, read, length - read);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                    read += n;
+                }
+                if (read != length) throw new IOException("Corrupted save: compressed data is truncated");
+                return data;
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupted save: " + e.getMessage(), e);
+            } finally {
+                inflater.end();
+            }
+        }
+    },
+    /** A simple LZ77 byte format: larger files than deflate, but much faster. */
+    LZ(2) {
+        @Override
+        byte[] compressBody(byte[] data) {
+            return LzCompressor.compress(data);
+        }
+
+        @Override
+        byte[] decompressBody(byte[] body, int length) throws IOException {
+            return LzCompressor.decompress(body, length);
+        }
+    };
+
+    /** The first three bytes of a compressed save. */
+    private static final byte[] MAGIC = {'C', 'H', 'Z'};
+    /** The size of the compressed save header in bytes. */
+    static final int HEADER_SIZE = 8;
+    /** The largest save that will be decompressed, to guard against a corrupted length. */
+    private static final int MAX_LENGTH = 64 * 1024 * 1024;
+
+    /** Every compression, indexed by ID. */
+    private static final SaveCompression[] BY_ID = values();
+
+    /** The ID stored in the header. */
+    private final int id;
+
+    /**
+     * Constructs a compression.
+     *
+     * @param id The ID stored in the header, which must match the ordinal
+     */
+    SaveCompression(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Compresses a save, adding the header that identifies it. Saves that
+     * are not compressed get no header.
+     *
+     * @param data The encoded save
+     * @return The bytes to write to disk
+     */
+    byte[] compress(byte[] data) {
+        if (this == NONE) return data;
+        byte[] body = compressBody(data);
+        return ByteBuffer.allocate(HEADER_SIZE + body.length)
+                .put(MAGIC).put((byte) id).putInt(data.length).put(body)
+                .array();
+    }
+
+    /**
+     * Finds how a save on disk was compressed from its first bytes.
+     *
+     * @param bytes The start of the file, at least {@value #HEADER_SIZE} bytes if compressed
+     * @return The compression, or NONE if the save has no compression header
+     */
+    static SaveCompression sniff(byte[] bytes) {
+        if (bytes.length < HEADER_SIZE
+                || bytes[0] != MAGIC[0] || bytes[1] != MAGIC[1] || bytes[2] != MAGIC[2]) {
+            return NONE;
+        }
+        int id = bytes[3] & 0xFF;
+        return (id > 0 && id < BY_ID.length) ? BY_ID[id] : NONE;
+    }
+
+    /**
+     * Undoes whatever compression a save on disk was written with.
+     *
+     * @param bytes The file's contents
+     * @return The encoded save
+     * @throws IOException If the save is compressed but damaged
+     */
+    static byte[] decompress(byte[] bytes) throws IOException {
+        SaveCompression compression = sniff(bytes);
+        if (compression == NONE) return bytes;
+
+        int length = ByteBuffer.wrap(bytes, 4, 4).getInt();
+        if (length < 0 || length > MAX_LENGTH) {
+            throw new IOException("Corrupted save: bad uncompressed length " + length);
+        }
+        byte[] body = new byte[bytes.length - HEADER_SIZE];
+        System.arraycopy(bytes, HEADER_SIZE, body, 0, body.length);
+        return compression.decompressBody(body, length);
+    }
+
+    /**
+     * Compresses a save without a header.
+     *
+     * @param data The encoded save
+     * @return The compressed bytes
+     */
+    abstract byte[] compressBody(byte[] data);
+
+    /**
+     * Decompresses a save without a header.
+     *
+     * @param body The compressed bytes
+     * @param length The uncompressed length from the header
+     * @return The encoded save
+     * @throws IOException If the compressed bytes are damaged
+     */
+    abstract byte[] decompressBody(byte[] body, int length) throws IOException;
+}
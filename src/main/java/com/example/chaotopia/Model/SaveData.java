@@ -0,0 +1,33 @@
+package com.example.chaotopia.Model;
+
+/**
+ * Everything stored in one save slot, handed between {@link GameFile} and a
+ * {@link SaveCodec}. Any of the Chao, inventory and score may be null.
+ *
+ * @author Rosaline Scully
+ */
+final class SaveData {
+    /** The ID of the save slot. */
+    int slotId;
+    /** Whether the slot holds a game. */
+    boolean active = true;
+    /** The Chao, or null if none was saved. */
+    Chao chao;
+    /** The inventory, or null if none was saved. */
+    Inventory inventory;
+    /** The score, or null if none was saved. */
+    Score score;
+    /** Total playtime. */
+    long playtime;
+    /** Number of play sessions. */
+    int numSessions;
+    /** Average playtime per session. */
+    long averagePlaytime;
+    /** Wall clock time of the save in epoch milliseconds, or 0 if unknown. */
+    long lastSaved;
+    /**
+     * Whether the whole save must be written. When false, only fields a codec
+     * keeps in its fixed header have changed since the last save.
+     */
+    boolean fullWrite = true;
+}
@@ -0,0 +1,284 @@
+package com.example.chaotopia.Model;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Single background worker that writes saves off the JavaFX Application Thread.
+ * <br><br>
+ * {@link #submit} takes a snapshot of a game on the calling thread, so the
+ * game can keep changing straight away, and queues it for the worker to
+ * encode and write. Each slot holds at most one queued save: submitting a
+ * slot that is still waiting replaces its snapshot with the newer one, so a
+ * burst of saves costs one write.
+ * <br><br>
+ * Loading, saving or deleting a slot directly first waits for that slot's
+ * background save with {@link #awaitSlot}, and {@link #flush} waits for every
+ * save before the game closes.
+ *
+ * @author Rosaline Scully
+ */
+public final class SaveExecutor {
+    /** Guards the queue and the worker's progress. */
+    private static final Object lock = new Object();
+    /** Snapshots waiting to be written, one per slot, oldest first. */
+    private static final Map<Integer, PendingSave> pending = new LinkedHashMap<>();
+    /** The slot the worker is writing, or null when it is idle. */
+    private static Integer inFlight;
+    /** The worker thread, started on first use. */
+    private static Thread worker;
+    /** The number of saves replaced by a newer one before being written. */
+    private static long coalesced;
+    /** The number of saves the worker has finished. */
+    private static long completed;
+    /** The number of saves skipped because nothing had changed. */
+    private static long skippedClean;
+    /** The time the last finished save took to write, in nanoseconds. */
+    private static long lastLatencyNanos;
+    /** The time the last finished save of each slot took to write, in nanoseconds. */
+    private static final Map<Integer, Long> slotLatencyNanos = new HashMap<>();
+    /** The total number of bytes written by finished saves. */
+    private static long bytesWritten;
+
+    /**
+     * A snapshot waiting to be written.
+     */
+    private static final class PendingSave {
+        /** The game the snapshot was taken from. */
+        private final GameFile game;
+        /** The snapshot. */
+        private final SaveData data;
+        /** The format to write it in. */
+        private final SaveFormat format;
+        /** The game's journal position when the snapshot was taken. */
+        private final long journalPosition;
+
+        /**
+         * Constructs a pending save.
+         *
+         * @param game The game the snapshot was taken from
+         * @param data The snapshot
+         * @param format The format to write it in
+         * @param journalPosition The game's journal position when the snapshot was taken
+         */
+        private PendingSave(GameFile game, SaveData data, SaveFormat format, long journalPosition) {
+            this.game = game;
+            this.data = data;
+            this.format = format;
+            this.journalPosition = journalPosition;
+        }
+    }
+
+    /**
+     * Constructor for the save executor.
+     * Cannot be called due to the class being static.
+     */
+    private SaveExecutor() {}
+
+    /**
+     * Takes a snapshot of a game and queues it to be written in the background.
+     * A game with no unsaved changes is skipped. Must be called on the thread
+     * that changes the game.
+     *
+     * @param game The game to save
+     */
+    public static void submit(GameFile game) {
+        if (!game.isDirty()) {
+            synchronized (lock) {
+                skippedClean++;
+            }
+            return;
+        }
+        long journalPosition = game.getJournal().position();
+        PendingSave save = new PendingSave(game, game.snapshot(), game.getSaveFormat(), journalPosition);
+        synchronized (lock) {
+            PendingSave replaced = pending.put(game.getSlotId(), save);
+            if (replaced != null) {
+                // The replaced save's changes must still be written
+                save.data.fullWrite |= replaced.data.fullWrite || replaced.format != save.format;
+                coalesced++;
+            }
+            if (worker == null) {
+                worker = new Thread(SaveExecutor::run, "save-executor");
+                worker.setDaemon(true);
+                worker.start();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Waits until a slot has no save queued or being written.
+     *
+     * @param slotId The save slot
+     */
+    public static void awaitSlot(int slotId) {
+        if (Thread.currentThread() == worker) return;
+        synchronized (lock) {
+            while (pending.containsKey(slotId) || Integer.valueOf(slotId).equals(inFlight)) {
+                if (!waitForWorker()) return;
+            }
+        }
+    }
+
+    /**
+     * Drops a slot's queued save, then waits for any save of it already
+     * being written. Used before deleting the slot.
+     *
+     * @param slotId The save slot
+     */
+    public static void cancel(int slotId) {
+        synchronized (lock) {
+            pending.remove(slotId);
+        }
+        awaitSlot(slotId);
+    }
+
+    /**
+     * Waits until every queued save has been written. Called when the game closes.
+     */
+    public static void flush() {
+        if (Thread.currentThread() == worker) return;
+        synchronized (lock) {
+            while (!pending.isEmpty() || inFlight != null) {
+                if (!waitForWorker()) return;
+            }
+        }
+    }
+
+    /**
+     * Checks if a slot has a save queued or being written.
+     *
+     * @param slotId The save slot
+     * @return true if the slot's last submitted save has not finished, false otherwise
+     */
+    public static boolean isQueued(int slotId) {
+        synchronized (lock) {
+            return pending.containsKey(slotId) || Integer.valueOf(slotId).equals(inFlight);
+        }
+    }
+
+    /**
+     * Gets how long the last finished save took to encode and write.
+     *
+     * @return The latency in milliseconds, or 0 if nothing has been saved
+     */
+    public static double getLastLatencyMillis() {
+        synchronized (lock) {
+            return lastLatencyNanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Gets how long the last finished save of a slot took to encode and write.
+     *
+     * @param slotId The save slot
+     * @return The latency in milliseconds, or 0 if the slot has not been saved
+     */
+    public static double getLastLatencyMillis(int slotId) {
+        synchronized (lock) {
+            return slotLatencyNanos.getOrDefault(slotId, 0L) / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Gets the total number of bytes written by finished saves.
+     *
+     * @return The number of bytes written
+     */
+    public static long getBytesWritten() {
+        synchronized (lock) {
+            return bytesWritten;
+        }
+    }
+
+    /**
+     * Gets the number of saves replaced by a newer one before being written.
+     *
+     * @return The number of coalesced saves
+     */
+    public static long getCoalescedCount() {
+        synchronized (lock) {
+            return coalesced;
+        }
+    }
+
+    /**
+     * Gets the number of saves skipped because nothing had changed.
+     *
+     * @return The number of skipped saves
+     */
+    public static long getSkippedCleanCount() {
+        synchronized (lock) {
+            return skippedClean;
+        }
+    }
+
+    /**
+     * Gets the number of saves the worker has finished.
+     *
+     * @return The number of completed saves
+     */
+    public static long getCompletedCount() {
+        synchronized (lock) {
+            return completed;
+        }
+    }
+
+    // Private methods ---------------------------------------------------------
+
+    /**
+     * Writes queued saves one at a time, oldest first, for as long as the game runs.
+     */
+    private static void run() {
+        while (true) {
+            PendingSave save;
+            synchronized (lock) {
+                while (pending.isEmpty()) {
+                    if (!waitForWorker()) return;
+                }
+                Iterator<PendingSave> oldest = pending.values().iterator();
+                save = oldest.next();
+                oldest.remove();
+                inFlight = save.data.slotId;
+            }
+
+            long start = System.nanoTime();
+            int written = 0;
+            try {
+                written = save.game.write(save.data, save.format, save.journalPosition);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error saving slot " + save.data.slotId + ": " + e.getMessage());
+                e.printStackTrace();
+            } finally {
+                synchronized (lock) {
+                    lastLatencyNanos = System.nanoTime() - start;
+                    slotLatencyNanos.put(save.data.slotId, lastLatencyNanos);
+                    bytesWritten += written;
+                    inFlight = null;
+                    completed++;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits on the lock until the queue or the worker's progress changes.
+     * Must be called while holding the lock.
+     *
+     * @return true once woken, or false if the thread was interrupted
+     */
+    private static boolean waitForWorker() {
+        try {
+            lock.wait();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.chaotopia.Model;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The formats a save slot can be stored in.
+ * <br><br>
+ * JSON saves are human readable and are what every slot started as. Binary
+ * saves hold the same data in a compact versioned layout that is much
+ * cheaper to write and read. Mapped saves keep every slot in one shared
+ * {@link MappedSlotStore}, for servers with many slots. A slot is loaded from
+ * wherever it is saved, and the next save writes the slot's chosen format and
+ * removes the other copies.
+ *
+ * @author Rosaline Scully
+ */
+public enum SaveFormat {
+    /** Pretty-printed JSON in slot_N.json. */
+    JSON("json", new JsonSaveCodec()),
+    /** Compact binary in slot_N.sav. */
+    BINARY("sav", new BinarySaveCodec()),
+    /** Fixed-size records in the shared slots.store, read and written by {@link MappedSlotStore}. */
+    MAPPED("store", null);
+
+    /** The file extension of saves in this format. */
+    private final String extension;
+    /** The codec that reads and writes this format. */
+    private final SaveCodec codec;
+
+    /**
+     * Constructs a save format.
+     *
+     * @param extension The file extension of saves in this format
+     * @param codec The codec that reads and writes this format
+     */
+    SaveFormat(String extension, SaveCodec codec) {
+        this.extension = extension;
+        this.codec = codec;
+    }
+
+    /**
+     * Gets the file a slot is saved to in this format. Every mapped slot
+     * shares the store file, so it must never be deleted for one slot.
+     *
+     * @param slotId The save slot
+     * @return The slot's save file
+     */
+    public Path pathFor(int slotId) {
+        if (this == MAPPED) return Paths.get(MappedSlotStore.STORE_FILE);
+        return Paths.get(GameFile.SAVES_DIR + "slot_" + slotId + "." + extension);
+    }
+
+    /**
+     * Checks if this format gives each slot a file of its own.
+     *
+     * @return true for JSON and binary saves, false for mapped saves
+     */
+    boolean isFilePerSlot() {
+        return this != MAPPED;
+    }
+
+    /**
+     * Gets the codec that reads and writes this format.
+     *
+     * @return The codec, or null for mapped saves
+     */
+    SaveCodec getCodec() {
+        return codec;
+    }
+}
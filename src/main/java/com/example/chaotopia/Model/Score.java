@@ -16,6 +16,8 @@ package com.example.chaotopia.Model;
 public class Score {
     /** The score value itself representing player progress. */
     private int score;
+    /** Whether the score has changed since it was last saved. */
+    private boolean dirty;
 
     /**
      * Constructor method that creates a score.
@@ -38,7 +40,9 @@ public class Score {
      * @param score the new score to implement
      */
     public void setScore(int score) {
-        this.score = Math.max(score, 0); // Prevent negative score
+        score = Math.max(score, 0); // Prevent negative score
+        if (score != this.score) dirty = true;
+        this.score = score;
     }
 
     /**
@@ -46,6 +50,21 @@ public class Score {
      * @param update the amount to increase or decrease by
      */
     public void updateScore(int update) {
-        this.score = Math.max(this.score + update, 0); // Ensure score stays non-negative
+        setScore(this.score + update); // Ensure score stays non-negative
+    }
+
+    /**
+     * Checks if the score has changed since it was last saved.
+     * @return true if there are unsaved changes, false otherwise
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks the score as saved.
+     */
+    public void markClean() {
+        dirty = false;
     }
 }
@@ -0,0 +1,62 @@
+package com.example.chaotopia.Model;
+
+import java.time.LocalTime;
+
+/**
+ * A {@link GameClock} that only moves when it is told to.
+ * <br><br>
+ * Time starts at a fixed time of day and advances by exactly the amount
+ * passed to {@link #advance}, so every reading in a run is reproducible.
+ *
+ * @author Rosaline Scully
+ */
+public class SimulatedClock implements GameClock {
+    /** Nanoseconds in a millisecond. */
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /** The time of day the clock started at. */
+    private final LocalTime start;
+    /** The time advanced since the clock started, in nanoseconds. */
+    private long elapsedNanos = 0;
+
+    /**
+     * Constructs a clock starting at noon.
+     */
+    public SimulatedClock() {
+        this(LocalTime.NOON);
+    }
+
+    /**
+     * Constructs a clock starting at a time of day.
+     *
+     * @param start The time of day the clock starts at
+     */
+    public SimulatedClock(LocalTime start) {
+        if (start == null) {
+            throw new IllegalArgumentException("Start time cannot be null for SimulatedClock");
+        }
+        this.start = start;
+    }
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param millis The time to advance by in milliseconds
+     */
+    public void advance(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Cannot move a SimulatedClock backwards");
+        }
+        elapsedNanos += millis * NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long nanoTime() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public LocalTime localTime() {
+        return start.plusNanos(elapsedNanos);
+    }
+}
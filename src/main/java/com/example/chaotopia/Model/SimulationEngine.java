@@ -0,0 +1,660 @@
+package com.example.chaotopia.Model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Headless game loop for a single Chao.
+ * <br><br>
+ * The engine owns every rule that runs over time: natural stat decay,
+ * deriving the Chao's {@link State} from its {@link Status}, sleeping and
+ * waking, death, item spawning and the timing of evolution. It advances in
+ * fixed steps of {@link #STEP_MILLIS} with {@link #tick}, and player commands
+ * are issued through methods such as {@link #play} and {@link #feed} which
+ * wrap {@link Commands} and the {@link Inventory}.
+ * <br><br>
+ * The engine has no JavaFX dependency. A view observes it by registering a
+ * {@link SimulationListener} and decides for itself how often to tick it, so
+ * any number of engines can be run on a server without a display.
+ * <br><br>
+ * An engine built with {@link #deterministic} draws spawns from a seeded
+ * random and moves a {@link SimulatedClock} by exactly one step per tick, so
+ * the same seed and the same commands always reproduce the same run.
+ * <br><br>
+ * The Chao's state is decided by {@link ChaoStateMachine}, and is only
+ * re-evaluated when a stat crosses a threshold, the state is changed, or the
+ * Chao wakes up, rather than on every step. The engine listens to the Chao's
+ * {@link Status} for this, so {@link #close} should be called once the
+ * engine is no longer used.
+ * <br><br>
+ * When given a {@link CommandJournal}, the engine records every command,
+ * every tick that changes the Chao, every inventory change and every score
+ * change to it as they happen.
+ *
+ * @author Rosaline Scully
+ */
+public class SimulationEngine {
+    /** The length of one fixed simulation step in milliseconds. */
+    public static final long STEP_MILLIS = 250;
+    /** How often natural decay is applied, in milliseconds. */
+    public static final long DECAY_INTERVAL = 2000;
+    /** How often sleep is restored while sleeping, in milliseconds. */
+    private static final long SLEEP_INTERVAL = 500;
+    /** How often a fruit is spawned, in milliseconds. */
+    private static final long FRUIT_SPAWN_INTERVAL = 5000;
+    /** How often a gift is spawned, in milliseconds. */
+    private static final long GIFT_SPAWN_INTERVAL = 10000;
+    /** How long the evolving animation plays before the type changes, in milliseconds. */
+    private static final long EVOLUTION_DURATION = 4000;
+    /** How long the post-evolution pose is held, in milliseconds. */
+    private static final long EVOLUTION_POSE_DURATION = 2000;
+
+    /** The sleep restored every sleep interval. */
+    private static final int SLEEP_GAIN = 4;
+    /** The health lost when collapsing from exhaustion. */
+    private static final int EXHAUSTION_HEALTH = -15;
+
+    /** The fruits that can be spawned. */
+    public static final List<String> FRUIT_ITEMS = Collections.unmodifiableList(Arrays.asList(
+            "Red Fruit", "Blue Fruit", "Green Fruit", "Hero Fruit", "Dark Fruit"));
+    /** The gifts that can be spawned. */
+    public static final List<String> GIFT_ITEMS = Collections.unmodifiableList(Arrays.asList(
+            "Trumpet", "Duck", "T.V."));
+
+    /** The Chao being simulated. */
+    private final Chao chao;
+    /** The inventory items are spawned into and consumed from. */
+    private final Inventory inventory;
+    /** The source of randomness for item spawning. */
+    private final Random random;
+    /** The clock advanced by every step, or null when running in real time. */
+    private final SimulatedClock clock;
+    /** The Commands clock to restore on close, or null if the engine did not replace it. */
+    private GameClock replacedClock;
+    /** The observer notified of everything that happens. */
+    private SimulationListener listener = new SimulationListener() {};
+    /** Reports whether the view is holding the current state, e.g. during a temporary animation. */
+    private BooleanSupplier stateHold = () -> false;
+
+    /** Simulated time since the engine started, in milliseconds. */
+    private long elapsed = 0;
+    /** Whether the Chao is currently sleeping. */
+    private boolean sleeping = false;
+    /** Simulated time since the Chao fell asleep, in milliseconds. */
+    private long sleepElapsed = 0;
+    /** Whether an evolution is in progress. */
+    private boolean evolving = false;
+    /** Whether the evolution in progress is a Hero evolution. */
+    private boolean heroEvolution = false;
+    /** Simulated time since the evolution began, in milliseconds. */
+    private long evolutionElapsed = 0;
+    /** Whether the item spawner runs. */
+    private boolean spawningEnabled = true;
+    /** The score awarded for commands, or null if not kept. */
+    private Score score;
+    /** The journal every change is recorded to, or null if not kept. */
+    private CommandJournal journal;
+    /** The Chao's type, state, alignment and stats as last recorded to the journal. */
+    private final int[] lastRecorded = new int[7];
+    /** Whether the Chao's state must be re-evaluated, even if it has not changed. */
+    private boolean stateDirty = true;
+    /** The Chao's state when it was last evaluated. */
+    private State evaluatedState;
+    /** Marks the state for re-evaluation when a stat that decides it crosses a threshold. */
+    private final Status.ThresholdListener thresholdListener = (stat, oldValue, newValue) -> {
+        if (ChaoStateMachine.affectsState(stat)) stateDirty = true;
+    };
+
+    /**
+     * Constructs an engine for a Chao and its inventory.
+     *
+     * @param chao The Chao to simulate
+     * @param inventory The inventory to spawn items into and consume them from
+     */
+    public SimulationEngine(Chao chao, Inventory inventory) {
+        this(chao, inventory, new Random(), null);
+    }
+
+    /**
+     * Constructs an engine for a Chao and its inventory.
+     *
+     * @param chao The Chao to simulate
+     * @param inventory The inventory to spawn items into and consume them from
+     * @param random The source of randomness for item spawning
+     * @param clock A clock to advance by one step every tick, or null for none
+     */
+    public SimulationEngine(Chao chao, Inventory inventory, Random random, SimulatedClock clock) {
+        if (chao == null || inventory == null || random == null) {
+            throw new IllegalArgumentException("Chao, inventory and random cannot be null for SimulationEngine");
+        }
+        this.chao = chao;
+        this.inventory = inventory;
+        this.random = random;
+        this.clock = clock;
+        chao.getStatus().addThresholdListener(thresholdListener);
+    }
+
+    /**
+     * Constructs a reproducible engine. Item spawns come from a random seeded
+     * with the given seed, and command cooldowns are measured on a new
+     * simulated clock that only moves when the engine ticks. Since
+     * {@link Commands} is shared, the clock replaces the one used by every
+     * Chao until the engine is closed, which puts the previous clock back.
+     *
+     * @param chao The Chao to simulate
+     * @param inventory The inventory to spawn items into and consume them from
+     * @param seed The seed for item spawning
+     * @return The engine
+     */
+    public static SimulationEngine deterministic(Chao chao, Inventory inventory, long seed) {
+        SimulatedClock clock = new SimulatedClock();
+        GameClock previous = Commands.getClock();
+        Commands.setClock(clock);
+        SimulationEngine engine = new SimulationEngine(chao, inventory, new Random(seed), clock);
+        engine.replacedClock = previous;
+        return engine;
+    }
+
+    // Time --------------------------------------------------------------------
+
+    /**
+     * Advances the simulation by one fixed step of {@link #STEP_MILLIS}.
+     */
+    public void tick() {
+        elapsed += STEP_MILLIS;
+        if (clock != null) clock.advance(STEP_MILLIS);
+        if (chao.getState() != State.DEAD) {
+            if (elapsed % DECAY_INTERVAL == 0) {
+                decreaseStats();
+            }
+            if (sleeping) {
+                sleepElapsed += STEP_MILLIS;
+                if (sleepElapsed % SLEEP_INTERVAL == 0) {
+                    increaseSleep();
+                }
+            }
+            if (evolving) {
+                advanceEvolution();
+            }
+            monitorState();
+            if (spawningEnabled && chao.getState() != State.DEAD) {
+                if (elapsed % FRUIT_SPAWN_INTERVAL == 0) spawnItem(FRUIT_ITEMS);
+                if (elapsed % GIFT_SPAWN_INTERVAL == 0) spawnItem(GIFT_ITEMS);
+            }
+            if (journal != null && changedSinceRecorded()) record(CommandJournal.RecordType.TICK);
+        }
+        listener.onTick(chao.getState());
+    }
+
+    /**
+     * Advances the simulation by a number of fixed steps.
+     *
+     * @param steps The number of steps to run
+     */
+    public void tick(int steps) {
+        for (int i = 0; i < steps; i++) {
+            tick();
+        }
+    }
+
+    /**
+     * Gets the simulated time since the engine started.
+     *
+     * @return The elapsed simulated time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsed;
+    }
+
+    /**
+     * Gets the clock advanced by every step.
+     *
+     * @return The simulated clock, or null when running in real time
+     */
+    public SimulatedClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Stops listening to the Chao's stats and, for a {@link #deterministic}
+     * engine, gives {@link Commands} back the clock it had before, unless
+     * something has replaced the engine's clock since. The engine should not
+     * be ticked afterwards, since it would no longer notice the stats changing.
+     */
+    public void close() {
+        chao.getStatus().removeThresholdListener(thresholdListener);
+        if (replacedClock != null && Commands.getClock() == clock) {
+            Commands.setClock(replacedClock);
+        }
+        replacedClock = null;
+    }
+
+    // Commands ----------------------------------------------------------------
+
+    /**
+     * Plays with the Chao.
+     *
+     * @return null if the command succeeded, or the reason it failed
+     */
+    public String play() {
+        String result = Commands.play(chao);
+        if (result == null) {
+            record(CommandJournal.RecordType.PLAY);
+            listener.onStatsChanged(chao.getStatus());
+        }
+        return result;
+    }
+
+    /**
+     * Tells the Chao to go to sleep.
+     *
+     * @return true if the Chao fell asleep, false otherwise
+     */
+    public boolean sleep() {
+        Commands.sleep(chao);
+        if (chao.getState() != State.SLEEPING) return false;
+        startSleeping(false);
+        record(CommandJournal.RecordType.SLEEP);
+        return true;
+    }
+
+    /**
+     * Exercises the Chao.
+     */
+    public void exercise() {
+        Commands.exercise(chao);
+        record(CommandJournal.RecordType.EXERCISE);
+        listener.onStatsChanged(chao.getStatus());
+    }
+
+    /**
+     * Takes the Chao to the vet.
+     *
+     * @return null if the command succeeded, or the reason it failed
+     */
+    public String vet() {
+        String result = Commands.vet(chao);
+        if (result == null) {
+            record(CommandJournal.RecordType.VET);
+            listener.onStatsChanged(chao.getStatus());
+        }
+        return result;
+    }
+
+    /**
+     * Pets the Chao.
+     */
+    public void pet() {
+        Commands.pet(chao);
+        record(CommandJournal.RecordType.PET);
+        listener.onStatsChanged(chao.getStatus());
+    }
+
+    /**
+     * Bonks the Chao.
+     */
+    public void bonk() {
+        Commands.bonk(chao);
+        record(CommandJournal.RecordType.BONK);
+        listener.onStatsChanged(chao.getStatus());
+    }
+
+    /**
+     * Feeds the Chao a fruit from the inventory. Special fruits also
+     * change the Chao's alignment.
+     *
+     * @param itemName The name of the fruit
+     * @return true if the fruit was in the inventory and was consumed, false otherwise
+     */
+    public boolean feed(String itemName) {
+        if (inventory.getItemCount(itemName) <= 0) return false;
+        Item fruit = new Item(itemName);
+        if (fruit.getItemType() == ItemType.SPECIAL) {
+            Commands.feedSpecialFruit(chao, fruit);
+        } else {
+            Commands.feed(chao, fruit);
+        }
+        inventory.removeItem(itemName);
+        record(CommandJournal.RecordType.FEED);
+        recordItem(itemName);
+        listener.onStatsChanged(chao.getStatus());
+        return true;
+    }
+
+    /**
+     * Gives the Chao a gift from the inventory.
+     *
+     * @param itemName The name of the gift
+     * @return true if the gift was in the inventory and was consumed, false otherwise
+     */
+    public boolean give(String itemName) {
+        if (inventory.getItemCount(itemName) <= 0) return false;
+        Commands.give(chao, new Item(itemName));
+        inventory.removeItem(itemName);
+        record(CommandJournal.RecordType.GIVE);
+        recordItem(itemName);
+        listener.onStatsChanged(chao.getStatus());
+        return true;
+    }
+
+    /**
+     * Starts an evolution if the Chao's alignment allows it. The Chao
+     * evolves after the evolving animation and returns to normal after the
+     * post-evolution pose.
+     *
+     * @param heroEvolution true for a Hero evolution, false for a Dark evolution
+     * @return true if the evolution started, false otherwise
+     */
+    public boolean beginEvolution(boolean heroEvolution) {
+        if (chao.getState() == State.EVOLVING || chao.getState() == State.DEAD) return false;
+        ChaoType type = chao.getType();
+        int alignment = chao.getAlignment();
+        boolean canEvolve = (heroEvolution && type != ChaoType.HERO && alignment >= 7) ||
+                (!heroEvolution && type != ChaoType.DARK && alignment <= -7);
+        if (!canEvolve) return false;
+
+        State oldState = chao.getState();
+        chao.setState(State.EVOLVING);
+        sleeping = false; // Can't sleep while evolving
+        evolving = true;
+        this.heroEvolution = heroEvolution;
+        evolutionElapsed = 0;
+        record(CommandJournal.RecordType.EVOLVE);
+        listener.onStateChanged(oldState, State.EVOLVING);
+        return true;
+    }
+
+    /**
+     * Adds points to the score.
+     *
+     * @param points The points to add, or a negative number to take away
+     */
+    public void awardScore(int points) {
+        if (score == null) return;
+        score.updateScore(points);
+        if (journal != null) journal.recordScore(score.getScore());
+    }
+
+    /**
+     * Marks the Chao as dead if its health has run out.
+     *
+     * @return true if the Chao is dead, false otherwise
+     */
+    public boolean checkDeath() {
+        if (chao.getState() == State.DEAD) return true;
+        if (!chao.getStatus().isDead()) return false;
+
+        State oldState = chao.getState();
+        chao.setState(State.DEAD);
+        sleeping = false;
+        evolving = false;
+        record(CommandJournal.RecordType.TICK);
+        listener.onStateChanged(oldState, State.DEAD);
+        listener.onDeath();
+        return true;
+    }
+
+    // Accessors ---------------------------------------------------------------
+
+    /**
+     * Gets the Chao being simulated.
+     *
+     * @return The Chao
+     */
+    public Chao getChao() {
+        return chao;
+    }
+
+    /**
+     * Gets the inventory items are spawned into.
+     *
+     * @return The inventory
+     */
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    /**
+     * Checks if the Chao is sleeping.
+     *
+     * @return true if the Chao is sleeping, false otherwise
+     */
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    /**
+     * Sets the score awarded by {@link #awardScore}.
+     *
+     * @param score The score, or null for none
+     */
+    public void setScore(Score score) {
+        this.score = score;
+    }
+
+    /**
+     * Sets the journal every change is recorded to.
+     *
+     * @param journal The journal, or null for none
+     */
+    public void setJournal(CommandJournal journal) {
+        this.journal = journal;
+        markRecorded();
+    }
+
+    /**
+     * Sets the observer notified of everything that happens.
+     *
+     * @param listener The observer, or null for none
+     */
+    public void setListener(SimulationListener listener) {
+        this.listener = (listener != null) ? listener : new SimulationListener() {};
+    }
+
+    /**
+     * Sets a check the engine consults before changing the Chao's state.
+     * While it returns true the state is only allowed to change out of ANGRY,
+     * which lets a view finish a temporary animation first.
+     *
+     * @param stateHold The check, or null for none
+     */
+    public void setStateHold(BooleanSupplier stateHold) {
+        this.stateHold = (stateHold != null) ? stateHold : () -> false;
+    }
+
+    /**
+     * Turns the item spawner on or off.
+     *
+     * @param spawningEnabled true to spawn items, false otherwise
+     */
+    public void setSpawningEnabled(boolean spawningEnabled) {
+        this.spawningEnabled = spawningEnabled;
+    }
+
+    // Rules -------------------------------------------------------------------
+
+    /**
+     * Applies natural stat decay and checks for death caused by it.
+     */
+    private void decreaseStats() {
+        int prevHealth = chao.getStatus().getHealth();
+        Commands.applyNaturalDecay(chao);
+        listener.onStatsChanged(chao.getStatus());
+
+        monitorState(); // Re-evaluate state immediately if a threshold was crossed
+
+        if (prevHealth > 0 && chao.getStatus().isDead()) {
+            checkDeath();
+        }
+    }
+
+    /**
+     * Restores sleep while sleeping and wakes the Chao once sleep is full.
+     */
+    private void increaseSleep() {
+        if (chao.getStatus().getSleep() < 100) {
+            chao.getStatus().adjustSleep(SLEEP_GAIN);
+            listener.onStatsChanged(chao.getStatus());
+        } else {
+            wakeUp(false);
+        }
+    }
+
+    /**
+     * Puts the Chao to sleep.
+     *
+     * @param exhausted true if the Chao collapsed from exhaustion
+     */
+    private void startSleeping(boolean exhausted) {
+        State oldState = chao.getState();
+        chao.setState(State.SLEEPING);
+        sleeping = true;
+        sleepElapsed = 0;
+        if (oldState != State.SLEEPING) listener.onStateChanged(oldState, State.SLEEPING);
+        listener.onFellAsleep(exhausted);
+    }
+
+    /**
+     * Wakes the Chao and re-evaluates its state.
+     *
+     * @param forced true if the Chao woke before its sleep was full
+     */
+    private void wakeUp(boolean forced) {
+        if (!sleeping) return;
+        sleeping = false;
+        stateDirty = true;
+        monitorState();
+        listener.onWokeUp(forced);
+    }
+
+    /**
+     * Moves an evolution in progress through its evolving and pose phases.
+     */
+    private void advanceEvolution() {
+        evolutionElapsed += STEP_MILLIS;
+        if (evolutionElapsed == EVOLUTION_DURATION) {
+            if (chao.getState() != State.EVOLVING) {
+                evolving = false; // Interrupted
+                return;
+            }
+            chao.evolve();
+            record(CommandJournal.RecordType.EVOLVE);
+            listener.onEvolved(chao.getType(), heroEvolution);
+        } else if (evolutionElapsed >= EVOLUTION_DURATION + EVOLUTION_POSE_DURATION) {
+            evolving = false;
+            if (chao.getState() == State.EVOLVING) {
+                chao.setState(State.NORMAL);
+                listener.onStateChanged(State.EVOLVING, State.NORMAL);
+            }
+            listener.onEvolutionFinished();
+        }
+    }
+
+    /**
+     * Determines the Chao's logical state from its stats and applies it, if
+     * a threshold has been crossed or the state has changed since it was
+     * last evaluated.
+     */
+    private void monitorState() {
+        State currentState = chao.getState();
+        if (!stateDirty && currentState == evaluatedState) return;
+        if (currentState == State.DEAD || currentState == State.EVOLVING) {
+            stateDirty = false;
+            evaluatedState = currentState;
+            return;
+        }
+
+        // Don't change logical state while the view holds it (unless ANGRY); evaluate once it lets go
+        if (stateHold.getAsBoolean() && currentState != State.ANGRY) {
+            stateDirty = true;
+            return;
+        }
+
+        Status status = chao.getStatus();
+        State determinedState = ChaoStateMachine.next(currentState, sleeping, status);
+
+        // Fall asleep from exhaustion
+        if (!sleeping && ChaoStateMachine.isCollapse(currentState, determinedState)) {
+            stateDirty = true; // Evaluated again once asleep or dead
+            status.adjustHealth(EXHAUSTION_HEALTH);
+            listener.onStatsChanged(status);
+            if (checkDeath()) return;
+            startSleeping(true);
+            return;
+        }
+
+        // A transition can lead to another, e.g. NORMAL to HUNGRY after leaving ANGRY, taken on the next step
+        stateDirty = (determinedState != currentState);
+        evaluatedState = determinedState;
+        if (determinedState != currentState) {
+            chao.setState(determinedState);
+            listener.onStateChanged(currentState, determinedState);
+        }
+    }
+
+    /**
+     * Adds a random item from a pool to the inventory.
+     *
+     * @param itemPool The item names to choose from
+     */
+    private void spawnItem(List<String> itemPool) {
+        String itemName = itemPool.get(random.nextInt(itemPool.size()));
+        inventory.addItem(itemName, 1);
+        recordItem(itemName);
+        listener.onItemSpawned(itemName);
+    }
+
+    /**
+     * Records the Chao to the journal, if one is kept.
+     *
+     * @param type What caused the record
+     */
+    private void record(CommandJournal.RecordType type) {
+        if (journal == null) return;
+        journal.recordChao(type, chao);
+        markRecorded();
+    }
+
+    /**
+     * Records an item's current count to the journal, if one is kept.
+     *
+     * @param itemName The name of the item
+     */
+    private void recordItem(String itemName) {
+        if (journal != null) journal.recordItem(itemName, inventory.getItemCount(itemName));
+    }
+
+    /**
+     * Checks if anything a Chao record holds has changed since the Chao
+     * was last recorded, so unchanged ticks are not journaled.
+     *
+     * @return true if the Chao changed, false otherwise
+     */
+    private boolean changedSinceRecorded() {
+        Status status = chao.getStatus();
+        return lastRecorded[0] != chao.getType().ordinal()
+                || lastRecorded[1] != chao.getState().ordinal()
+                || lastRecorded[2] != chao.getAlignment()
+                || lastRecorded[3] != status.getHappiness()
+                || lastRecorded[4] != status.getHealth()
+                || lastRecorded[5] != status.getFullness()
+                || lastRecorded[6] != status.getSleep();
+    }
+
+    /**
+     * Remembers the Chao as it is now recorded.
+     */
+    private void markRecorded() {
+        Status status = chao.getStatus();
+        lastRecorded[0] = chao.getType().ordinal();
+        lastRecorded[1] = chao.getState().ordinal();
+        lastRecorded[2] = chao.getAlignment();
+        lastRecorded[3] = status.getHappiness();
+        lastRecorded[4] = status.getHealth();
+        lastRecorded[5] = status.getFullness();
+        lastRecorded[6] = status.getSleep();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.chaotopia.Model;
+
+/**
+ * Observer of a {@link SimulationEngine}.
+ * <br><br>
+ * The engine reports everything that happens to its Chao through these
+ * callbacks, so a view (such as the gameplay screen) can mirror the
+ * simulation without driving any of its rules. Every method has an empty
+ * default implementation so observers only override what they display.
+ *
+ * @author Rosaline Scully
+ */
+public interface SimulationListener {
+
+    /**
+     * Called after every fixed step, once the step's rules have been applied.
+     *
+     * @param state The Chao's logical state at the end of the step
+     */
+    default void onTick(State state) {}
+
+    /**
+     * Called when any of the Chao's stats change.
+     *
+     * @param status The Chao's current stats
+     */
+    default void onStatsChanged(Status status) {}
+
+    /**
+     * Called when the engine changes the Chao's logical state.
+     *
+     * @param oldState The state before the change
+     * @param newState The state after the change
+     */
+    default void onStateChanged(State oldState, State newState) {}
+
+    /**
+     * Called when the Chao goes to sleep.
+     *
+     * @param exhausted true if the Chao collapsed from exhaustion, false if told to sleep
+     */
+    default void onFellAsleep(boolean exhausted) {}
+
+    /**
+     * Called when the Chao wakes up.
+     *
+     * @param forced true if the Chao woke before its sleep was full
+     */
+    default void onWokeUp(boolean forced) {}
+
+    /**
+     * Called once when the Chao dies.
+     */
+    default void onDeath() {}
+
+    /**
+     * Called when an item is added to the inventory by the item spawner.
+     *
+     * @param itemName The name of the spawned item
+     */
+    default void onItemSpawned(String itemName) {}
+
+    /**
+     * Called when an evolution has been applied to the Chao.
+     *
+     * @param newType The Chao's type after evolving
+     * @param heroEvolution true for a Hero evolution, false for a Dark evolution
+     */
+    default void onEvolved(ChaoType newType, boolean heroEvolution) {}
+
+    /**
+     * Called when the post-evolution pose ends and the Chao can be
+     * interacted with again.
+     */
+    default void onEvolutionFinished() {}
+}
@@ -0,0 +1,533 @@
+package com.example.chaotopia.Model;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Static entity holding a small summary of every save slot, so menus can
+ * show the slots without reading the save files.
+ * <br><br>
+ * Each {@link Entry} holds whether the slot is active along with its Chao's
+ * name and type, the score, the playtime, the number of sessions and when it
+ * was last played. The index is kept in memory and in one JSON file. If the
+ * index file is missing, such as for saves made before it existed, it is
+ * rebuilt once by scanning the save directory; after that, listing slots
+ * never touches the save files.
+ * <br><br>
+ * Every save changes its slot's entry, if only the time it was last played,
+ * so writing the whole file each time would cost a write per save that grows
+ * with the number of slots. Only adding, removing or emptying a slot writes
+ * the file straight away. Other changes are written on a background thread
+ * at most once every {@link #STORE_DELAY_MILLIS}, and {@link #flush} writes
+ * any that are left when the game closes. A crash loses at most those
+ * recent values, and each slot's entry is corrected the next time it loads.
+ * <br><br>
+ * There is no limit on the number of slots. Menus show them a page at a time
+ * with {@link #getRange}, most recently played first.
+ *
+ * @author Rosaline Scully
+ */
+public final class SlotIndex {
+    /** Path for the index file. */
+    public static final String INDEX_FILE = GameFile.SAVES_DIR + "slot_index.json";
+
+    /** How long a changed entry may wait before the index file is written, in milliseconds. */
+    public static final long STORE_DELAY_MILLIS = 2000;
+
+    /** Save file names, capturing the slot ID. */
+    private static final Pattern SAVE_FILE = Pattern.compile("slot_(\\d+)\\.(json|sav)(\\.bak)?");
+
+    /** The entries by slot ID, or null until the index file has been read. */
+    private static TreeMap<Integer, Entry> entries;
+    /** The active entries, most recently played first, or null until next needed. */
+    private static List<Entry> byLastPlayed;
+    /** The number of times the entries have changed. */
+    private static long version;
+    /** The version last written to the index file. Guarded by writeLock. */
+    private static long storedVersion;
+    /** Whether a delayed write of the index file is scheduled. */
+    private static boolean storeScheduled;
+    /** Runs the delayed writes, started on first use. */
+    private static ScheduledExecutorService writer;
+    /** Serializes writes of the index file, so an older copy never replaces a newer one. */
+    private static final Object writeLock = new Object();
+
+    /**
+     * Summary of one save slot.
+     */
+    public static final class Entry {
+        /** The ID of the save slot. */
+        private final int slotId;
+        /** Whether the slot holds a game. */
+        private final boolean active;
+        /** The Chao's name, or null if the slot has no Chao. */
+        private final String name;
+        /** The Chao's type, or null if the slot has no Chao. */
+        private final ChaoType type;
+        /** The score. */
+        private final int score;
+        /** Total playtime. */
+        private final long playtime;
+        /** Number of play sessions. */
+        private final int numSessions;
+        /** Wall clock time the slot was last saved in epoch milliseconds, or 0 if unknown. */
+        private final long lastPlayed;
+
+        /**
+         * Constructs an entry.
+         *
+         * @param slotId The ID of the save slot
+         * @param active Whether the slot holds a game
+         * @param name The Chao's name, or null if the slot has no Chao
+         * @param type The Chao's type, or null if the slot has no Chao
+         * @param score The score
+         * @param playtime Total playtime
+         * @param numSessions Number of play sessions
+         * @param lastPlayed Time the slot was last saved in epoch milliseconds, or 0 if unknown
+         */
+        public Entry(int slotId, boolean active, String name, ChaoType type,
+                     int score, long playtime, int numSessions, long lastPlayed) {
+            this.slotId = slotId;
+            this.active = active;
+            this.name = name;
+            this.type = type;
+            this.score = score;
+            this.playtime = playtime;
+            this.numSessions = numSessions;
+            this.lastPlayed = lastPlayed;
+        }
+
+        /**
+         * Gets the ID of the save slot.
+         *
+         * @return The slot ID
+         */
+        public int getSlotId() {
+            return slotId;
+        }
+
+        /**
+         * Checks if the slot holds a game.
+         *
+         * @return true if the slot is active, false otherwise
+         */
+        public boolean isActive() {
+            return active;
+        }
+
+        /**
+         * Gets the Chao's name.
+         *
+         * @return The name, or null if the slot has no Chao
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the Chao's type.
+         *
+         * @return The type, or null if the slot has no Chao
+         */
+        public ChaoType getType() {
+            return type;
+        }
+
+        /**
+         * Gets the score.
+         *
+         * @return The score
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Gets the total playtime.
+         *
+         * @return The playtime
+         */
+        public long getPlaytime() {
+            return playtime;
+        }
+
+        /**
+         * Gets the number of play sessions.
+         *
+         * @return The number of sessions
+         */
+        public int getNumSessions() {
+            return numSessions;
+        }
+
+        /**
+         * Gets when the slot was last played.
+         *
+         * @return The time it was last saved in epoch milliseconds, or 0 if unknown
+         */
+        public long getLastPlayed() {
+            return lastPlayed;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Entry)) return false;
+            Entry entry = (Entry) other;
+            return slotId == entry.slotId && active == entry.active && Objects.equals(name, entry.name)
+                    && type == entry.type && score == entry.score && playtime == entry.playtime
+                    && numSessions == entry.numSessions && lastPlayed == entry.lastPlayed;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(slotId, active, name, type, score, playtime, numSessions, lastPlayed);
+        }
+    }
+
+    /**
+     * Constructor method for the slot index.
+     * Cannot be called due to the class being static.
+     */
+    private SlotIndex() {}
+
+    /**
+     * Gets the summary of a save slot. A slot with a save file but no entry is
+     * read once to build one.
+     *
+     * @param slotId The save slot
+     * @return The slot's entry, or null if the slot has no save
+     */
+    public static synchronized Entry get(int slotId) {
+        Entry entry = loadEntries().get(slotId);
+        if (entry == null && hasSaveFile(slotId)) {
+            entry = index(slotId);
+            store();
+        }
+        return entry;
+    }
+
+    /**
+     * Gets a run of the active slots, most recently played first, for
+     * showing one page of them.
+     *
+     * @param from The position of the first slot, starting at 0
+     * @param count The most slots to get
+     * @return The entries, which is empty past the last active slot
+     */
+    public static synchronized List<Entry> getRange(int from, int count) {
+        List<Entry> sorted = sortedByLastPlayed();
+        int start = Math.min(sorted.size(), Math.max(0, from));
+        int end = Math.min(sorted.size(), start + Math.max(0, count));
+        return new ArrayList<>(sorted.subList(start, end));
+    }
+
+    /**
+     * Gets the number of active slots.
+     *
+     * @return The number of slots holding a game
+     */
+    public static synchronized int getActiveCount() {
+        return sortedByLastPlayed().size();
+    }
+
+    /**
+     * Gets a slot ID that has never been used, for a new game.
+     *
+     * @return A free slot ID
+     */
+    public static synchronized int nextFreeSlotId() {
+        int slotId = loadEntries().isEmpty() ? 0 : entries.lastKey() + 1;
+        while (hasSaveFile(slotId)) slotId++;
+        return slotId;
+    }
+
+    /**
+     * Gets the summaries of every slot in the index, in slot order.
+     *
+     * @return The entries
+     */
+    public static synchronized List<Entry> getEntries() {
+        return new ArrayList<>(loadEntries().values());
+    }
+
+    /**
+     * Checks if a slot is empty, using the index.
+     *
+     * @param slotId The save slot
+     * @return true if the slot has no active game, false otherwise
+     */
+    public static boolean isEmptySlot(int slotId) {
+        Entry entry = get(slotId);
+        return entry == null || !entry.isActive();
+    }
+
+    /**
+     * Removes a slot from the index. Called when the slot is deleted.
+     *
+     * @param slotId The save slot
+     */
+    public static synchronized void remove(int slotId) {
+        if (loadEntries().remove(slotId) != null) {
+            byLastPlayed = null;
+            store();
+        }
+    }
+
+    /**
+     * Forgets the index held in memory, so it is read again on next use.
+     */
+    public static synchronized void reload() {
+        if (entries != null) write(new ArrayList<>(entries.values()), version); // Keep changes not yet written
+        entries = null;
+        byLastPlayed = null;
+    }
+
+    /**
+     * Rebuilds the whole index by scanning the save directory.
+     */
+    public static synchronized void rebuild() {
+        entries = new TreeMap<>();
+        byLastPlayed = null;
+        scanSaves();
+        store();
+    }
+
+    /**
+     * Writes any changed entries to the index file now, instead of waiting
+     * for the delayed write. Called when the game closes.
+     */
+    public static void flush() {
+        List<Entry> snapshot;
+        long snapshotVersion;
+        synchronized (SlotIndex.class) {
+            storeScheduled = false;
+            if (entries == null) return;
+            snapshot = new ArrayList<>(entries.values());
+            snapshotVersion = version;
+        }
+        // Written without holding the index, so menus can read it meanwhile
+        write(snapshot, snapshotVersion);
+    }
+
+    // Package-private methods -------------------------------------------------
+
+    /**
+     * Updates a slot's entry from its save data. A new slot, or one that
+     * became empty or active, is written to the index file straight away;
+     * any other change is written by the next delayed write.
+     *
+     * @param data The slot's save data
+     */
+    static synchronized void update(SaveData data) {
+        Chao chao = data.chao;
+        Entry entry = new Entry(data.slotId, data.active,
+                (chao != null) ? chao.getName() : null,
+                (chao != null) ? chao.getType() : null,
+                (data.score != null) ? data.score.getScore() : 0,
+                data.playtime, data.numSessions, data.lastSaved);
+        Entry previous = loadEntries().put(data.slotId, entry);
+        if (entry.equals(previous)) return;
+
+        byLastPlayed = null;
+        if (previous == null || previous.active != entry.active) {
+            store();
+        } else {
+            storeLater();
+        }
+    }
+
+    // Private methods ---------------------------------------------------------
+
+    /**
+     * Reads a slot's save file to build its entry. A save that cannot be read
+     * is indexed as empty, matching {@link GameFile#isEmptySlot}.
+     *
+     * @param slotId The save slot
+     * @return The slot's new entry
+     */
+    private static Entry index(int slotId) {
+        Entry entry;
+        try {
+            SaveData data = GameFile.readSummary(slotId);
+            Chao chao = data.chao;
+            entry = new Entry(slotId, data.active,
+                    (chao != null) ? chao.getName() : null,
+                    (chao != null) ? chao.getType() : null,
+                    (data.score != null) ? data.score.getScore() : 0,
+                    data.playtime, data.numSessions, data.lastSaved);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error indexing slot " + slotId + ": " + e.getMessage());
+            entry = new Entry(slotId, false, null, null, 0, 0L, 0, 0L);
+        }
+        loadEntries().put(slotId, entry);
+        byLastPlayed = null;
+        return entry;
+    }
+
+    /**
+     * Indexes every save file in the save directory, and every slot in the
+     * mapped store, that has no entry.
+     */
+    private static void scanSaves() {
+        Path dir = Paths.get(GameFile.SAVES_DIR);
+        if (!Files.isDirectory(dir)) return;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "slot_*")) {
+            for (Path file : files) {
+                Matcher matcher = SAVE_FILE.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    int slotId = Integer.parseInt(matcher.group(1));
+                    if (!entries.containsKey(slotId)) index(slotId);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Error scanning saves: " + e.getMessage());
+        }
+        for (int slotId : MappedSlotStore.getSlotIds()) {
+            if (!entries.containsKey(slotId)) index(slotId);
+        }
+    }
+
+    /**
+     * Gets the active entries, most recently played first, sorting them
+     * only when the index has changed.
+     *
+     * @return The sorted active entries
+     */
+    private static List<Entry> sortedByLastPlayed() {
+        if (byLastPlayed == null) {
+            byLastPlayed = new ArrayList<>();
+            for (Entry entry : loadEntries().values()) {
+                if (entry.isActive()) byLastPlayed.add(entry);
+            }
+            byLastPlayed.sort(Comparator.comparingLong(Entry::getLastPlayed).reversed()
+                    .thenComparingInt(Entry::getSlotId));
+        }
+        return byLastPlayed;
+    }
+
+    /**
+     * Checks if a slot has a save in any format.
+     *
+     * @param slotId The save slot
+     * @return true if a save file or its backup exists or the slot is in the
+     *         mapped store, false otherwise
+     */
+    private static boolean hasSaveFile(int slotId) {
+        return GameFile.findSave(slotId) != null;
+    }
+
+    /**
+     * Reads the index file if it has not been read yet. A missing or
+     * corrupted index is rebuilt from the save directory.
+     *
+     * @return The entries by slot ID
+     */
+    private static Map<Integer, Entry> loadEntries() {
+        if (entries != null) return entries;
+        entries = new TreeMap<>();
+
+        Path path = Paths.get(INDEX_FILE);
+        if (!Files.exists(path)) {
+            rebuild();
+            return entries;
+        }
+        try {
+            JSONObject slots = new JSONObject(Files.readString(path)).getJSONObject("slots");
+            for (String key : slots.keySet()) {
+                JSONObject slot = slots.getJSONObject(key);
+                int slotId = Integer.parseInt(key);
+                entries.put(slotId, new Entry(slotId,
+                        slot.getBoolean("active"),
+                        slot.optString("name", null),
+                        slot.has("type") ? ChaoType.valueOf(slot.getString("type")) : null,
+                        slot.getInt("score"),
+                        slot.getLong("playtime"),
+                        slot.getInt("numSessions"),
+                        slot.optLong("lastPlayed", 0L)));
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading slot index, rebuilding it: " + e.getMessage());
+            rebuild();
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the index file now. Used for changes that must not be lost,
+     * such as a slot being added or removed.
+     */
+    private static void store() {
+        version++;
+        write(new ArrayList<>(entries.values()), version);
+    }
+
+    /**
+     * Schedules a write of the index file, unless one is already scheduled.
+     */
+    private static void storeLater() {
+        version++;
+        if (storeScheduled) return;
+        storeScheduled = true;
+        if (writer == null) {
+            writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "slot-index-writer");
+                thread.setDaemon(true); // flush() writes what is left when the game closes
+                return thread;
+            });
+        }
+        writer.schedule(SlotIndex::flush, STORE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes a copy of the entries to the index file, unless a newer copy
+     * has already been written.
+     *
+     * @param snapshot The entries
+     * @param snapshotVersion The version the entries were copied at
+     */
+    private static void write(List<Entry> snapshot, long snapshotVersion) {
+        synchronized (writeLock) {
+            if (snapshotVersion <= storedVersion) return;
+
+            JSONObject slots = new JSONObject();
+            for (Entry entry : snapshot) {
+                JSONObject slot = new JSONObject()
+                        .put("active", entry.active)
+                        .put("score", entry.score)
+                        .put("playtime", entry.playtime)
+                        .put("numSessions", entry.numSessions)
+                        .put("lastPlayed", entry.lastPlayed);
+                if (entry.name != null) slot.put("name", entry.name);
+                if (entry.type != null) slot.put("type", entry.type.toString());
+                slots.put(String.valueOf(entry.slotId), slot);
+            }
+
+            try {
+                byte[] json = new JSONObject().put("slots", slots).toString(4).getBytes(StandardCharsets.UTF_8);
+                AtomicFileWriter.write(Paths.get(INDEX_FILE), json);
+                storedVersion = snapshotVersion;
+            } catch (IOException e) {
+                System.err.println("Error writing slot index: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+}
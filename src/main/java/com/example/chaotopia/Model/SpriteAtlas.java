@@ -0,0 +1,149 @@
+package com.example.chaotopia.Model;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A texture atlas holding a set of animation frames packed into one image.
+ * <br><br>
+ * Frames are packed row by row (shelf packing) the first time the atlas is
+ * built with {@link #pack}, and each frame is remembered by name together
+ * with its region of the atlas. An {@link ImageView} switches between frames
+ * by changing its viewport with {@link #applyTo}, so the same image stays
+ * attached to the view for the whole animation.
+ *
+ * @author Rosaline Scully
+ */
+public final class SpriteAtlas {
+    /** The widest a row of frames may grow before a new row is started. */
+    private static final int MAX_ROW_WIDTH = 2048;
+
+    /** The packed image holding every frame. */
+    private final Image image;
+    /** The region of the atlas occupied by each frame, by frame name. */
+    private final Map<String, Rectangle2D> index;
+
+    /**
+     * Constructs an atlas from an already packed image and its index.
+     *
+     * @param image The packed image
+     * @param index The region of each frame within the image
+     */
+    private SpriteAtlas(Image image, Map<String, Rectangle2D> index) {
+        this.image = image;
+        this.index = index;
+    }
+
+    /**
+     * Decodes the given frames and packs them into a single atlas.
+     * The individual frame images are discarded once they are copied.
+     *
+     * @param framePaths Classpath resource path of each frame, by frame name
+     * @return The packed atlas
+     * @throws IllegalArgumentException If a frame resource does not exist
+     */
+    public static SpriteAtlas pack(LinkedHashMap<String, String> framePaths) {
+        List<String> names = new ArrayList<>(framePaths.keySet());
+        List<Image> frames = new ArrayList<>();
+        for (String name : names) {
+            frames.add(decode(framePaths.get(name)));
+        }
+
+        // Lay the frames out in rows no wider than MAX_ROW_WIDTH
+        Map<String, Rectangle2D> index = new HashMap<>();
+        int x = 0;
+        int y = 0;
+        int rowHeight = 0;
+        int atlasWidth = 0;
+        for (int i = 0; i < frames.size(); i++) {
+            int width = (int) frames.get(i).getWidth();
+            int height = (int) frames.get(i).getHeight();
+            if (x > 0 && x + width > MAX_ROW_WIDTH) {
+                x = 0;
+                y += rowHeight;
+                rowHeight = 0;
+            }
+            index.put(names.get(i), new Rectangle2D(x, y, width, height));
+            x += width;
+            rowHeight = Math.max(rowHeight, height);
+            atlasWidth = Math.max(atlasWidth, x);
+        }
+        int atlasHeight = y + rowHeight;
+
+        // Copy every frame into its region
+        WritableImage atlas = new WritableImage(Math.max(atlasWidth, 1), Math.max(atlasHeight, 1));
+        PixelWriter writer = atlas.getPixelWriter();
+        for (int i = 0; i < frames.size(); i++) {
+            Image frame = frames.get(i);
+            PixelReader reader = frame.getPixelReader();
+            Rectangle2D region = index.get(names.get(i));
+            writer.setPixels((int) region.getMinX(), (int) region.getMinY(),
+                    (int) region.getWidth(), (int) region.getHeight(), reader, 0, 0);
+        }
+        return new SpriteAtlas(atlas, index);
+    }
+
+    /**
+     * Gets the packed atlas image.
+     *
+     * @return The atlas image
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * Gets the region of the atlas occupied by a frame.
+     *
+     * @param frameName The name the frame was packed under
+     * @return The frame's region, or null if the atlas has no such frame
+     */
+    public Rectangle2D getRegion(String frameName) {
+        return index.get(frameName);
+    }
+
+    /**
+     * Shows a frame in an ImageView by pointing its viewport at the frame's
+     * region. The atlas image is only attached if the view is not already
+     * showing it.
+     *
+     * @param view The ImageView to update
+     * @param frameName The name the frame was packed under
+     * @throws IllegalArgumentException If the atlas has no such frame
+     */
+    public void applyTo(ImageView view, String frameName) {
+        Rectangle2D region = index.get(frameName);
+        if (region == null) {
+            throw new IllegalArgumentException("Frame not in atlas: " + frameName);
+        }
+        if (view.getImage() != image) {
+            view.setImage(image);
+        }
+        view.setViewport(region);
+    }
+
+    /**
+     * Loads a single frame from the classpath.
+     *
+     * @param path The resource path of the frame
+     * @return The decoded frame
+     */
+    private static Image decode(String path) {
+        URL resourceUrl = SpriteAtlas.class.getResource(path);
+        if (resourceUrl == null) {
+            throw new IllegalArgumentException("Sprite frame not found: " + path);
+        }
+        return new Image(resourceUrl.toExternalForm());
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.chaotopia.Model;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of packed sprite atlases.
+ * <br><br>
+ * Every {@link ChaoType} and {@link FruitType} has one {@link SpriteAtlas}
+ * holding all of its animation frames. An atlas is packed the first time it
+ * is needed (or ahead of time with {@link #preload}), and frames are then
+ * shown by moving an ImageView's viewport with {@link #showFrame} or
+ * {@link #showFruitFrame} instead of decoding a new image. The cache is
+ * bounded and evicts the least recently used atlas once
+ * {@link #MAX_ATLASES} is exceeded.
+ * <br><br>
+ * Atlases are packed outside the cache's lock, so several threads can
+ * pack different atlases at once. Single images such as button graphics
+ * are cached by path with {@link #getImage}.
+ *
+ * @author Rosaline Scully
+ */
+public final class SpriteCache {
+    /** Path template for sprite frames: /sprites/CHAOTYPE/ANIMATIONSTATE1.png */
+    private static final String SPRITE_PATH = "/com/example/chaotopia/sprites/%s/%s%d.png";
+    /** Path template for fruit frames: /fruits/FRUITTYPE/frame1.png */
+    private static final String FRUIT_PATH = "/com/example/chaotopia/fruits/%s/frame%d.png";
+
+    /** Number of drawn frames in every fruit animation. */
+    public static final int FRUIT_FRAMES = 5;
+
+    /** Maximum number of atlases kept in memory (one per Chao type and fruit type fits). */
+    private static final int MAX_ATLASES = 10;
+
+    /** The packed atlases, in least recently used order. */
+    private static final Map<String, SpriteAtlas> atlases =
+            new LinkedHashMap<>(MAX_ATLASES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SpriteAtlas> eldest) {
+                    return size() > MAX_ATLASES;
+                }
+            };
+
+    /** Single decoded images, by resource path. */
+    private static final Map<String, Image> images = new HashMap<>();
+
+    /**
+     * Constructor for the sprite cache.
+     * Cannot be called due to the class being static.
+     */
+    private SpriteCache() {}
+
+    /**
+     * Gets the atlas holding every animation frame of a Chao type,
+     * packing it on first use.
+     *
+     * @param chaoType The type of Chao
+     * @return The Chao type's atlas
+     * @throws IllegalArgumentException If a frame resource does not exist
+     */
+    public static SpriteAtlas getAtlas(ChaoType chaoType) {
+        String key = "sprites/" + chaoType.getResourceName();
+        SpriteAtlas atlas = lookup(key);
+        if (atlas == null) {
+            LinkedHashMap<String, String> framePaths = new LinkedHashMap<>();
+            for (AnimationState animationState : AnimationState.values()) {
+                for (int frame = 1; frame <= animationState.getFrameCount(); frame++) {
+                    // EVOLVING shares the SIT sprites, so only pack them once
+                    framePaths.putIfAbsent(getFrameName(animationState, frame),
+                            getFramePath(chaoType, animationState, frame));
+                }
+            }
+            atlas = store(key, SpriteAtlas.pack(framePaths));
+        }
+        return atlas;
+    }
+
+    /**
+     * Gets the atlas holding every animation frame of a fruit type,
+     * packing it on first use.
+     *
+     * @param fruitType The type of fruit
+     * @return The fruit type's atlas
+     * @throws IllegalArgumentException If a frame resource does not exist
+     */
+    public static SpriteAtlas getFruitAtlas(FruitType fruitType) {
+        String key = "fruits/" + fruitType.getResourceName();
+        SpriteAtlas atlas = lookup(key);
+        if (atlas == null) {
+            LinkedHashMap<String, String> framePaths = new LinkedHashMap<>();
+            for (int frame = 1; frame <= FRUIT_FRAMES; frame++) {
+                framePaths.put("frame" + frame, getFruitFramePath(fruitType, frame));
+            }
+            atlas = store(key, SpriteAtlas.pack(framePaths));
+        }
+        return atlas;
+    }
+
+    /**
+     * Gets a single image, decoding it on first use.
+     *
+     * @param path The classpath resource path of the image
+     * @return The decoded image
+     * @throws IllegalArgumentException If the image resource does not exist
+     */
+    public static Image getImage(String path) {
+        synchronized (SpriteCache.class) {
+            Image image = images.get(path);
+            if (image != null) return image;
+        }
+        URL resourceUrl = SpriteCache.class.getResource(path);
+        if (resourceUrl == null) {
+            throw new IllegalArgumentException("Image not found: " + path);
+        }
+        Image image = new Image(resourceUrl.toExternalForm());
+        synchronized (SpriteCache.class) {
+            // Another thread may have decoded it meanwhile; keep the first
+            return images.computeIfAbsent(path, p -> image);
+        }
+    }
+
+    /**
+     * Shows a Chao sprite frame in an ImageView.
+     *
+     * @param view The ImageView to update
+     * @param chaoType The type of Chao
+     * @param animationState The animation the frame belongs to
+     * @param frame The frame number, starting at 1
+     */
+    public static void showFrame(ImageView view, ChaoType chaoType, AnimationState animationState, int frame) {
+        getAtlas(chaoType).applyTo(view, getFrameName(animationState, frame));
+    }
+
+    /**
+     * Shows a fruit animation frame in an ImageView.
+     *
+     * @param view The ImageView to update
+     * @param fruitType The type of fruit
+     * @param frame The frame number, from 1 to {@link #FRUIT_FRAMES}
+     */
+    public static void showFruitFrame(ImageView view, FruitType fruitType, int frame) {
+        getFruitAtlas(fruitType).applyTo(view, "frame" + frame);
+    }
+
+    /**
+     * Packs the atlas for a Chao type so later animation ticks never
+     * touch the classpath.
+     *
+     * @param chaoType The type of Chao to preload
+     */
+    public static void preload(ChaoType chaoType) {
+        getAtlas(chaoType);
+    }
+
+    /**
+     * Removes all packed atlases from the cache.
+     */
+    public static synchronized void clear() {
+        atlases.clear();
+        images.clear();
+    }
+
+    /**
+     * Gets a packed atlas if it is cached.
+     *
+     * @param key The atlas's cache key
+     * @return The atlas, or null if it has not been packed
+     */
+    private static synchronized SpriteAtlas lookup(String key) {
+        return atlases.get(key);
+    }
+
+    /**
+     * Caches a newly packed atlas. If another thread packed the same atlas
+     * meanwhile, its atlas is kept so every view shares one image.
+     *
+     * @param key The atlas's cache key
+     * @param atlas The packed atlas
+     * @return The cached atlas
+     */
+    private static synchronized SpriteAtlas store(String key, SpriteAtlas atlas) {
+        SpriteAtlas existing = atlases.get(key);
+        if (existing != null) return existing;
+        atlases.put(key, atlas);
+        return atlas;
+    }
+
+    /**
+     * Gets the resource path of a sprite frame.
+     *
+     * @param chaoType The type of Chao
+     * @param animationState The animation the frame belongs to
+     * @param frame The frame number, starting at 1
+     * @return The classpath resource path of the frame
+     */
+    public static String getFramePath(ChaoType chaoType, AnimationState animationState, int frame) {
+        return String.format(SPRITE_PATH, chaoType.getResourceName(),
+                animationState.getResourceName(), frame);
+    }
+
+    /**
+     * Gets the resource path of a fruit frame.
+     *
+     * @param fruitType The type of fruit
+     * @param frame The frame number, starting at 1
+     * @return The classpath resource path of the frame
+     */
+    public static String getFruitFramePath(FruitType fruitType, int frame) {
+        return String.format(FRUIT_PATH, fruitType.getResourceName(), frame);
+    }
+
+    /**
+     * Gets the name a sprite frame is packed under in its atlas, e.g. "SIT1".
+     *
+     * @param animationState The animation the frame belongs to
+     * @param frame The frame number, starting at 1
+     * @return The frame's name within the atlas
+     */
+    private static String getFrameName(AnimationState animationState, int frame) {
+        return animationState.getResourceName() + frame;
+    }
+}
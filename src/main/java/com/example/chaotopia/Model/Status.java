@@ -1,11 +1,17 @@
 package com.example.chaotopia.Model;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The Status class represents the vital statistics of a Chao character.
  * It tracks sleep, health, happiness, and fullness values, ensuring they
  * remain within valid ranges (0-100).
+ * <br><br>
+ * Listeners can be told when a stat crosses one of the thresholds that
+ * decide a Chao's state: empty (0), half (50) and full (100). Changes that
+ * stay between the same thresholds are not reported, so observers only do
+ * work when the state could change.
  * @author Rosaline Scully
  */
 public class Status {
@@ -27,6 +33,42 @@ public class Status {
     /**The minimum value for any stat.*/
     private final int MIN_STAT = 0;
 
+    /**Whether any stat has changed since the status was last saved.*/
+    private boolean dirty;
+
+    /**The listeners told when a stat crosses a threshold, or null if there are none.*/
+    private List<ThresholdListener> thresholdListeners;
+
+    /**
+     * The stats a status holds.
+     */
+    public enum Stat {
+        /** The happiness stat. */
+        HAPPINESS,
+        /** The health stat. */
+        HEALTH,
+        /** The fullness stat. */
+        FULLNESS,
+        /** The sleep stat. */
+        SLEEP
+    }
+
+    /**
+     * Observer told when a stat crosses the empty (0), half (50) or full
+     * (100) threshold in either direction.
+     */
+    @FunctionalInterface
+    public interface ThresholdListener {
+        /**
+         * Called after a stat has crossed at least one threshold.
+         *
+         * @param stat The stat that changed
+         * @param oldValue The stat's value before the change
+         * @param newValue The stat's value after the change
+         */
+        void onThresholdCrossed(Stat stat, int oldValue, int newValue);
+    }
+
     /**Default constructor that initializes all stats to maximum value (100).*/
     public Status() {
         this.sleep = 100;
@@ -81,7 +123,7 @@ public class Status {
      * @param sleep the value by which to increment sleep
      */
     public void adjustSleep(int sleep) {
-        this.sleep = validateStat(this.sleep + sleep);
+        setStats(this.happiness, this.health, this.fullness, this.sleep + sleep);
     }
 
     /**
@@ -99,7 +141,7 @@ public class Status {
      * @param health the value by which to increment health
      */
     public void adjustHealth(int health) {
-        this.health = validateStat(this.health + health);
+        setStats(this.happiness, this.health + health, this.fullness, this.sleep);
     }
 
     /**
@@ -117,7 +159,7 @@ public class Status {
      * @param happiness the value by which to increment happiness
      */
     public void adjustHappiness(int happiness) {
-        this.happiness = validateStat(this.happiness + happiness);
+        setStats(this.happiness + happiness, this.health, this.fullness, this.sleep);
     }
 
     /**
@@ -135,7 +177,7 @@ public class Status {
      * @param fullness the value by which to increment fullness
      */
     public void adjustFullness(int fullness) {
-        this.fullness = validateStat(this.fullness + fullness);
+        setStats(this.happiness, this.health, this.fullness + fullness, this.sleep);
     }
 
     /**
@@ -148,10 +190,29 @@ public class Status {
      * @param sleep the new sleep value
      */
     public void setStats(int happiness, int health, int fullness, int sleep) {
-        this.sleep = validateStat(sleep);
-        this.health = validateStat(health);
-        this.happiness = validateStat(happiness);
-        this.fullness = validateStat(fullness);
+        sleep = validateStat(sleep);
+        health = validateStat(health);
+        happiness = validateStat(happiness);
+        fullness = validateStat(fullness);
+        if (sleep != this.sleep || health != this.health
+                || happiness != this.happiness || fullness != this.fullness) {
+            dirty = true;
+        }
+        int oldHappiness = this.happiness;
+        int oldHealth = this.health;
+        int oldFullness = this.fullness;
+        int oldSleep = this.sleep;
+        this.sleep = sleep;
+        this.health = health;
+        this.happiness = happiness;
+        this.fullness = fullness;
+
+        if (thresholdListeners != null) {
+            notifyIfCrossed(Stat.HAPPINESS, oldHappiness, happiness);
+            notifyIfCrossed(Stat.HEALTH, oldHealth, health);
+            notifyIfCrossed(Stat.FULLNESS, oldFullness, fullness);
+            notifyIfCrossed(Stat.SLEEP, oldSleep, sleep);
+        }
     }
 
     /**
@@ -164,10 +225,8 @@ public class Status {
      * @param sleepChange the amount to change sleep by
      */
     public void updateStats(int happinessChange, int healthChange, int fullnessChange, int sleepChange) {
-        this.happiness = validateStat(this.happiness + happinessChange);
-        this.health = validateStat(this.health + healthChange);
-        this.fullness = validateStat(this.fullness + fullnessChange);
-        this.sleep = validateStat(this.sleep + sleepChange);
+        setStats(this.happiness + happinessChange, this.health + healthChange,
+                this.fullness + fullnessChange, this.sleep + sleepChange);
     }
 
     /**
@@ -195,4 +254,70 @@ public class Status {
         return stats;
     }
 
+    /**
+     * Checks if any stat has changed since the status was last saved.
+     *
+     * @return true if there are unsaved changes, false otherwise
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks the status as saved.
+     */
+    public void markClean() {
+        dirty = false;
+    }
+
+    /**
+     * Adds a listener told when a stat crosses a threshold.
+     *
+     * @param listener The listener to add
+     */
+    public void addThresholdListener(ThresholdListener listener) {
+        if (thresholdListeners == null) thresholdListeners = new ArrayList<>();
+        thresholdListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addThresholdListener}.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeThresholdListener(ThresholdListener listener) {
+        if (thresholdListeners == null) return;
+        thresholdListeners.remove(listener);
+        if (thresholdListeners.isEmpty()) thresholdListeners = null;
+    }
+
+    /**
+     * Gets which band between the thresholds a stat value is in: empty,
+     * below half, at least half, or full.
+     *
+     * @param value The stat value
+     * @return The band, from 0 (empty) to 3 (full)
+     */
+    private static int band(int value) {
+        if (value <= 0) return 0;
+        if (value < 50) return 1;
+        if (value < 100) return 2;
+        return 3;
+    }
+
+    /**
+     * Tells the listeners about a stat change if it crossed a threshold.
+     *
+     * @param stat The stat that changed
+     * @param oldValue The stat's value before the change
+     * @param newValue The stat's value after the change
+     */
+    private void notifyIfCrossed(Stat stat, int oldValue, int newValue) {
+        if (thresholdListeners == null || band(oldValue) == band(newValue)) return;
+        // Copied so a listener can remove itself while being told
+        for (ThresholdListener listener : new ArrayList<>(thresholdListeners)) {
+            listener.onThresholdCrossed(stat, oldValue, newValue);
+        }
+    }
+
 }
\ No newline at end of file
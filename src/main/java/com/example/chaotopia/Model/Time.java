@@ -21,6 +21,8 @@ public class Time {
     private long secondStart;
     /** The current time on a 24-hour clock. */
     private java.time.LocalTime currentTime;
+    /** The clock time is measured with. */
+    private final GameClock clock;
 
     /**
      * Constructor for the time entity.
@@ -32,9 +34,21 @@ public class Time {
      * @param gameFile the game file to load from
      */
     public Time(GameFile gameFile) {
+        this(gameFile, GameClock.SYSTEM);
+    }
+
+    /**
+     * Constructor for the time entity measuring time with a given clock,
+     * such as a {@link SimulatedClock} for a reproducible run.
+     *
+     * @param gameFile the game file to load from
+     * @param clock the clock to measure time with
+     */
+    public Time(GameFile gameFile, GameClock clock) {
+        this.clock = clock;
         sessionPlaytime = 0;
-        secondStart = System.nanoTime();
-        currentTime = java.time.LocalTime.now();
+        secondStart = clock.nanoTime();
+        currentTime = clock.localTime();
     }
 
     /**
@@ -52,12 +66,12 @@ public class Time {
     public void stepTime() {
         /* If a second has passed, increase sessional playtime.
          * Reset time tracker. */
-        if (System.nanoTime() - secondStart >= SECOND) {
+        if (clock.nanoTime() - secondStart >= SECOND) {
             sessionPlaytime += 1;
-            secondStart = System.nanoTime();
+            secondStart = clock.nanoTime();
         }
         /* Update system time tracker. */
-        currentTime = java.time.LocalTime.now();
+        currentTime = clock.localTime();
     }
 
     /**
@@ -0,0 +1,149 @@
+package com.example.chaotopia.Model;
+
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+
+/**
+ * Batches view updates so each part of a screen is redrawn at most once per
+ * JavaFX pulse.
+ * <br><br>
+ * A screen divides its controls into regions, such as the status bars or
+ * the inventory, and registers a renderer for each that copies the latest
+ * model values into the controls. Model changes only mark a region dirty
+ * with {@link #markDirty}; the first mark queues a single flush on the next
+ * pulse through {@link PulseScheduler}, and every region marked before then
+ * is rendered once by that flush. However many changes arrive between two
+ * frames, at most one flush is ever pending, so a burst of input cannot
+ * build up a backlog of runnables.
+ * <br><br>
+ * Regions may be marked from any thread. Renderers always run on the JavaFX
+ * Application Thread, in the order the region enum declares them.
+ *
+ * @param <R> The enum naming the screen's regions
+ * @author Rosaline Scully
+ */
+public final class UiUpdateCoalescer<R extends Enum<R>> {
+    /** The renderer for each region. */
+    private final Map<R, Runnable> renderers;
+    /** The regions marked since the last flush. Guarded by this. */
+    private final EnumSet<R> dirty;
+    /** Whether a flush is queued. Guarded by this. */
+    private boolean flushQueued = false;
+    /** The queued flush, or null if none is scheduled on the pulse yet. Only used on the JavaFX thread. */
+    private PulseScheduler.ScheduledTask flushTask;
+
+    /**
+     * Constructs a coalescer with no renderers.
+     *
+     * @param regionType The enum class naming the screen's regions
+     */
+    public UiUpdateCoalescer(Class<R> regionType) {
+        if (regionType == null) {
+            throw new IllegalArgumentException("Region type cannot be null for UiUpdateCoalescer");
+        }
+        this.renderers = new EnumMap<>(regionType);
+        this.dirty = EnumSet.noneOf(regionType);
+    }
+
+    /**
+     * Sets the renderer that redraws a region from the latest model values.
+     *
+     * @param region The region
+     * @param renderer The work that redraws it
+     * @return This coalescer
+     */
+    public UiUpdateCoalescer<R> register(R region, Runnable renderer) {
+        renderers.put(region, renderer);
+        return this;
+    }
+
+    /**
+     * Marks a region as needing a redraw on the next pulse. Marking a region
+     * that is already dirty does nothing.
+     *
+     * @param region The region to redraw
+     */
+    public void markDirty(R region) {
+        synchronized (this) {
+            dirty.add(region);
+            if (flushQueued) return;
+            flushQueued = true;
+        }
+        if (Platform.isFxApplicationThread()) {
+            schedule();
+        } else {
+            Platform.runLater(this::schedule); // At most one, since flushQueued stays set until the flush
+        }
+    }
+
+    /**
+     * Redraws every dirty region straight away, instead of waiting for the
+     * next pulse. Must be called on the JavaFX Application Thread.
+     */
+    public void flush() {
+        EnumSet<R> regions;
+        synchronized (this) {
+            regions = dirty.clone();
+            dirty.clear();
+            flushQueued = false;
+        }
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+
+        // A renderer marking a region dirty queues it for the next pulse
+        for (R region : regions) {
+            Runnable renderer = renderers.get(region);
+            if (renderer == null) continue;
+            try {
+                renderer.run();
+            } catch (Exception e) {
+                System.err.println("Error updating " + region + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Forgets every dirty region without redrawing it and cancels the queued
+     * flush, e.g. when the screen is left. Must be called on the JavaFX
+     * Application Thread.
+     */
+    public void cancel() {
+        synchronized (this) {
+            dirty.clear();
+            flushQueued = false;
+        }
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+    }
+
+    /**
+     * Checks if a region is waiting to be redrawn.
+     *
+     * @param region The region
+     * @return true if the region has been marked since the last flush, false otherwise
+     */
+    public synchronized boolean isDirty(R region) {
+        return dirty.contains(region);
+    }
+
+    /**
+     * Queues the flush on the next pulse, unless one is already scheduled
+     * or the marks were flushed or cancelled in the meantime.
+     */
+    private void schedule() {
+        synchronized (this) {
+            if (!flushQueued) return;
+        }
+        if (flushTask != null && flushTask.isActive()) return;
+        flushTask = PulseScheduler.after(Duration.ZERO, this::flush);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.chaotopia;
+
+import com.example.chaotopia.Model.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Junit test for the AutosaveService class.
+ */
+class AutosaveServiceTest {
+
+    /**
+     * Deletes the save used by the tests.
+     */
+    @AfterEach
+    void cleanup() throws Exception {
+        SaveExecutor.flush();
+        GameFile.deleteFile(2);
+    }
+
+    /**
+     * Test that an autosave is made once the interval has elapsed,
+     * and skipped when nothing has changed.
+     */
+    @Test
+    void testAutosaveAfterInterval() throws Exception {
+        Chao chao = new Chao(0, "Bingy", ChaoType.RED, State.NORMAL, new Status(90, 90, 90, 90));
+        GameFile game = new GameFile(2, chao, new Inventory(), new Score(0), 0L, 0, 0L);
+        AutosaveService autosave = new AutosaveService(game, 1000);
+
+        assertFalse(autosave.tick(750));
+        assertTrue(autosave.tick(250));
+        SaveExecutor.flush();
+        assertFalse(game.isDirty());
+        assertTrue(autosave.getBytesWritten() > 0);
+
+        assertFalse(autosave.tick(1000));
+        assertEquals(1, autosave.getSkippedCleanCount());
+
+        chao.getStatus().adjustHealth(-10);
+        assertTrue(autosave.tick(1000));
+        assertEquals(2, autosave.getSaveCount());
+        SaveExecutor.flush();
+        assertEquals(80, new GameFile(2).getChao().getStatus().getHealth());
+    }
+
+    /**
+     * Test that a disabled service never autosaves.
+     */
+    @Test
+    void testDisabled() {
+        GameFile game = new GameFile(2, null, null, new Score(0), 0L, 0, 0L);
+        AutosaveService autosave = new AutosaveService(game, 1000);
+        autosave.setEnabled(false);
+
+        assertFalse(autosave.tick(5000));
+        assertEquals(0, autosave.getSaveCount());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.chaotopia;
+
+import com.example.chaotopia.Model.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Junit test for the ChaoStateMachine class.
+ */
+class ChaoStateMachineTest {
+
+    /**
+     * Test that a calm Chao turns angry, hungry or exhausted as its stats
+     * run out, with anger taking priority over hunger.
+     */
+    @Test
+    void testCalmTransitions() {
+        assertSame(State.NORMAL, ChaoStateMachine.next(State.NORMAL, false, new Status(60, 60, 60, 60)));
+        assertSame(State.NORMAL, ChaoStateMachine.next(State.HAPPY, false, new Status(60, 60, 60, 60)));
+        assertSame(State.ANGRY, ChaoStateMachine.next(State.NORMAL, false, new Status(0, 60, 0, 60)));
+        assertSame(State.HUNGRY, ChaoStateMachine.next(State.SIT, false, new Status(60, 60, 0, 60)));
+        assertSame(State.SLEEPING, ChaoStateMachine.next(State.NORMAL, false, new Status(0, 60, 0, 0)));
+        assertTrue(ChaoStateMachine.isCollapse(State.NORMAL, State.SLEEPING));
+    }
+
+    /**
+     * Test that an angry Chao stays angry until it is at least half happy.
+     */
+    @Test
+    void testAngryRecovery() {
+        assertSame(State.ANGRY, ChaoStateMachine.next(State.ANGRY, false, new Status(49, 60, 60, 60)));
+        assertSame(State.NORMAL, ChaoStateMachine.next(State.ANGRY, false, new Status(50, 60, 60, 60)));
+        assertSame(State.NORMAL, ChaoStateMachine.next(State.HUNGRY, false, new Status(10, 60, 1, 60)));
+    }
+
+    /**
+     * Test that sleeping, waking, death and evolution are handled.
+     */
+    @Test
+    void testSleepAndFixedStates() {
+        Status status = new Status(0, 60, 60, 100);
+        assertSame(State.SLEEPING, ChaoStateMachine.next(State.NORMAL, true, status));
+        assertFalse(ChaoStateMachine.isCollapse(State.SLEEPING, State.SLEEPING));
+        assertSame(State.ANGRY, ChaoStateMachine.next(State.SLEEPING, false, status));
+        assertSame(State.DEAD, ChaoStateMachine.next(State.DEAD, false, status));
+        assertSame(State.EVOLVING, ChaoStateMachine.next(State.EVOLVING, true, status));
+    }
+
+    /**
+     * Test that resolve follows a chain of transitions to the settled state.
+     */
+    @Test
+    void testResolve() {
+        // Leaving ANGRY goes to NORMAL, which then becomes HUNGRY
+        Status status = new Status(60, 60, 0, 60);
+        assertSame(State.NORMAL, ChaoStateMachine.next(State.ANGRY, false, status));
+        assertSame(State.HUNGRY, ChaoStateMachine.resolve(State.ANGRY, false, status));
+        assertSame(State.SLEEPING, ChaoStateMachine.resolve(State.HUNGRY, false, new Status(60, 60, 0, 0)));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.chaotopia;
+
+import com.example.chaotopia.Model.*;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Junit test for the ChaoWorld class.
+ */
+class ChaoWorldTest {
+
+    /**
+     * Test that a batch tick gives exactly the same stats as applying
+     * Commands.applyNaturalDecay to each Chao.
+     */
+    @Test
+    void testTickMatchesNaturalDecay() {
+        Random random = new Random(42);
+        State[] states = {State.NORMAL, State.SLEEPING, State.ANGRY, State.HUNGRY};
+        ChaoWorld world = new ChaoWorld(4);
+        List<Chao> chaos = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            ChaoType type = ChaoType.values()[random.nextInt(ChaoType.values().length)];
+            State state = states[random.nextInt(states.length)];
+            // Favour low fullness and health so starvation and death are covered
+            Status status = new Status(random.nextInt(101), random.nextInt(15),
+                    random.nextInt(4), random.nextInt(101));
+            Chao chao = new Chao(0, "Chao" + i, type, state, status);
+            chaos.add(chao);
+            world.add(chao);
+        }
+
+        for (int tick = 0; tick < 10; tick++) {
+            world.tick();
+            for (Chao chao : chaos) {
+                Commands.applyNaturalDecay(chao);
+            }
+        }
+
+        for (int i = 0; i < chaos.size(); i++) {
+            Status expected = chaos.get(i).getStatus();
+            assertEquals(expected.getHappiness(), world.getHappiness(i));
+            assertEquals(expected.getHealth(), world.getHealth(i));
+            assertEquals(expected.getFullness(), world.getFullness(i));
+            assertEquals(expected.getSleep(), world.getSleep(i));
+        }
+    }
+
+    /**
+     * Test that a Chao starving to death is reported once and set to DEAD.
+     */
+    @Test
+    void testDeaths() {
+        ChaoWorld world = new ChaoWorld();
+        world.add("Alive", ChaoType.RED, State.NORMAL, 0, 90, 90, 90, 90);
+        int dying = world.add("Dying", ChaoType.GREEN, State.HUNGRY, 0, 90, 7, 0, 90);
+
+        ChaoWorld.TickResult result = world.tick();
+        assertArrayEquals(new int[] {dying}, result.getDeaths());
+        assertSame(State.DEAD, world.getState(dying));
+        assertEquals(0, world.tick().getDeaths().length);
+    }
+
+    /**
+     * Test that a Chao copied out of the world matches what was added.
+     */
+    @Test
+    void testToChao() {
+        ChaoWorld world = new ChaoWorld();
+        Chao chao = new Chao(-3, "Bingy", ChaoType.BLUE, State.NORMAL, new Status(10, 20, 30, 40));
+        Chao copy = world.toChao(world.add(chao));
+
+        assertEquals("Bingy", copy.getName());
+        assertSame(ChaoType.BLUE, copy.getType());
+        assertEquals(-3, copy.getAlignment());
+        assertEquals(chao.getStatus().getCurrStats(), copy.getStatus().getCurrStats());
+        assertThrows(IndexOutOfBoundsException.class, () -> world.toChao(1));
+    }
+
+    /**
+     * Test that a parallel tick gives exactly the same stats and results
+     * as a serial tick.
+     */
+    @Test
+    void testTickParallelMatchesTick() {
+        Random random = new Random(7);
+        ChaoWorld serial = new ChaoWorld();
+        ChaoWorld parallel = new ChaoWorld();
+        int population = ChaoWorld.PARALLEL_CHUNK_SIZE * 4 + 123;
+
+        for (int i = 0; i < population; i++) {
+            ChaoType type = ChaoType.values()[random.nextInt(ChaoType.values().length)];
+            State state = random.nextBoolean() ? State.NORMAL : State.SLEEPING;
+            int alignment = random.nextInt(21) - 10;
+            int happiness = random.nextInt(101);
+            int health = random.nextInt(20);
+            int fullness = random.nextInt(4);
+            int sleep = random.nextInt(101);
+            serial.add("Chao" + i, type, state, alignment, happiness, health, fullness, sleep);
+            parallel.add("Chao" + i, type, state, alignment, happiness, health, fullness, sleep);
+        }
+
+        for (int tick = 0; tick < 5; tick++) {
+            ChaoWorld.TickResult expected = serial.tick();
+            ChaoWorld.TickResult actual = parallel.tickParallel();
+            assertArrayEquals(expected.getDeaths(), actual.getDeaths());
+            assertArrayEquals(expected.getStateChanges(), actual.getStateChanges());
+            assertArrayEquals(expected.getEvolutionCandidates(), actual.getEvolutionCandidates());
+        }
+
+        for (int i = 0; i < population; i++) {
+            assertEquals(serial.getHappiness(i), parallel.getHappiness(i));
+            assertEquals(serial.getHealth(i), parallel.getHealth(i));
+            assertEquals(serial.getFullness(i), parallel.getFullness(i));
+            assertEquals(serial.getSleep(i), parallel.getSleep(i));
+            assertSame(serial.getState(i), parallel.getState(i));
+        }
+    }
+
+    /**
+     * Test that evolution candidates and evolve follow the rules of Chao.evolve.
+     */
+    @Test
+    void testEvolutionCandidates() {
+        ChaoWorld world = new ChaoWorld();
+        int hero = world.add("Hero", ChaoType.GREEN, State.NORMAL, 7, 90, 90, 90, 90);
+        world.add("Evolved", ChaoType.HERO, State.NORMAL, 9, 90, 90, 90, 90);
+        world.add("Neutral", ChaoType.RED, State.NORMAL, 6, 90, 90, 90, 90);
+        int dark = world.add("Dark", ChaoType.BLUE, State.NORMAL, -7, 90, 90, 90, 90);
+
+        assertArrayEquals(new int[] {hero, dark}, world.tick().getEvolutionCandidates());
+
+        world.evolve(hero);
+        world.evolve(dark);
+        assertSame(ChaoType.HERO, world.getType(hero));
+        assertSame(ChaoType.DARK, world.getType(dark));
+        assertEquals(0, world.tick().getEvolutionCandidates().length);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.chaotopia;
+
+import com.example.chaotopia.Model.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Junit test for the CommandJournal class.
+ */
+class CommandJournalTest {
+    /** Temporary directory for the journal files. */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Test that replaying a journal restores the Chao, inventory and score.
+     */
+    @Test
+    void testRecordAndReplay() throws Exception {
+        Path path = tempDir.resolve("slot_1.journal");
+        Chao chao = new Chao(0, "Bingy", ChaoType.RED, State.NORMAL, new Status(90, 90, 90, 90));
+        Inventory inventory = new Inventory();
+        Score score = new Score(0);
+        SimulationEngine engine = new SimulationEngine(chao, inventory);
+        engine.setScore(score);
+
+        try (CommandJournal journal = new CommandJournal(path)) {
+            engine.setJournal(journal);
+            engine.tick(40); // Decay, two fruits and a gift
+            engine.pet();
+            engine.awardScore(3);
+        }
+
+        Chao restoredChao = new Chao(0, "Bingy", ChaoType.RED, State.NORMAL, new Status(90, 90, 90, 90));
+        Inventory restoredInventory = new Inventory();
+        Score restoredScore = new Score(0);
+        assertTrue(CommandJournal.replay(path, restoredChao, restoredInventory, restoredScore) > 0);
+
+        assertEquals(chao.getStatus().getCurrStats(), restoredChao.getStatus().getCurrStats());
+        assertEquals(1, restoredChao.getAlignment());
+        assertEquals(inventory.getItems(), restoredInventory.getItems());
+        assertEquals(3, restoredScore.getScore());
+    }
+
+    /**
+     * Test that a record cut short by a crash is dropped and later
+     * records are appended after the last whole one.
+     */
+    @Test
+    void testTornRecord() throws Exception {
+        Path path = tempDir.resolve("slot_2.journal");
+        try (CommandJournal journal = new CommandJournal(path)) {
+            journal.recordScore(10);
+            journal.recordScore(20);
+        }
+        long whole = Files.size(path);
+        Files.write(path, new byte[] {(byte) CommandJournal.RecordType.SCORE.ordinal(), 0, 0},
+                java.nio.file.StandardOpenOption.APPEND);
+
+        Score score = new Score(0);
+        assertEquals(2, CommandJournal.replay(path, null, null, score));
+        assertEquals(20, score.getScore());
+        assertEquals(whole, Files.size(path));
+
+        try (CommandJournal journal = new CommandJournal(path)) {
+            journal.recordScore(30);
+        }
+        assertEquals(3, CommandJournal.replay(path, null, null, score));
+        assertEquals(30, score.getScore());
+    }
+
+    /**
+     * Test that a zero-filled tail left by a crash is not replayed as a
+     * record that would empty the Chao's stats, and is cut off the file.
+     */
+    @Test
+    void testZeroPaddedTail() throws Exception {
+        Path path = tempDir.resolve("slot_4.journal");
+        Chao chao = new Chao(0, "Bingy", ChaoType.RED, State.NORMAL, new Status(90, 90, 90, 90));
+        try (CommandJournal journal = new CommandJournal(path)) {
+            journal.recordChao(CommandJournal.RecordType.PET, chao);
+        }
+        long whole = Files.size(path);
+        Files.write(path, new byte[4096], StandardOpenOption.APPEND);
+
+        Chao restored = new Chao(0, "Bingy", ChaoType.RED, State.NORMAL, new Status(50, 50, 50, 50));
+        assertEquals(1, CommandJournal.replay(path, restored, null, null));
+        assertEquals(90, restored.getStatus().getHealth());
+        assertSame(State.NORMAL, restored.getState());
+        assertEquals(whole, Files.size(path));
+    }
+
+    /**
+     * Test that a tail of random garbage ends the replay without throwing
+     * and is cut off the file.
+     */
+    @Test
+    void testGarbageTail() throws Exception {
+        Path path = tempDir.resolve("slot_5.journal");
+        try (CommandJournal journal = new CommandJournal(path)) {
+            journal.recordScore(10);
+            journal.recordItem("Duck", 2);
+        }
+        long whole = Files.size(path);
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            byte[] garbage = new byte[1 + random.nextInt(256)];
+            random.nextBytes(garbage);
+            Files.write(path, garbage, StandardOpenOption.APPEND);
+
+            Score score = new Score(0);
+            Inventory inventory = new Inventory();
+            assertEquals(2, CommandJournal.replay(path, new Chao(0, "Bingy", ChaoType.RED, State.NORMAL,
+                    new Status(90, 90, 90, 90)), inventory, score));
+            assertEquals(10, score.getScore());
+            assertEquals(2, inventory.getItemCount("Duck"));
+            assertEquals(whole, Files.size(path));
+        }
+    }
+
+    /**
+     * Test that discarding through a position keeps the records after it,
+     * and that positions stay valid after a discard.
+     */
+    @Test
+    void testDiscardThrough() throws Exception {
+        Path path = tempDir.resolve("slot_3.journal");
+        try (CommandJournal journal = new CommandJournal(path)) {
+            journal.recordScore(10);
+            long first = journal.position();
+            journal.recordScore(20);
+            long second = journal.position();
+            journal.recordScore(30);
+
+            journal.discardThrough(first);
+            Score score = new Score(0);
+            assertEquals(2, CommandJournal.replay(path, null, null, score));
+            assertEquals(30, score.getScore());
+
+            journal.discardThrough(second);
+            assertEquals(1, CommandJournal.replay(path, null, null, score));
+            journal.discardThrough(first); // Already discarded, so nothing changes
+            assertEquals(journal.size(), Files.size(path));
+        }
+    }
+
+    /**
+     * Test that truncating empties the journal.
+     */
+    @Test
+    void testTruncate() throws Exception {
+        Path path = tempDir.resolve("slot_3.journal");
+        CommandJournal journal = new CommandJournal(path);
+        journal.recordItem("Duck", 2);
+        assertTrue(journal.size() > 0);
+
+        journal.truncate();
+        assertEquals(0, journal.size());
+        assertEquals(0, CommandJournal.replay(path, null, new Inventory(), null));
+    }
+}
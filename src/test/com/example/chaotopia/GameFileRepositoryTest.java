@@ -0,0 +1,74 @@
+package com.example.chaotopia;
+
+import com.example.chaotopia.Model.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Junit test for the GameFileRepository class.
+ */
+class GameFileRepositoryTest {
+
+    /**
+     * Deletes the save used by the tests.
+     */
+    @AfterEach
+    void cleanup() throws Exception {
+        GameFile.deleteFile(2);
+        GameFileRepository.clear();
+    }
+
+    /**
+     * Test that a cached game is handed back after it saves itself, and read
+     * again after another GameFile writes its slot.
+     */
+    @Test
+    void testCachedUntilAnotherWriter() throws Exception {
+        GameFile game = new GameFile(2, null, null, new Score(5), 0L, 0, 0L);
+        game.save();
+        GameFileRepository.put(game);
+        assertSame(game, GameFileRepository.get(2));
+
+        game.getScore().setScore(9);
+        game.save();
+        assertSame(game, GameFileRepository.get(2));
+
+        new GameFile(2, null, null, new Score(1), 0L, 0, 0L).save();
+        GameFile reread = GameFileRepository.get(2);
+        assertNotSame(game, reread);
+        assertEquals(1, reread.getScore().getScore());
+    }
+
+    /**
+     * Test that a save file changed outside the game is read again.
+     */
+    @Test
+    void testExternalChangeReread() throws Exception {
+        new GameFile(2, null, null, new Score(5), 0L, 0, 0L).save();
+        GameFile first = GameFileRepository.get(2);
+        assertSame(first, GameFileRepository.get(2));
+
+        Path path = GameFile.getDefaultFormat().pathFor(2);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(Files.getLastModifiedTime(path).toMillis() + 5000));
+        assertNotSame(first, GameFileRepository.get(2));
+    }
+
+    /**
+     * Test that deleting a slot drops it from the cache.
+     */
+    @Test
+    void testDeleteInvalidates() throws Exception {
+        GameFile game = new GameFile(2, null, null, new Score(5), 0L, 0, 0L);
+        game.save();
+        GameFileRepository.put(game);
+
+        GameFile.deleteFile(2);
+        assertThrows(IOException.class, () -> GameFileRepository.get(2));
+    }
+}
@@ -95,11 +95,10 @@ class GameFileTest {
     void cleanup() throws IOException {
         // Clean up test files in the default directory
         for (int i = 1; i <= MAX_SLOTS; i++) {
-            Path path = Paths.get(GameFile.SAVES_DIR + "slot_" + i + ".json");
-            if (Files.exists(path)) {
-                Files.delete(path);
-            }
+            GameFile.deleteFile(i);
         }
+        GameFile.setDefaultFormat(SaveFormat.JSON);
+        GameFile.setCompression(SaveCompression.NONE);
     }
 
     /**
@@ -178,6 +177,188 @@ class GameFileTest {
         assertEquals(3, loaded.getNumSessions());
     }
 
+    /**
+     * Tests that loading a save applies the decay missed while the game was closed.
+     *
+     * @throws Exception if any save/load operation fails
+     */
+    @Test
+    void applyOfflineDecay_AfterTwentySeconds_AppliesTenTicks() throws Exception {
+        createTestGameFile(1).save();
+        GameFile loaded = new GameFile(1);
+        assertTrue(loaded.getLastSaved() > 0);
+
+        assertEquals(10, loaded.applyOfflineDecay(loaded.getLastSaved() + 21000));
+        Status status = loaded.getChao().getStatus();
+        assertEquals(60, status.getHappiness());
+        assertEquals(90, status.getHealth());
+        assertEquals(40, status.getFullness());
+        assertEquals(40, status.getSleep());
+
+        // The leftover second is carried over rather than applied twice
+        assertEquals(0, loaded.applyOfflineDecay(loaded.getLastSaved() + 1000));
+    }
+
+    // Save Format Tests ------------------------------------------------------
+
+    /**
+     * Tests the complete round-trip of saving and loading in the binary format.
+     *
+     * @throws Exception if any save/load operation fails
+     */
+    @Test
+    void saveAndLoad_BinaryFormat_DataMatches() throws Exception {
+        GameFile original = createTestGameFile(1);
+        original.setSaveFormat(SaveFormat.BINARY);
+        original.save();
+        assertTrue(Files.exists(SaveFormat.BINARY.pathFor(1)));
+        assertFalse(Files.exists(SaveFormat.JSON.pathFor(1)));
+
+        GameFile.setDefaultFormat(SaveFormat.BINARY);
+        GameFile loaded = new GameFile(1);
+        assertEquals(original.getPlaytime(), loaded.getPlaytime());
+        assertEquals(original.getNumSessions(), loaded.getNumSessions());
+        assertEquals(original.getLastSaved(), loaded.getLastSaved());
+        assertEquals(testChao.getName(), loaded.getChao().getName());
+        assertEquals(testChao.getType(), loaded.getChao().getType());
+        assertEquals(testChao.getState(), loaded.getChao().getState());
+        assertEquals(testChao.getAlignment(), loaded.getChao().getAlignment());
+        assertEquals(testChao.getStatus().getCurrStats(), loaded.getChao().getStatus().getCurrStats());
+        assertEquals(testInventory.getItems(), loaded.getInventory().getItems());
+        assertEquals(testScore.getScore(), loaded.getScore().getScore());
+        assertFalse(GameFile.isEmptySlot(1));
+    }
+
+    /**
+     * Tests that a JSON save is migrated to the binary format by its next save.
+     *
+     * @throws Exception if any save/load operation fails
+     */
+    @Test
+    void load_JsonSaveWithBinaryDefault_MigratesOnSave() throws Exception {
+        createTestGameFile(2).save();
+        GameFile.setDefaultFormat(SaveFormat.BINARY);
+
+        GameFile loaded = new GameFile(2);
+        assertSame(SaveFormat.BINARY, loaded.getSaveFormat());
+        loaded.save();
+        assertTrue(Files.exists(SaveFormat.BINARY.pathFor(2)));
+        assertFalse(Files.exists(SaveFormat.JSON.pathFor(2)));
+        assertEquals(testInventory.getItems(), new GameFile(2).getInventory().getItems());
+    }
+
+    /**
+     * Tests that a corrupted binary save is treated as an empty slot.
+     *
+     * @throws Exception if the slot check fails
+     */
+    @Test
+    void isEmptySlot_CorruptedBinaryFile_ReturnsTrue() throws Exception {
+        Files.createDirectories(Paths.get(GameFile.SAVES_DIR));
+        Files.write(SaveFormat.BINARY.pathFor(1), new byte[] {1, 2, 3});
+        assertTrue(GameFile.isEmptySlot(1));
+        assertThrows(IOException.class, () -> new GameFile(1));
+    }
+
+    /**
+     * Tests that a save with no changes is skipped, and that a binary save
+     * whose inventory is unchanged is updated in place.
+     *
+     * @throws Exception if any save/load operation fails
+     */
+    @Test
+    void save_OnlyStatsChanged_PatchesBinaryHeader() throws Exception {
+        GameFile game = createTestGameFile(1);
+        game.setSaveFormat(SaveFormat.BINARY);
+        game.save();
+        assertFalse(game.isDirty());
+        long savedAt = game.getLastSaved();
+        Thread.sleep(5);
+        game.save();
+        assertEquals(savedAt, game.getLastSaved());
+
+        testChao.getStatus().adjustHealth(-10);
+        testScore.setScore(1234);
+        assertTrue(game.isDirty());
+        game.save();
+        // A full rewrite would have kept the old file as a backup
+        assertFalse(Files.exists(AtomicFileWriter.backupPath(SaveFormat.BINARY.pathFor(1))));
+
+        GameFile.setDefaultFormat(SaveFormat.BINARY);
+        GameFile loaded = new GameFile(1);
+        assertEquals(80, loaded.getChao().getStatus().getHealth());
+        assertEquals(1234, loaded.getScore().getScore());
+        assertEquals(testInventory.getItems(), loaded.getInventory().getItems());
+        assertFalse(loaded.isDirty());
+    }
+
+    /**
+     * Tests that a binary header patch cut short is caught by the header's
+     * checksum, so the save falls back to its backup.
+     *
+     * @throws Exception if any save/load operation fails
+     */
+    @Test
+    void load_TornBinaryHeader_FallsBackToBackup() throws Exception {
+        GameFile game = createTestGameFile(1);
+        game.setSaveFormat(SaveFormat.BINARY);
+        game.save();
+        // Changing the inventory rewrites the file, keeping the first save as the backup
+        testInventory.addItem("Gift", 1);
+        game.save();
+        testScore.setScore(1234);
+        game.save();
+        Path path = SaveFormat.BINARY.pathFor(1);
+        assertTrue(Files.exists(AtomicFileWriter.backupPath(path)));
+
+        // Simulate the patch reaching the disk for the score but not the checksum
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[43] ^= 0x7F;
+        Files.write(path, bytes);
+
+        GameFile.setDefaultFormat(SaveFormat.BINARY);
+        GameFile loaded = new GameFile(1);
+        assertEquals(1000, loaded.getScore().getScore());
+        assertFalse(loaded.getInventory().hasItem("Gift"));
+    }
+
+    /**
+     * Tests that saving over a slot keeps the previous save as a backup,
+     * and that a damaged save falls back to that backup.
+     *
+     * @throws Exception if any save/load operation fails
+     */
+    @Test
+    void load_DamagedSave_FallsBackToBackup() throws Exception {
+        GameFile game = createTestGameFile(1);
+        game.save();
+        game.setPlaytime(4000000L);
+        game.save();
+        Path path = SaveFormat.JSON.pathFor(1);
+        assertTrue(Files.exists(AtomicFileWriter.backupPath(path)));
+        assertFalse(Files.exists(Paths.get(path + AtomicFileWriter.TEMP_SUFFIX)));
+
+        // Simulate a save cut short part way through
+        Files.writeString(path, "{\"ActiveSlot\": tr");
+        assertFalse(GameFile.isEmptySlot(1));
+        assertEquals(3600000L, new GameFile(1).getPlaytime());
+    }
+
+    /**
+     * Tests that a save is still found when only its backup survived.
+     *
+     * @throws Exception if any save/load operation fails
+     */
+    @Test
+    void load_OnlyBackupLeft_LoadsBackup() throws Exception {
+        createTestGameFile(2).save();
+        Path path = SaveFormat.JSON.pathFor(2);
+        Files.move(path, AtomicFileWriter.backupPath(path));
+
+        assertFalse(GameFile.isEmptySlot(2));
+        assertEquals(testScore.getScore(), new GameFile(2).getScore().getScore());
+    }
+
     // Slot Management Tests --------------------------------------------------
 
     /**
@@ -269,4 +450,93 @@ class GameFileTest {
 
         assertThrows(JSONException.class, () -> new GameFile(1));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that JSON saves are written with the ActiveSlot member first,
+     * so the slot check can stop after reading it.
+     *
+     * @throws Exception if any save operation fails
+     */
+    @Test
+    void save_Json_WritesActiveSlotFirst() throws Exception {
+        createTestGameFile(1).save();
+        String json = Files.readString(Paths.get(GameFile.SAVES_DIR + "slot_1.json"));
+
+        assertTrue(json.replaceAll("\\s", "").startsWith("{\"ActiveSlot\":true,"));
+        assertFalse(GameFile.isEmptySlot(1));
+    }
+
+    /**
+     * Tests that the streaming reader skips members it does not know and
+     * decodes escaped strings.
+     *
+     * @throws Exception if file creation or loading fails
+     */
+    @Test
+    void load_JsonWithUnknownMembersAndEscapes_LoadsFields() throws Exception {
+        Path path = Paths.get(GameFile.SAVES_DIR + "slot_1.json");
+        Files.writeString(path, "{\"extra\": [1, {\"nested\": \"}\"}], \"playtime\": 10, "
+                + "\"numSessions\": 2, \"averagePlaytime\": 5, \"ActiveSlot\": true, "
+                + "\"chao\": {\"name\": \"Bin\\\"gy\\u00e9\", \"type\": \"DARK\", \"state\": \"NORMAL\", "
+                + "\"alignment\": -4, \"status\": {\"happiness\": 1, \"health\": 2, \"fullness\": 3, \"sleep\": 4}}}");
+
+        GameFile loaded = new GameFile(1);
+        assertEquals("Bin\"gy\u00e9", loaded.getChao().getName());
+        assertEquals(-4, loaded.getChao().getAlignment());
+        assertEquals(3, loaded.getChao().getStatus().getFullness());
+        assertEquals(10L, loaded.getPlaytime());
+        assertNull(loaded.getScore());
+        assertFalse(GameFile.isEmptySlot(1));
+    }
+
+    /**
+     * Tests that every format loads back the same under every compression,
+     * with enough repetition for long LZ matches.
+     *
+     * @throws Exception if any save/load operation fails
+     */
+    @Test
+    void saveAndLoad_EachCompression_DataMatches() throws Exception {
+        Map<String, Integer> items = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            items.put("Item number " + i, i);
+        }
+
+        for (SaveFormat format : new SaveFormat[] {SaveFormat.JSON, SaveFormat.BINARY}) {
+            for (SaveCompression compression : SaveCompression.values()) {
+                GameFile.setDefaultFormat(format);
+                GameFile.setCompression(compression);
+                new GameFile(1, testChao, new Inventory(items), testScore, 10L, 1, 10L).save();
+
+                GameFile loaded = new GameFile(1);
+                assertEquals(items, loaded.getInventory().getItems(), format + " " + compression);
+                assertEquals(testChao.getName(), loaded.getChao().getName());
+                assertEquals(testScore.getScore(), loaded.getScore().getScore());
+                assertFalse(GameFile.isEmptySlot(1));
+                GameFile.deleteFile(1);
+            }
+        }
+    }
+
+    /**
+     * Tests that an uncompressed save still loads once compression is turned
+     * on, and is compressed by its next save.
+     *
+     * @throws Exception if any save/load operation fails
+     */
+    @Test
+    void load_UncompressedSaveWithCompression_LoadsAndCompresses() throws Exception {
+        createTestGameFile(1).save();
+        Path path = Paths.get(GameFile.SAVES_DIR + "slot_1.json");
+        long uncompressedSize = Files.size(path);
+
+        GameFile.setCompression(SaveCompression.DEFLATE);
+        GameFile loaded = new GameFile(1);
+        assertEquals(testChao.getName(), loaded.getChao().getName());
+
+        loaded.setPlaytime(loaded.getPlaytime() + 1);
+        loaded.save();
+        assertTrue(Files.size(path) < uncompressedSize);
+        assertEquals(testChao.getName(), new GameFile(1).getChao().getName());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.chaotopia;
+
+import com.example.chaotopia.Model.*;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Junit test for the MappedSlotStore class.
+ */
+class MappedSlotStoreTest {
+    /** The shared store file. */
+    private final Path store = Paths.get(MappedSlotStore.STORE_FILE);
+
+    /**
+     * Deletes the saves and the store used by the tests.
+     */
+    @AfterEach
+    void cleanup() throws Exception {
+        GameFile.deleteFile(2);
+        GameFile.deleteFile(300);
+        GameFile.setDefaultFormat(SaveFormat.JSON);
+        MappedSlotStore.close();
+        Files.deleteIfExists(store);
+    }
+
+    /**
+     * Test that a mapped save loads back the same as it was saved, after the
+     * store is closed and reopened.
+     */
+    @Test
+    void testRoundTrip() throws Exception {
+        GameFile.setDefaultFormat(SaveFormat.MAPPED);
+        Inventory inventory = new Inventory();
+        inventory.addItem("Green Fruit", 3);
+        new GameFile(2, new Chao(5, "Bingy", ChaoType.RED, State.NORMAL, new Status(80, 70, 60, 50)),
+                inventory, new Score(42), 1000L, 3, 333L).save();
+        MappedSlotStore.close();
+
+        GameFile loaded = new GameFile(2);
+        assertSame(SaveFormat.MAPPED, loaded.getSaveFormat());
+        assertEquals("Bingy", loaded.getChao().getName());
+        assertSame(ChaoType.RED, loaded.getChao().getType());
+        assertEquals(5, loaded.getChao().getAlignment());
+        assertEquals(60, loaded.getChao().getStatus().getFullness());
+        assertEquals(3, loaded.getInventory().getItemCount("Green Fruit"));
+        assertEquals(42, loaded.getScore().getScore());
+        assertEquals(1000L, loaded.getPlaytime());
+        assertFalse(GameFile.isEmptySlot(2));
+        assertFalse(Files.exists(Paths.get(GameFile.SAVES_DIR + "slot_2.json")));
+    }
+
+    /**
+     * Test that a change to the stats only rewrites the slot's record, and
+     * that a slot past the end of the record table grows the store.
+     */
+    @Test
+    void testRecordOnlyWriteAndGrowth() throws Exception {
+        GameFile.setDefaultFormat(SaveFormat.MAPPED);
+        GameFile game = new GameFile(2, new Chao(0, "Bingy", ChaoType.GREEN, State.NORMAL, new Status()),
+                new Inventory(), new Score(0), 0L, 0, 0L);
+        game.save();
+        long size = Files.size(store);
+
+        game.getChao().getStatus().setStats(10, 20, 30, 40);
+        game.save();
+        assertEquals(size, Files.size(store));
+        assertEquals(10, new GameFile(2).getChao().getStatus().getHappiness());
+
+        new GameFile(300, null, null, new Score(7), 0L, 0, 0L).save();
+        assertEquals(7, new GameFile(300).getScore().getScore());
+        assertEquals("Bingy", new GameFile(2).getChao().getName());
+    }
+}
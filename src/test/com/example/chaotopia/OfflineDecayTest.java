@@ -0,0 +1,69 @@
+package com.example.chaotopia;
+
+import com.example.chaotopia.Model.*;
+import org.junit.jupiter.api.*;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Junit test for the OfflineDecay class.
+ */
+class OfflineDecayTest {
+
+    /**
+     * Test that applying many ticks at once gives the same stats as
+     * applying natural decay once per tick.
+     */
+    @Test
+    void testMatchesNaturalDecay() {
+        Random random = new Random(3);
+        State[] states = {State.NORMAL, State.SLEEPING};
+
+        for (int i = 0; i < 2000; i++) {
+            ChaoType type = ChaoType.values()[random.nextInt(ChaoType.values().length)];
+            State state = states[random.nextInt(states.length)];
+            int happiness = random.nextInt(101);
+            int health = random.nextInt(101);
+            int fullness = random.nextInt(101);
+            int sleep = random.nextInt(101);
+            int ticks = random.nextInt(150);
+
+            Chao ticked = new Chao(0, "Bingy", type, state, new Status(happiness, health, fullness, sleep));
+            Chao caughtUp = new Chao(0, "Bingy", type, state, new Status(happiness, health, fullness, sleep));
+            for (int tick = 0; tick < ticks; tick++) {
+                Commands.applyNaturalDecay(ticked);
+            }
+            OfflineDecay.apply(caughtUp, ticks);
+
+            assertEquals(ticked.getStatus().getCurrStats(), caughtUp.getStatus().getCurrStats());
+        }
+    }
+
+    /**
+     * Test that a very long absence starves the Chao to death without
+     * running every tick.
+     */
+    @Test
+    void testLongAbsence() {
+        Chao chao = new Chao(0, "Bingy", ChaoType.GREEN, State.NORMAL, new Status(90, 90, 90, 90));
+        long ticks = OfflineDecay.ticksFor(365L * 24 * 60 * 60 * 1000);
+
+        long applied = OfflineDecay.apply(chao, ticks);
+        assertTrue(applied < ticks);
+        assertTrue(chao.getStatus().isDead());
+        assertEquals(0, chao.getStatus().getFullness());
+        assertEquals(0, OfflineDecay.apply(chao, ticks));
+    }
+
+    /**
+     * Test that only whole ticks are counted.
+     */
+    @Test
+    void testTicksFor() {
+        assertEquals(0, OfflineDecay.ticksFor(-5000));
+        assertEquals(0, OfflineDecay.ticksFor(1999));
+        assertEquals(3, OfflineDecay.ticksFor(7999));
+    }
+}
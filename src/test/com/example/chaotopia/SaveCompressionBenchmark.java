@@ -0,0 +1,114 @@
+package com.example.chaotopia;
+
+import com.example.chaotopia.Model.*;
+
+import java.nio.file.Files;
+
+/**
+ * Benchmark comparing the size and save/load latency of each save format
+ * and compression on a realistic slot. Not a JUnit test; run its main method.
+ * <br><br>
+ * Saves are forced to rewrite the whole file each time by changing an item
+ * count, and the fsync policy is NEVER so the numbers measure encoding,
+ * compression and the write itself rather than the disk's flush latency.
+ */
+public class SaveCompressionBenchmark {
+    /** The save slot the benchmark uses. */
+    private static final int SLOT = 2;
+    /** Saves and loads per measurement, after warm-up. */
+    private static final int ROUNDS = 500;
+    /** Rounds run first to let the JIT compile the code paths. */
+    private static final int WARMUP = 200;
+
+    /**
+     * Runs the benchmark and prints a table of results.
+     *
+     * @param args Unused
+     * @throws Exception If a save cannot be written or read
+     */
+    public static void main(String[] args) throws Exception {
+        FsyncPolicy previousPolicy = AtomicFileWriter.getFsyncPolicy();
+        AtomicFileWriter.setFsyncPolicy(FsyncPolicy.NEVER);
+        System.out.printf("%-8s %-8s %10s %14s %14s%n", "Format", "Codec", "Bytes", "Save (us)", "Load (us)");
+        try {
+            for (SaveFormat format : new SaveFormat[] {SaveFormat.JSON, SaveFormat.BINARY}) {
+                for (SaveCompression compression : SaveCompression.values()) {
+                    run(format, compression);
+                }
+            }
+        } finally {
+            GameFile.deleteFile(SLOT);
+            GameFile.setDefaultFormat(SaveFormat.JSON);
+            GameFile.setCompression(SaveCompression.NONE);
+            AtomicFileWriter.setFsyncPolicy(previousPolicy);
+            SaveExecutor.flush();
+        }
+    }
+
+    /**
+     * Measures one format and compression.
+     *
+     * @param format The save format
+     * @param compression The save compression
+     * @throws Exception If a save cannot be written or read
+     */
+    private static void run(SaveFormat format, SaveCompression compression) throws Exception {
+        GameFile.deleteFile(SLOT);
+        GameFile.setDefaultFormat(format);
+        GameFile.setCompression(compression);
+        GameFile game = createSlot();
+
+        for (int i = 0; i < WARMUP; i++) {
+            saveOnce(game, i);
+            new GameFile(SLOT);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            saveOnce(game, i);
+        }
+        long saveNanos = (System.nanoTime() - start) / ROUNDS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            new GameFile(SLOT);
+        }
+        long loadNanos = (System.nanoTime() - start) / ROUNDS;
+
+        long size = Files.size(format.pathFor(SLOT));
+        System.out.printf("%-8s %-8s %10d %14.1f %14.1f%n", format, compression, size,
+                saveNanos / 1000.0, loadNanos / 1000.0);
+    }
+
+    /**
+     * Saves the slot after changing an item, so the whole file is written.
+     *
+     * @param game The slot's game
+     * @param round The round number
+     * @throws Exception If the save cannot be written
+     */
+    private static void saveOnce(GameFile game, int round) throws Exception {
+        game.getInventory().setItemCount("Red Fruit", 1 + round % 9);
+        game.save();
+    }
+
+    /**
+     * Creates a slot holding what a player has after some time in the game:
+     * a named Chao part way through its stats and a full inventory.
+     *
+     * @return The slot's game
+     */
+    private static GameFile createSlot() {
+        Chao chao = new Chao(37, "Bingy the Brave", ChaoType.HERO, State.NORMAL, new Status(84, 97, 62, 71));
+        Inventory inventory = new Inventory();
+        inventory.addItem("Red Fruit", 3);
+        inventory.addItem("Blue Fruit", 7);
+        inventory.addItem("Green Fruit", 4);
+        inventory.addItem("Hero Fruit", 2);
+        inventory.addItem("Dark Fruit", 5);
+        inventory.addItem("Trumpet", 1);
+        inventory.addItem("Duck", 2);
+        inventory.addItem("T.V.", 1);
+        return new GameFile(SLOT, chao, inventory, new Score(1240), 5_400_000L, 14, 385_714L);
+    }
+}
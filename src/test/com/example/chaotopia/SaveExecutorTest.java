@@ -0,0 +1,54 @@
+package com.example.chaotopia;
+
+import com.example.chaotopia.Model.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Junit test for the SaveExecutor class.
+ */
+class SaveExecutorTest {
+
+    /**
+     * Deletes the save used by the tests.
+     */
+    @AfterEach
+    void cleanup() throws Exception {
+        GameFile.deleteFile(2);
+    }
+
+    /**
+     * Test that a burst of background saves ends with the latest state on disk.
+     */
+    @Test
+    void testBurstSavesLatestState() throws Exception {
+        Score score = new Score(0);
+        GameFile game = new GameFile(2, new Chao(0, "Bingy", ChaoType.RED, State.NORMAL,
+                new Status(90, 90, 90, 90)), new Inventory(), score, 0L, 0, 0L);
+
+        for (int i = 1; i <= 100; i++) {
+            score.setScore(i);
+            SaveExecutor.submit(game);
+        }
+        SaveExecutor.flush();
+
+        assertEquals(100, new GameFile(2).getScore().getScore());
+    }
+
+    /**
+     * Test that changes made while a save is queued are not lost.
+     */
+    @Test
+    void testLaterChangesKeptInJournal() throws Exception {
+        Score score = new Score(0);
+        GameFile game = new GameFile(2, null, null, score, 0L, 0, 0L);
+
+        score.setScore(10);
+        SaveExecutor.submit(game);
+        game.getJournal().recordScore(20);
+        SaveExecutor.flush();
+
+        assertEquals(20, new GameFile(2).getScore().getScore());
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.chaotopia;
+
+import com.example.chaotopia.Model.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Junit test for the SimulationEngine class.
+ */
+class SimulationEngineTest {
+
+    /**
+     * Puts the system clock back into Commands, even if a test using a
+     * deterministic engine failed before closing it.
+     */
+    @AfterEach
+    void restoreClock() {
+        Commands.setClock(null);
+    }
+
+    /**
+     * Counts every item held in an inventory.
+     */
+    private int countItems(Inventory inventory) {
+        int total = 0;
+        for (int count : inventory.getItems().values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Test that natural decay is applied every 2 seconds of simulated time.
+     */
+    @Test
+    void testDecay() {
+        Chao chao = new Chao(0, "Bingy", ChaoType.GREEN, State.NORMAL,
+                new Status(90, 90, 90, 90));
+        SimulationEngine engine = new SimulationEngine(chao, new Inventory());
+        engine.setSpawningEnabled(false);
+
+        engine.tick(7);
+        assertEquals(90, chao.getStatus().getHappiness());
+        engine.tick();
+        assertEquals(2000, engine.getElapsedMillis());
+        assertEquals(88, chao.getStatus().getHappiness());
+        assertEquals(88, chao.getStatus().getFullness());
+        assertEquals(88, chao.getStatus().getSleep());
+        assertEquals(90, chao.getStatus().getHealth());
+    }
+
+    /**
+     * Test that a fruit spawns every 5 seconds and a gift every 10 seconds.
+     */
+    @Test
+    void testItemSpawning() {
+        Chao chao = new Chao(0, "Bingy", ChaoType.GREEN, State.NORMAL,
+                new Status(90, 90, 90, 90));
+        Inventory inventory = new Inventory();
+        SimulationEngine engine = new SimulationEngine(chao, inventory);
+
+        engine.tick(20);
+        assertEquals(1, countItems(inventory));
+        engine.tick(20);
+        assertEquals(3, countItems(inventory));
+    }
+
+    /**
+     * Test that an exhausted Chao loses health and falls asleep,
+     * then wakes up once its sleep is full.
+     */
+    @Test
+    void testExhaustionAndWakeUp() {
+        Chao chao = new Chao(0, "Bingy", ChaoType.GREEN, State.NORMAL,
+                new Status(90, 90, 90, 0));
+        SimulationEngine engine = new SimulationEngine(chao, new Inventory());
+        engine.setSpawningEnabled(false);
+
+        engine.tick();
+        assertSame(State.SLEEPING, chao.getState());
+        assertTrue(engine.isSleeping());
+        assertEquals(75, chao.getStatus().getHealth());
+
+        // Sleep restores 4 every 500ms plus 10 every decay, so 60 seconds is plenty
+        engine.tick(240);
+        assertFalse(engine.isSleeping());
+        assertSame(State.NORMAL, chao.getState());
+    }
+
+    /**
+     * Test that the state follows stats crossing a threshold, and that a
+     * change made while the view holds the state is applied once it lets go.
+     */
+    @Test
+    void testStateFollowsThresholds() {
+        Chao chao = new Chao(0, "Bingy", ChaoType.GREEN, State.NORMAL,
+                new Status(2, 90, 90, 90));
+        SimulationEngine engine = new SimulationEngine(chao, new Inventory());
+        engine.setSpawningEnabled(false);
+
+        engine.tick(8); // Decay empties happiness
+        assertSame(State.ANGRY, chao.getState());
+        chao.getStatus().adjustHappiness(40);
+        engine.tick();
+        assertSame(State.ANGRY, chao.getState()); // Stays angry until half happy
+        chao.getStatus().adjustHappiness(20);
+        engine.tick();
+        assertSame(State.NORMAL, chao.getState());
+
+        boolean[] held = {true};
+        engine.setStateHold(() -> held[0]);
+        chao.getStatus().adjustFullness(-100);
+        engine.tick();
+        assertSame(State.NORMAL, chao.getState());
+        held[0] = false;
+        engine.tick();
+        assertSame(State.HUNGRY, chao.getState());
+
+        engine.close();
+    }
+
+    /**
+     * Test that a Chao with no health dies and the listener is told once.
+     */
+    @Test
+    void testDeath() {
+        Chao chao = new Chao(0, "Bingy", ChaoType.GREEN, State.NORMAL,
+                new Status(90, 0, 90, 90));
+        SimulationEngine engine = new SimulationEngine(chao, new Inventory());
+        int[] deaths = {0};
+        engine.setListener(new SimulationListener() {
+            @Override
+            public void onDeath() {
+                deaths[0]++;
+            }
+        });
+
+        assertTrue(engine.checkDeath());
+        assertTrue(engine.checkDeath());
+        assertSame(State.DEAD, chao.getState());
+        assertEquals(1, deaths[0]);
+    }
+
+    /**
+     * Test that an evolution changes the Chao's type after 4 seconds
+     * and returns it to NORMAL after the 2 second pose.
+     */
+    @Test
+    void testEvolution() {
+        Chao chao = new Chao(7, "Bingy", ChaoType.GREEN, State.NORMAL,
+                new Status(90, 90, 90, 90));
+        SimulationEngine engine = new SimulationEngine(chao, new Inventory());
+        engine.setSpawningEnabled(false);
+
+        assertFalse(engine.beginEvolution(false));
+        assertTrue(engine.beginEvolution(true));
+        assertSame(State.EVOLVING, chao.getState());
+
+        engine.tick(16);
+        assertSame(ChaoType.HERO, chao.getType());
+        assertSame(State.EVOLVING, chao.getState());
+        engine.tick(8);
+        assertSame(State.NORMAL, chao.getState());
+    }
+
+    /**
+     * Test that feeding uses up the fruit and fails when none is held.
+     */
+    @Test
+    void testFeed() {
+        Chao chao = new Chao(0, "Bingy", ChaoType.GREEN, State.NORMAL,
+                new Status(90, 90, 60, 90));
+        Inventory inventory = new Inventory();
+        inventory.addItem("Green Fruit", 1);
+        SimulationEngine engine = new SimulationEngine(chao, inventory);
+
+        assertTrue(engine.feed("Green Fruit"));
+        assertEquals(90, chao.getStatus().getFullness());
+        assertEquals(0, inventory.getItemCount("Green Fruit"));
+        assertFalse(engine.feed("Green Fruit"));
+    }
+
+    /**
+     * Test that two deterministic engines with the same seed reproduce
+     * the same run exactly.
+     */
+    @Test
+    void testDeterministicRunsMatch() {
+        Inventory first = new Inventory();
+        Inventory second = new Inventory();
+        SimulationEngine a = SimulationEngine.deterministic(new Chao(0, "Bingy", ChaoType.RED, State.NORMAL,
+                new Status(90, 90, 90, 90)), first, 1234);
+        SimulationEngine b = SimulationEngine.deterministic(new Chao(0, "Bingy", ChaoType.RED, State.NORMAL,
+                new Status(90, 90, 90, 90)), second, 1234);
+
+        a.tick(400);
+        b.tick(400);
+        assertEquals(first.getItems(), second.getItems());
+        assertEquals(a.getChao().getStatus().getCurrStats(), b.getChao().getStatus().getCurrStats());
+        assertEquals(100_000_000_000L, b.getClock().nanoTime());
+        b.close();
+        a.close();
+    }
+
+    /**
+     * Test that command cooldowns follow the simulated clock.
+     */
+    @Test
+    void testCooldownsFollowSimulatedClock() {
+        Chao chao = new Chao(0, "Bingy", ChaoType.RED, State.NORMAL, new Status(10, 90, 90, 90));
+        SimulationEngine engine = SimulationEngine.deterministic(chao, new Inventory(), 1);
+        engine.setSpawningEnabled(false);
+
+        assertNull(engine.play());
+        assertNotNull(engine.play());
+        engine.tick(240); // One simulated minute
+        assertNull(engine.play());
+
+        GameClock simulated = Commands.getClock();
+        engine.close();
+        assertNotSame(simulated, Commands.getClock());
+    }
+}
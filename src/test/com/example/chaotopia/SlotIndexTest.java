@@ -0,0 +1,124 @@
+package com.example.chaotopia;
+
+import com.example.chaotopia.Model.*;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Junit test for the SlotIndex class.
+ */
+class SlotIndexTest {
+
+    /**
+     * Deletes the saves used by the tests.
+     */
+    @AfterEach
+    void cleanup() throws Exception {
+        for (int i = 2; i <= 4; i++) {
+            GameFile.deleteFile(i);
+        }
+    }
+
+    /**
+     * Test that saving a slot updates its entry and deleting it removes the entry.
+     */
+    @Test
+    void testSaveAndDelete() throws Exception {
+        GameFile game = new GameFile(2, new Chao(0, "Bingy", ChaoType.DARK, State.NORMAL, new Status()),
+                null, new Score(7), 100L, 1, 100L);
+        game.save();
+
+        SlotIndex.Entry entry = SlotIndex.get(2);
+        assertTrue(entry.isActive());
+        assertEquals("Bingy", entry.getName());
+        assertSame(ChaoType.DARK, entry.getType());
+        assertEquals(7, entry.getScore());
+        assertEquals(100L, entry.getPlaytime());
+        assertEquals(1, entry.getNumSessions());
+
+        GameFile.deleteFile(2);
+        assertNull(SlotIndex.get(2));
+        assertTrue(SlotIndex.isEmptySlot(2));
+    }
+
+    /**
+     * Test that the index survives being read back from its file.
+     */
+    @Test
+    void testReadBackFromFile() throws Exception {
+        new GameFile(2, null, null, new Score(3), 50L, 2, 25L).save();
+        SlotIndex.reload();
+
+        assertEquals(3, SlotIndex.get(2).getScore());
+        assertNull(SlotIndex.get(2).getName());
+    }
+
+    /**
+     * Test that saving a slot already in the index does not rewrite the
+     * index file straight away, and that flushing writes the change.
+     */
+    @Test
+    void testDelayedWrite() throws Exception {
+        GameFile game = new GameFile(2, null, null, new Score(4817), 50L, 2, 25L);
+        game.save(); // A new slot is written straight away
+        assertTrue(Files.readString(Paths.get(SlotIndex.INDEX_FILE)).contains("\"score\": 4817"));
+
+        game.getScore().setScore(9253);
+        game.save();
+        assertEquals(9253, SlotIndex.get(2).getScore());
+        assertFalse(Files.readString(Paths.get(SlotIndex.INDEX_FILE)).contains("\"score\": 9253"));
+
+        SlotIndex.flush();
+        assertTrue(Files.readString(Paths.get(SlotIndex.INDEX_FILE)).contains("\"score\": 9253"));
+    }
+
+    /**
+     * Test that loading a slot indexes the changes replayed from its journal,
+     * not just the snapshot.
+     */
+    @Test
+    void testReplayedJournalIndexed() throws Exception {
+        GameFile game = new GameFile(3, null, null, new Score(5120), 50L, 2, 25L);
+        game.save();
+        game.getJournal().recordScore(6344);
+        game.closeJournal();
+
+        new GameFile(3); // As on the next launch after a crash
+        assertEquals(6344, SlotIndex.get(3).getScore());
+    }
+
+    /**
+     * Test that a slot saved without an index entry is indexed on first use.
+     */
+    @Test
+    void testMissingEntryRebuilt() throws Exception {
+        new GameFile(2, null, null, new Score(9), 0L, 0, 0L).save();
+        Files.deleteIfExists(Paths.get(SlotIndex.INDEX_FILE));
+        SlotIndex.reload();
+
+        assertFalse(SlotIndex.isEmptySlot(2));
+        assertEquals(9, SlotIndex.get(2).getScore());
+        assertTrue(Files.exists(Paths.get(SlotIndex.INDEX_FILE)));
+    }
+
+    /**
+     * Test that pages list the most recently played slots first and that
+     * new games get a slot past every existing one.
+     */
+    @Test
+    void testPagingByLastPlayed() throws Exception {
+        new GameFile(3, null, null, new Score(1), 0L, 0, 0L).save();
+        Thread.sleep(5);
+        new GameFile(4, null, null, new Score(2), 0L, 0, 0L).save();
+
+        java.util.List<SlotIndex.Entry> first = SlotIndex.getRange(0, 2);
+        assertEquals(4, first.get(0).getSlotId());
+        assertEquals(3, first.get(1).getSlotId());
+        assertTrue(SlotIndex.getRange(SlotIndex.getActiveCount(), 3).isEmpty());
+        assertTrue(SlotIndex.nextFreeSlotId() > 4);
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Test class for the Status class to verify proper initialization and behavior.
@@ -235,4 +236,60 @@ public class StatusTest {
         stats = customStatus.getCurrStats();
         assertEquals(Integer.valueOf(90), stats.get(0)); // Updated happiness
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that the status is only marked dirty when a stat really changes.
+     */
+    @Test
+    public void testDirtyTracking() {
+        assertFalse(customStatus.isDirty());
+        customStatus.adjustSleep(10);
+        assertTrue(customStatus.isDirty());
+        customStatus.markClean();
+
+        customStatus.adjustSleep(50); // Already capped at 100
+        customStatus.adjustHealth(0);
+        assertFalse(customStatus.isDirty());
+
+        customStatus.adjustHealth(-1);
+        assertTrue(customStatus.isDirty());
+        customStatus.markClean();
+        assertFalse(customStatus.isDirty());
+    }
+
+    /**
+     * Tests that threshold listeners are only told when a stat crosses
+     * 0, 50 or 100, and stop being told once removed.
+     */
+    @Test
+    public void testThresholdListener() {
+        List<String> crossings = new ArrayList<>();
+        Status.ThresholdListener listener =
+                (stat, oldValue, newValue) -> crossings.add(stat + " " + oldValue + "->" + newValue);
+        customStatus.addThresholdListener(listener);
+
+        customStatus.adjustHappiness(-20); // 75 -> 55, no threshold
+        assertTrue(crossings.isEmpty());
+        customStatus.adjustHappiness(-10); // 55 -> 45, below half
+        customStatus.adjustFullness(-85);  // 85 -> 0, empty
+        customStatus.adjustSleep(10);      // 90 -> 100, full
+        assertEquals(List.of("HAPPINESS 55->45", "FULLNESS 85->0", "SLEEP 90->100"), crossings);
+
+        customStatus.removeThresholdListener(listener);
+        customStatus.adjustHealth(-80);
+        assertEquals(3, crossings.size());
+    }
+
+    /**
+     * Tests that a change crossing several thresholds at once is reported
+     * once with the full change.
+     */
+    @Test
+    public void testThresholdListenerLargeChange() {
+        List<Integer> newValues = new ArrayList<>();
+        defaultStatus.addThresholdListener((stat, oldValue, newValue) -> newValues.add(newValue));
+
+        defaultStatus.adjustHealth(-150); // 100 -> 0 crosses full, half and empty
+        assertEquals(List.of(0), newValues);
+    }
+}